@@ -2,8 +2,12 @@ package com.webapp.ems;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling // For periodic jobs such as the pending-leave digest
+@EnableAsync // For notifications queued by bulk leave actions
 public class EmsApplication {
 
 	public static void main(String[] args) {
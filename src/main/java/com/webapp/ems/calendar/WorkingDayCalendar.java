@@ -0,0 +1,91 @@
+package com.webapp.ems.calendar;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.Year;
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * One year of working days as a bitset (bit i set = day-of-year i+1 is a working day), with a
+ * running popcount per 64-day word. Counting the working days between two dates of the year is
+ * two prefix lookups and two masked {@link Long#bitCount}s, independent of the range length.
+ * Immutable once built.
+ */
+public final class WorkingDayCalendar {
+
+    private final int year;
+    private final long[] words;
+    private final int[] countBeforeWord; // Working days in all earlier words
+
+    private WorkingDayCalendar(int year, long[] words) {
+        this.year = year;
+        this.words = words;
+        this.countBeforeWord = new int[words.length + 1];
+        for (int i = 0; i < words.length; i++) {
+            countBeforeWord[i + 1] = countBeforeWord[i] + Long.bitCount(words[i]);
+        }
+    }
+
+    /**
+     * Builds the calendar for {@code year}: every day is a working day unless it falls on one of the
+     * weekend days or is listed in {@code holidays} (dates outside the year are ignored).
+     */
+    public static WorkingDayCalendar build(int year, Set<DayOfWeek> weekendDays, Collection<LocalDate> holidays) {
+        int days = Year.of(year).length();
+        long[] words = new long[(days + 63) >>> 6];
+        LocalDate date = LocalDate.ofYearDay(year, 1);
+        for (int i = 0; i < days; i++, date = date.plusDays(1)) {
+            if (!weekendDays.contains(date.getDayOfWeek())) {
+                words[i >>> 6] |= 1L << (i & 63);
+            }
+        }
+        for (LocalDate holiday : holidays) {
+            if (holiday.getYear() == year) {
+                int i = holiday.getDayOfYear() - 1;
+                words[i >>> 6] &= ~(1L << (i & 63));
+            }
+        }
+        return new WorkingDayCalendar(year, words);
+    }
+
+    public int getYear() {
+        return year;
+    }
+
+    public int getWorkingDaysInYear() {
+        return countBeforeWord[words.length];
+    }
+
+    public boolean isWorkingDay(LocalDate date) {
+        checkYear(date);
+        int i = date.getDayOfYear() - 1;
+        return (words[i >>> 6] & (1L << (i & 63))) != 0;
+    }
+
+    /** Working days in [from, to], both inclusive and both in this calendar's year; 0 if from is after to. */
+    public int countWorkingDays(LocalDate from, LocalDate to) {
+        checkYear(from);
+        checkYear(to);
+        if (from.isAfter(to)) {
+            return 0;
+        }
+        return countBefore(to.getDayOfYear()) - countBefore(from.getDayOfYear() - 1);
+    }
+
+    // Working days among the first n days of the year (n in 0..daysInYear)
+    private int countBefore(int n) {
+        int word = n >>> 6;
+        if (word == words.length) {
+            return countBeforeWord[word];
+        }
+        long mask = (1L << (n & 63)) - 1; // Bits below n within the word; 0 when n is word-aligned
+        return countBeforeWord[word] + Long.bitCount(words[word] & mask);
+    }
+
+    private void checkYear(LocalDate date) {
+        if (date.getYear() != year) {
+            throw new IllegalArgumentException(date + " is not in calendar year " + year);
+        }
+    }
+}
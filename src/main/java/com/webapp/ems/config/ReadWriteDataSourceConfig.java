@@ -0,0 +1,87 @@
+package com.webapp.ems.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayDataSource;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Primary/replica data sources, active when {@code ems.datasource.replica.url} is set (otherwise Spring
+ * Boot's single data source from {@code spring.datasource.*} is used as before). The application's
+ * DataSource routes {@code @Transactional(readOnly = true)} work to the replica pool and everything else,
+ * including Flyway and non-transactional JDBC, to the primary.
+ */
+@Configuration
+@ConditionalOnProperty(name = "ems.datasource.replica.url")
+public class ReadWriteDataSourceConfig {
+
+    @Bean
+    @FlywayDataSource // Migrations only ever run on the primary
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("ems.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(DataSourceProperties primaryProperties,
+                                              @Value("${ems.datasource.replica.url}") String url,
+                                              @Value("${ems.datasource.replica.username:${spring.datasource.username:}}") String username,
+                                              @Value("${ems.datasource.replica.password:${spring.datasource.password:}}") String password) {
+        HikariDataSource dataSource = DataSourceBuilder.create().type(HikariDataSource.class)
+                .driverClassName(primaryProperties.determineDriverClassName())
+                .url(url)
+                .username(username)
+                .password(password)
+                .build();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true); // A write routed here by mistake fails instead of diverging from the primary
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaRoutingPolicy replicaRoutingPolicy(@Qualifier("replicaDataSource") DataSource replicaDataSource,
+                                                     @Value("${ems.datasource.replica.read-your-writes-window-ms:2000}") long readYourWritesWindowMs,
+                                                     @Value("${ems.datasource.replica.lag-query:}") String lagQuery,
+                                                     @Value("${ems.datasource.replica.max-lag-seconds:5}") long maxLagSeconds) {
+        return new ReplicaRoutingPolicy(replicaDataSource, readYourWritesWindowMs, lagQuery, maxLagSeconds);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                 @Qualifier("replicaDataSource") DataSource replicaDataSource,
+                                 ReplicaRoutingPolicy replicaRoutingPolicy) {
+        ReadWriteRoutingDataSource routingDataSource = new ReadWriteRoutingDataSource(replicaRoutingPolicy);
+        routingDataSource.setTargetDataSources(Map.of(
+                ReadWriteRoutingDataSource.Route.PRIMARY, primaryDataSource,
+                ReadWriteRoutingDataSource.Route.REPLICA, replicaDataSource));
+        routingDataSource.setDefaultTargetDataSource(primaryDataSource);
+        routingDataSource.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    @Bean
+    public ReadYourWritesFilter readYourWritesFilter(ReplicaRoutingPolicy replicaRoutingPolicy) {
+        return new ReadYourWritesFilter(replicaRoutingPolicy);
+    }
+
+    @Bean // Applied by Spring Boot to the executor behind @Async
+    public TaskDecorator readYourWritesTaskDecorator(ReplicaRoutingPolicy replicaRoutingPolicy) {
+        return replicaRoutingPolicy::propagatePin;
+    }
+}
@@ -0,0 +1,49 @@
+package com.webapp.ems.config;
+
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Hands out replica connections to read-only transactions the {@link ReplicaRoutingPolicy} lets through,
+ * and primary connections to everything else. It must sit behind a LazyConnectionDataSourceProxy: the
+ * transaction manager asks for a connection before the read-only flag is bound, the proxy defers that
+ * to the first statement.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Route { PRIMARY, REPLICA }
+
+    private final ReplicaRoutingPolicy policy;
+
+    public ReadWriteRoutingDataSource(ReplicaRoutingPolicy policy) {
+        this.policy = policy;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (policy.useReplica()) {
+            if (policy.replicaMayBeBehind()) {
+                ReplicaReads.markBehind();
+            }
+            return Route.REPLICA;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()
+                && !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            // Ahead of other after-commit work, so listeners reading what was just written see it too
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    policy.recordWrite();
+                }
+
+                @Override
+                public int getOrder() {
+                    return Ordered.HIGHEST_PRECEDENCE;
+                }
+            });
+        }
+        return Route.PRIMARY;
+    }
+}
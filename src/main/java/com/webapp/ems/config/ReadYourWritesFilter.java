@@ -0,0 +1,51 @@
+package com.webapp.ems.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Carries read-your-writes across requests: a request whose client wrote within the window (per the
+ * {@value ReplicaRoutingPolicy#LAST_WRITE_COOKIE} cookie) reads from the primary, and a request that
+ * commits a write sets the cookie. The cookie holds the write time, so any instance can honour it.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    private final ReplicaRoutingPolicy policy;
+
+    public ReadYourWritesFilter(ReplicaRoutingPolicy policy) {
+        this.policy = policy;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        policy.beginRequest(lastWriteAt(request), response);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            policy.endRequest();
+        }
+    }
+
+    private static Long lastWriteAt(HttpServletRequest request) {
+        if (request.getCookies() == null) {
+            return null;
+        }
+        for (Cookie cookie : request.getCookies()) {
+            if (ReplicaRoutingPolicy.LAST_WRITE_COOKIE.equals(cookie.getName())) {
+                try {
+                    return Long.parseLong(cookie.getValue());
+                } catch (NumberFormatException e) {
+                    return null;
+                }
+            }
+        }
+        return null;
+    }
+}
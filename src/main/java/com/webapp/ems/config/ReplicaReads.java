@@ -0,0 +1,57 @@
+package com.webapp.ems.config;
+
+import jakarta.persistence.CacheStoreMode;
+import org.hibernate.Session;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Flags a read-only transaction routed to the replica while the replica may still lack a write this
+ * instance just committed. What it reads is fine to return, but not to cache: the write has already
+ * evicted the affected entries, so a stale copy stored now would stay until the next write. For such a
+ * transaction the Hibernate second-level and query caches are read but not filled, and application caches
+ * check {@link #mayCache()} before storing.
+ */
+public final class ReplicaReads {
+
+    private static final Object BEHIND = new Object(); // Transaction resource key
+
+    private ReplicaReads() {
+    }
+
+    /** False inside a transaction whose replica reads may be older than this instance's latest write. */
+    public static boolean mayCache() {
+        return !TransactionSynchronizationManager.hasResource(BEHIND);
+    }
+
+    static void markBehind() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive() || TransactionSynchronizationManager.hasResource(BEHIND)) {
+            return;
+        }
+        List<Session> sessions = new ArrayList<>();
+        for (Object resource : TransactionSynchronizationManager.getResourceMap().values()) {
+            if (resource instanceof EntityManagerHolder holder) {
+                Session session = holder.getEntityManager().unwrap(Session.class);
+                session.setCacheStoreMode(CacheStoreMode.BYPASS);
+                sessions.add(session);
+            }
+        }
+        TransactionSynchronizationManager.bindResource(BEHIND, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(BEHIND);
+                // With open-in-view the session outlives the transaction; later ones may fill the cache again
+                for (Session session : sessions) {
+                    if (session.isOpen()) {
+                        session.setCacheStoreMode(CacheStoreMode.USE);
+                    }
+                }
+            }
+        });
+    }
+}
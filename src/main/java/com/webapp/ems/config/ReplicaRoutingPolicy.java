@@ -0,0 +1,143 @@
+package com.webapp.ems.config;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+
+/**
+ * Decides whether the current unit of work may read from the replica. Read-only transactions go to the
+ * replica unless
+ * <ul>
+ *   <li>the caller wrote recently (read-your-writes): a committed write pins the thread to the primary for
+ *   the read-your-writes window, and {@link ReadYourWritesFilter} carries that pin to the client's next
+ *   requests through the {@value #LAST_WRITE_COOKIE} cookie;</li>
+ *   <li>the replica is unusable: the lag query (run on the replica) failed or reported more than
+ *   max-lag-seconds of replication lag.</li>
+ * </ul>
+ * The pin is per thread; {@link #propagatePin} hands it to {@code @Async} work scheduled after a commit.
+ * Replica reads soon after any write committed by this instance may still miss it, so they must not fill
+ * caches that write has just evicted: see {@link #replicaMayBeBehind()} and {@link ReplicaReads}.
+ */
+public class ReplicaRoutingPolicy {
+
+    public static final String LAST_WRITE_COOKIE = "ems_last_write";
+
+    private final JdbcTemplate replicaJdbcTemplate;
+    private final long readYourWritesWindowMs;
+    private final String lagQuery;
+    private final long maxLagSeconds;
+    private final long staleWindowMs;
+
+    private final ThreadLocal<Long> primaryPinnedUntil = new ThreadLocal<>();
+    private final ThreadLocal<HttpServletResponse> currentResponse = new ThreadLocal<>();
+    private volatile boolean replicaUsable = true;
+    private volatile long lastWriteAt; // By any thread
+
+    public ReplicaRoutingPolicy(DataSource replicaDataSource, long readYourWritesWindowMs, String lagQuery, long maxLagSeconds) {
+        this.replicaJdbcTemplate = new JdbcTemplate(replicaDataSource);
+        this.readYourWritesWindowMs = readYourWritesWindowMs;
+        this.lagQuery = lagQuery;
+        this.maxLagSeconds = maxLagSeconds;
+        // Without a lag check, replication is assumed to catch up within the read-your-writes window
+        this.staleWindowMs = lagQuery == null || lagQuery.isBlank()
+                ? readYourWritesWindowMs : Math.max(readYourWritesWindowMs, maxLagSeconds * 1000);
+    }
+
+    public boolean useReplica() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly() || !replicaUsable) {
+            return false;
+        }
+        Long pinnedUntil = primaryPinnedUntil.get();
+        return pinnedUntil == null || System.currentTimeMillis() >= pinnedUntil;
+    }
+
+    /** Called after a read-write transaction committed on the primary. */
+    public void recordWrite() {
+        long now = System.currentTimeMillis();
+        lastWriteAt = now;
+        primaryPinnedUntil.set(now + readYourWritesWindowMs);
+        HttpServletResponse response = currentResponse.get();
+        if (response != null && !response.isCommitted()) {
+            Cookie cookie = new Cookie(LAST_WRITE_COOKIE, String.valueOf(now));
+            cookie.setPath("/");
+            cookie.setHttpOnly(true);
+            cookie.setMaxAge((int) Math.max(1, (readYourWritesWindowMs + 999) / 1000));
+            response.addCookie(cookie);
+        }
+    }
+
+    /**
+     * Whether the replica may still lack the last write this instance committed (from any thread): true
+     * within the read-your-writes window, or the tolerated lag if larger, after it.
+     */
+    public boolean replicaMayBeBehind() {
+        return System.currentTimeMillis() < lastWriteAt + staleWindowMs;
+    }
+
+    /**
+     * Wraps a task so it runs with the submitting thread's primary pin, e.g. emails sent {@code @Async}
+     * right after a commit read the row as committed rather than the replica's older copy.
+     */
+    public Runnable propagatePin(Runnable task) {
+        Long pinnedUntil = primaryPinnedUntil.get();
+        return () -> {
+            if (pinnedUntil != null) {
+                primaryPinnedUntil.set(pinnedUntil);
+            } else {
+                primaryPinnedUntil.remove();
+            }
+            try {
+                task.run();
+            } finally {
+                primaryPinnedUntil.remove(); // Pool threads must not keep it for the next task
+            }
+        };
+    }
+
+    /** Forgets this thread's recent write; request threads are cleared by the filter. */
+    public void clearReadYourWrites() {
+        primaryPinnedUntil.remove();
+    }
+
+    public boolean isReplicaUsable() {
+        return replicaUsable;
+    }
+
+    @Scheduled(fixedDelayString = "${ems.datasource.replica.lag-check-interval-ms:5000}")
+    public void checkReplicaLag() {
+        if (lagQuery == null || lagQuery.isBlank()) {
+            return;
+        }
+        boolean usable;
+        try {
+            Long lagSeconds = replicaJdbcTemplate.queryForObject(lagQuery, Long.class);
+            usable = lagSeconds != null && lagSeconds <= maxLagSeconds; // NULL: replication is not running
+        } catch (DataAccessException e) {
+            usable = false;
+        }
+        if (usable != replicaUsable) {
+            System.out.println("Read replica " + (usable ? "caught up; read-only traffic goes back to it."
+                    : "is lagging or unreachable; read-only traffic goes to the primary."));
+        }
+        replicaUsable = usable;
+    }
+
+    void beginRequest(Long lastWriteAt, HttpServletResponse response) {
+        currentResponse.set(response);
+        if (lastWriteAt != null && lastWriteAt + readYourWritesWindowMs > System.currentTimeMillis()) {
+            primaryPinnedUntil.set(lastWriteAt + readYourWritesWindowMs);
+        } else {
+            primaryPinnedUntil.remove();
+        }
+    }
+
+    void endRequest() {
+        currentResponse.remove();
+        primaryPinnedUntil.remove();
+    }
+}
@@ -0,0 +1,46 @@
+package com.webapp.ems.controller;
+
+import com.webapp.ems.dto.AbsenceReportDto;
+import com.webapp.ems.service.LeaveAnalyticsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.YearMonth;
+
+@RestController
+@RequestMapping("/api/analytics")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class AnalyticsController {
+
+    private final LeaveAnalyticsService leaveAnalyticsService;
+
+    private Long getPerformingAdminIdFromHeader(String adminIdHeaderStr) {
+        if (adminIdHeaderStr == null || adminIdHeaderStr.isEmpty()) {
+            throw new IllegalArgumentException("X-Admin-Id header is missing for admin operation.");
+        }
+        try {
+            return Long.parseLong(adminIdHeaderStr);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid X-Admin-Id header value.");
+        }
+    }
+
+    // Absence report for the admin's employees, e.g. /api/analytics/absence?from=2026-01&to=2026-06
+    @GetMapping("/absence")
+    public ResponseEntity<?> getAbsenceReport(@RequestHeader("X-Admin-Id") String adminIdStr,
+                                              @RequestParam YearMonth from,
+                                              @RequestParam YearMonth to) {
+        try {
+            Long adminId = getPerformingAdminIdFromHeader(adminIdStr);
+            AbsenceReportDto report = leaveAnalyticsService.getAbsenceReport(adminId, from, to);
+            return ResponseEntity.ok(report);
+        } catch (IllegalArgumentException e) { // Invalid X-Admin-Id or month range
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (RuntimeException e) { // "admin not found"
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.webapp.ems.controller;
+
+import com.webapp.ems.dto.CacheRegionStatsDto;
+import com.webapp.ems.service.CacheStatisticsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class CacheStatisticsController {
+
+    private final CacheStatisticsService cacheStatisticsService;
+
+    private Long getPerformingAdminIdFromHeader(String adminIdHeaderStr) {
+        if (adminIdHeaderStr == null || adminIdHeaderStr.isEmpty()) {
+            throw new IllegalArgumentException("X-Admin-Id header is missing for admin operation.");
+        }
+        try {
+            return Long.parseLong(adminIdHeaderStr);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid X-Admin-Id header value.");
+        }
+    }
+
+    // Second-level/query cache hit ratios per region since startup
+    @GetMapping("/cache-statistics")
+    public ResponseEntity<?> getCacheStatistics(@RequestHeader("X-Admin-Id") String adminIdStr) {
+        try {
+            Long adminId = getPerformingAdminIdFromHeader(adminIdStr);
+            List<CacheRegionStatsDto> regions = cacheStatisticsService.getRegionStatistics(adminId);
+            return ResponseEntity.ok(regions);
+        } catch (IllegalArgumentException e) { // Invalid X-Admin-Id
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (RuntimeException e) { // "admin not found"
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(e.getMessage());
+        }
+    }
+}
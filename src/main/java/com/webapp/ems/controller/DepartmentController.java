@@ -1,8 +1,14 @@
 package com.webapp.ems.controller;
 
 import com.webapp.ems.dto.DepartmentDto;
+import com.webapp.ems.dto.DepartmentMoveDto;
+import com.webapp.ems.dto.DepartmentMoveResultDto;
+import com.webapp.ems.dto.DepartmentParentDto;
+import com.webapp.ems.dto.DepartmentSubtreeDto;
 import com.webapp.ems.service.DepartmentService;
+import com.webapp.ems.service.ReferenceDataCache;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -15,6 +21,7 @@ import java.util.List;
 public class DepartmentController {
 
     private final DepartmentService departmentService;
+    private final ReferenceDataCache referenceDataCache;
 
     // Helper to get adminId from header (same as in EmployeeController)
     private Long getPerformingAdminId(String adminIdHeaderStr) {
@@ -73,6 +80,22 @@ public class DepartmentController {
         }
     }
 
+    @GetMapping("/{id}/subtree") // Department count, headcount and average salary including sub-departments
+    public ResponseEntity<?> getDepartmentSubtree(@PathVariable Long id,
+                                                  @RequestHeader("X-Admin-Id") String adminIdStr) {
+        try {
+            Long adminId = getPerformingAdminId(adminIdStr);
+            DepartmentSubtreeDto subtree = departmentService.getDepartmentSubtree(id, adminId);
+            return ResponseEntity.ok(subtree);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (SecurityException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(e.getMessage());
+        } catch (RuntimeException e) { // For "not found"
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        }
+    }
+
     @GetMapping // Get all departments FOR A SPECIFIC ADMIN
     public ResponseEntity<?> getAllDepartmentsByAdmin(@RequestHeader("X-Admin-Id") String adminIdStr) {
         try {
@@ -106,6 +129,23 @@ public class DepartmentController {
         }
     }
 
+    @PutMapping("/{id}/parent") // Moves the department and its sub-departments; a null parentId makes it top-level
+    public ResponseEntity<?> moveDepartment(@PathVariable Long id,
+                                            @RequestBody DepartmentParentDto parentDto,
+                                            @RequestHeader("X-Admin-Id") String adminIdStr) {
+        try {
+            Long adminId = getPerformingAdminId(adminIdStr);
+            DepartmentDto movedDepartment = departmentService.moveDepartment(id, parentDto.getParentId(), adminId);
+            return ResponseEntity.ok(movedDepartment);
+        } catch (IllegalArgumentException e) { // Invalid header, unknown parent or a cycle
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (SecurityException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(e.getMessage());
+        } catch (RuntimeException e) { // For "not found"
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        }
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<?> deleteDepartment(@PathVariable Long id,
                                               @RequestHeader("X-Admin-Id") String adminIdStr) {
@@ -125,11 +165,50 @@ public class DepartmentController {
         }
     }
 
+    @PostMapping("/{id}/move-employees") // Bulk reassignment in one statement
+    public ResponseEntity<?> moveEmployees(@PathVariable Long id,
+                                           @RequestBody DepartmentMoveDto moveDto,
+                                           @RequestHeader("X-Admin-Id") String adminIdStr) {
+        try {
+            Long adminId = getPerformingAdminId(adminIdStr);
+            DepartmentMoveResultDto result = departmentService.moveEmployees(id, moveDto, adminId);
+            return ResponseEntity.ok(result);
+        } catch (IllegalArgumentException e) { // Invalid header, target or ID list
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (SecurityException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(e.getMessage());
+        } catch (RuntimeException e) { // For "not found"
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        }
+    }
+
+    @PostMapping("/{id}/merge-into/{targetId}") // Moves everything to the target and deletes this department
+    public ResponseEntity<?> mergeDepartments(@PathVariable Long id,
+                                              @PathVariable Long targetId,
+                                              @RequestHeader("X-Admin-Id") String adminIdStr) {
+        try {
+            Long adminId = getPerformingAdminId(adminIdStr);
+            DepartmentMoveResultDto result = departmentService.mergeDepartments(id, targetId, adminId);
+            return ResponseEntity.ok(result);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (SecurityException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(e.getMessage());
+        } catch (RuntimeException e) { // For "not found" or a concurrent assignment
+            if (e.getMessage().toLowerCase().contains("not found")) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+            }
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+        }
+    }
+
     // --- PUBLIC ENDPOINT FOR REGISTRATION DROPDOWN ---
+    // Served from a pre-serialized snapshot: no database access, 304 on a matching If-None-Match
     @GetMapping("/all") // Maps to GET /api/departments
-    public ResponseEntity<List<DepartmentDto>> getAllPublicDepartments() {
-        List<DepartmentDto> departments = departmentService.getAllPublicDepartments();
-        return ResponseEntity.ok(departments);
+    public ResponseEntity<byte[]> getAllPublicDepartments(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return referenceDataCache.getDepartments().toResponse(ifNoneMatch, acceptEncoding);
     }
 
     @GetMapping("/api/selected-admin-departments") // Path is /api/departments. Frontend will add ?adminId=X or send X-Admin-Id header
@@ -57,10 +57,14 @@ public class EmployeeController {
     }
 
     @GetMapping // Get all employees FOR A SPECIFIC ADMIN
-    public ResponseEntity<?> getAllEmployeesForAdmin(@RequestHeader("X-Admin-Id") String adminIdStr) {
+    public ResponseEntity<?> getAllEmployeesForAdmin(@RequestHeader("X-Admin-Id") String adminIdStr,
+                                                     @RequestParam(value = "departmentId", required = false) Long departmentId) {
         try {
             Long adminId = getPerformingAdminId(adminIdStr);
-            List<EmployeeDto> employees = employeeService.getAllEmployeesForAdmin(adminId);
+            // With departmentId: everyone under that department, its sub-departments included
+            List<EmployeeDto> employees = departmentId != null
+                    ? employeeService.getEmployeesInDepartmentSubtree(departmentId, adminId)
+                    : employeeService.getAllEmployeesForAdmin(adminId);
             return ResponseEntity.ok(employees);
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().body(e.getMessage());
@@ -0,0 +1,72 @@
+package com.webapp.ems.controller;
+
+import com.webapp.ems.dto.HolidayDto;
+import com.webapp.ems.service.HolidayService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/holidays")
+@RequiredArgsConstructor
+public class HolidayController {
+
+    private final HolidayService holidayService;
+
+    private Long getPerformingAdminId(String adminIdHeaderStr) {
+        if (adminIdHeaderStr == null || adminIdHeaderStr.isEmpty()) {
+            throw new IllegalArgumentException("X-Admin-Id header is missing.");
+        }
+        try {
+            return Long.parseLong(adminIdHeaderStr);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid X-Admin-Id header value.");
+        }
+    }
+
+    @GetMapping
+    public ResponseEntity<?> getHolidays(@RequestHeader("X-Admin-Id") String adminIdStr,
+                                         @RequestParam(required = false) Integer year) {
+        try {
+            Long adminId = getPerformingAdminId(adminIdStr);
+            List<HolidayDto> holidays = holidayService.getHolidaysForAdmin(adminId, year != null ? year : LocalDate.now().getYear());
+            return ResponseEntity.ok(holidays);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(e.getMessage());
+        }
+    }
+
+    @PostMapping
+    public ResponseEntity<?> addHoliday(@RequestBody HolidayDto holidayDto,
+                                        @RequestHeader("X-Admin-Id") String adminIdStr) {
+        try {
+            Long adminId = getPerformingAdminId(adminIdStr);
+            HolidayDto createdHoliday = holidayService.addHoliday(holidayDto, adminId);
+            return new ResponseEntity<>(createdHoliday, HttpStatus.CREATED);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (RuntimeException e) { // "already exists" or "admin not found"
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+        }
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<?> deleteHoliday(@PathVariable Long id,
+                                           @RequestHeader("X-Admin-Id") String adminIdStr) {
+        try {
+            Long adminId = getPerformingAdminId(adminIdStr);
+            holidayService.deleteHoliday(id, adminId);
+            return ResponseEntity.ok("Holiday with ID " + id + " deleted successfully.");
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        }
+    }
+}
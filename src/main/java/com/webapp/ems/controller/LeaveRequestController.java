@@ -1,15 +1,26 @@
 package com.webapp.ems.controller;
 
+import com.webapp.ems.dto.LeaveBalanceDto;
+import com.webapp.ems.dto.LeaveBulkActionDto;
+import com.webapp.ems.dto.LeaveBulkActionResultDto;
 import com.webapp.ems.dto.LeaveRequestActionDto;
 import com.webapp.ems.dto.LeaveRequestDto;
+import com.webapp.ems.dto.LeaveRequestPageDto;
+import com.webapp.ems.dto.TeamAvailabilityDayDto;
 import com.webapp.ems.enums.LeaveStatus;
+import com.webapp.ems.service.LeaveBalanceService;
 import com.webapp.ems.service.LeaveRequestService;
+import com.webapp.ems.service.TeamAvailabilityService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/leaves")
@@ -17,6 +28,8 @@ import java.util.List;
 public class LeaveRequestController {
 
     private final LeaveRequestService leaveRequestService;
+    private final LeaveBalanceService leaveBalanceService;
+    private final TeamAvailabilityService teamAvailabilityService;
 
     // Helper to get admin ID from header (INSECURE - for non-Spring Security setup)
     private Long getPerformingAdminIdFromHeader(String adminIdHeaderStr) {
@@ -48,9 +61,10 @@ public class LeaveRequestController {
     }
 
     @GetMapping("/my-requests/{employeeId}")
-    public ResponseEntity<?> getMyLeaveRequests(@PathVariable Long employeeId) {
+    public ResponseEntity<?> getMyLeaveRequests(@PathVariable Long employeeId,
+                                                @RequestParam(defaultValue = "false") boolean includeArchived) {
         try {
-            List<LeaveRequestDto> requests = leaveRequestService.getLeaveRequestsByEmployeeId(employeeId);
+            List<LeaveRequestDto> requests = leaveRequestService.getLeaveRequestsByEmployeeId(employeeId, includeArchived);
             return ResponseEntity.ok(requests);
         } catch (RuntimeException e) {
             // Catch specific "not found" for employee if needed, or general error
@@ -58,6 +72,16 @@ public class LeaveRequestController {
         }
     }
 
+    @GetMapping("/my-balance/{employeeId}")
+    public ResponseEntity<?> getMyLeaveBalance(@PathVariable Long employeeId) {
+        try {
+            LeaveBalanceDto balance = leaveBalanceService.getBalance(employeeId);
+            return ResponseEntity.ok(balance);
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        }
+    }
+
     @PutMapping("/my-requests/{leaveRequestId}/cancel/{employeeId}")
     public ResponseEntity<?> cancelMyLeaveRequest(@PathVariable Long leaveRequestId, @PathVariable Long employeeId) {
         try {
@@ -65,6 +89,8 @@ public class LeaveRequestController {
             return ResponseEntity.ok(cancelledRequest);
         } catch (SecurityException e) { // For unauthorized access
             return ResponseEntity.status(HttpStatus.FORBIDDEN).body(e.getMessage());
+        } catch (OptimisticLockingFailureException e) { // Lost a race with an admin action
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
         } catch (RuntimeException e) { // For "not found" or "not pending"
             return ResponseEntity.badRequest().body(e.getMessage());
         }
@@ -74,18 +100,52 @@ public class LeaveRequestController {
     // --- Admin Endpoints (Modified for Scoping) ---
     @GetMapping("/admin/all")
     public ResponseEntity<?> getAllLeaveRequestsForAdmin(@RequestHeader("X-Admin-Id") String adminIdStr,
-                                                         @RequestParam(required = false) LeaveStatus status) {
+                                                         @RequestParam(required = false) LeaveStatus status,
+                                                         @RequestParam(required = false) Long employeeId,
+                                                         @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                         @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                                         @RequestParam(required = false) String cursor,
+                                                         @RequestParam(defaultValue = "50") int limit) {
         try {
             Long adminId = getPerformingAdminIdFromHeader(adminIdStr);
-            List<LeaveRequestDto> requests = leaveRequestService.getAllLeaveRequestsForAdmin(adminId, status);
-            return ResponseEntity.ok(requests);
-        } catch (IllegalArgumentException e) { // Catches issues from getPerformingAdminIdFromHeader
+            LeaveRequestPageDto page = leaveRequestService.getLeaveRequestQueueForAdmin(adminId, status, employeeId, from, to, cursor, limit);
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) { // Catches issues from getPerformingAdminIdFromHeader, bad cursor or limit
             return ResponseEntity.badRequest().body(e.getMessage());
         } catch (RuntimeException e) { // Catches "Admin not found" from service
             return ResponseEntity.status(HttpStatus.FORBIDDEN).body(e.getMessage());
         }
     }
 
+    @GetMapping("/admin/status-counts")
+    public ResponseEntity<?> getLeaveStatusCountsForAdmin(@RequestHeader("X-Admin-Id") String adminIdStr) {
+        try {
+            Long adminId = getPerformingAdminIdFromHeader(adminIdStr);
+            Map<String, Long> counts = leaveRequestService.getLeaveStatusCountsForAdmin(adminId);
+            return ResponseEntity.ok(counts);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(e.getMessage());
+        }
+    }
+
+    @GetMapping("/admin/availability")
+    public ResponseEntity<?> getTeamAvailability(@RequestHeader("X-Admin-Id") String adminIdStr,
+                                                 @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                 @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                                 @RequestParam(required = false) Long departmentId) {
+        try {
+            Long adminId = getPerformingAdminIdFromHeader(adminIdStr);
+            List<TeamAvailabilityDayDto> days = teamAvailabilityService.getAvailability(adminId, from, to, departmentId);
+            return ResponseEntity.ok(days);
+        } catch (IllegalArgumentException e) { // Invalid X-Admin-Id or date range
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(e.getMessage());
+        }
+    }
+
     @GetMapping("/admin/{leaveRequestId}")
     public ResponseEntity<?> getLeaveRequestByIdForAdmin(@PathVariable Long leaveRequestId,
                                                          @RequestHeader("X-Admin-Id") String adminIdStr) {
@@ -110,10 +170,26 @@ public class LeaveRequestController {
             return ResponseEntity.ok(updatedLeaveRequest);
         } catch (IllegalArgumentException e) { // Catches invalid X-Admin-Id or invalid action status
             return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (OptimisticLockingFailureException e) { // Actioned concurrently by someone else
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
         } catch (RuntimeException e) { // Catches "not found or not managed", "already actioned", "admin not found"
             // For "already actioned" or state conflicts, 409 Conflict is appropriate
             // For "not found" or "not managed", 404 Not Found might be better if you distinguish
             return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
         }
     }
+
+    @PostMapping("/admin/bulk-action")
+    public ResponseEntity<?> bulkActionLeaveRequests(@RequestBody LeaveBulkActionDto bulkDto,
+                                                     @RequestHeader("X-Admin-Id") String adminIdStr) {
+        try {
+            Long performingAdminId = getPerformingAdminIdFromHeader(adminIdStr);
+            LeaveBulkActionResultDto result = leaveRequestService.bulkUpdateLeaveStatusForAdmin(bulkDto, performingAdminId);
+            return ResponseEntity.ok(result); // Per-ID outcomes; requests that weren't PENDING are reported, not errors
+        } catch (IllegalArgumentException e) { // Invalid X-Admin-Id, status, or selection
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (RuntimeException e) { // "admin not found"
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(e.getMessage());
+        }
+    }
 }
\ No newline at end of file
@@ -1,25 +1,25 @@
 package com.webapp.ems.controller;
 
-import com.webapp.ems.dto.UserSimpleDto;
-import com.webapp.ems.service.UserService;
+import com.webapp.ems.service.ReferenceDataCache;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
-import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RestController;
 
-import java.util.List;
-
 @RestController
 @RequiredArgsConstructor
 public class UserController { // Or rename if it's just for this specific task
 
-    private final UserService userService; // Or directly UserRepository for this simple case
+    private final ReferenceDataCache referenceDataCache; // Snapshot of UserService.getAllAdminsSimple()
 
+    // Served from a pre-serialized snapshot: no database access, 304 on a matching If-None-Match
     @GetMapping("/api/admins/list") // New endpoint
-    public ResponseEntity<List<UserSimpleDto>> getAdminList() {
-        List<UserSimpleDto> admins = userService.getAllAdminsSimple();
-        return ResponseEntity.ok(admins);
+    public ResponseEntity<byte[]> getAdminList(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return referenceDataCache.getAdmins().toResponse(ifNoneMatch, acceptEncoding);
     }
     // ... other user-related endpoints if any ...
-}
\ No newline at end of file
+}
@@ -0,0 +1,570 @@
+package com.webapp.ems.datagen;
+
+import com.webapp.ems.enums.Gender;
+import com.webapp.ems.enums.LeaveStatus;
+import com.webapp.ems.enums.Role;
+import com.webapp.ems.service.WorkingDayCalendarService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fills an empty database with synthetic admins, departments, employees and leave requests at production
+ * scale (by default 1M users, 5k departments and 10M leave requests) for load and query-plan testing.
+ * Runs on startup with the "datagen" profile and exits when done:
+ * {@code java -jar ems.jar --spring.profiles.active=datagen [--ems.datagen.users=...]}.
+ * <p>
+ * Rows go in through batched JDBC from parallel producers, one chunk of employees (with their leave
+ * requests and monthly rollups) per task. IDs are assigned up front and every chunk has its own seeded
+ * Random, so a seed and reference date always produce the same rows and IDs, whatever the thread count.
+ * The admin leave view is projected at the end. Leave balances are created on first use, as for any
+ * employee.
+ */
+@Component
+@Profile("datagen")
+@RequiredArgsConstructor
+public class SyntheticDataGenerator implements CommandLineRunner {
+
+    private static final int CHUNK_SIZE = 5_000; // Employees per producer task
+    private static final int HISTORY_DAYS = 360; // Stays inside the archival horizon
+    private static final int FUTURE_DAYS = 90;
+
+    private static final String[] FIRST_NAMES = {"Aarav", "Priya", "Rahul", "Ananya", "Vikram", "Sneha", "Arjun", "Kavya",
+            "James", "Mary", "John", "Patricia", "Robert", "Jennifer", "Michael", "Linda", "David", "Elizabeth", "Wei", "Mei",
+            "Hiroshi", "Yuki", "Carlos", "Sofia", "Mateo", "Lucia", "Ahmed", "Fatima", "Omar", "Aisha", "Olga", "Ivan",
+            "Emma", "Liam", "Noah", "Olivia", "Chloe", "Lucas", "Amara", "Kwame"};
+    private static final String[] LAST_NAMES = {"Sharma", "Patel", "Iyer", "Reddy", "Gupta", "Singh", "Nair", "Das",
+            "Smith", "Johnson", "Williams", "Brown", "Jones", "Garcia", "Miller", "Davis", "Wang", "Li", "Zhang", "Chen",
+            "Tanaka", "Suzuki", "Lopez", "Gonzalez", "Hernandez", "Martinez", "Khan", "Ali", "Hassan", "Ivanova",
+            "Petrov", "Muller", "Schmidt", "Dubois", "Rossi", "Silva", "Okafor", "Mensah", "Kim", "Park"};
+    private static final String[] DEPARTMENT_NAMES = {"Engineering", "Sales", "Customer Support", "Operations", "Marketing",
+            "Finance", "Human Resources", "Product", "Quality Assurance", "IT", "Legal", "Procurement", "Logistics",
+            "Research", "Design", "Security"};
+    private static final String[] REASONS = {"Vacation", "Family function", "Medical appointment", "Personal work",
+            "Feeling unwell", "Child care", "Wedding", "Moving house", "Travel", "Exam preparation"};
+
+    private static final String INSERT_USER = "INSERT INTO users (id, first_name, last_name, email, password, gender, "
+            + "date_of_birth, hire_date, salary, role, department_id, is_verified, managed_by_admin_id) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, TRUE, ?)";
+    private static final String INSERT_DEPARTMENT = "INSERT INTO departments (id, name, created_by_admin_id, employee_count, parent_id) "
+            + "VALUES (?, ?, ?, ?, ?)";
+    private static final String INSERT_CLOSURE = "INSERT INTO department_closure (ancestor_id, descendant_id, depth) VALUES (?, ?, ?)";
+    private static final String INSERT_LEAVE = "INSERT INTO leave_requests (id, employee_id, start_date, end_date, reason, status, "
+            + "admin_remarks, action_by_admin_id, created_at, updated_at, version) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0)";
+    private static final String INSERT_ROLLUP = "INSERT INTO leave_monthly_rollups (employee_id, department_id, admin_id, "
+            + "month_start, status, days) VALUES (?, ?, ?, ?, ?, ?)";
+    // Same projection as the V5 migration, for one range of leave request IDs
+    private static final String PROJECT_ADMIN_LEAVE_VIEW = "INSERT INTO admin_leave_view (leave_request_id, managed_by_admin_id, "
+            + "status, created_at, updated_at, employee_id, employee_name, employee_email, start_date, end_date, reason, "
+            + "admin_remarks, action_by_admin_name) "
+            + "SELECT lr.id, e.managed_by_admin_id, lr.status, lr.created_at, lr.updated_at, e.id, "
+            + "CONCAT(e.first_name, ' ', e.last_name), e.email, lr.start_date, lr.end_date, lr.reason, lr.admin_remarks, "
+            + "CASE WHEN a.id IS NULL THEN NULL ELSE CONCAT(a.first_name, ' ', a.last_name) END "
+            + "FROM leave_requests lr JOIN users e ON e.id = lr.employee_id LEFT JOIN users a ON a.id = lr.action_by_admin_id "
+            + "WHERE lr.id > ? AND lr.id <= ?";
+
+    private final DataSource dataSource;
+    private final WorkingDayCalendarService workingDayCalendarService;
+    private final ConfigurableApplicationContext applicationContext;
+
+    @Value("${ems.datagen.users:1000000}")
+    private int users; // Admins included
+    @Value("${ems.datagen.admins:500}")
+    private int admins;
+    @Value("${ems.datagen.departments:5000}")
+    private int departments;
+    @Value("${ems.datagen.leave-requests:10000000}")
+    private int leaveRequests;
+    @Value("${ems.datagen.seed:42}")
+    private long seed;
+    @Value("${ems.datagen.reference-date:}")
+    private String referenceDateSetting; // "Today" of the generated history; empty = today
+    @Value("${ems.datagen.threads:8}")
+    private int threads;
+    @Value("${ems.datagen.batch-size:5000}")
+    private int batchSize;
+    @Value("${ems.datagen.password:changeme}")
+    private String password;
+    @Value("${ems.datagen.exit-when-done:true}")
+    private boolean exitWhenDone;
+
+    @Override
+    public void run(String... args) throws Exception {
+        generate();
+        if (exitWhenDone) {
+            System.exit(SpringApplication.exit(applicationContext));
+        }
+    }
+
+    public void generate() throws SQLException, InterruptedException {
+        if (admins < 1 || users <= admins || departments < admins || leaveRequests < 0 || threads < 1 || batchSize < 1) {
+            throw new IllegalArgumentException("Invalid ems.datagen settings: need users > admins >= 1, departments >= admins, "
+                    + "leave-requests >= 0, threads >= 1 and batch-size >= 1.");
+        }
+        try (Connection connection = dataSource.getConnection()) {
+            for (String table : List.of("users", "departments", "leave_requests")) {
+                long rows = count(connection, table);
+                if (rows > 0) {
+                    throw new IllegalStateException("Synthetic data needs an empty database, but " + table + " has " + rows + " row(s).");
+                }
+            }
+        }
+        LocalDate referenceDate = referenceDateSetting.isBlank() ? LocalDate.now() : LocalDate.parse(referenceDateSetting);
+        long started = System.nanoTime();
+
+        Plan plan = plan(referenceDate);
+        writeAdminsAndDepartments(plan);
+        System.out.println("Synthetic data: " + admins + " admins and " + departments + " departments written.");
+
+        int chunks = (plan.employees() + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        AtomicInteger done = new AtomicInteger();
+        ExecutorService producers = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>(chunks);
+            for (int chunk = 0; chunk < chunks; chunk++) {
+                int c = chunk;
+                futures.add(producers.submit(() -> {
+                    writeChunk(plan, c);
+                    int finished = done.incrementAndGet();
+                    if (finished % Math.max(1, chunks / 20) == 0 || finished == chunks) {
+                        System.out.println("Synthetic data: " + finished + "/" + chunks + " employee chunks written.");
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Synthetic data generation failed: " + e.getCause().getMessage(), e.getCause());
+        } finally {
+            producers.shutdownNow();
+        }
+
+        restartIdentities();
+        projectAdminLeaveView();
+        System.out.printf("Synthetic data: %d users, %d departments and %d leave requests generated in %.1f s (seed %d, reference date %s).%n",
+                users, departments, leaveRequests, (System.nanoTime() - started) / 1e9, seed, referenceDate);
+    }
+
+    // --- Plan: everything that crosses chunk boundaries, drawn from one Random ---
+
+    /**
+     * Admin i has ID i + 1, employee e has ID admins + e + 1 and department d has ID d + 1. Admin i's
+     * departments are [firstDepartment[i], firstDepartment[i + 1]), the first being the root of the
+     * admin's two-level tree. Leave request IDs of chunk c start at firstLeaveId[c].
+     */
+    private record Plan(LocalDate referenceDate, int employees, int[] adminOf, int[] departmentOf, int[] leaveCount,
+                        int[] firstDepartment, long[] headcount, long[] firstLeaveId) {
+    }
+
+    private Plan plan(LocalDate referenceDate) {
+        Random random = new Random(seed);
+        int employees = users - admins;
+
+        // Teams skew large for the first admins; departments are split evenly with the remainder going to the largest teams
+        int[] firstDepartment = new int[admins + 1];
+        for (int a = 0; a < admins; a++) {
+            firstDepartment[a + 1] = firstDepartment[a] + departments / admins + (a < departments % admins ? 1 : 0);
+        }
+        int[] adminOf = new int[employees];
+        int[] departmentOf = new int[employees];
+        long[] headcount = new long[departments];
+        for (int e = 0; e < employees; e++) {
+            double u = random.nextDouble();
+            int admin = Math.min(admins - 1, (int) (admins * u * u));
+            int first = firstDepartment[admin];
+            int size = firstDepartment[admin + 1] - first;
+            // A few people at the root; the rest skewed towards the first child departments
+            double v = random.nextDouble();
+            int local = size == 1 || random.nextDouble() < 0.02 ? 0 : 1 + Math.min(size - 2, (int) ((size - 1) * v * v));
+            adminOf[e] = admin;
+            departmentOf[e] = first + local;
+            headcount[first + local]++;
+        }
+
+        int[] leaveCount = new int[employees];
+        for (int i = 0; i < leaveRequests; i++) {
+            leaveCount[random.nextInt(employees)]++;
+        }
+        int chunks = (employees + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        long[] firstLeaveId = new long[chunks];
+        long nextLeaveId = 1;
+        for (int e = 0; e < employees; e++) {
+            if (e % CHUNK_SIZE == 0) {
+                firstLeaveId[e / CHUNK_SIZE] = nextLeaveId;
+            }
+            nextLeaveId += leaveCount[e];
+        }
+        return new Plan(referenceDate, employees, adminOf, departmentOf, leaveCount, firstDepartment, headcount, firstLeaveId);
+    }
+
+    // --- Writers ---
+
+    private void writeAdminsAndDepartments(Plan plan) throws SQLException {
+        Random random = new Random(seed - 1);
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try (BatchInsert insertUser = new BatchInsert(connection, INSERT_USER)) {
+                for (int a = 0; a < admins; a++) {
+                    long id = a + 1;
+                    String firstName = pick(random, FIRST_NAMES);
+                    String lastName = pick(random, LAST_NAMES);
+                    bindUser(insertUser.statement(), id, firstName, lastName, "admin." + id + "@example.com",
+                            randomGender(random), null, null, null, Role.ADMIN, null, null);
+                    insertUser.add();
+                }
+            }
+            try (BatchInsert insertDepartment = new BatchInsert(connection, INSERT_DEPARTMENT);
+                 BatchInsert insertClosure = new BatchInsert(connection, INSERT_CLOSURE)) {
+                for (int a = 0; a < admins; a++) {
+                    long rootId = plan.firstDepartment()[a] + 1;
+                    for (int d = plan.firstDepartment()[a]; d < plan.firstDepartment()[a + 1]; d++) {
+                        long id = d + 1;
+                        int local = d - plan.firstDepartment()[a];
+                        PreparedStatement department = insertDepartment.statement();
+                        department.setLong(1, id);
+                        department.setString(2, local == 0 ? "Headquarters" : departmentName(local - 1));
+                        department.setLong(3, a + 1);
+                        department.setLong(4, plan.headcount()[d]);
+                        setNullableLong(department, 5, local == 0 ? null : rootId);
+                        insertDepartment.add();
+
+                        addClosure(insertClosure, id, id, 0);
+                        if (local > 0) {
+                            addClosure(insertClosure, rootId, id, 1);
+                        }
+                    }
+                }
+            }
+            connection.commit();
+        }
+    }
+
+    private void writeChunk(Plan plan, int chunk) throws SQLException {
+        Random random = new Random(seed * 0x9E3779B97F4A7C15L + chunk);
+        int from = chunk * CHUNK_SIZE;
+        int to = Math.min(from + CHUNK_SIZE, plan.employees());
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try (BatchInsert insertUser = new BatchInsert(connection, INSERT_USER)) {
+                for (int e = from; e < to; e++) {
+                    writeEmployee(insertUser, plan, e, random);
+                }
+            }
+            connection.commit(); // Leave requests reference these employees
+
+            long leaveId = plan.firstLeaveId()[chunk];
+            try (BatchInsert insertLeave = new BatchInsert(connection, INSERT_LEAVE);
+                 BatchInsert insertRollup = new BatchInsert(connection, INSERT_ROLLUP)) {
+                for (int e = from; e < to; e++) {
+                    leaveId = writeLeaveRequests(insertLeave, insertRollup, plan, e, leaveId, random);
+                }
+            }
+            connection.commit();
+        }
+    }
+
+    private void writeEmployee(BatchInsert insertUser, Plan plan, int e, Random random) throws SQLException {
+        LocalDate today = plan.referenceDate();
+        long id = employeeId(e);
+        String firstName = pick(random, FIRST_NAMES);
+        String lastName = pick(random, LAST_NAMES);
+        int age = (int) Math.max(20, Math.min(65, Math.round(39 + 10 * random.nextGaussian())));
+        LocalDate dateOfBirth = today.minusYears(age).minusDays(random.nextInt(365));
+        // Tenure: exponential with a 5-year mean, never starting before 18
+        long tenureDays = Math.min((long) (-Math.log(1 - random.nextDouble()) * 5 * 365), (age - 18) * 365L);
+        LocalDate hireDate = today.minusDays(tenureDays);
+        double salary = Math.round(62_000 * Math.exp(0.45 * random.nextGaussian()) / 100) * 100.0; // Log-normal
+        bindUser(insertUser.statement(), id, firstName, lastName,
+                firstName.toLowerCase() + "." + lastName.toLowerCase() + "." + id + "@example.com",
+                randomGender(random), dateOfBirth, hireDate, salary, Role.EMPLOYEE,
+                (long) plan.departmentOf()[e] + 1, (long) plan.adminOf()[e] + 1);
+        insertUser.add();
+    }
+
+    private record RollupKey(LocalDate monthStart, LeaveStatus status) {
+    }
+
+    /**
+     * Writes employee e's leave requests: the history window is cut into one slot per request and each
+     * request falls inside its slot, so an employee's requests never overlap. Returns the next free ID.
+     */
+    private long writeLeaveRequests(BatchInsert insertLeave, BatchInsert insertRollup, Plan plan, int e, long leaveId,
+                                    Random random) throws SQLException {
+        int count = plan.leaveCount()[e];
+        if (count == 0) {
+            return leaveId;
+        }
+        LocalDate today = plan.referenceDate();
+        LocalDateTime now = today.atStartOfDay();
+        long employeeId = employeeId(e);
+        long adminId = plan.adminOf()[e] + 1L;
+        long departmentId = plan.departmentOf()[e] + 1L;
+        LocalDate windowStart = today.minusDays(HISTORY_DAYS);
+        int slot = Math.max(1, (HISTORY_DAYS + FUTURE_DAYS) / count);
+        Map<RollupKey, Integer> rollups = new HashMap<>();
+
+        for (int i = 0; i < count; i++, leaveId++) {
+            LocalDate slotStart = windowStart.plusDays((long) i * slot);
+            LocalDate slotEnd = slotStart.plusDays(slot - 1);
+            int length = Math.min(leaveLength(random), slot);
+            LocalDate start = slotStart.plusDays(random.nextInt(slot - length + 1));
+            LocalDate weekday = start;
+            while (workingDayCalendarService.isWeekend(weekday) && weekday.isBefore(start.plusDays(7))) {
+                weekday = weekday.plusDays(1);
+            }
+            if (!weekday.plusDays(length - 1).isAfter(slotEnd)) {
+                start = weekday;
+            }
+            LocalDate end = start.plusDays(length - 1);
+            LeaveStatus status = randomStatus(random, start, end, today);
+
+            LocalDateTime createdAt = start.atTime(9, 0).minusDays(1 + random.nextInt(45)).plusMinutes(random.nextInt(600));
+            if (!createdAt.isBefore(now)) {
+                createdAt = now.minusMinutes(1 + random.nextInt(7 * 24 * 60));
+            }
+            LocalDateTime updatedAt = createdAt;
+            if (status != LeaveStatus.PENDING) {
+                updatedAt = createdAt.plusMinutes(random.nextInt(3 * 24 * 60));
+                if (updatedAt.isAfter(now)) {
+                    updatedAt = now;
+                }
+            }
+            boolean actioned = status == LeaveStatus.APPROVED || status == LeaveStatus.REJECTED;
+
+            PreparedStatement leave = insertLeave.statement();
+            leave.setLong(1, leaveId);
+            leave.setLong(2, employeeId);
+            leave.setDate(3, Date.valueOf(start));
+            leave.setDate(4, Date.valueOf(end));
+            leave.setString(5, pick(random, REASONS));
+            leave.setString(6, status.name());
+            leave.setString(7, status == LeaveStatus.REJECTED ? "Not enough cover for these dates" : null);
+            setNullableLong(leave, 8, actioned ? adminId : null);
+            leave.setTimestamp(9, Timestamp.valueOf(createdAt));
+            leave.setTimestamp(10, Timestamp.valueOf(updatedAt));
+            insertLeave.add();
+
+            // Same working-day split per month as LeaveAnalyticsService.recordTransition
+            for (Map.Entry<LocalDate, Integer> month : workingDayCalendarService.countWorkingDaysPerMonth(adminId, start, end).entrySet()) {
+                if (month.getValue() > 0) {
+                    rollups.merge(new RollupKey(month.getKey(), status), month.getValue(), Integer::sum);
+                }
+            }
+        }
+
+        for (Map.Entry<RollupKey, Integer> rollup : rollups.entrySet()) {
+            PreparedStatement row = insertRollup.statement();
+            row.setLong(1, employeeId);
+            row.setLong(2, departmentId);
+            row.setLong(3, adminId);
+            row.setDate(4, Date.valueOf(rollup.getKey().monthStart()));
+            row.setString(5, rollup.getKey().status().name());
+            row.setInt(6, rollup.getValue());
+            insertRollup.add();
+        }
+        return leaveId;
+    }
+
+    // MySQL moves AUTO_INCREMENT past explicitly inserted IDs by itself; H2 has to be told
+    // One statement per ID range of batch-size requests, each committed on its own
+    private void projectAdminLeaveView() throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement project = connection.prepareStatement(PROJECT_ADMIN_LEAVE_VIEW)) {
+            long maxId;
+            try (Statement statement = connection.createStatement();
+                 ResultSet max = statement.executeQuery("SELECT COALESCE(MAX(id), 0) FROM leave_requests")) {
+                max.next();
+                maxId = max.getLong(1);
+            }
+            for (long afterId = 0; afterId < maxId; afterId += batchSize) {
+                project.setLong(1, afterId);
+                project.setLong(2, afterId + batchSize);
+                project.executeUpdate();
+            }
+        }
+    }
+
+    private void restartIdentities() throws SQLException {
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            if (!"H2".equals(connection.getMetaData().getDatabaseProductName())) {
+                return;
+            }
+            for (String table : List.of("users", "departments", "leave_requests")) {
+                long next;
+                try (ResultSet max = statement.executeQuery("SELECT COALESCE(MAX(id), 0) + 1 FROM " + table)) {
+                    max.next();
+                    next = max.getLong(1);
+                }
+                statement.execute("ALTER TABLE " + table + " ALTER COLUMN id RESTART WITH " + next);
+            }
+        }
+    }
+
+    // --- Distributions ---
+
+    private static Gender randomGender(Random random) {
+        double u = random.nextDouble();
+        if (u < 0.49) {
+            return Gender.MALE;
+        }
+        if (u < 0.97) {
+            return Gender.FEMALE;
+        }
+        return u < 0.985 ? Gender.OTHER : Gender.PREFER_NOT_TO_SAY;
+    }
+
+    // Calendar days: mostly single days and long weekends, occasionally one or two weeks
+    private static int leaveLength(Random random) {
+        double u = random.nextDouble();
+        if (u < 0.45) {
+            return 1;
+        }
+        if (u < 0.75) {
+            return 2 + random.nextInt(2);
+        }
+        if (u < 0.90) {
+            return 4 + random.nextInt(2);
+        }
+        return 6 + random.nextInt(9);
+    }
+
+    // Past leave is closed, current leave is approved, future leave is often still pending
+    private static LeaveStatus randomStatus(Random random, LocalDate start, LocalDate end, LocalDate today) {
+        double u = random.nextDouble();
+        if (end.isBefore(today)) {
+            return u < 0.80 ? LeaveStatus.APPROVED : u < 0.90 ? LeaveStatus.REJECTED : LeaveStatus.CANCELLED;
+        }
+        if (!start.isAfter(today)) {
+            return LeaveStatus.APPROVED;
+        }
+        return u < 0.50 ? LeaveStatus.PENDING : u < 0.85 ? LeaveStatus.APPROVED : u < 0.90 ? LeaveStatus.REJECTED : LeaveStatus.CANCELLED;
+    }
+
+    // --- JDBC helpers ---
+
+    // A prepared INSERT sent every batchSize rows, each batch committed
+    private final class BatchInsert implements AutoCloseable {
+        private final Connection connection;
+        private final PreparedStatement statement;
+        private int rows;
+
+        BatchInsert(Connection connection, String sql) throws SQLException {
+            this.connection = connection;
+            this.statement = connection.prepareStatement(sql);
+        }
+
+        PreparedStatement statement() {
+            return statement;
+        }
+
+        void add() throws SQLException {
+            statement.addBatch();
+            if (++rows == batchSize) {
+                flush();
+                connection.commit();
+            }
+        }
+
+        void flush() throws SQLException {
+            if (rows > 0) {
+                statement.executeBatch();
+                rows = 0;
+            }
+        }
+
+        @Override
+        public void close() throws SQLException {
+            try {
+                flush();
+            } finally {
+                statement.close();
+            }
+        }
+    }
+
+    private void bindUser(PreparedStatement user, long id, String firstName, String lastName, String email,
+                                 Gender gender, LocalDate dateOfBirth, LocalDate hireDate, Double salary, Role role,
+                                 Long departmentId, Long managedByAdminId) throws SQLException {
+        user.setLong(1, id);
+        user.setString(2, firstName);
+        user.setString(3, lastName);
+        user.setString(4, email);
+        user.setString(5, password);
+        user.setString(6, gender.name());
+        user.setDate(7, dateOfBirth != null ? Date.valueOf(dateOfBirth) : null);
+        user.setDate(8, hireDate != null ? Date.valueOf(hireDate) : null);
+        if (salary != null) {
+            user.setDouble(9, salary);
+        } else {
+            user.setNull(9, Types.DOUBLE);
+        }
+        user.setString(10, role.name());
+        setNullableLong(user, 11, departmentId);
+        setNullableLong(user, 12, managedByAdminId);
+    }
+
+    private void addClosure(BatchInsert insertClosure, long ancestorId, long descendantId, int depth) throws SQLException {
+        PreparedStatement closure = insertClosure.statement();
+        closure.setLong(1, ancestorId);
+        closure.setLong(2, descendantId);
+        closure.setInt(3, depth);
+        insertClosure.add();
+    }
+
+    private static void setNullableLong(PreparedStatement statement, int index, Long value) throws SQLException {
+        if (value != null) {
+            statement.setLong(index, value);
+        } else {
+            statement.setNull(index, Types.BIGINT);
+        }
+    }
+
+    private static String departmentName(int index) {
+        String name = DEPARTMENT_NAMES[index % DEPARTMENT_NAMES.length];
+        return index < DEPARTMENT_NAMES.length ? name : name + " " + (index / DEPARTMENT_NAMES.length + 1);
+    }
+
+    private long employeeId(int e) {
+        return admins + e + 1L;
+    }
+
+    private static String pick(Random random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private static long count(Connection connection, String table) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rows = statement.executeQuery("SELECT COUNT(*) FROM " + table)) {
+            rows.next();
+            return rows.getLong(1);
+        }
+    }
+}
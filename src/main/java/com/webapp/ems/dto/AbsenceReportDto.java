@@ -0,0 +1,58 @@
+package com.webapp.ems.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Absence report for an admin's employees over a month range. Days are working days of the admin's
+ * calendar; absence rate is approved leave days divided by (employees x working days in the period).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AbsenceReportDto {
+    private String fromMonth; // e.g. "2026-01"
+    private String toMonth;
+    private int daysInPeriod; // Working days
+    private long employeeCount;
+    private long approvedLeaveDays;
+    private double absenceRate; // 0..1
+    private Map<String, Long> leaveDaysByStatus; // Key: LeaveStatus name
+    private List<MonthRow> months;
+    private List<DepartmentRow> departments;
+    private List<EmployeeRow> topEmployees;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class MonthRow {
+        private String month;
+        private int days; // Working days in the month
+        private long approvedLeaveDays;
+        private double absenceRate;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class DepartmentRow {
+        private Long departmentId; // Null for employees without a department
+        private String departmentName;
+        private long employeeCount;
+        private long approvedLeaveDays;
+        private double absenceRate;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class EmployeeRow {
+        private Long employeeId;
+        private String fullName;
+        private long approvedLeaveDays;
+    }
+}
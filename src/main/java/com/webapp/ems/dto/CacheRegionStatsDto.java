@@ -0,0 +1,18 @@
+package com.webapp.ems.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheRegionStatsDto {
+    private String region;
+    private String kind; // ENTITY or QUERY
+    private long hitCount;
+    private long missCount;
+    private long putCount;
+    private long elementCountInMemory; // -1 when the cache provider doesn't report it
+    private double hitRatio; // hits / (hits + misses), 0 before the first lookup
+}
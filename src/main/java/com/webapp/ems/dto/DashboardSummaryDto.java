@@ -18,4 +18,6 @@ public class DashboardSummaryDto {
     private Map<String, Long> employeeCountByDepartment; // Key: Department Name, Value: Count
     private Map<String, Long> employeeCountByGender;     // Key: Gender (e.g., "MALE", "FEMALE"), Value: Count
     private Map<String, Long> employeeCountByAgeGroup;   // Key: Age Group (e.g., "20-29", "30-39"), Value: Count
+    private List<AverageSalaryPerDepartmentDto> averageSalaryPerDivision; // Top-level departments, whole subtree
+    private Map<String, Long> employeeCountByDivision;   // Key: Top-level department name, Value: Count in its subtree
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package com.webapp.ems.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
@@ -10,6 +11,12 @@ import lombok.AllArgsConstructor;
 public class DepartmentDto {
     private Long id; // Null for creation, non-null for update/response
     private String name;
+    // Response only; maintained by the server. Left out of the public (registration) list
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long employeeCount;
+    // Null for a top-level department. On update, null leaves the parent unchanged; to move a department
+    // to the top level use PUT /api/departments/{id}/parent
+    private Long parentId;
 
     // Constructor without id (useful for creation)
     public DepartmentDto(String name) {
@@ -0,0 +1,13 @@
+package com.webapp.ems.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class DepartmentMoveDto {
+    @NotNull
+    private Long targetDepartmentId;
+    private List<Long> employeeIds; // Explicit IDs, or null/empty for all of the admin's employees in the department
+}
@@ -0,0 +1,16 @@
+package com.webapp.ems.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DepartmentMoveResultDto {
+    private Long sourceDepartmentId;
+    private Long targetDepartmentId;
+    private int movedEmployees;
+    private int movedSubDepartments; // Merge only: direct children re-parented under the target
+    private boolean sourceDeleted;   // Merge only
+}
@@ -0,0 +1,8 @@
+package com.webapp.ems.dto;
+
+import lombok.Data;
+
+@Data
+public class DepartmentParentDto {
+    private Long parentId; // New parent, or null to make the department top-level
+}
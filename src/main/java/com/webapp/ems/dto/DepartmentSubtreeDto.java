@@ -0,0 +1,16 @@
+package com.webapp.ems.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DepartmentSubtreeDto {
+    private Long departmentId;
+    private String name;
+    private long departmentCount; // The department itself plus every sub-department below it
+    private long employeeCount;   // Users assigned anywhere in the subtree
+    private double averageSalary; // Over this admin's employees in the subtree with a salary; 0 if none
+}
@@ -0,0 +1,16 @@
+package com.webapp.ems.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class HolidayDto {
+    private Long id; // Null for creation
+    private LocalDate date;
+    private String name;
+}
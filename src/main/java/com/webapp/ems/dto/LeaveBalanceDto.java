@@ -0,0 +1,15 @@
+package com.webapp.ems.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LeaveBalanceDto {
+    private Long employeeId;
+    private BigDecimal availableDays;
+}
@@ -0,0 +1,16 @@
+package com.webapp.ems.dto;
+
+import com.webapp.ems.enums.LeaveStatus;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class LeaveBulkActionDto {
+    private List<Long> leaveRequestIds; // Explicit IDs, or...
+    private Long departmentId;          // ...all PENDING requests of this department's employees
+    @NotNull
+    private LeaveStatus newStatus;      // Should be APPROVED or REJECTED
+    private String adminRemarks;
+}
@@ -0,0 +1,24 @@
+package com.webapp.ems.dto;
+
+import com.webapp.ems.enums.LeaveActionOutcome;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LeaveBulkActionResultDto {
+    private int updatedCount;
+    private List<Outcome> outcomes;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Outcome {
+        private Long leaveRequestId;
+        private LeaveActionOutcome outcome;
+    }
+}
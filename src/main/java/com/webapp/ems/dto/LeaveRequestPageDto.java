@@ -0,0 +1,15 @@
+package com.webapp.ems.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LeaveRequestPageDto {
+    private List<LeaveRequestDto> items;
+    private String nextCursor; // Pass back as ?cursor= for the next page; null on the last page
+}
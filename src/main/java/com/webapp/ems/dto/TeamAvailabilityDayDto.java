@@ -0,0 +1,17 @@
+package com.webapp.ems.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TeamAvailabilityDayDto {
+    private LocalDate date;
+    private int employeesOnLeaveCount;
+    private List<UserSimpleDto> employeesOnLeave;
+}
@@ -0,0 +1,7 @@
+package com.webapp.ems.enums;
+
+public enum LeaveActionOutcome {
+    UPDATED,     // Transitioned from PENDING to the requested status
+    NOT_PENDING, // Already actioned or cancelled (possibly concurrently)
+    NOT_FOUND    // Doesn't exist or isn't managed by this admin
+}
@@ -0,0 +1,7 @@
+package com.webapp.ems.enums;
+
+public enum LeaveLedgerEntryType {
+    ACCRUAL, // Entitlement added (monthly accrual or opening balance)
+    DEBIT,   // Days taken when a leave request is filed
+    CREDIT   // Days returned when a request is cancelled or rejected
+}
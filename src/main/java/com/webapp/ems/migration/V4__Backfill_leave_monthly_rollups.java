@@ -0,0 +1,146 @@
+package com.webapp.ems.migration;
+
+import com.webapp.ems.calendar.WorkingDayCalendar;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Fills leave_monthly_rollups from the leave requests of a database upgraded from before rollups existed,
+ * counting each request's working days per month under its current status, as
+ * {@code LeaveAnalyticsService.recordTransition} would have. As a migration it runs once, under Flyway's
+ * lock and before the application serves requests, so no live transition can be counted twice.
+ * <p>
+ * Registered with Flyway as a Spring bean (Spring Boot passes JavaMigration beans on) so it sees the
+ * configured weekend days. Holidays arrive with the same upgrade (V2), so there are none to exclude yet.
+ */
+@Component
+public class V4__Backfill_leave_monthly_rollups extends BaseJavaMigration {
+
+    private static final int BATCH_SIZE = 1000;
+
+    private final Set<DayOfWeek> weekendDays;
+
+    public V4__Backfill_leave_monthly_rollups(@Value("${ems.calendar.weekend-days:SATURDAY,SUNDAY}") List<DayOfWeek> weekendDays) {
+        this.weekendDays = weekendDays.isEmpty() ? EnumSet.noneOf(DayOfWeek.class) : EnumSet.copyOf(weekendDays);
+    }
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        try (Statement statement = connection.createStatement();
+             ResultSet existing = statement.executeQuery("SELECT COUNT(*) FROM leave_monthly_rollups")) {
+            existing.next();
+            if (existing.getLong(1) > 0) {
+                return; // Already maintained by the application
+            }
+        }
+
+        // Rows come grouped by employee, so only one employee's (month, status) sums are held at a time
+        String select = "SELECT lr.employee_id, e.department_id, e.managed_by_admin_id, lr.start_date, lr.end_date, lr.status " +
+                "FROM leave_requests lr JOIN users e ON e.id = lr.employee_id ORDER BY lr.employee_id";
+        String insert = "INSERT INTO leave_monthly_rollups (employee_id, department_id, admin_id, month_start, status, days) " +
+                "VALUES (?, ?, ?, ?, ?, ?)";
+        Map<Integer, WorkingDayCalendar> calendars = new HashMap<>();
+        int requests = 0;
+        try (Statement statement = connection.createStatement();
+             PreparedStatement inserts = connection.prepareStatement(insert)) {
+            statement.setFetchSize(BATCH_SIZE);
+            Long employeeId = null;
+            Long departmentId = null;
+            Long adminId = null;
+            Map<RollupKey, Integer> days = new LinkedHashMap<>();
+            int pending = 0;
+            try (ResultSet rows = statement.executeQuery(select)) {
+                while (rows.next()) {
+                    long rowEmployeeId = rows.getLong(1);
+                    if (!Objects.equals(employeeId, rowEmployeeId)) {
+                        pending += addBatch(inserts, employeeId, departmentId, adminId, days);
+                        days.clear();
+                        employeeId = rowEmployeeId;
+                        departmentId = rows.getObject(2, Long.class);
+                        adminId = rows.getObject(3, Long.class);
+                        if (pending >= BATCH_SIZE) {
+                            inserts.executeBatch();
+                            pending = 0;
+                        }
+                    }
+                    String status = rows.getString(6);
+                    countWorkingDaysPerMonth(calendars, rows.getDate(4).toLocalDate(), rows.getDate(5).toLocalDate())
+                            .forEach((monthStart, count) -> days.merge(new RollupKey(monthStart, status), count, Integer::sum));
+                    requests++;
+                }
+            }
+            pending += addBatch(inserts, employeeId, departmentId, adminId, days);
+            if (pending > 0) {
+                inserts.executeBatch();
+            }
+        }
+        if (requests > 0) {
+            System.out.println("Leave analytics rollups backfilled from " + requests + " leave request(s).");
+        }
+    }
+
+    private static int addBatch(PreparedStatement inserts, Long employeeId, Long departmentId, Long adminId,
+                                Map<RollupKey, Integer> days) throws SQLException {
+        int added = 0;
+        for (Map.Entry<RollupKey, Integer> entry : days.entrySet()) {
+            if (entry.getValue() == 0) {
+                continue;
+            }
+            inserts.setLong(1, employeeId);
+            setNullableLong(inserts, 2, departmentId);
+            setNullableLong(inserts, 3, adminId);
+            inserts.setDate(4, Date.valueOf(entry.getKey().monthStart()));
+            inserts.setString(5, entry.getKey().status());
+            inserts.setInt(6, entry.getValue());
+            inserts.addBatch();
+            added++;
+        }
+        return added;
+    }
+
+    private static void setNullableLong(PreparedStatement statement, int index, Long value) throws SQLException {
+        if (value != null) {
+            statement.setLong(index, value);
+        } else {
+            statement.setNull(index, Types.BIGINT);
+        }
+    }
+
+    private Map<LocalDate, Integer> countWorkingDaysPerMonth(Map<Integer, WorkingDayCalendar> calendars, LocalDate from, LocalDate to) {
+        Map<LocalDate, Integer> days = new LinkedHashMap<>();
+        LocalDate cursor = from;
+        while (!cursor.isAfter(to)) {
+            YearMonth month = YearMonth.from(cursor);
+            LocalDate last = month.atEndOfMonth().isBefore(to) ? month.atEndOfMonth() : to;
+            WorkingDayCalendar calendar = calendars.computeIfAbsent(month.getYear(),
+                    year -> WorkingDayCalendar.build(year, weekendDays, List.of()));
+            days.put(month.atDay(1), calendar.countWorkingDays(cursor, last));
+            cursor = last.plusDays(1);
+        }
+        return days;
+    }
+
+    private record RollupKey(LocalDate monthStart, String status) {
+    }
+}
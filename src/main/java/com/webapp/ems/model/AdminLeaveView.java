@@ -0,0 +1,70 @@
+package com.webapp.ems.model;
+
+import com.webapp.ems.enums.LeaveStatus;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Denormalized read model of leave_requests for the admin screens: one row per request with the
+ * managing admin and the names the list shows copied in, so the admin queue is a single index range
+ * scan on (managed_by_admin_id, status, created_at) with no joins. Maintained by AdminLeaveViewService
+ * in the same transaction as every write to the source rows.
+ */
+@Entity
+@Table(name = "admin_leave_view",
+        indexes = {
+                @Index(name = "idx_alv_admin_status_created", columnList = "managed_by_admin_id, status, created_at, leave_request_id"),
+                @Index(name = "idx_alv_admin_created", columnList = "managed_by_admin_id, created_at, leave_request_id"),
+                @Index(name = "idx_alv_employee", columnList = "employee_id")
+        })
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AdminLeaveView {
+
+    @Id
+    @Column(name = "leave_request_id")
+    private Long leaveRequestId;
+
+    @Column(name = "managed_by_admin_id")
+    private Long managedByAdminId; // Null for employees without a managing admin
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private LeaveStatus status;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @Column(name = "employee_id", nullable = false)
+    private Long employeeId;
+
+    @Column(name = "employee_name", nullable = false)
+    private String employeeName;
+
+    @Column(name = "employee_email", nullable = false)
+    private String employeeEmail;
+
+    @Column(name = "start_date", nullable = false)
+    private LocalDate startDate;
+
+    @Column(name = "end_date", nullable = false)
+    private LocalDate endDate;
+
+    @Column(name = "reason", columnDefinition = "TEXT")
+    private String reason;
+
+    @Column(name = "admin_remarks", columnDefinition = "TEXT")
+    private String adminRemarks;
+
+    @Column(name = "action_by_admin_name")
+    private String actionByAdminName;
+}
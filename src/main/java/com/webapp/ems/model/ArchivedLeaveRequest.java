@@ -0,0 +1,61 @@
+package com.webapp.ems.model;
+
+import com.webapp.ems.enums.LeaveStatus;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * A closed (APPROVED/REJECTED/CANCELLED) leave request moved out of leave_requests by
+ * LeaveArchiveService once it is older than the archive horizon. Keeps the original ID; employee and
+ * admin are plain IDs so archived history never blocks changes to the live tables.
+ */
+@Entity
+@Table(name = "leave_requests_archive",
+        indexes = {
+                @Index(name = "idx_leave_archive_employee_created", columnList = "employee_id, created_at"),
+                @Index(name = "idx_leave_archive_status_dates", columnList = "status, start_date, end_date")
+        })
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArchivedLeaveRequest {
+
+    @Id
+    private Long id; // Same ID as in leave_requests
+
+    @Column(name = "employee_id", nullable = false)
+    private Long employeeId;
+
+    @Column(name = "start_date", nullable = false)
+    private LocalDate startDate;
+
+    @Column(name = "end_date", nullable = false)
+    private LocalDate endDate;
+
+    @Column(name = "reason", columnDefinition = "TEXT")
+    private String reason;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private LeaveStatus status;
+
+    @Column(name = "admin_remarks", columnDefinition = "TEXT")
+    private String adminRemarks;
+
+    @Column(name = "action_by_admin_id")
+    private Long actionByAdminId;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+}
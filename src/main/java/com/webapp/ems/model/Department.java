@@ -3,7 +3,11 @@ package com.webapp.ems.model;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -14,6 +18,9 @@ import java.util.List;
                 @UniqueConstraint(columnNames = {"name", "created_by_admin_id"}, name = "uk_department_name_per_admin")
         } // Defines that the combination of name and created_by_admin_id must be unique
 )
+// Second-level cached (region sizing in ehcache.xml): read on nearly every request, rarely changed. Bulk
+// updates (headcounts, moves) make Hibernate drop the whole region, so the cache never serves stale counts.
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "department")
 @Data // Lombok: Generates getters, setters, toString, equals, hashCode
 @NoArgsConstructor // Lombok: Generates no-args constructor
 @AllArgsConstructor // Lombok: Generates all-args constructor
@@ -29,10 +36,23 @@ public class Department {
     @OneToMany(mappedBy = "department", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
     private List<User> employees = new ArrayList<>();
 
+    // Users referencing this department. Only changed by bulk updates in DepartmentRepository, so an
+    // entity flush never writes back a stale value; read it instead of sizing the employees collection.
+    @Column(name = "employee_count", nullable = false, updatable = false)
+    private long employeeCount = 0;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "created_by_admin_id", nullable = false)
     private User createdByAdmin;
 
+    // Null for a top-level department (division). Always owned by the same admin; the full ancestry
+    // is kept in DepartmentClosure for subtree queries.
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "parent_id")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private Department parent;
+
     // Helper method to add an employee to the department
     public void addEmployee(User employee) {
         employees.add(employee);
@@ -0,0 +1,38 @@
+package com.webapp.ems.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Closure table of the department hierarchy: one row for every (ancestor, descendant) pair, including
+ * each department paired with itself at depth 0. "Everything under X" is then a single index range
+ * on ancestor_id instead of a recursive walk; "everything above X" is a range on descendant_id.
+ */
+@Entity
+@Table(name = "department_closure",
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uk_closure_ancestor_descendant", columnNames = {"ancestor_id", "descendant_id"})
+        },
+        indexes = {
+                @Index(name = "idx_closure_descendant", columnList = "descendant_id, ancestor_id")
+        })
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DepartmentClosure {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "ancestor_id", nullable = false)
+    private Long ancestorId;
+
+    @Column(name = "descendant_id", nullable = false)
+    private Long descendantId;
+
+    @Column(name = "depth", nullable = false)
+    private int depth; // 0 for the department itself, 1 for direct children, ...
+}
@@ -0,0 +1,36 @@
+package com.webapp.ems.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * A non-working day in an admin's calendar; applies to the employees that admin manages.
+ */
+@Entity
+@Table(name = "holidays",
+        uniqueConstraints = {
+                @UniqueConstraint(columnNames = {"admin_id", "holiday_date"}, name = "uk_holiday_date_per_admin")
+        })
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class Holiday {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "admin_id", nullable = false)
+    private User admin;
+
+    @Column(name = "holiday_date", nullable = false)
+    private LocalDate date;
+
+    @Column(name = "name", nullable = false)
+    private String name;
+}
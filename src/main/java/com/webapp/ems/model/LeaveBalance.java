@@ -0,0 +1,33 @@
+package com.webapp.ems.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Running leave balance per employee: always equal to the sum of the employee's ledger entries,
+ * but maintained incrementally so it can be checked without reading the ledger.
+ */
+@Entity
+@Table(name = "leave_balances")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LeaveBalance {
+
+    @Id
+    @Column(name = "employee_id")
+    private Long employeeId;
+
+    @Column(name = "available_days", nullable = false, precision = 7, scale = 2)
+    private BigDecimal availableDays = BigDecimal.ZERO;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
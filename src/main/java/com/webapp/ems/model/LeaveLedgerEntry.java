@@ -0,0 +1,52 @@
+package com.webapp.ems.model;
+
+import com.webapp.ems.enums.LeaveLedgerEntryType;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Append-only record of every change to an employee's leave balance. Employee and leave request
+ * are stored as plain IDs so ledger rows never block deleting or archiving the rows they describe.
+ */
+@Entity
+@Table(name = "leave_ledger_entries",
+        indexes = {
+                @Index(name = "idx_ledger_employee_created", columnList = "employee_id, created_at"),
+                @Index(name = "idx_ledger_leave_request", columnList = "leave_request_id"),
+                @Index(name = "idx_ledger_type_period", columnList = "entry_type, period, employee_id")
+        })
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LeaveLedgerEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "employee_id", nullable = false)
+    private Long employeeId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entry_type", nullable = false)
+    private LeaveLedgerEntryType type;
+
+    @Column(name = "days", nullable = false, precision = 7, scale = 2)
+    private BigDecimal days; // Always positive; the type gives the direction
+
+    @Column(name = "leave_request_id")
+    private Long leaveRequestId; // Set for DEBIT/CREDIT entries
+
+    @Column(name = "period", length = 16)
+    private String period; // Accrual period, e.g. "2026-10", or "OPENING"
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
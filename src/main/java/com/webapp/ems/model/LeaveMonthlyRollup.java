@@ -0,0 +1,54 @@
+package com.webapp.ems.model;
+
+import com.webapp.ems.enums.LeaveStatus;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Leave days per (employee, calendar month, status), maintained at every leave status transition so
+ * absence reports read a few rollup rows instead of scanning leave_requests. A request spanning several
+ * months contributes to each month separately. Department and managing admin are the employee's when
+ * the row was first written; later transitions only add days, so moving an employee never reassigns
+ * days already counted (a department merge does, on purpose).
+ */
+@Entity
+@Table(name = "leave_monthly_rollups",
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uk_rollup_employee_month_status", columnNames = {"employee_id", "month_start", "status"})
+        },
+        indexes = {
+                @Index(name = "idx_rollup_admin_month", columnList = "admin_id, month_start, status"),
+                @Index(name = "idx_rollup_department_month", columnList = "department_id, month_start")
+        })
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LeaveMonthlyRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "employee_id", nullable = false)
+    private Long employeeId;
+
+    @Column(name = "department_id")
+    private Long departmentId;
+
+    @Column(name = "admin_id")
+    private Long adminId; // Managing admin
+
+    @Column(name = "month_start", nullable = false)
+    private LocalDate monthStart; // First day of the month
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private LeaveStatus status;
+
+    @Column(name = "days", nullable = false)
+    private int days;
+}
@@ -12,7 +12,16 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "leave_requests")
+@Table(name = "leave_requests",
+        indexes = {
+                // Admin queue: join from the admin's employees, then filter by status and walk created_at
+                @Index(name = "idx_leave_employee_status_created", columnList = "employee_id, status, created_at"),
+                @Index(name = "idx_leave_employee_created", columnList = "employee_id, created_at"),
+                // Status-wide scans by creation time
+                @Index(name = "idx_leave_status_created", columnList = "status, created_at"),
+                // The pending digest: PENDING requests not listed in a digest yet
+                @Index(name = "idx_leave_status_digested", columnList = "status, digested")
+        })
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -53,4 +62,11 @@ public class LeaveRequest {
     @UpdateTimestamp
     @Column(name = "updated_at", nullable = false)
     private LocalDateTime updatedAt; // Tracks when the status was last updated
+
+    @Column(name = "digested", nullable = false)
+    private boolean digested; // Set once the request has been listed in an admin's pending digest
+
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version; // Optimistic lock; the conditional status updates bump it too. Null until first persisted.
 }
\ No newline at end of file
@@ -11,7 +11,15 @@ import java.time.LocalDate;
 import java.time.LocalDateTime; // For OTP timestamp
 
 @Entity
-@Table(name = "users")
+@Table(name = "users",
+        indexes = {
+                // Every admin-scoped query filters on the managing admin and role
+                @Index(name = "idx_users_managed_by_role", columnList = "managed_by_admin_id, role"),
+                @Index(name = "idx_users_department_role", columnList = "department_id, role"),
+                @Index(name = "idx_users_role", columnList = "role")
+        })
+// Deliberately not second-level cached: the cached state would include the password hash and OTP, and the
+// regions are exposed through /api/admin/cache-statistics. Admin lookups are primary-key reads.
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
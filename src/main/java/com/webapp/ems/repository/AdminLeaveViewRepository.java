@@ -0,0 +1,64 @@
+package com.webapp.ems.repository;
+
+import com.webapp.ems.enums.LeaveStatus;
+import com.webapp.ems.model.AdminLeaveView;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface AdminLeaveViewRepository extends JpaRepository<AdminLeaveView, Long> {
+
+    // Admin leave queue, newest first, keyset-paginated on (createdAt, leaveRequestId); single-table range scan
+    @Query("SELECT v FROM AdminLeaveView v " +
+            "WHERE v.managedByAdminId = :adminId " +
+            "AND (:status IS NULL OR v.status = :status) " +
+            "AND (:employeeId IS NULL OR v.employeeId = :employeeId) " +
+            "AND (:from IS NULL OR v.endDate >= :from) " +
+            "AND (:to IS NULL OR v.startDate <= :to) " +
+            "AND (:cursorCreatedAt IS NULL OR v.createdAt < :cursorCreatedAt " +
+            "     OR (v.createdAt = :cursorCreatedAt AND v.leaveRequestId < :cursorId)) " +
+            "ORDER BY v.createdAt DESC, v.leaveRequestId DESC")
+    List<AdminLeaveView> findAdminQueuePage(@Param("adminId") Long adminId,
+                                            @Param("status") LeaveStatus status,
+                                            @Param("employeeId") Long employeeId,
+                                            @Param("from") LocalDate from,
+                                            @Param("to") LocalDate to,
+                                            @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+                                            @Param("cursorId") Long cursorId,
+                                            Pageable pageable);
+
+    // [LeaveStatus, Long]
+    @Query("SELECT v.status, COUNT(v) FROM AdminLeaveView v WHERE v.managedByAdminId = :adminId GROUP BY v.status")
+    List<Object[]> countByStatusForAdmin(@Param("adminId") Long adminId);
+
+    Optional<AdminLeaveView> findByLeaveRequestIdAndManagedByAdminId(Long leaveRequestId, Long managedByAdminId);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE AdminLeaveView v SET v.status = :status, v.adminRemarks = :remarks, " +
+            "v.actionByAdminName = :actionByAdminName, v.updatedAt = :now WHERE v.leaveRequestId IN :ids")
+    int updateStatus(@Param("ids") List<Long> ids, @Param("status") LeaveStatus status, @Param("remarks") String remarks,
+                     @Param("actionByAdminName") String actionByAdminName, @Param("now") LocalDateTime now);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE AdminLeaveView v SET v.employeeName = :employeeName, v.employeeEmail = :employeeEmail " +
+            "WHERE v.employeeId = :employeeId")
+    int updateEmployee(@Param("employeeId") Long employeeId, @Param("employeeName") String employeeName,
+                       @Param("employeeEmail") String employeeEmail);
+
+    @Modifying
+    @Query("DELETE FROM AdminLeaveView v WHERE v.employeeId = :employeeId")
+    int deleteByEmployeeId(@Param("employeeId") Long employeeId);
+
+    @Modifying
+    @Query("DELETE FROM AdminLeaveView v WHERE v.leaveRequestId IN :ids")
+    int deleteAllByLeaveRequestIdIn(@Param("ids") List<Long> ids);
+}
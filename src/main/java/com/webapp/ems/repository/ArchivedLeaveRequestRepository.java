@@ -0,0 +1,39 @@
+package com.webapp.ems.repository;
+
+import com.webapp.ems.model.ArchivedLeaveRequest;
+import com.webapp.ems.model.User;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ArchivedLeaveRequestRepository extends JpaRepository<ArchivedLeaveRequest, Long> {
+
+    List<ArchivedLeaveRequest> findByEmployeeIdOrderByCreatedAtDesc(Long employeeId);
+
+    // Copies the given live rows into the archive in one statement
+    @Modifying
+    @Query("INSERT INTO ArchivedLeaveRequest (id, employeeId, startDate, endDate, reason, status, adminRemarks, " +
+            "actionByAdminId, createdAt, updatedAt, archivedAt) " +
+            "SELECT lr.id, lr.employee.id, lr.startDate, lr.endDate, lr.reason, lr.status, lr.adminRemarks, " +
+            "lr.actionByAdmin.id, lr.createdAt, lr.updatedAt, :now FROM LeaveRequest lr WHERE lr.id IN :ids")
+    int copyFromLive(@Param("ids") List<Long> ids, @Param("now") LocalDateTime now);
+
+    // Availability calendar: archived APPROVED leave of the admin's employees overlapping [from, to],
+    // same columns as LeaveRequestRepository.findApprovedLeaveSpansForAdmin
+    @Query("SELECT e.id, e.firstName, e.lastName, e.department.id, a.startDate, a.endDate " +
+            "FROM ArchivedLeaveRequest a JOIN User e ON e.id = a.employeeId " +
+            "WHERE e.managedByAdmin = :admin AND a.status = com.webapp.ems.enums.LeaveStatus.APPROVED " +
+            "AND a.startDate <= :to AND a.endDate >= :from")
+    List<Object[]> findApprovedLeaveSpansForAdmin(@Param("admin") User admin, @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Modifying
+    @Query("DELETE FROM ArchivedLeaveRequest a WHERE a.employeeId = :employeeId")
+    int deleteByEmployeeId(@Param("employeeId") Long employeeId);
+}
@@ -0,0 +1,46 @@
+package com.webapp.ems.repository;
+
+import com.webapp.ems.model.DepartmentClosure;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface DepartmentClosureRepository extends JpaRepository<DepartmentClosure, Long> {
+
+    boolean existsByAncestorIdAndDescendantId(Long ancestorId, Long descendantId);
+
+    // Proper ancestors (excluding the department itself)
+    @Query("SELECT c.ancestorId FROM DepartmentClosure c WHERE c.descendantId = :departmentId AND c.depth > 0")
+    List<Long> findAncestorIds(@Param("departmentId") Long departmentId);
+
+    // The department and everything below it
+    @Query("SELECT c.descendantId FROM DepartmentClosure c WHERE c.ancestorId = :departmentId")
+    List<Long> findSubtreeIds(@Param("departmentId") Long departmentId);
+
+    // Links every node of the department's subtree to every ancestor of the new parent (and the parent itself)
+    @Modifying
+    @Query("INSERT INTO DepartmentClosure (ancestorId, descendantId, depth) " +
+            "SELECT p.ancestorId, s.descendantId, p.depth + s.depth + 1 " +
+            "FROM DepartmentClosure p, DepartmentClosure s " +
+            "WHERE p.descendantId = :parentId AND s.ancestorId = :departmentId")
+    int insertSubtreePathsUnder(@Param("departmentId") Long departmentId, @Param("parentId") Long parentId);
+
+    @Modifying
+    @Query("DELETE FROM DepartmentClosure c WHERE c.ancestorId IN :ancestorIds AND c.descendantId IN :descendantIds")
+    int deletePaths(@Param("ancestorIds") Collection<Long> ancestorIds, @Param("descendantIds") Collection<Long> descendantIds);
+
+    @Modifying
+    @Query("DELETE FROM DepartmentClosure c WHERE c.descendantId = :departmentId")
+    int deleteByDescendantId(@Param("departmentId") Long departmentId);
+
+    // [Long departmentCount, Long headcount] of the subtree, from the maintained per-department counts
+    @Query("SELECT COUNT(c.id), COALESCE(SUM(d.employeeCount), 0) FROM DepartmentClosure c " +
+            "JOIN Department d ON d.id = c.descendantId WHERE c.ancestorId = :departmentId")
+    List<Object[]> summarizeSubtree(@Param("departmentId") Long departmentId);
+}
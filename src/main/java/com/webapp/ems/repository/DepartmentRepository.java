@@ -2,8 +2,12 @@ package com.webapp.ems.repository;
 
 import com.webapp.ems.model.Department;
 import com.webapp.ems.model.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -21,12 +25,24 @@ public interface DepartmentRepository extends JpaRepository<Department, Long> {
     // Check existence by name SCOPED to an admin
     boolean existsByNameAndCreatedByAdmin(String name, User createdByAdmin);
 
-    // Find all departments created by a specific admin
+    // Find all departments created by a specific admin (query cache; Hibernate invalidates it on any departments write)
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "department-queries")})
     List<Department> findAllByCreatedByAdmin(User createdByAdmin);
 
-    // Find a specific department by its ID and ensuring it was created by the specific admin
+    // Find a specific department by its ID and ensuring it was created by the specific admin (query cache, as above)
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "department-queries")})
     Optional<Department> findByIdAndCreatedByAdmin(Long id, User createdByAdmin);
 
+    boolean existsByParent(Department parent);
+
+    List<Department> findAllByParent(Department parent);
+
+    // Public list: [Long id, String name, Long parentId] without loading entities
+    @Query("SELECT d.id, d.name, p.id FROM Department d LEFT JOIN d.parent p ORDER BY d.id")
+    List<Object[]> findAllPublicRows();
+
     // Your existing query, now needs to be considered in context of admin scoping for dashboard
     // This original query might need to be adapted or a new one created if dashboard stats are also admin-scoped
     @Query("SELECT d.name, COUNT(e.id) FROM Department d LEFT JOIN d.employees e WHERE e.role = com.webapp.ems.enums.Role.EMPLOYEE GROUP BY d.id, d.name")
@@ -39,4 +55,14 @@ public interface DepartmentRepository extends JpaRepository<Department, Long> {
     // For Dashboard: Count distinct departments that have employees managed by a specific admin
     @Query("SELECT COUNT(DISTINCT d.id) FROM Department d JOIN d.employees e WHERE e.managedByAdmin = :admin AND e.role = com.webapp.ems.enums.Role.EMPLOYEE")
     long countDepartmentsWithEmployeesManagedBy(@Param("admin") User admin);
+
+    @Modifying
+    @Query("UPDATE Department d SET d.employeeCount = d.employeeCount + :delta WHERE d.id = :id")
+    int adjustEmployeeCount(@Param("id") Long id, @Param("delta") long delta);
+
+    // Bulk delete: skips the employees cascade (nothing to cascade when the count is 0) and
+    // matches no row if an employee was assigned concurrently
+    @Modifying
+    @Query("DELETE FROM Department d WHERE d.id = :id AND d.employeeCount = 0")
+    int deleteIfNoEmployees(@Param("id") Long id);
 }
\ No newline at end of file
@@ -0,0 +1,26 @@
+package com.webapp.ems.repository;
+
+import com.webapp.ems.model.Holiday;
+import com.webapp.ems.model.User;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface HolidayRepository extends JpaRepository<Holiday, Long> {
+
+    List<Holiday> findByAdminAndDateBetweenOrderByDate(User admin, LocalDate from, LocalDate to);
+
+    boolean existsByAdminAndDate(User admin, LocalDate date);
+
+    Optional<Holiday> findByIdAndAdmin(Long id, User admin);
+
+    // Just the dates, for building a year's working-day calendar
+    @Query("SELECT h.date FROM Holiday h WHERE h.admin.id = :adminId AND h.date BETWEEN :from AND :to")
+    List<LocalDate> findDatesByAdminIdBetween(@Param("adminId") Long adminId, @Param("from") LocalDate from, @Param("to") LocalDate to);
+}
@@ -0,0 +1,53 @@
+package com.webapp.ems.repository;
+
+import com.webapp.ems.model.LeaveBalance;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface LeaveBalanceRepository extends JpaRepository<LeaveBalance, Long> {
+
+    // Shared condition: DEBIT entries of the given requests that have no matching CREDIT yet
+    String UNCREDITED_DEBITS = "AND d.type = com.webapp.ems.enums.LeaveLedgerEntryType.DEBIT AND d.leaveRequestId IN :leaveRequestIds " +
+            "AND NOT EXISTS (SELECT c.id FROM LeaveLedgerEntry c WHERE c.leaveRequestId = d.leaveRequestId " +
+            "AND c.type = com.webapp.ems.enums.LeaveLedgerEntryType.CREDIT)";
+
+    @Query("SELECT b.employeeId FROM LeaveBalance b WHERE b.employeeId IN :employeeIds")
+    List<Long> findExistingEmployeeIds(@Param("employeeIds") List<Long> employeeIds);
+
+    // Same, as a locking read: sees rows committed after this transaction's snapshot (MySQL repeatable read)
+    @Query(value = "SELECT employee_id FROM leave_balances WHERE employee_id IN (:employeeIds) FOR UPDATE", nativeQuery = true)
+    List<Long> findExistingEmployeeIdsForUpdate(@Param("employeeIds") List<Long> employeeIds);
+
+    // Atomic check-and-debit: updates nothing (returns 0) if the balance is insufficient
+    @Modifying
+    @Query("UPDATE LeaveBalance b SET b.availableDays = b.availableDays - :days, b.updatedAt = :now " +
+            "WHERE b.employeeId = :employeeId AND b.availableDays >= :days")
+    int debitIfSufficient(@Param("employeeId") Long employeeId, @Param("days") BigDecimal days, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE LeaveBalance b SET b.availableDays = b.availableDays + :days, b.updatedAt = :now WHERE b.employeeId IN :employeeIds")
+    int creditAll(@Param("employeeIds") List<Long> employeeIds, @Param("days") BigDecimal days, @Param("now") LocalDateTime now);
+
+    // Creates the missing balance rows for a batch of employees, starting at the opening balance
+    @Modifying
+    @Query("INSERT INTO LeaveBalance (employeeId, availableDays, updatedAt) " +
+            "SELECT u.id, :openingDays, :now FROM User u WHERE u.id IN :employeeIds " +
+            "AND NOT EXISTS (SELECT b.employeeId FROM LeaveBalance b WHERE b.employeeId = u.id)")
+    int insertMissing(@Param("employeeIds") List<Long> employeeIds, @Param("openingDays") BigDecimal openingDays,
+                      @Param("now") LocalDateTime now);
+
+    // Adds back, per employee, the sum of the not-yet-credited DEBIT entries of the given requests
+    @Modifying
+    @Query("UPDATE LeaveBalance b SET b.updatedAt = :now, b.availableDays = b.availableDays + " +
+            "(SELECT SUM(d.days) FROM LeaveLedgerEntry d WHERE d.employeeId = b.employeeId " + UNCREDITED_DEBITS + ") " +
+            "WHERE b.employeeId IN (SELECT d.employeeId FROM LeaveLedgerEntry d WHERE 1 = 1 " + UNCREDITED_DEBITS + ")")
+    int creditDebitsOf(@Param("leaveRequestIds") List<Long> leaveRequestIds, @Param("now") LocalDateTime now);
+}
\ No newline at end of file
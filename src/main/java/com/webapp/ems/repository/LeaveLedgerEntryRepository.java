@@ -0,0 +1,41 @@
+package com.webapp.ems.repository;
+
+import com.webapp.ems.model.LeaveLedgerEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface LeaveLedgerEntryRepository extends JpaRepository<LeaveLedgerEntry, Long> {
+
+    List<LeaveLedgerEntry> findTop50ByEmployeeIdOrderByCreatedAtDesc(Long employeeId);
+
+    // Employees in the batch that already have an ACCRUAL entry for the period (keeps the job idempotent)
+    @Query("SELECT e.employeeId FROM LeaveLedgerEntry e " +
+            "WHERE e.type = com.webapp.ems.enums.LeaveLedgerEntryType.ACCRUAL AND e.period = :period AND e.employeeId IN :employeeIds")
+    List<Long> findEmployeeIdsAccruedForPeriod(@Param("period") String period, @Param("employeeIds") List<Long> employeeIds);
+
+    // One ACCRUAL entry per employee in the batch, in a single INSERT ... SELECT
+    @Modifying
+    @Query("INSERT INTO LeaveLedgerEntry (employeeId, type, days, period, createdAt) " +
+            "SELECT u.id, com.webapp.ems.enums.LeaveLedgerEntryType.ACCRUAL, :days, :period, :now " +
+            "FROM User u WHERE u.id IN :employeeIds")
+    int insertAccruals(@Param("employeeIds") List<Long> employeeIds, @Param("days") BigDecimal days,
+                       @Param("period") String period, @Param("now") LocalDateTime now);
+
+    // CREDIT entries mirroring the DEBIT of each given request that hasn't been credited yet.
+    // Run after LeaveBalanceRepository.creditDebitsOf, which uses the same "not yet credited" condition.
+    @Modifying
+    @Query("INSERT INTO LeaveLedgerEntry (employeeId, type, days, leaveRequestId, createdAt) " +
+            "SELECT d.employeeId, com.webapp.ems.enums.LeaveLedgerEntryType.CREDIT, d.days, d.leaveRequestId, :now " +
+            "FROM LeaveLedgerEntry d WHERE d.type = com.webapp.ems.enums.LeaveLedgerEntryType.DEBIT AND d.leaveRequestId IN :leaveRequestIds " +
+            "AND NOT EXISTS (SELECT c.id FROM LeaveLedgerEntry c WHERE c.leaveRequestId = d.leaveRequestId " +
+            "AND c.type = com.webapp.ems.enums.LeaveLedgerEntryType.CREDIT)")
+    int insertCreditsForDebitsOf(@Param("leaveRequestIds") List<Long> leaveRequestIds, @Param("now") LocalDateTime now);
+}
\ No newline at end of file
@@ -0,0 +1,62 @@
+package com.webapp.ems.repository;
+
+import com.webapp.ems.model.LeaveMonthlyRollup;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface LeaveMonthlyRollupRepository extends JpaRepository<LeaveMonthlyRollup, Long> {
+
+    // Department merge: the merged department's history counts towards the surviving one
+    @Modifying
+    @Query("UPDATE LeaveMonthlyRollup r SET r.departmentId = :targetId WHERE r.departmentId = :sourceId")
+    int reassignDepartment(@Param("sourceId") Long sourceId, @Param("targetId") Long targetId);
+
+    // Adds (or subtracts) days for one (employee, month, status) in a single statement, creating the row if needed.
+    // An existing row keeps its department and admin: only days change, so a move doesn't take history with it.
+    // Native because JPQL has no upsert; ON DUPLICATE KEY UPDATE also works in H2's MySQL mode. The declared
+    // query space keeps Hibernate from clearing the whole second-level cache after each call.
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "leave_monthly_rollups"))
+    @Query(value = "INSERT INTO leave_monthly_rollups (employee_id, department_id, admin_id, month_start, status, days) " +
+            "VALUES (:employeeId, :departmentId, :adminId, :monthStart, :status, :days) " +
+            "ON DUPLICATE KEY UPDATE days = days + VALUES(days)",
+            nativeQuery = true)
+    void addDays(@Param("employeeId") Long employeeId, @Param("departmentId") Long departmentId,
+                 @Param("adminId") Long adminId, @Param("monthStart") LocalDate monthStart,
+                 @Param("status") String status, @Param("days") int days);
+
+    // [monthStart, LeaveStatus, Long days] for the admin's employees in [fromMonth, toMonth]
+    @Query("SELECT r.monthStart, r.status, SUM(r.days) FROM LeaveMonthlyRollup r " +
+            "WHERE r.adminId = :adminId AND r.monthStart BETWEEN :fromMonth AND :toMonth " +
+            "GROUP BY r.monthStart, r.status")
+    List<Object[]> sumDaysByMonthAndStatus(@Param("adminId") Long adminId,
+                                           @Param("fromMonth") LocalDate fromMonth, @Param("toMonth") LocalDate toMonth);
+
+    // [departmentId (nullable), Long approvedDays]
+    @Query("SELECT r.departmentId, SUM(r.days) FROM LeaveMonthlyRollup r " +
+            "WHERE r.adminId = :adminId AND r.monthStart BETWEEN :fromMonth AND :toMonth " +
+            "AND r.status = com.webapp.ems.enums.LeaveStatus.APPROVED " +
+            "GROUP BY r.departmentId")
+    List<Object[]> sumApprovedDaysByDepartment(@Param("adminId") Long adminId,
+                                               @Param("fromMonth") LocalDate fromMonth, @Param("toMonth") LocalDate toMonth);
+
+    // [employeeId, Long approvedDays], most absent first
+    @Query("SELECT r.employeeId, SUM(r.days) FROM LeaveMonthlyRollup r " +
+            "WHERE r.adminId = :adminId AND r.monthStart BETWEEN :fromMonth AND :toMonth " +
+            "AND r.status = com.webapp.ems.enums.LeaveStatus.APPROVED " +
+            "GROUP BY r.employeeId HAVING SUM(r.days) > 0 ORDER BY SUM(r.days) DESC, r.employeeId")
+    List<Object[]> findTopApprovedDaysByEmployee(@Param("adminId") Long adminId,
+                                                 @Param("fromMonth") LocalDate fromMonth, @Param("toMonth") LocalDate toMonth,
+                                                 Pageable pageable);
+}
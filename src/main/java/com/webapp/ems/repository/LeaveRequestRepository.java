@@ -3,11 +3,15 @@ package com.webapp.ems.repository;
 import com.webapp.ems.enums.LeaveStatus;
 import com.webapp.ems.model.LeaveRequest;
 import com.webapp.ems.model.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional; // Import Optional
 
@@ -16,7 +20,11 @@ public interface LeaveRequestRepository extends JpaRepository<LeaveRequest, Long
 
     List<LeaveRequest> findByEmployee(User employee);
 
-    List<LeaveRequest> findByEmployeeId(Long employeeId); // For employee's own view
+    // For employee's own view, newest first. Employee and actioning admin are fetched in the same
+    // statement because the DTO mapping reads both.
+    @Query("SELECT lr FROM LeaveRequest lr JOIN FETCH lr.employee e LEFT JOIN FETCH lr.actionByAdmin " +
+            "WHERE e.id = :employeeId ORDER BY lr.createdAt DESC, lr.id DESC")
+    List<LeaveRequest> findByEmployeeId(@Param("employeeId") Long employeeId);
 
     // These are existing general queries, might be useful for a super-admin later,
     // but for scoped admin, we need new ones.
@@ -26,15 +34,101 @@ public interface LeaveRequestRepository extends JpaRepository<LeaveRequest, Long
 
     // --- NEW QUERIES FOR ADMIN-SCOPED LEAVE MANAGEMENT ---
 
-    // Find all leave requests for employees managed by a specific admin
-    @Query("SELECT lr FROM LeaveRequest lr WHERE lr.employee.managedByAdmin = :admin ORDER BY lr.createdAt DESC")
-    List<LeaveRequest> findAllByEmployee_ManagedByAdmin(@Param("admin") User admin);
-
-    // Find leave requests by status for employees managed by a specific admin
-    @Query("SELECT lr FROM LeaveRequest lr WHERE lr.employee.managedByAdmin = :admin AND lr.status = :status ORDER BY lr.createdAt DESC")
-    List<LeaveRequest> findAllByEmployee_ManagedByAdminAndStatus(@Param("admin") User admin, @Param("status") LeaveStatus status);
-
     // Find a specific leave request by its ID, ensuring it belongs to an employee managed by the specific admin
-    @Query("SELECT lr FROM LeaveRequest lr WHERE lr.id = :leaveRequestId AND lr.employee.managedByAdmin = :admin")
+    @Query("SELECT lr FROM LeaveRequest lr JOIN FETCH lr.employee e LEFT JOIN FETCH lr.actionByAdmin " +
+            "WHERE lr.id = :leaveRequestId AND e.managedByAdmin = :admin")
     Optional<LeaveRequest> findByIdAndEmployee_ManagedByAdmin(@Param("leaveRequestId") Long leaveRequestId, @Param("admin") User admin);
-}
\ No newline at end of file
+
+    // For the admin digest: locks the next keyset batch of PENDING requests no digest has listed yet, so two
+    // runs (or two instances) never both claim the same request
+    @Query(value = "SELECT id FROM leave_requests WHERE status = 'PENDING' AND digested = FALSE AND id > :afterId " +
+            "ORDER BY id LIMIT :limit FOR UPDATE", nativeQuery = true)
+    List<Long> lockUndigestedPendingIdsAfter(@Param("afterId") Long afterId, @Param("limit") int limit);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE LeaveRequest lr SET lr.digested = true WHERE lr.id IN :ids")
+    int markDigested(@Param("ids") List<Long> ids);
+
+    // For the admin digest: the given requests with the employee and their managing admin fetched in the
+    // same statement, ordered so rows arrive already grouped per admin
+    @Query("SELECT lr FROM LeaveRequest lr JOIN FETCH lr.employee e LEFT JOIN FETCH e.managedByAdmin m " +
+            "WHERE lr.id IN :ids ORDER BY m.id, lr.createdAt")
+    List<LeaveRequest> findByIdInGroupedByManagingAdmin(@Param("ids") List<Long> ids);
+
+    // For LeaveIntervalIndex: [id, startDate, endDate] of an employee's PENDING/APPROVED requests still running on or
+    // after 'from'. A locking read, so a reload after eviction sees requests committed after this transaction's
+    // snapshot (MySQL repeatable read).
+    @Query(value = "SELECT id, start_date, end_date FROM leave_requests " +
+            "WHERE employee_id = :employeeId AND end_date >= :from AND status IN ('PENDING', 'APPROVED') " +
+            "ORDER BY id FOR UPDATE", nativeQuery = true)
+    List<Object[]> findActiveIntervalsByEmployeeId(@Param("employeeId") Long employeeId, @Param("from") LocalDate from);
+
+    // --- Bulk admin actions ---
+
+    // IDs of all PENDING requests from a department's employees managed by the admin
+    @Query("SELECT lr.id FROM LeaveRequest lr WHERE lr.status = com.webapp.ems.enums.LeaveStatus.PENDING " +
+            "AND lr.employee.managedByAdmin = :admin AND lr.employee.department.id = :departmentId")
+    List<Long> findPendingIdsByDepartmentForAdmin(@Param("admin") User admin, @Param("departmentId") Long departmentId);
+
+    // [id, status] of the given requests that belong to employees managed by the admin
+    @Query("SELECT lr.id, lr.status FROM LeaveRequest lr WHERE lr.id IN :ids AND lr.employee.managedByAdmin = :admin")
+    List<Object[]> findIdAndStatusByIdInForAdmin(@Param("ids") List<Long> ids, @Param("admin") User admin);
+
+    // Single-request transitions: each is one UPDATE guarded on PENDING, so of two concurrent actors
+    // exactly one sees an updated row count of 1 (no row lock is taken up front).
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE LeaveRequest lr SET lr.status = :newStatus, lr.adminRemarks = :remarks, lr.actionByAdmin = :admin, " +
+            "lr.updatedAt = :now, lr.version = lr.version + 1 " +
+            "WHERE lr.id = :id AND lr.status = com.webapp.ems.enums.LeaveStatus.PENDING")
+    int transitionIfPending(@Param("id") Long id, @Param("newStatus") LeaveStatus newStatus,
+                            @Param("remarks") String remarks, @Param("admin") User admin, @Param("now") LocalDateTime now);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE LeaveRequest lr SET lr.status = com.webapp.ems.enums.LeaveStatus.CANCELLED, " +
+            "lr.updatedAt = :now, lr.version = lr.version + 1 " +
+            "WHERE lr.id = :id AND lr.employee.id = :employeeId AND lr.status = com.webapp.ems.enums.LeaveStatus.PENDING")
+    int cancelIfPending(@Param("id") Long id, @Param("employeeId") Long employeeId, @Param("now") LocalDateTime now);
+
+    // Bulk transitions: the same guarded UPDATE, also scoped to the admin's employees, issued once per request
+    // so the affected row count says exactly which requests this action transitioned
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE LeaveRequest lr SET lr.status = :newStatus, lr.adminRemarks = :remarks, lr.actionByAdmin = :admin, " +
+            "lr.updatedAt = :now, lr.version = lr.version + 1 " +
+            "WHERE lr.id = :id AND lr.status = com.webapp.ems.enums.LeaveStatus.PENDING " +
+            "AND lr.employee.id IN (SELECT u.id FROM User u WHERE u.managedByAdmin = :admin)")
+    int transitionIfPendingForAdmin(@Param("id") Long id, @Param("newStatus") LeaveStatus newStatus,
+                                    @Param("remarks") String remarks, @Param("admin") User admin, @Param("now") LocalDateTime now);
+
+    // [id, employeeId, startDate, endDate, departmentId] of the given requests, for the side effects of a transition
+    @Query("SELECT lr.id, e.id, lr.startDate, lr.endDate, e.department.id FROM LeaveRequest lr JOIN lr.employee e " +
+            "LEFT JOIN e.department WHERE lr.id IN :ids")
+    List<Object[]> findTransitionSourcesByIdIn(@Param("ids") List<Long> ids);
+
+    // For notifications: requests with employee and actioning admin loaded in one statement
+    @Query("SELECT lr FROM LeaveRequest lr JOIN FETCH lr.employee LEFT JOIN FETCH lr.actionByAdmin WHERE lr.id IN :ids")
+    List<LeaveRequest> findAllWithEmployeeByIdIn(@Param("ids") List<Long> ids);
+
+    // Availability calendar: [employeeId, firstName, lastName, departmentId, startDate, endDate] of APPROVED
+    // leave of the admin's employees overlapping [from, to]
+    @Query("SELECT e.id, e.firstName, e.lastName, e.department.id, lr.startDate, lr.endDate " +
+            "FROM LeaveRequest lr JOIN lr.employee e " +
+            "WHERE e.managedByAdmin = :admin AND lr.status = com.webapp.ems.enums.LeaveStatus.APPROVED " +
+            "AND lr.startDate <= :to AND lr.endDate >= :from")
+    List<Object[]> findApprovedLeaveSpansForAdmin(@Param("admin") User admin, @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    // Archival: closed requests whose leave ended before the cutoff, in keyset batches
+    @Query("SELECT lr.id FROM LeaveRequest lr WHERE lr.id > :afterId AND lr.endDate < :cutoff " +
+            "AND lr.status IN (com.webapp.ems.enums.LeaveStatus.APPROVED, com.webapp.ems.enums.LeaveStatus.REJECTED, " +
+            "com.webapp.ems.enums.LeaveStatus.CANCELLED) ORDER BY lr.id")
+    List<Long> findArchivableIdsAfter(@Param("afterId") Long afterId, @Param("cutoff") LocalDate cutoff, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM LeaveRequest lr WHERE lr.id IN :ids")
+    int deleteAllByIdIn(@Param("ids") List<Long> ids);
+
+    // Requests of the admin's employees whose range includes the date (for holiday changes):
+    // [employeeId, departmentId, LeaveStatus]
+    @Query("SELECT e.id, e.department.id, lr.status FROM LeaveRequest lr JOIN lr.employee e " +
+            "WHERE e.managedByAdmin = :admin AND lr.startDate <= :date AND lr.endDate >= :date")
+    List<Object[]> findCoveringDateForAdmin(@Param("admin") User admin, @Param("date") LocalDate date);
+}
@@ -4,11 +4,14 @@ import com.webapp.ems.dto.AverageSalaryPerDepartmentDto;
 import com.webapp.ems.enums.Role;
 import com.webapp.ems.model.Department;
 import com.webapp.ems.model.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -23,9 +26,15 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     List<User> findAllByRole(Role role);
 
+    @Query("SELECT new com.webapp.ems.dto.UserSimpleDto(u.id, CONCAT(u.firstName, ' ', u.lastName)) " +
+            "FROM User u WHERE u.role = com.webapp.ems.enums.Role.ADMIN ORDER BY u.id")
+    List<com.webapp.ems.dto.UserSimpleDto> findAdminsSimple();
+
     List<User> findAllByDepartmentIdAndRole(Long departmentId, Role role);
 
-    List<User> findAllByRoleAndManagedByAdmin(Role role, User managedByAdmin);
+    // Employee listing: the department (its name is in every row) comes in the same statement
+    @Query("SELECT u FROM User u LEFT JOIN FETCH u.department WHERE u.role = :role AND u.managedByAdmin = :managedByAdmin")
+    List<User> findAllByRoleAndManagedByAdmin(@Param("role") Role role, @Param("managedByAdmin") User managedByAdmin);
     Optional<User> findByIdAndManagedByAdmin(Long id, User managedByAdmin);
     long countByRoleAndManagedByAdmin(Role role, User managedByAdmin);
 
@@ -118,5 +127,63 @@ public interface UserRepository extends JpaRepository<User, Long> {
     @Query("SELECT u FROM User u WHERE u.role = com.webapp.ems.enums.Role.EMPLOYEE AND u.managedByAdmin = :admin AND u.dateOfBirth IS NOT NULL")
     List<User> findEmployeesForAgeGroupCalculationManagedBy(@Param("admin") User admin);
 
+    // Headcount per department (including "no department") FOR EMPLOYEES MANAGED BY THIS ADMIN
+    // Returns [Long departmentId, String departmentName, Long employeeCount]; id and name are null for no department
+    @Query("SELECT d.id, d.name, COUNT(u.id) FROM User u LEFT JOIN u.department d " +
+            "WHERE u.role = com.webapp.ems.enums.Role.EMPLOYEE AND u.managedByAdmin = :admin " +
+            "GROUP BY d.id, d.name")
+    List<Object[]> countEmployeesPerDepartmentForAdmin(@Param("admin") User admin);
+
     long countByDepartmentAndManagedByAdmin(Department department, User managedByAdmin);
+
+    // Department moves as single statements; callers adjust the department headcounts by the returned row count
+    @Modifying
+    @Query("UPDATE User u SET u.department = :target WHERE u.department = :source " +
+            "AND u.role = com.webapp.ems.enums.Role.EMPLOYEE AND u.managedByAdmin = :admin")
+    int moveEmployeesOfAdmin(@Param("source") Department source, @Param("target") Department target, @Param("admin") User admin);
+
+    @Modifying
+    @Query("UPDATE User u SET u.department = :target WHERE u.department = :source " +
+            "AND u.role = com.webapp.ems.enums.Role.EMPLOYEE AND u.managedByAdmin = :admin AND u.id IN :employeeIds")
+    int moveEmployeesOfAdminByIds(@Param("source") Department source, @Param("target") Department target,
+                                  @Param("admin") User admin, @Param("employeeIds") Collection<Long> employeeIds);
+
+    // Merge: every user of the department, whoever manages them, so the source can be deleted
+    @Modifying
+    @Query("UPDATE User u SET u.department = :target WHERE u.department = :source")
+    int moveAllUsers(@Param("source") Department source, @Param("target") Department target);
+
+    // Employees managed by this admin anywhere in the department's subtree (the department included)
+    @Query("SELECT u FROM User u JOIN FETCH u.department d JOIN DepartmentClosure c ON c.descendantId = d.id " +
+            "WHERE c.ancestorId = :departmentId AND u.role = com.webapp.ems.enums.Role.EMPLOYEE AND u.managedByAdmin = :admin " +
+            "ORDER BY u.id")
+    List<User> findEmployeesInDepartmentSubtree(@Param("departmentId") Long departmentId, @Param("admin") User admin);
+
+    @Query("SELECT AVG(u.salary) FROM User u JOIN DepartmentClosure c ON c.descendantId = u.department.id " +
+            "WHERE c.ancestorId = :departmentId AND u.role = com.webapp.ems.enums.Role.EMPLOYEE " +
+            "AND u.managedByAdmin = :admin AND u.salary IS NOT NULL")
+    Double findAverageSalaryInDepartmentSubtree(@Param("departmentId") Long departmentId, @Param("admin") User admin);
+
+    // Dashboard groupings by top-level department: each employee counts towards the root above their department
+    @Query("SELECT new com.webapp.ems.dto.AverageSalaryPerDepartmentDto(a.name, AVG(u.salary)) " +
+            "FROM User u JOIN DepartmentClosure c ON c.descendantId = u.department.id JOIN Department a ON a.id = c.ancestorId " +
+            "WHERE a.parent IS NULL AND u.role = com.webapp.ems.enums.Role.EMPLOYEE AND u.managedByAdmin = :admin AND u.salary IS NOT NULL " +
+            "GROUP BY a.id, a.name")
+    List<AverageSalaryPerDepartmentDto> findAverageSalaryPerDivisionForAdminEmployees(@Param("admin") User admin);
+
+    // Returns [String divisionName, Long employeeCount]
+    @Query("SELECT a.name, COUNT(u.id) " +
+            "FROM User u JOIN DepartmentClosure c ON c.descendantId = u.department.id JOIN Department a ON a.id = c.ancestorId " +
+            "WHERE a.parent IS NULL AND u.role = com.webapp.ems.enums.Role.EMPLOYEE AND u.managedByAdmin = :admin " +
+            "GROUP BY a.id, a.name")
+    List<Object[]> findDivisionEmployeeCountsForAdmin(@Param("admin") User admin);
+
+    // Row locks on the given users, taken in ID order so two callers cannot deadlock. Serializes work that
+    // must happen once per user, such as creating the leave balance.
+    @Query(value = "SELECT id FROM users WHERE id IN (:ids) ORDER BY id FOR UPDATE", nativeQuery = true)
+    List<Long> lockByIds(@Param("ids") List<Long> ids);
+
+    // Keyset batching over all employees (for jobs that process everyone, e.g. leave accrual)
+    @Query("SELECT u.id FROM User u WHERE u.role = com.webapp.ems.enums.Role.EMPLOYEE AND u.id > :afterId ORDER BY u.id")
+    List<Long> findEmployeeIdsAfter(@Param("afterId") Long afterId, Pageable pageable);
 }
\ No newline at end of file
@@ -0,0 +1,72 @@
+package com.webapp.ems.service;
+
+import com.webapp.ems.enums.LeaveStatus;
+import com.webapp.ems.model.AdminLeaveView;
+import com.webapp.ems.model.LeaveRequest;
+import com.webapp.ems.model.User;
+import com.webapp.ems.repository.AdminLeaveViewRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Keeps {@link AdminLeaveView} in step with leave_requests and users. Every method is called from
+ * inside the transaction that changes the source rows, so the read model commits or rolls back with them.
+ * Requests that predate the view are projected once by the V5 migration.
+ */
+@Service
+@RequiredArgsConstructor
+public class AdminLeaveViewService {
+
+    private final AdminLeaveViewRepository adminLeaveViewRepository;
+
+    /** A leave request was filed (the employee must be loaded or loadable). */
+    public void onCreated(LeaveRequest leaveRequest) {
+        User employee = leaveRequest.getEmployee();
+        AdminLeaveView view = new AdminLeaveView();
+        view.setLeaveRequestId(leaveRequest.getId());
+        view.setManagedByAdminId(employee.getManagedByAdmin() != null ? employee.getManagedByAdmin().getId() : null);
+        view.setStatus(leaveRequest.getStatus());
+        view.setCreatedAt(leaveRequest.getCreatedAt());
+        view.setUpdatedAt(leaveRequest.getUpdatedAt() != null ? leaveRequest.getUpdatedAt() : leaveRequest.getCreatedAt());
+        view.setEmployeeId(employee.getId());
+        view.setEmployeeName(employee.getFirstName() + " " + employee.getLastName());
+        view.setEmployeeEmail(employee.getEmail());
+        view.setStartDate(leaveRequest.getStartDate());
+        view.setEndDate(leaveRequest.getEndDate());
+        view.setReason(leaveRequest.getReason());
+        view.setAdminRemarks(leaveRequest.getAdminRemarks());
+        User actionByAdmin = leaveRequest.getActionByAdmin();
+        view.setActionByAdminName(actionByAdmin != null ? actionByAdmin.getFirstName() + " " + actionByAdmin.getLastName() : null);
+        adminLeaveViewRepository.save(view);
+    }
+
+    /** Requests moved to a new status; {@code actionByAdmin} is null for employee cancellations. */
+    public void onStatusChanged(List<Long> leaveRequestIds, LeaveStatus newStatus, String adminRemarks,
+                                User actionByAdmin, LocalDateTime updatedAt) {
+        if (leaveRequestIds.isEmpty()) {
+            return;
+        }
+        String actionByAdminName = actionByAdmin != null ? actionByAdmin.getFirstName() + " " + actionByAdmin.getLastName() : null;
+        adminLeaveViewRepository.updateStatus(leaveRequestIds, newStatus, adminRemarks, actionByAdminName, updatedAt);
+    }
+
+    /** The employee's name or email may have changed. */
+    public void onEmployeeUpdated(User employee) {
+        adminLeaveViewRepository.updateEmployee(employee.getId(),
+                employee.getFirstName() + " " + employee.getLastName(), employee.getEmail());
+    }
+
+    public void onEmployeeDeleted(Long employeeId) {
+        adminLeaveViewRepository.deleteByEmployeeId(employeeId);
+    }
+
+    /** The requests left leave_requests (archived). */
+    public void onRemoved(List<Long> leaveRequestIds) {
+        if (!leaveRequestIds.isEmpty()) {
+            adminLeaveViewRepository.deleteAllByLeaveRequestIdIn(leaveRequestIds);
+        }
+    }
+}
@@ -7,7 +7,9 @@ import com.webapp.ems.model.Department;
 import com.webapp.ems.model.User;
 import com.webapp.ems.repository.DepartmentRepository; // If used during registration
 import com.webapp.ems.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -15,6 +17,7 @@ import java.time.LocalDateTime;
 import java.util.Optional;
 
 @Service
+@Timed("ems.service")
 @RequiredArgsConstructor
 public class AuthService {
 
@@ -22,6 +25,8 @@ public class AuthService {
     private final DepartmentRepository departmentRepository; // Keep if needed for self-reg of employee
     private final EmailService emailService;
     private final OtpService otpService;
+    private final DepartmentService departmentService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public RegistrationResponseDto registerUser(EmployeeDto registrationRequest) {
@@ -97,6 +102,12 @@ public class AuthService {
         user.setVerified(false);
 
         userRepository.save(user);
+        if (user.getDepartment() != null) {
+            departmentService.adjustHeadcount(null, user.getDepartment().getId());
+        }
+        if (role == Role.ADMIN) {
+            eventPublisher.publishEvent(new ReferenceDataChangedEvent(ReferenceDataChangedEvent.Kind.ADMINS));
+        }
         emailService.sendOtpEmail(user.getEmail(), otp);
 
         return new RegistrationResponseDto("OTP sent to your email. Please verify to complete registration.", user.getEmail());
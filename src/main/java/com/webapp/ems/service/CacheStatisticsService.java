@@ -0,0 +1,62 @@
+package com.webapp.ems.service;
+
+import com.webapp.ems.dto.CacheRegionStatsDto;
+import com.webapp.ems.enums.Role;
+import com.webapp.ems.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.cache.spi.DomainDataRegion;
+import org.hibernate.cache.spi.QueryResultsRegion;
+import org.hibernate.cache.spi.Region;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hit/miss counts of the Hibernate second-level and query cache regions (see ehcache.xml), counted
+ * since startup. Empty when the cache or hibernate.generate_statistics is off.
+ */
+@Service
+@Timed("ems.service")
+@RequiredArgsConstructor
+public class CacheStatisticsService {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final UserRepository userRepository;
+
+    public List<CacheRegionStatsDto> getRegionStatistics(Long adminId) {
+        userRepository.findById(adminId)
+                .filter(u -> u.getRole() == Role.ADMIN)
+                .orElseThrow(() -> new RuntimeException("Admin user not found or user is not an admin: " + adminId));
+
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        Statistics statistics = sessionFactory.getStatistics();
+        List<CacheRegionStatsDto> regions = new ArrayList<>();
+        if (!statistics.isStatisticsEnabled()) {
+            return regions;
+        }
+        for (String name : statistics.getSecondLevelCacheRegionNames()) {
+            // Classified by the region itself: Hibernate keeps one statistics map for both kinds, so asking
+            // for the wrong kind returns the existing entry instead of failing
+            Region region = sessionFactory.getCache().getRegion(name);
+            if (region instanceof QueryResultsRegion) {
+                regions.add(toDto(name, "QUERY", statistics.getQueryRegionStatistics(name)));
+            } else if (region instanceof DomainDataRegion) {
+                regions.add(toDto(name, "ENTITY", statistics.getDomainDataRegionStatistics(name)));
+            }
+            // Anything else is the update-timestamps region, which has no hit statistics
+        }
+        return regions;
+    }
+
+    private static CacheRegionStatsDto toDto(String region, String kind, CacheRegionStatistics stats) {
+        long lookups = stats.getHitCount() + stats.getMissCount();
+        return new CacheRegionStatsDto(region, kind, stats.getHitCount(), stats.getMissCount(), stats.getPutCount(),
+                stats.getElementCountInMemory(), lookups == 0 ? 0.0 : (double) stats.getHitCount() / lookups);
+    }
+}
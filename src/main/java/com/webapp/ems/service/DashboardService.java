@@ -7,8 +7,10 @@ import com.webapp.ems.enums.Role;
 import com.webapp.ems.model.User; // Import User
 import com.webapp.ems.repository.DepartmentRepository;
 import com.webapp.ems.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.Period;
@@ -18,12 +20,14 @@ import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
+@Timed("ems.service")
 @RequiredArgsConstructor
 public class DashboardService {
 
     private final UserRepository userRepository;
     private final DepartmentRepository departmentRepository;
 
+    @Transactional(readOnly = true)
     public DashboardSummaryDto getDashboardSummary(Long adminId) {
         User admin = userRepository.findById(adminId)
                 .filter(u -> u.getRole() == Role.ADMIN) // Ensure the user is an admin
@@ -69,6 +73,14 @@ public class DashboardService {
         }
         summary.setEmployeeCountByDepartment(employeeCountByDeptMap); // Ensure DTO has this field
 
+        // 6b. The same two groupings rolled up to top-level departments (divisions) via the closure table
+        summary.setAverageSalaryPerDivision(userRepository.findAverageSalaryPerDivisionForAdminEmployees(admin));
+        Map<String, Long> employeeCountByDivisionMap = new HashMap<>();
+        for (Object[] result : userRepository.findDivisionEmployeeCountsForAdmin(admin)) {
+            employeeCountByDivisionMap.put((String) result[0], (Long) result[1]);
+        }
+        summary.setEmployeeCountByDivision(employeeCountByDivisionMap);
+
 
         // 7. Employee Age Group Distribution (for employees managed by this admin)
         List<User> employeesForAgeCalc = userRepository.findEmployeesForAgeGroupCalculationManagedBy(admin);
@@ -90,7 +102,7 @@ public class DashboardService {
     }
 
     // Helper method for age group calculation
-    private Map<String, Long> calculateAgeGroupDistribution(List<User> employees) {
+    static Map<String, Long> calculateAgeGroupDistribution(List<User> employees) {
         Map<String, Long> ageGroupCounts = new HashMap<>();
         ageGroupCounts.put("Under 20", 0L);
         ageGroupCounts.put("20-29", 0L);
@@ -1,24 +1,40 @@
 package com.webapp.ems.service;
 
 import com.webapp.ems.dto.DepartmentDto;
+import com.webapp.ems.dto.DepartmentMoveDto;
+import com.webapp.ems.dto.DepartmentMoveResultDto;
+import com.webapp.ems.dto.DepartmentSubtreeDto;
 import com.webapp.ems.model.Department;
+import com.webapp.ems.model.DepartmentClosure;
 import com.webapp.ems.model.User; // Import User
 import com.webapp.ems.enums.Role; // Import Role
+import com.webapp.ems.repository.DepartmentClosureRepository;
 import com.webapp.ems.repository.DepartmentRepository;
+import com.webapp.ems.repository.LeaveMonthlyRollupRepository;
 import com.webapp.ems.repository.UserRepository; // To fetch the admin user
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 @Service
+@Timed("ems.service")
 @RequiredArgsConstructor
 public class DepartmentService {
 
+    private static final int MAX_MOVE_IDS = 10_000;
+
     private final DepartmentRepository departmentRepository;
     private final UserRepository userRepository; // To fetch admin User object
+    private final DepartmentClosureRepository departmentClosureRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final LeaveMonthlyRollupRepository leaveMonthlyRollupRepository;
+    private final TeamAvailabilityService teamAvailabilityService;
 
     private User getAdminUser(Long adminId) {
         User admin = userRepository.findById(adminId)
@@ -41,11 +57,18 @@ public class DepartmentService {
         Department department = new Department();
         department.setName(departmentDto.getName());
         department.setCreatedByAdmin(admin); // ***** SET THE OWNING ADMIN *****
+        department.setParent(resolveParent(departmentDto.getParentId(), admin));
 
         Department savedDepartment = departmentRepository.save(department);
+        departmentClosureRepository.save(new DepartmentClosure(null, savedDepartment.getId(), savedDepartment.getId(), 0));
+        if (savedDepartment.getParent() != null) {
+            departmentClosureRepository.insertSubtreePathsUnder(savedDepartment.getId(), savedDepartment.getParent().getId());
+        }
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(ReferenceDataChangedEvent.Kind.DEPARTMENTS));
         return mapToDto(savedDepartment);
     }
 
+    @Transactional(readOnly = true)
     public DepartmentDto getDepartmentById(Long id, Long adminId) {
         User admin = getAdminUser(adminId);
         Department department = departmentRepository.findByIdAndCreatedByAdmin(id, admin)
@@ -53,6 +76,7 @@ public class DepartmentService {
         return mapToDto(department);
     }
 
+    @Transactional(readOnly = true)
     public List<DepartmentDto> getAllDepartmentsByAdmin(Long adminId) {
         User admin = getAdminUser(adminId);
         return departmentRepository.findAllByCreatedByAdmin(admin).stream()
@@ -73,37 +97,201 @@ public class DepartmentService {
         }
 
         department.setName(departmentDto.getName());
+        // A missing parent means "unchanged" (the admin page sends only the name); moving to the top level
+        // goes through moveDepartment
+        if (departmentDto.getParentId() != null && !departmentDto.getParentId().equals(parentIdOf(department))) {
+            moveUnder(department, resolveParent(departmentDto.getParentId(), admin));
+        }
         // createdByAdmin should not change during an update by the same admin
         Department updatedDepartment = departmentRepository.save(department);
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(ReferenceDataChangedEvent.Kind.DEPARTMENTS));
         return mapToDto(updatedDepartment);
     }
 
+    /** Re-parents a department with its whole subtree; a null parent makes it top-level. */
+    @Transactional
+    public DepartmentDto moveDepartment(Long id, Long parentId, Long adminId) {
+        User admin = getAdminUser(adminId);
+        Department department = departmentRepository.findByIdAndCreatedByAdmin(id, admin)
+                .orElseThrow(() -> new RuntimeException("Department not found with id: " + id + " for this admin."));
+        if (!Objects.equals(parentIdOf(department), parentId)) {
+            moveUnder(department, resolveParent(parentId, admin));
+            department = departmentRepository.save(department);
+            eventPublisher.publishEvent(new ReferenceDataChangedEvent(ReferenceDataChangedEvent.Kind.DEPARTMENTS));
+        }
+        return mapToDto(department);
+    }
+
     @Transactional
     public void deleteDepartment(Long id, Long adminId) {
         User admin = getAdminUser(adminId);
         Department department = departmentRepository.findByIdAndCreatedByAdmin(id, admin)
                 .orElseThrow(() -> new RuntimeException("Department not found with id: " + id + " or not managed by this admin."));
 
-        if (!department.getEmployees().isEmpty()) {
-            // Check if employees are specifically managed by THIS admin or if it's a global check
-            // For now, assuming global check for simplicity of this example.
-            // A more complex check: department.getEmployees().stream().anyMatch(e -> e.getManagedByAdmin().equals(admin))
-            throw new RuntimeException("Cannot delete department. It has " + department.getEmployees().size() +
+        if (departmentRepository.existsByParent(department)) {
+            throw new RuntimeException("Cannot delete department. It has sub-departments. Please move or delete them first.");
+        }
+        // Global check: any user still referencing the department blocks the delete
+        if (department.getEmployeeCount() > 0) {
+            throw new RuntimeException("Cannot delete department. It has " + department.getEmployeeCount() +
                     " associated employees. Please reassign or remove them first.");
         }
-        departmentRepository.delete(department);
+        if (departmentRepository.deleteIfNoEmployees(department.getId()) == 0) {
+            throw new RuntimeException("Cannot delete department. Employees were assigned to it while deleting. Please try again.");
+        }
+        departmentClosureRepository.deleteByDescendantId(id); // A leaf: only its own paths reference it
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(ReferenceDataChangedEvent.Kind.DEPARTMENTS));
+    }
+
+    /**
+     * Department count, headcount and average salary of a department and everything below it, each a
+     * single query over the closure table. Salary covers this admin's employees only.
+     */
+    @Transactional(readOnly = true)
+    public DepartmentSubtreeDto getDepartmentSubtree(Long id, Long adminId) {
+        User admin = getAdminUser(adminId);
+        Department department = departmentRepository.findByIdAndCreatedByAdmin(id, admin)
+                .orElseThrow(() -> new RuntimeException("Department not found with id: " + id + " for this admin."));
+        Object[] totals = departmentClosureRepository.summarizeSubtree(id).get(0);
+        Double averageSalary = userRepository.findAverageSalaryInDepartmentSubtree(id, admin);
+        return new DepartmentSubtreeDto(department.getId(), department.getName(), ((Number) totals[0]).longValue(),
+                ((Number) totals[1]).longValue(), averageSalary != null ? averageSalary : 0.0);
+    }
+
+    private static Long parentIdOf(Department department) {
+        return department.getParent() != null ? department.getParent().getId() : null;
+    }
+
+    private Department resolveParent(Long parentId, User admin) {
+        if (parentId == null) {
+            return null;
+        }
+        return departmentRepository.findByIdAndCreatedByAdmin(parentId, admin)
+                .orElseThrow(() -> new IllegalArgumentException("Parent department not found with id: " + parentId + " for this admin."));
+    }
+
+    // Re-parents a department with its whole subtree: drops the paths from the old ancestors into the
+    // subtree, then links the subtree under the new parent's ancestry
+    private void moveUnder(Department department, Department newParent) {
+        if (newParent != null && departmentClosureRepository.existsByAncestorIdAndDescendantId(department.getId(), newParent.getId())) {
+            throw new IllegalArgumentException("A department cannot be moved under itself or one of its own sub-departments.");
+        }
+        List<Long> ancestorIds = departmentClosureRepository.findAncestorIds(department.getId());
+        if (!ancestorIds.isEmpty()) {
+            departmentClosureRepository.deletePaths(ancestorIds, departmentClosureRepository.findSubtreeIds(department.getId()));
+        }
+        if (newParent != null) {
+            departmentClosureRepository.insertSubtreePathsUnder(department.getId(), newParent.getId());
+        }
+        department.setParent(newParent);
+    }
+
+    /**
+     * Moves the admin's employees from one of their departments to another with a single UPDATE
+     * (all of them, or just the listed IDs); IDs that aren't the admin's employees in the source are skipped.
+     */
+    @Transactional
+    public DepartmentMoveResultDto moveEmployees(Long sourceId, DepartmentMoveDto moveDto, Long adminId) {
+        User admin = getAdminUser(adminId);
+        Department source = departmentRepository.findByIdAndCreatedByAdmin(sourceId, admin)
+                .orElseThrow(() -> new RuntimeException("Department not found with id: " + sourceId + " for this admin."));
+        Department target = resolveMoveTarget(source, moveDto.getTargetDepartmentId(), admin);
+        List<Long> employeeIds = moveDto.getEmployeeIds();
+        if (employeeIds != null && employeeIds.size() > MAX_MOVE_IDS) {
+            throw new IllegalArgumentException("At most " + MAX_MOVE_IDS + " employee IDs can be listed; omit them to move everyone.");
+        }
+
+        int moved = employeeIds == null || employeeIds.isEmpty()
+                ? userRepository.moveEmployeesOfAdmin(source, target, admin)
+                : userRepository.moveEmployeesOfAdminByIds(source, target, admin, employeeIds);
+        adjustHeadcount(source.getId(), target.getId(), moved);
+        teamAvailabilityService.evictAdminAfterCommit(adminId); // Cached calendars hold departments
+        return new DepartmentMoveResultDto(source.getId(), target.getId(), moved, 0, false);
+    }
+
+    /**
+     * Folds one department into another atomically: every user and every sub-department moves to the
+     * target, leave analytics are re-attributed to it, and the source is deleted.
+     */
+    @Transactional
+    public DepartmentMoveResultDto mergeDepartments(Long sourceId, Long targetId, Long adminId) {
+        User admin = getAdminUser(adminId);
+        Department source = departmentRepository.findByIdAndCreatedByAdmin(sourceId, admin)
+                .orElseThrow(() -> new RuntimeException("Department not found with id: " + sourceId + " for this admin."));
+        Department target = resolveMoveTarget(source, targetId, admin);
+        if (departmentClosureRepository.existsByAncestorIdAndDescendantId(source.getId(), target.getId())) {
+            throw new IllegalArgumentException("A department cannot be merged into one of its own sub-departments.");
+        }
+
+        List<Department> children = departmentRepository.findAllByParent(source);
+        for (Department child : children) {
+            moveUnder(child, target);
+        }
+        int moved = userRepository.moveAllUsers(source, target);
+        adjustHeadcount(source.getId(), target.getId(), moved);
+        leaveMonthlyRollupRepository.reassignDepartment(source.getId(), target.getId());
+
+        departmentRepository.flush(); // Children's new parent must be written before the source row goes
+        if (departmentRepository.deleteIfNoEmployees(source.getId()) == 0) {
+            throw new RuntimeException("Cannot merge departments. Employees were assigned to the source while merging. Please try again.");
+        }
+        departmentClosureRepository.deleteByDescendantId(source.getId());
+        // Users of other admins may have moved too; drop every cached calendar after commit
+        teamAvailabilityService.evictAllAfterCommit();
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(ReferenceDataChangedEvent.Kind.DEPARTMENTS));
+        return new DepartmentMoveResultDto(source.getId(), target.getId(), moved, children.size(), true);
+    }
+
+    /**
+     * Moves one employee's headcount from one department to another (either may be null) after a user
+     * was created, deleted or reassigned. Runs in the caller's transaction.
+     */
+    public void adjustHeadcount(Long fromDepartmentId, Long toDepartmentId) {
+        adjustHeadcount(fromDepartmentId, toDepartmentId, 1);
+    }
+
+    // Rows are locked in ID order so opposite moves between the same two departments cannot deadlock
+    private void adjustHeadcount(Long fromDepartmentId, Long toDepartmentId, long count) {
+        if (count == 0 || Objects.equals(fromDepartmentId, toDepartmentId)) {
+            return;
+        }
+        if (fromDepartmentId != null && (toDepartmentId == null || fromDepartmentId < toDepartmentId)) {
+            departmentRepository.adjustEmployeeCount(fromDepartmentId, -count);
+            if (toDepartmentId != null) {
+                departmentRepository.adjustEmployeeCount(toDepartmentId, count);
+            }
+        } else {
+            departmentRepository.adjustEmployeeCount(toDepartmentId, count);
+            if (fromDepartmentId != null) {
+                departmentRepository.adjustEmployeeCount(fromDepartmentId, -count);
+            }
+        }
+    }
+
+    private Department resolveMoveTarget(Department source, Long targetId, User admin) {
+        if (targetId == null) {
+            throw new IllegalArgumentException("A target department is required.");
+        }
+        if (targetId.equals(source.getId())) {
+            throw new IllegalArgumentException("Source and target department must differ.");
+        }
+        return departmentRepository.findByIdAndCreatedByAdmin(targetId, admin)
+                .orElseThrow(() -> new IllegalArgumentException("Target department not found with id: " + targetId + " for this admin."));
     }
 
     private DepartmentDto mapToDto(Department department) {
         // Include createdByAdminId in DTO if frontend needs it for some reason, though not typical for display
-        return new DepartmentDto(department.getId(), department.getName() /*, department.getCreatedByAdmin().getId() */);
+        return new DepartmentDto(department.getId(), department.getName(), department.getEmployeeCount(),
+                department.getParent() != null ? department.getParent().getId() : null /*, department.getCreatedByAdmin().getId() */);
     }
     // Ensure DepartmentDto can handle the potential extra ID or remove it from constructor/setter if not needed
 
     // **** METHOD FOR PUBLIC LIST OF DEPARTMENTS (Scenario 1) ****
+    // Source of ReferenceDataCache's snapshot; the endpoint itself is served from the cache
+    @Transactional(readOnly = true)
     public List<DepartmentDto> getAllPublicDepartments() {
-        return departmentRepository.findAll().stream()
-                .map(this::mapToDto)
+        return departmentRepository.findAllPublicRows().stream()
+                .map(row -> new DepartmentDto((Long) row[0], (String) row[1], null, (Long) row[2]))
                 .collect(Collectors.toList());
     }
 }
\ No newline at end of file
@@ -3,37 +3,40 @@ package com.webapp.ems.service;
 import com.webapp.ems.enums.LeaveStatus;
 import com.webapp.ems.model.LeaveRequest;
 import com.webapp.ems.model.User;
+import com.webapp.ems.template.EmailTemplateEngine;
+import com.webapp.ems.template.RenderedEmail;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
 
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
 public class EmailService {
 
     private final JavaMailSender javaMailSender;
+    private final EmailTemplateEngine templateEngine;
+    private final MeterRegistry meterRegistry;
 
     @Value("${spring.mail.username}") // To use as the 'from' address
     private String fromEmailAddress;
 
-    private final DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("MMMM d, yyyy"); // e.g., October 26, 2023
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("MMMM d, yyyy"); // e.g., October 26, 2023
 
     public void sendOtpEmail(String to, String otp) {
         try {
-            SimpleMailMessage message = new SimpleMailMessage();
-            message.setFrom(fromEmailAddress);
-            message.setTo(to);
-            message.setSubject("Your EMS Account - Email Verification OTP");
-            message.setText("Hi there,\n\nYour One-Time Password (OTP) for verifying your email address is: "
-                    + otp
-                    + "\n\nThis OTP is valid for 10 minutes."
-                    + "\n\nIf you did not request this, please ignore this email."
-                    + "\n\nRegards,\nTeam Connect");
-            javaMailSender.send(message);
+            send(EmailTemplateEngine.OTP, to, templateEngine.render(EmailTemplateEngine.OTP, Map.of("otp", otp)));
             System.out.println("OTP email sent successfully to " + to); // For server log
         } catch (Exception e) {
             System.err.println("Error sending OTP email to " + to + ": " + e.getMessage());
@@ -44,35 +47,18 @@ public class EmailService {
 
     public void sendWelcomeEmail(User employee) {
         try {
-            SimpleMailMessage message = new SimpleMailMessage();
-            message.setFrom(fromEmailAddress);
-            message.setTo(employee.getEmail());
-            message.setSubject("Welcome to Our Employee Management System! Team Connect");
-
-            StringBuilder sb = new StringBuilder();
-            sb.append("Hi ").append(employee.getFirstName()).append(",\n\n");
-            sb.append("An account has been created for you in our Employee Management System by an administrator.\n\n");
-            sb.append("You can log in using your email and the password provided (or set by the admin).\n");
-            sb.append("Your login email: ").append(employee.getEmail()).append("\n");
-            sb.append("Your details on record:\n");
-            sb.append("- Name: ").append(employee.getFirstName()).append(" ").append(employee.getLastName()).append("\n");
+            Map<String, Object> model = new HashMap<>();
+            model.put("firstName", employee.getFirstName());
+            model.put("lastName", employee.getLastName());
+            model.put("email", employee.getEmail());
             if (employee.getDepartment() != null) {
-                sb.append("- Department: ").append(employee.getDepartment().getName()).append("\n");
-            }
-            if (employee.getHireDate() != null) {
-                sb.append("- Hire Date: ").append(employee.getHireDate().toString()).append("\n");
-            }
-            if (employee.getPassword() != null) {
-                sb.append("- Password: ").append(employee.getPassword()).append("\n");
+                model.put("departmentName", employee.getDepartment().getName());
             }
+            model.put("hireDate", employee.getHireDate());
+            model.put("password", employee.getPassword());
             // Consider privacy before including salary in an email.
-            // if (employee.getSalary() != null) {
-            //     sb.append("- Salary: [Protected or Omitted for Email]\n");
-            // }
-            sb.append("\nRegards,\nAdmin Team");
 
-            message.setText(sb.toString());
-            javaMailSender.send(message);
+            send(EmailTemplateEngine.WELCOME, employee.getEmail(), templateEngine.render(EmailTemplateEngine.WELCOME, model));
             System.out.println("Welcome email sent successfully to " + employee.getEmail());
         } catch (Exception e) {
             System.err.println("Error sending welcome email to " + employee.getEmail() + ": " + e.getMessage());
@@ -85,25 +71,8 @@ public class EmailService {
             return;
         }
         try {
-            SimpleMailMessage message = new SimpleMailMessage();
-            message.setFrom(fromEmailAddress);
-            message.setTo(leaveRequest.getEmployee().getEmail());
-            message.setSubject("Leave Request Submitted Successfully (ID: " + leaveRequest.getId() + ")");
-
-            StringBuilder sb = new StringBuilder();
-            sb.append("Hi ").append(leaveRequest.getEmployee().getFirstName()).append(",\n\n");
-            sb.append("Your leave request has been successfully submitted and is now PENDING approval.\n\n");
-            sb.append("Leave Details:\n");
-            sb.append("- Request ID: ").append(leaveRequest.getId()).append("\n");
-            sb.append("- Start Date: ").append(leaveRequest.getStartDate().format(dateFormatter)).append("\n");
-            sb.append("- End Date: ").append(leaveRequest.getEndDate().format(dateFormatter)).append("\n");
-            sb.append("- Reason: ").append(leaveRequest.getReason() != null ? leaveRequest.getReason() : "N/A").append("\n");
-            sb.append("- Status: ").append(leaveRequest.getStatus()).append("\n\n");
-            sb.append("You will be notified once your request has been reviewed by an administrator.\n");
-            sb.append("\nRegards,\nEMS Team");
-
-            message.setText(sb.toString());
-            javaMailSender.send(message);
+            send(EmailTemplateEngine.LEAVE_CONFIRMATION, leaveRequest.getEmployee().getEmail(),
+                    templateEngine.render(EmailTemplateEngine.LEAVE_CONFIRMATION, leaveModel(leaveRequest)));
             System.out.println("Leave application confirmation email sent to " + leaveRequest.getEmployee().getEmail());
         } catch (Exception e) {
             System.err.println("Error sending leave application confirmation to " + leaveRequest.getEmployee().getEmail() + ": " + e.getMessage());
@@ -126,34 +95,88 @@ public class EmailService {
         }
 
         try {
-            SimpleMailMessage message = new SimpleMailMessage();
-            message.setFrom(fromEmailAddress);
-            message.setTo(leaveRequest.getEmployee().getEmail());
-            message.setSubject("Update on Your Leave Request (ID: " + leaveRequest.getId() + ")");
-
-            StringBuilder sb = new StringBuilder();
-            sb.append("Hi ").append(leaveRequest.getEmployee().getFirstName()).append(",\n\n");
-            sb.append("There has been an update on your leave request (ID: ").append(leaveRequest.getId()).append(").\n\n");
-            sb.append("New Status: ").append(leaveRequest.getStatus()).append("\n\n");
-            sb.append("Leave Details:\n");
-            sb.append("- Start Date: ").append(leaveRequest.getStartDate().format(dateFormatter)).append("\n");
-            sb.append("- End Date: ").append(leaveRequest.getEndDate().format(dateFormatter)).append("\n");
-            sb.append("- Reason: ").append(leaveRequest.getReason() != null ? leaveRequest.getReason() : "N/A").append("\n");
-
-            if (leaveRequest.getAdminRemarks() != null && !leaveRequest.getAdminRemarks().isEmpty()) {
-                sb.append("- Admin Remarks: ").append(leaveRequest.getAdminRemarks()).append("\n");
-            }
-            if (leaveRequest.getActionByAdmin() != null) {
-                sb.append("- Actioned By: Admin (").append(leaveRequest.getActionByAdmin().getFirstName()).append(")\n");
-            }
-            sb.append("\n\nIf you have any questions, please contact your administrator.\n");
-            sb.append("\nRegards,\nEMS Team");
-
-            message.setText(sb.toString());
-            javaMailSender.send(message);
+            send(EmailTemplateEngine.LEAVE_STATUS, leaveRequest.getEmployee().getEmail(), leaveStatusEmail(leaveRequest));
             System.out.println("Leave status update email sent to " + leaveRequest.getEmployee().getEmail() + " for status " + leaveRequest.getStatus());
         } catch (Exception e) {
             System.err.println("Error sending leave status update to " + leaveRequest.getEmployee().getEmail() + ": " + e.getMessage());
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Sends an admin a single summary of the new PENDING leave requests awaiting their action.
+     * @param admin The admin receiving the digest.
+     * @param pendingRequests The requests to list (employee must be initialised).
+     */
+    public void sendPendingLeaveDigestToAdmin(User admin, List<LeaveRequest> pendingRequests) {
+        if (admin == null || pendingRequests == null || pendingRequests.isEmpty()) {
+            return;
+        }
+        try {
+            send(EmailTemplateEngine.LEAVE_DIGEST, admin.getEmail(), pendingLeaveDigestEmail(admin, pendingRequests));
+            System.out.println("Pending leave digest sent to " + admin.getEmail() + " (" + pendingRequests.size() + " requests)");
+        } catch (Exception e) {
+            System.err.println("Error sending pending leave digest to " + admin.getEmail() + ": " + e.getMessage());
+        }
+    }
+
+    // Body building is split from sending so EmailBodyBenchmark can measure it without a mail server
+    RenderedEmail leaveStatusEmail(LeaveRequest leaveRequest) {
+        Map<String, Object> model = leaveModel(leaveRequest);
+        model.put("adminRemarks", leaveRequest.getAdminRemarks());
+        if (leaveRequest.getActionByAdmin() != null) {
+            model.put("actionByAdminFirstName", leaveRequest.getActionByAdmin().getFirstName());
+        }
+        return templateEngine.render(EmailTemplateEngine.LEAVE_STATUS, model);
+    }
+
+    RenderedEmail pendingLeaveDigestEmail(User admin, List<LeaveRequest> pendingRequests) {
+        List<Map<String, Object>> rows = new ArrayList<>(pendingRequests.size());
+        for (LeaveRequest leaveRequest : pendingRequests) {
+            Map<String, Object> row = new HashMap<>(8);
+            row.put("requestId", leaveRequest.getId());
+            row.put("employeeName", leaveRequest.getEmployee().getFirstName() + " " + leaveRequest.getEmployee().getLastName());
+            row.put("startDate", leaveRequest.getStartDate().format(DATE_FORMATTER));
+            row.put("endDate", leaveRequest.getEndDate().format(DATE_FORMATTER));
+            rows.add(row);
+        }
+        Map<String, Object> model = new HashMap<>();
+        model.put("firstName", admin.getFirstName());
+        model.put("requestCount", pendingRequests.size());
+        model.put("requests", rows);
+        return templateEngine.render(EmailTemplateEngine.LEAVE_DIGEST, model);
+    }
+
+    // Fields shared by the leave confirmation and status templates
+    private Map<String, Object> leaveModel(LeaveRequest leaveRequest) {
+        Map<String, Object> model = new HashMap<>();
+        model.put("firstName", leaveRequest.getEmployee().getFirstName());
+        model.put("requestId", leaveRequest.getId());
+        model.put("startDate", leaveRequest.getStartDate().format(DATE_FORMATTER));
+        model.put("endDate", leaveRequest.getEndDate().format(DATE_FORMATTER));
+        model.put("reason", leaveRequest.getReason() != null ? leaveRequest.getReason() : "N/A");
+        model.put("status", leaveRequest.getStatus());
+        return model;
+    }
+
+    // Sends a multipart/alternative message with both the plain-text and HTML bodies.
+    // Timed per template (ems.email.send) with failures also counted by exception (ems.email.failures).
+    private void send(String template, String to, RenderedEmail email) throws MessagingException {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "failure";
+        try {
+            MimeMessage message = javaMailSender.createMimeMessage();
+            MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
+            helper.setFrom(fromEmailAddress);
+            helper.setTo(to);
+            helper.setSubject(email.subject());
+            helper.setText(email.textBody(), email.htmlBody());
+            javaMailSender.send(message);
+            outcome = "success";
+        } catch (MessagingException | RuntimeException e) {
+            meterRegistry.counter("ems.email.failures", "template", template, "exception", e.getClass().getSimpleName()).increment();
+            throw e;
+        } finally {
+            sample.stop(meterRegistry.timer("ems.email.send", "template", template, "outcome", outcome));
+        }
+    }
+}
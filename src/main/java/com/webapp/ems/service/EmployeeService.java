@@ -7,6 +7,7 @@ import com.webapp.ems.model.Department;
 import com.webapp.ems.model.User;
 import com.webapp.ems.repository.DepartmentRepository;
 import com.webapp.ems.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -15,12 +16,18 @@ import java.util.List;
 import java.util.stream.Collectors;
 
 @Service
+@Timed("ems.service")
 @RequiredArgsConstructor
 public class EmployeeService {
 
     private final UserRepository userRepository;
     private final DepartmentRepository departmentRepository;
     private final EmailService emailService;
+    private final LeaveBalanceService leaveBalanceService;
+    private final TeamAvailabilityService teamAvailabilityService;
+    private final LeaveArchiveService leaveArchiveService;
+    private final AdminLeaveViewService adminLeaveViewService;
+    private final DepartmentService departmentService;
 
     // ADMIN CREATES EMPLOYEE (associates with self)
     @Transactional
@@ -48,21 +55,36 @@ public class EmployeeService {
         employee.setManagedByAdmin(admin); // ***** KEY CHANGE: Link employee to the admin *****
 
         User savedEmployee = userRepository.save(employee);
+        departmentService.adjustHeadcount(null, departmentIdOf(savedEmployee));
         emailService.sendWelcomeEmail(savedEmployee);
         return mapEntityToDto(savedEmployee);
     }
 
     // ADMIN GETS THEIR EMPLOYEES
+    @Transactional(readOnly = true)
     public List<EmployeeDto> getAllEmployeesForAdmin(Long adminId) {
         User admin = userRepository.findById(adminId)
                 .orElseThrow(() -> new RuntimeException("Admin not found with ID: " + adminId));
         // Assuming you want to list only users with EMPLOYEE role managed by this admin
         return userRepository.findAllByRoleAndManagedByAdmin(Role.EMPLOYEE, admin).stream()
-                .map(this::mapEntityToDto)
+                .map(EmployeeService::mapEntityToDto)
+                .collect(Collectors.toList());
+    }
+
+    // ADMIN GETS THEIR EMPLOYEES ANYWHERE UNDER ONE OF THEIR DEPARTMENTS (sub-departments included)
+    @Transactional(readOnly = true)
+    public List<EmployeeDto> getEmployeesInDepartmentSubtree(Long departmentId, Long adminId) {
+        User admin = userRepository.findById(adminId)
+                .orElseThrow(() -> new RuntimeException("Admin not found with ID: " + adminId));
+        departmentRepository.findByIdAndCreatedByAdmin(departmentId, admin)
+                .orElseThrow(() -> new RuntimeException("Department not found with id: " + departmentId + " for this admin."));
+        return userRepository.findEmployeesInDepartmentSubtree(departmentId, admin).stream()
+                .map(EmployeeService::mapEntityToDto)
                 .collect(Collectors.toList());
     }
 
     // ADMIN GETS A SPECIFIC EMPLOYEE THEY MANAGE
+    @Transactional(readOnly = true)
     public EmployeeDto getEmployeeByIdForAdmin(Long employeeId, Long adminId) {
         User admin = userRepository.findById(adminId)
                 .orElseThrow(() -> new RuntimeException("Admin not found with ID: " + adminId));
@@ -94,6 +116,7 @@ public class EmployeeService {
             throw new RuntimeException("Error: New email is already in use by another user!");
         }
 
+        Long previousDepartmentId = departmentIdOf(employee);
         mapDtoToEntity(employeeDto, employee, false); // isCreation = false
         // Ensure role remains EMPLOYEE or handle role changes carefully
         if (employeeDto.getRole() != null && Role.valueOf(employeeDto.getRole().toUpperCase()) == Role.EMPLOYEE){
@@ -105,6 +128,9 @@ public class EmployeeService {
 
 
         User updatedEmployee = userRepository.save(employee);
+        departmentService.adjustHeadcount(previousDepartmentId, departmentIdOf(updatedEmployee));
+        adminLeaveViewService.onEmployeeUpdated(updatedEmployee); // Names/email are copied into the admin leave view
+        teamAvailabilityService.evictAdminAfterCommit(adminId); // Cached calendars hold names and departments
         return mapEntityToDto(updatedEmployee);
     }
 
@@ -123,7 +149,13 @@ public class EmployeeService {
             throw new IllegalArgumentException("Admin cannot delete themselves using this employee function.");
         }
 
+        Long departmentId = departmentIdOf(employee);
         userRepository.delete(employee);
+        departmentService.adjustHeadcount(departmentId, null);
+        leaveBalanceService.deleteBalance(employeeId);
+        leaveArchiveService.deleteArchivedForEmployee(employeeId);
+        adminLeaveViewService.onEmployeeDeleted(employeeId);
+        teamAvailabilityService.evictAdminAfterCommit(adminId);
     }
 
     // mapDtoToEntity and mapEntityToDto remain largely the same
@@ -164,7 +196,13 @@ public class EmployeeService {
             user.setGender(null); // Or set a default like PREFER_NOT_TO_SAY
         }
     }
-    private EmployeeDto mapEntityToDto(User user) {
+    // Reading the ID of a lazy department proxy does not initialize it
+    private static Long departmentIdOf(User user) {
+        return user.getDepartment() != null ? user.getDepartment().getId() : null;
+    }
+
+    // Package-private: also measured directly by ServiceHotPathBenchmark
+    static EmployeeDto mapEntityToDto(User user) {
         EmployeeDto dto = new EmployeeDto();
         dto.setId(user.getId());
         dto.setFirstName(user.getFirstName());
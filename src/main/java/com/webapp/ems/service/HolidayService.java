@@ -0,0 +1,88 @@
+package com.webapp.ems.service;
+
+import com.webapp.ems.dto.HolidayDto;
+import com.webapp.ems.enums.Role;
+import com.webapp.ems.model.Holiday;
+import com.webapp.ems.model.User;
+import com.webapp.ems.repository.HolidayRepository;
+import com.webapp.ems.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Admin-managed holidays. Each change invalidates that admin's cached working-day calendar for the
+ * year and corrects the leave analytics of requests already covering the date.
+ */
+@Service
+@Timed("ems.service")
+@RequiredArgsConstructor
+public class HolidayService {
+
+    private final HolidayRepository holidayRepository;
+    private final UserRepository userRepository;
+    private final WorkingDayCalendarService workingDayCalendarService;
+    private final LeaveAnalyticsService leaveAnalyticsService;
+
+    @Transactional(readOnly = true)
+    public List<HolidayDto> getHolidaysForAdmin(Long adminId, int year) {
+        User admin = findAdmin(adminId);
+        return holidayRepository.findByAdminAndDateBetweenOrderByDate(admin, LocalDate.of(year, 1, 1), LocalDate.of(year, 12, 31))
+                .stream()
+                .map(this::mapToDto)
+                .collect(Collectors.toList());
+    }
+
+    @Transactional
+    public HolidayDto addHoliday(HolidayDto holidayDto, Long adminId) {
+        User admin = findAdmin(adminId);
+        if (holidayDto.getDate() == null) {
+            throw new IllegalArgumentException("Holiday date is required.");
+        }
+        if (holidayDto.getName() == null || holidayDto.getName().trim().isEmpty()) {
+            throw new IllegalArgumentException("Holiday name cannot be empty.");
+        }
+        if (holidayRepository.existsByAdminAndDate(admin, holidayDto.getDate())) {
+            throw new RuntimeException("A holiday already exists on " + holidayDto.getDate() + ".");
+        }
+        Holiday holiday = new Holiday();
+        holiday.setAdmin(admin);
+        holiday.setDate(holidayDto.getDate());
+        holiday.setName(holidayDto.getName().trim());
+        Holiday savedHoliday = holidayRepository.save(holiday);
+
+        if (!workingDayCalendarService.isWeekend(savedHoliday.getDate())) { // It was a working day until now
+            leaveAnalyticsService.adjustForCalendarChange(admin, savedHoliday.getDate(), -1);
+        }
+        workingDayCalendarService.evictAfterCommit(adminId, savedHoliday.getDate().getYear());
+        return mapToDto(savedHoliday);
+    }
+
+    @Transactional
+    public void deleteHoliday(Long holidayId, Long adminId) {
+        User admin = findAdmin(adminId);
+        Holiday holiday = holidayRepository.findByIdAndAdmin(holidayId, admin)
+                .orElseThrow(() -> new RuntimeException("Holiday not found or not managed by this admin. ID: " + holidayId));
+        holidayRepository.delete(holiday);
+
+        if (!workingDayCalendarService.isWeekend(holiday.getDate())) {
+            leaveAnalyticsService.adjustForCalendarChange(admin, holiday.getDate(), +1);
+        }
+        workingDayCalendarService.evictAfterCommit(adminId, holiday.getDate().getYear());
+    }
+
+    private User findAdmin(Long adminId) {
+        return userRepository.findById(adminId)
+                .filter(u -> u.getRole() == Role.ADMIN)
+                .orElseThrow(() -> new RuntimeException("Admin user not found or user is not an admin: " + adminId));
+    }
+
+    private HolidayDto mapToDto(Holiday holiday) {
+        return new HolidayDto(holiday.getId(), holiday.getDate(), holiday.getName());
+    }
+}
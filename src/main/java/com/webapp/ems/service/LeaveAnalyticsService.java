@@ -0,0 +1,169 @@
+package com.webapp.ems.service;
+
+import com.webapp.ems.dto.AbsenceReportDto;
+import com.webapp.ems.enums.LeaveStatus;
+import com.webapp.ems.enums.Role;
+import com.webapp.ems.model.LeaveRequest;
+import com.webapp.ems.model.User;
+import com.webapp.ems.repository.LeaveMonthlyRollupRepository;
+import com.webapp.ems.repository.LeaveRequestRepository;
+import com.webapp.ems.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Absence analytics backed by {@link com.webapp.ems.model.LeaveMonthlyRollup}: every leave status
+ * transition moves the request's working days (per the managing admin's calendar) from the old status
+ * to the new one in each month it touches, inside the transition's own transaction. Reports then
+ * aggregate rollup rows only. Requests that predate the rollups are counted once by the
+ * {@link com.webapp.ems.migration.V4__Backfill_leave_monthly_rollups} migration.
+ */
+@Service
+@Timed("ems.service")
+@RequiredArgsConstructor
+public class LeaveAnalyticsService {
+
+    private static final int MAX_REPORT_MONTHS = 60;
+    private static final int TOP_EMPLOYEES = 10;
+
+    private final LeaveMonthlyRollupRepository rollupRepository;
+    private final LeaveRequestRepository leaveRequestRepository;
+    private final UserRepository userRepository;
+    private final WorkingDayCalendarService workingDayCalendarService;
+
+    /**
+     * Records a status transition of a leave request (the employee must be loaded or loadable).
+     * Pass {@code fromStatus = null} for a newly filed request.
+     */
+    public void recordTransition(LeaveRequest leaveRequest, LeaveStatus fromStatus, LeaveStatus toStatus) {
+        User employee = leaveRequest.getEmployee();
+        recordTransition(employee.getId(),
+                employee.getDepartment() != null ? employee.getDepartment().getId() : null,
+                employee.getManagedByAdmin() != null ? employee.getManagedByAdmin().getId() : null,
+                leaveRequest.getStartDate(), leaveRequest.getEndDate(), fromStatus, toStatus);
+    }
+
+    public void recordTransition(Long employeeId, Long departmentId, Long adminId,
+                                 LocalDate startDate, LocalDate endDate, LeaveStatus fromStatus, LeaveStatus toStatus) {
+        workingDayCalendarService.countWorkingDaysPerMonth(adminId, startDate, endDate).forEach((monthStart, days) -> {
+            if (days == 0) {
+                return;
+            }
+            if (fromStatus != null) {
+                rollupRepository.addDays(employeeId, departmentId, adminId, monthStart, fromStatus.name(), -days);
+            }
+            rollupRepository.addDays(employeeId, departmentId, adminId, monthStart, toStatus.name(), days);
+        });
+    }
+
+    /**
+     * A date of the admin's calendar became a holiday ({@code delta = -1}) or a working day again
+     * ({@code delta = +1}): every request covering it gains or loses that day in its month.
+     */
+    public void adjustForCalendarChange(User admin, LocalDate date, int delta) {
+        LocalDate monthStart = date.withDayOfMonth(1);
+        for (Object[] row : leaveRequestRepository.findCoveringDateForAdmin(admin, date)) {
+            rollupRepository.addDays((Long) row[0], (Long) row[1], admin.getId(), monthStart, ((LeaveStatus) row[2]).name(), delta);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public AbsenceReportDto getAbsenceReport(Long adminId, YearMonth fromMonth, YearMonth toMonth) {
+        User admin = userRepository.findById(adminId)
+                .filter(u -> u.getRole() == Role.ADMIN)
+                .orElseThrow(() -> new RuntimeException("Admin user not found or user is not an admin: " + adminId));
+        if (fromMonth == null || toMonth == null || fromMonth.isAfter(toMonth)) {
+            throw new IllegalArgumentException("A valid 'from' and 'to' month range is required.");
+        }
+        if (ChronoUnit.MONTHS.between(fromMonth, toMonth) >= MAX_REPORT_MONTHS) {
+            throw new IllegalArgumentException("Month range cannot exceed " + MAX_REPORT_MONTHS + " months.");
+        }
+        LocalDate from = fromMonth.atDay(1);
+        LocalDate to = toMonth.atDay(1);
+
+        // Current headcount, per department and in total
+        List<AbsenceReportDto.DepartmentRow> departments = new ArrayList<>();
+        Map<Long, AbsenceReportDto.DepartmentRow> departmentById = new HashMap<>();
+        long employeeCount = 0;
+        for (Object[] row : userRepository.countEmployeesPerDepartmentForAdmin(admin)) {
+            AbsenceReportDto.DepartmentRow department = new AbsenceReportDto.DepartmentRow(
+                    (Long) row[0], row[1] != null ? (String) row[1] : "No department", (Long) row[2], 0, 0.0);
+            departments.add(department);
+            departmentById.put(department.getDepartmentId(), department); // HashMap allows the null key
+            employeeCount += department.getEmployeeCount();
+        }
+
+        Map<String, Long> daysByStatus = new LinkedHashMap<>();
+        for (LeaveStatus status : LeaveStatus.values()) {
+            daysByStatus.put(status.name(), 0L);
+        }
+        Map<LocalDate, Long> approvedByMonth = new HashMap<>();
+        for (Object[] row : rollupRepository.sumDaysByMonthAndStatus(adminId, from, to)) {
+            LeaveStatus status = (LeaveStatus) row[1];
+            long days = ((Number) row[2]).longValue();
+            daysByStatus.merge(status.name(), days, Long::sum);
+            if (status == LeaveStatus.APPROVED) {
+                approvedByMonth.merge((LocalDate) row[0], days, Long::sum);
+            }
+        }
+
+        List<AbsenceReportDto.MonthRow> months = new ArrayList<>();
+        int daysInPeriod = 0;
+        for (YearMonth month = fromMonth; !month.isAfter(toMonth); month = month.plusMonths(1)) {
+            long approved = approvedByMonth.getOrDefault(month.atDay(1), 0L);
+            int workingDays = workingDayCalendarService.countWorkingDaysInMonth(adminId, month);
+            months.add(new AbsenceReportDto.MonthRow(month.toString(), workingDays, approved,
+                    rate(approved, employeeCount, workingDays)));
+            daysInPeriod += workingDays;
+        }
+
+        for (Object[] row : rollupRepository.sumApprovedDaysByDepartment(adminId, from, to)) {
+            AbsenceReportDto.DepartmentRow department = departmentById.get((Long) row[0]);
+            if (department == null) {
+                // Leave taken in a department that no longer has any of the admin's employees
+                department = new AbsenceReportDto.DepartmentRow((Long) row[0], "Former department", 0, 0, 0.0);
+                departments.add(department);
+                departmentById.put(department.getDepartmentId(), department);
+            }
+            department.setApprovedLeaveDays(((Number) row[1]).longValue());
+        }
+        for (AbsenceReportDto.DepartmentRow department : departments) {
+            department.setAbsenceRate(rate(department.getApprovedLeaveDays(), department.getEmployeeCount(), daysInPeriod));
+        }
+
+        List<Object[]> top = rollupRepository.findTopApprovedDaysByEmployee(adminId, from, to, PageRequest.of(0, TOP_EMPLOYEES));
+        Map<Long, String> names = new HashMap<>();
+        userRepository.findAllById(top.stream().map(row -> (Long) row[0]).toList())
+                .forEach(u -> names.put(u.getId(), u.getFirstName() + " " + u.getLastName()));
+        List<AbsenceReportDto.EmployeeRow> topEmployees = new ArrayList<>(top.size());
+        for (Object[] row : top) {
+            Long employeeId = (Long) row[0];
+            topEmployees.add(new AbsenceReportDto.EmployeeRow(employeeId,
+                    Objects.requireNonNullElse(names.get(employeeId), "Former employee"), ((Number) row[1]).longValue()));
+        }
+
+        long approvedTotal = daysByStatus.get(LeaveStatus.APPROVED.name());
+        return new AbsenceReportDto(fromMonth.toString(), toMonth.toString(), daysInPeriod, employeeCount, approvedTotal,
+                rate(approvedTotal, employeeCount, daysInPeriod), daysByStatus, months, departments, topEmployees);
+    }
+
+    private static double rate(long leaveDays, long employees, int days) {
+        if (employees == 0 || days == 0) {
+            return 0.0;
+        }
+        return Math.round(leaveDays * 10000.0 / (employees * (double) days)) / 10000.0;
+    }
+}
@@ -0,0 +1,102 @@
+package com.webapp.ems.service;
+
+import com.webapp.ems.enums.LeaveStatus;
+import com.webapp.ems.enums.Role;
+import com.webapp.ems.model.User;
+import com.webapp.ems.repository.AdminLeaveViewRepository;
+import com.webapp.ems.repository.ArchivedLeaveRequestRepository;
+import com.webapp.ems.repository.LeaveRequestRepository;
+import com.webapp.ems.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Moves closed leave requests (APPROVED/REJECTED/CANCELLED) whose leave ended more than the horizon
+ * ago from leave_requests into leave_requests_archive, so the live table (and every admin query on it)
+ * only carries recent and open requests. Each batch is copied and deleted in its own transaction.
+ * <p>
+ * Archived rows stay reachable: an employee's history can include them, the availability calendar
+ * reads them for past months, and leave analytics are kept in rollups that archival doesn't touch.
+ */
+@Service
+@Timed("ems.service")
+@RequiredArgsConstructor
+public class LeaveArchiveService {
+
+    private final LeaveRequestRepository leaveRequestRepository;
+    private final ArchivedLeaveRequestRepository archivedLeaveRequestRepository;
+    private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final AdminLeaveViewRepository adminLeaveViewRepository;
+    private final AdminLeaveViewService adminLeaveViewService;
+
+    @Value("${ems.leave-archive.horizon-days:365}")
+    private int horizonDays;
+
+    @Value("${ems.leave-archive.batch-size:1000}")
+    private int batchSize;
+
+    /** Requests that ended before this date may have been archived. */
+    public LocalDate getCutoffDate() {
+        return LocalDate.now().minusDays(horizonDays);
+    }
+
+    @Scheduled(cron = "${ems.leave-archive.cron:0 30 2 * * *}")
+    public void archiveClosedRequests() {
+        LocalDate cutoff = getCutoffDate();
+        long hotQueriesBefore = timeHotAdminQueries();
+
+        long startedAt = System.nanoTime();
+        long afterId = 0L;
+        int archived = 0;
+        while (true) {
+            List<Long> ids = leaveRequestRepository.findArchivableIdsAfter(afterId, cutoff, PageRequest.of(0, batchSize));
+            if (ids.isEmpty()) {
+                break;
+            }
+            Integer moved = transactionTemplate.execute(status -> {
+                int copied = archivedLeaveRequestRepository.copyFromLive(ids, LocalDateTime.now());
+                leaveRequestRepository.deleteAllByIdIn(ids);
+                adminLeaveViewService.onRemoved(ids);
+                return copied;
+            });
+            archived += moved != null ? moved : 0;
+            afterId = ids.get(ids.size() - 1);
+        }
+        if (archived == 0) {
+            return;
+        }
+
+        long hotQueriesAfter = timeHotAdminQueries();
+        System.out.println("Leave archival: moved " + archived + " request(s) that ended before " + cutoff + " in "
+                + (System.nanoTime() - startedAt) / 1_000_000 + " ms. Hot admin queries (status counts + first pending page, all admins): "
+                + hotQueriesBefore / 1_000_000 + " ms before, " + hotQueriesAfter / 1_000_000 + " ms after.");
+    }
+
+    public void deleteArchivedForEmployee(Long employeeId) {
+        archivedLeaveRequestRepository.deleteByEmployeeId(employeeId);
+    }
+
+    // Runs the admin screen's queries (status counts and the first PENDING page) for every admin; nanoseconds
+    private long timeHotAdminQueries() {
+        List<User> admins = userRepository.findAllByRole(Role.ADMIN);
+        long startedAt = System.nanoTime();
+        transactionTemplate.executeWithoutResult(status -> {
+            for (User admin : admins) {
+                adminLeaveViewRepository.countByStatusForAdmin(admin.getId());
+                adminLeaveViewRepository.findAdminQueuePage(admin.getId(), LeaveStatus.PENDING, null, null, null,
+                        null, null, PageRequest.of(0, 50));
+            }
+        });
+        return System.nanoTime() - startedAt;
+    }
+}
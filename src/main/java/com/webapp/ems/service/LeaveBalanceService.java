@@ -0,0 +1,171 @@
+package com.webapp.ems.service;
+
+import com.webapp.ems.dto.LeaveBalanceDto;
+import com.webapp.ems.enums.LeaveLedgerEntryType;
+import com.webapp.ems.model.LeaveBalance;
+import com.webapp.ems.model.LeaveLedgerEntry;
+import com.webapp.ems.repository.LeaveBalanceRepository;
+import com.webapp.ems.repository.LeaveLedgerEntryRepository;
+import com.webapp.ems.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Leave entitlement: an append-only ledger (LeaveLedgerEntry) plus a running balance per employee
+ * (LeaveBalance) updated in the same transaction as each ledger entry, so checking a balance is a
+ * single-row read instead of a sum over history.
+ * <p>
+ * Days are debited when a request is filed (so pending requests can't overdraw the balance) and
+ * credited back if it is cancelled or rejected; approval leaves the balance unchanged.
+ */
+@Service
+@Timed("ems.service")
+@RequiredArgsConstructor
+public class LeaveBalanceService {
+
+    public static final String OPENING_PERIOD = "OPENING";
+
+    private final LeaveBalanceRepository leaveBalanceRepository;
+    private final LeaveLedgerEntryRepository leaveLedgerEntryRepository;
+    private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${ems.leave.opening-balance-days:12}")
+    private BigDecimal openingBalanceDays;
+
+    @Value("${ems.leave.accrual.days-per-month:1.75}")
+    private BigDecimal accrualDaysPerMonth;
+
+    @Value("${ems.leave.accrual.batch-size:1000}")
+    private int accrualBatchSize;
+
+    @Transactional
+    public LeaveBalanceDto getBalance(Long employeeId) {
+        if (!userRepository.existsById(employeeId)) {
+            throw new RuntimeException("Employee not found with ID: " + employeeId);
+        }
+        ensureBalances(List.of(employeeId));
+        LeaveBalance balance = leaveBalanceRepository.findById(employeeId)
+                .orElseThrow(() -> new RuntimeException("Leave balance not found for employee ID: " + employeeId));
+        return new LeaveBalanceDto(employeeId, balance.getAvailableDays());
+    }
+
+    /**
+     * Debits the days for a newly filed leave request (its working days, see WorkingDayCalendarService).
+     * @throws IllegalArgumentException if the employee's available balance is insufficient.
+     */
+    @Transactional
+    public void debitForLeaveRequest(Long employeeId, Long leaveRequestId, BigDecimal days) {
+        ensureBalances(List.of(employeeId));
+        if (leaveBalanceRepository.debitIfSufficient(employeeId, days, LocalDateTime.now()) == 0) {
+            BigDecimal available = leaveBalanceRepository.findById(employeeId)
+                    .map(LeaveBalance::getAvailableDays).orElse(BigDecimal.ZERO);
+            throw new IllegalArgumentException("Insufficient leave balance: requested " + days
+                    + " day(s) but only " + available + " available.");
+        }
+        leaveLedgerEntryRepository.save(newEntry(employeeId, LeaveLedgerEntryType.DEBIT, days, leaveRequestId));
+    }
+
+    /**
+     * Returns the days debited for requests that were cancelled or rejected, with two set-based
+     * statements regardless of how many requests are given. Requests filed before the ledger existed
+     * have no DEBIT entry and are skipped; a request is never credited twice.
+     */
+    @Transactional
+    public void creditForLeaveRequests(List<Long> leaveRequestIds) {
+        if (leaveRequestIds.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        // Balances first: both statements select "debits without a credit", which the insert then changes
+        leaveBalanceRepository.creditDebitsOf(leaveRequestIds, now);
+        leaveLedgerEntryRepository.insertCreditsForDebitsOf(leaveRequestIds, now);
+    }
+
+    @Transactional
+    public void deleteBalance(Long employeeId) {
+        // Ledger entries are history and are kept; only the running balance goes
+        leaveBalanceRepository.deleteById(employeeId);
+    }
+
+    /**
+     * Monthly accrual for every employee, in keyset-paged batches with one transaction per batch.
+     * Re-running for the same month skips employees that were already credited.
+     */
+    @Scheduled(cron = "${ems.leave.accrual.cron:0 0 1 1 * *}")
+    public void accrueMonthly() {
+        String period = YearMonth.now().toString();
+        long afterId = 0L;
+        int accrued = 0;
+        while (true) {
+            List<Long> employeeIds = userRepository.findEmployeeIdsAfter(afterId, PageRequest.of(0, accrualBatchSize));
+            if (employeeIds.isEmpty()) {
+                break;
+            }
+            Integer batchCount = transactionTemplate.execute(status -> accrueBatch(employeeIds, period));
+            accrued += batchCount != null ? batchCount : 0;
+            afterId = employeeIds.get(employeeIds.size() - 1);
+        }
+        System.out.println("Leave accrual for " + period + ": credited " + accrualDaysPerMonth + " day(s) to " + accrued + " employee(s).");
+    }
+
+    private int accrueBatch(List<Long> employeeIds, String period) {
+        ensureBalances(employeeIds);
+        Set<Long> alreadyAccrued = new HashSet<>(leaveLedgerEntryRepository.findEmployeeIdsAccruedForPeriod(period, employeeIds));
+        List<Long> toAccrue = employeeIds.stream().filter(id -> !alreadyAccrued.contains(id)).toList();
+        if (toAccrue.isEmpty()) {
+            return 0;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        leaveLedgerEntryRepository.insertAccruals(toAccrue, accrualDaysPerMonth, period, now);
+        leaveBalanceRepository.creditAll(toAccrue, accrualDaysPerMonth, now);
+        return toAccrue.size();
+    }
+
+    /**
+     * Creates balance rows (with an OPENING ledger entry) for employees that don't have one yet. Two
+     * transactions creating the same balance would collide on its primary key or write two OPENING
+     * entries, so creation locks the employees' user rows and re-checks with a locking read first.
+     * Employees that already have a balance (nearly every call) take no lock.
+     */
+    private void ensureBalances(List<Long> employeeIds) {
+        Set<Long> existing = new HashSet<>(leaveBalanceRepository.findExistingEmployeeIds(employeeIds));
+        List<Long> missing = employeeIds.stream().filter(id -> !existing.contains(id)).toList();
+        if (missing.isEmpty()) {
+            return;
+        }
+        userRepository.lockByIds(missing);
+        existing.addAll(leaveBalanceRepository.findExistingEmployeeIdsForUpdate(missing));
+        missing = missing.stream().filter(id -> !existing.contains(id)).toList();
+        if (missing.isEmpty()) {
+            return; // Created by a concurrent transaction while this one waited for the lock
+        }
+        LocalDateTime now = LocalDateTime.now();
+        leaveBalanceRepository.insertMissing(missing, openingBalanceDays, now);
+        if (openingBalanceDays.signum() > 0) {
+            leaveLedgerEntryRepository.insertAccruals(missing, openingBalanceDays, OPENING_PERIOD, now);
+        }
+    }
+
+    private LeaveLedgerEntry newEntry(Long employeeId, LeaveLedgerEntryType type, BigDecimal days, Long leaveRequestId) {
+        LeaveLedgerEntry entry = new LeaveLedgerEntry();
+        entry.setEmployeeId(employeeId);
+        entry.setType(type);
+        entry.setDays(days);
+        entry.setLeaveRequestId(leaveRequestId);
+        return entry;
+    }
+}
@@ -0,0 +1,108 @@
+package com.webapp.ems.service;
+
+import com.webapp.ems.enums.Role;
+import com.webapp.ems.model.LeaveRequest;
+import com.webapp.ems.model.User;
+import com.webapp.ems.repository.LeaveRequestRepository;
+import com.webapp.ems.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sends each admin one summary email per interval listing the new PENDING leave requests
+ * of the employees they manage, instead of one email per application.
+ * <p>
+ * A request is listed once: each run claims the PENDING requests not yet marked as digested and marks
+ * them, so late commits and requests filed while the application was down are picked up by the next run.
+ * Claiming walks the backlog in keyset batches of {@code ems.leave-digest.batch-size}, each locked and marked
+ * in its own short transaction. The emails go out after the last batch has committed, one per admin.
+ */
+@Service
+@Timed("ems.service")
+@RequiredArgsConstructor
+public class LeaveDigestService {
+
+    private final LeaveRequestRepository leaveRequestRepository;
+    private final UserRepository userRepository;
+    private final EmailService emailService;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${ems.leave-digest.batch-size:500}")
+    private int batchSize;
+
+    /**
+     * Sends the digest for requests no earlier run has listed.
+     */
+    @Scheduled(cron = "${ems.leave-digest.cron:0 0 8 * * *}")
+    public synchronized void sendDigest() {
+        Map<Long, User> admins = new LinkedHashMap<>();
+        Map<Long, List<LeaveRequest>> requestsByAdmin = new LinkedHashMap<>();
+        int requestCount = 0;
+        long afterId = 0L;
+        while (true) {
+            long batchAfterId = afterId;
+            Digest batch = transactionTemplate.execute(status -> claimAndGroup(batchAfterId));
+            if (batch.requestCount() == 0) {
+                break;
+            }
+            admins.putAll(batch.admins());
+            batch.requestsByAdmin().forEach((adminId, requests) ->
+                    requestsByAdmin.computeIfAbsent(adminId, id -> new ArrayList<>()).addAll(requests));
+            requestCount += batch.requestCount();
+            afterId = batch.lastId();
+        }
+
+        // No transaction (or connection) is held across the SMTP round trips
+        requestsByAdmin.forEach((adminId, requests) ->
+                emailService.sendPendingLeaveDigestToAdmin(admins.get(adminId), requests));
+
+        System.out.println("Pending leave digest: " + requestCount + " new request(s) summarised for "
+                + requestsByAdmin.size() + " admin(s).");
+    }
+
+    private Digest claimAndGroup(long afterId) {
+        List<Long> ids = leaveRequestRepository.lockUndigestedPendingIdsAfter(afterId, batchSize);
+        if (ids.isEmpty()) {
+            return new Digest(Map.of(), Map.of(), 0, afterId);
+        }
+        leaveRequestRepository.markDigested(ids);
+
+        // Single query; rows come back ordered by managing admin so grouping is one linear pass.
+        List<LeaveRequest> pending = leaveRequestRepository.findByIdInGroupedByManagingAdmin(ids);
+
+        // Keyed by admin ID: User's Lombok equals/hashCode would walk its lazy associations.
+        Map<Long, User> admins = new LinkedHashMap<>();
+        Map<Long, List<LeaveRequest>> requestsByAdmin = new LinkedHashMap<>();
+        List<LeaveRequest> unmanagedRequests = new ArrayList<>();
+        for (LeaveRequest request : pending) {
+            User admin = request.getEmployee().getManagedByAdmin();
+            if (admin != null) {
+                admins.putIfAbsent(admin.getId(), admin);
+                requestsByAdmin.computeIfAbsent(admin.getId(), id -> new ArrayList<>()).add(request);
+            } else {
+                unmanagedRequests.add(request);
+            }
+        }
+
+        // Employees without a direct manager are reported to every admin (same fallback applyForLeave used).
+        if (!unmanagedRequests.isEmpty()) {
+            for (User admin : userRepository.findAllByRole(Role.ADMIN)) {
+                admins.putIfAbsent(admin.getId(), admin);
+                requestsByAdmin.computeIfAbsent(admin.getId(), id -> new ArrayList<>()).addAll(unmanagedRequests);
+            }
+        }
+        return new Digest(admins, requestsByAdmin, ids.size(), ids.get(ids.size() - 1));
+    }
+
+    private record Digest(Map<Long, User> admins, Map<Long, List<LeaveRequest>> requestsByAdmin, int requestCount, long lastId) {
+    }
+}
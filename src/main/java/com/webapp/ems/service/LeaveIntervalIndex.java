@@ -0,0 +1,259 @@
+package com.webapp.ems.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.webapp.ems.repository.LeaveRequestRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory index of each employee's active (PENDING/APPROVED) leave intervals, used to reject
+ * overlapping applications with an O(log n) floor lookup instead of scanning every request.
+ * <p>
+ * An employee's intervals are loaded from {@link LeaveRequestRepository} the first time they apply.
+ * Check-and-reserve happens under that employee's lock and the reservation is visible immediately,
+ * so two concurrent overlapping applications cannot both succeed; a reservation is dropped again if
+ * the applying transaction rolls back. The guarantee is per JVM: it assumes a single app instance.
+ * <p>
+ * The index is bounded: least recently used employees are evicted and reloaded on their next application.
+ * An employee with a reservation or release still waiting for its transaction to complete is pinned (weight
+ * zero) and never evicted, since a reload could not see the uncommitted row and would let an overlapping
+ * application through. The reload is a locking read, so it also sees rows committed after the applying
+ * transaction's snapshot was taken.
+ */
+@Component
+public class LeaveIntervalIndex {
+
+    private static final long MAX_CACHED_EMPLOYEES = 10_000;
+
+    private final LeaveRequestRepository leaveRequestRepository;
+
+    private final Cache<Long, EmployeeIntervals> intervalsByEmployee;
+    private final AtomicLong sequence = new AtomicLong();
+
+    @Autowired
+    public LeaveIntervalIndex(LeaveRequestRepository leaveRequestRepository) {
+        this(leaveRequestRepository, MAX_CACHED_EMPLOYEES);
+    }
+
+    LeaveIntervalIndex(LeaveRequestRepository leaveRequestRepository, long maxCachedEmployees) {
+        this.leaveRequestRepository = leaveRequestRepository;
+        this.intervalsByEmployee = Caffeine.newBuilder()
+                .maximumWeight(maxCachedEmployees)
+                .weigher((Long employeeId, EmployeeIntervals intervals) -> intervals.pins > 0 ? 0 : 1)
+                .build();
+    }
+
+    /**
+     * Reserves [startDate, endDate] for the employee.
+     * @throws IllegalArgumentException if the range overlaps an existing PENDING or APPROVED request.
+     */
+    public Reservation reserve(Long employeeId, LocalDate startDate, LocalDate endDate) {
+        // Outside a transaction there is nothing to wait for, so nothing is pinned
+        boolean inTransaction = TransactionSynchronizationManager.isSynchronizationActive();
+        EmployeeIntervals intervals = acquire(employeeId, inTransaction);
+        Interval interval = new Interval(startDate, endDate, sequence.incrementAndGet());
+        Interval conflict;
+        synchronized (intervals) {
+            conflict = intervals.findOverlap(startDate, endDate);
+            if (conflict == null) {
+                intervals.add(interval);
+            }
+        }
+        if (conflict != null) {
+            if (inTransaction) {
+                unpin(employeeId);
+            }
+            throw new IllegalArgumentException("Leave request overlaps an existing request"
+                    + (conflict.requestId != null ? " (ID: " + conflict.requestId + ")" : "")
+                    + " from " + conflict.start + " to " + conflict.end + ".");
+        }
+        if (inTransaction) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        intervals.remove(interval);
+                    }
+                    unpin(employeeId); // Committed: a reload now reads the row from the database
+                }
+            });
+        }
+        return new Reservation(intervals, interval);
+    }
+
+    /**
+     * Removes a request that is no longer PENDING/APPROVED (cancelled or rejected). Inside a
+     * transaction the removal is deferred until commit so a rollback keeps the interval reserved.
+     */
+    public void release(Long employeeId, Long leaveRequestId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            EmployeeIntervals intervals = intervalsByEmployee.getIfPresent(employeeId);
+            if (intervals != null) {
+                intervals.removeByRequestId(leaveRequestId);
+            }
+            return;
+        }
+        // Pinned until completion: evicted and reloaded before commit, the entry would keep the old status
+        EmployeeIntervals intervals = intervalsByEmployee.asMap().computeIfPresent(employeeId, (id, current) -> {
+            current.pins++;
+            return current;
+        });
+        if (intervals == null) {
+            return; // Not loaded; the next load reads the new status from the database
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    intervals.removeByRequestId(leaveRequestId);
+                }
+                unpin(employeeId);
+            }
+        });
+    }
+
+    /** Estimated number of employees held, after any pending evictions have run. */
+    long cachedEmployees() {
+        intervalsByEmployee.cleanUp();
+        return intervalsByEmployee.estimatedSize();
+    }
+
+    // Loads the employee on a miss. Pinning happens in the same atomic step, so the entry returned is the
+    // one in the cache and stays there until unpinned.
+    private EmployeeIntervals acquire(Long employeeId, boolean pin) {
+        return intervalsByEmployee.asMap().compute(employeeId, (id, current) -> {
+            EmployeeIntervals intervals = current != null ? current : load(id);
+            if (pin) {
+                intervals.pins++;
+            }
+            return intervals;
+        });
+    }
+
+    // Re-weighs the entry: back to 1 (evictable) once the last pin is gone
+    private void unpin(Long employeeId) {
+        intervalsByEmployee.asMap().computeIfPresent(employeeId, (id, current) -> {
+            current.pins--;
+            return current;
+        });
+    }
+
+    private EmployeeIntervals load(Long employeeId) {
+        EmployeeIntervals intervals = new EmployeeIntervals();
+        // New requests can't start in the past, so only intervals still running today can conflict.
+        List<Object[]> rows = leaveRequestRepository.findActiveIntervalsByEmployeeId(employeeId, LocalDate.now());
+        for (Object[] row : rows) {
+            Interval interval = new Interval(toLocalDate(row[1]), toLocalDate(row[2]), sequence.incrementAndGet());
+            interval.requestId = ((Number) row[0]).longValue();
+            intervals.load(interval);
+        }
+        return intervals;
+    }
+
+    private static LocalDate toLocalDate(Object value) {
+        return value instanceof java.sql.Date date ? date.toLocalDate() : (LocalDate) value;
+    }
+
+    /** Handle returned by {@link #reserve}; bind the saved request's ID so it can be released later. */
+    public static final class Reservation {
+        private final EmployeeIntervals intervals;
+        private final Interval interval;
+
+        private Reservation(EmployeeIntervals intervals, Interval interval) {
+            this.intervals = intervals;
+            this.interval = interval;
+        }
+
+        public void bind(Long leaveRequestId) {
+            intervals.bind(interval, leaveRequestId);
+        }
+    }
+
+    private static final class Interval implements Comparable<Interval> {
+        private final LocalDate start;
+        private final LocalDate end;
+        private final long seq; // Tie-breaker so intervals sharing a start date are distinct
+        private Long requestId;
+
+        private Interval(LocalDate start, LocalDate end, long seq) {
+            this.start = start;
+            this.end = end;
+            this.seq = seq;
+        }
+
+        @Override
+        public int compareTo(Interval other) {
+            int byStart = start.compareTo(other.start);
+            return byStart != 0 ? byStart : Long.compare(seq, other.seq);
+        }
+    }
+
+    private static final class EmployeeIntervals {
+        private final NavigableSet<Interval> byStart = new TreeSet<>();
+        private final Map<Long, Interval> byRequestId = new HashMap<>();
+        // Transactions still to complete against this entry; only changed inside the cache's compute for
+        // the employee, so the weigher always sees the current count
+        private int pins;
+        // Set if rows loaded from the database already overlap each other (data created before this
+        // check existed); the floor lookup is only exact for disjoint intervals.
+        private boolean containsOverlaps;
+
+        synchronized Interval findOverlap(LocalDate start, LocalDate end) {
+            if (!containsOverlaps) {
+                // Disjoint intervals: only the last one starting on or before 'end' can reach 'start'.
+                Interval candidate = byStart.floor(new Interval(end, end, Long.MAX_VALUE));
+                return candidate != null && !candidate.end.isBefore(start) ? candidate : null;
+            }
+            for (Interval candidate : byStart.headSet(new Interval(end, end, Long.MAX_VALUE), true)) {
+                if (!candidate.end.isBefore(start)) {
+                    return candidate;
+                }
+            }
+            return null;
+        }
+
+        synchronized void load(Interval interval) {
+            if (findOverlap(interval.start, interval.end) != null) {
+                containsOverlaps = true;
+            }
+            add(interval);
+        }
+
+        synchronized void add(Interval interval) {
+            byStart.add(interval);
+            if (interval.requestId != null) {
+                byRequestId.put(interval.requestId, interval);
+            }
+        }
+
+        synchronized void bind(Interval interval, Long requestId) {
+            interval.requestId = requestId;
+            byRequestId.put(requestId, interval);
+        }
+
+        synchronized void remove(Interval interval) {
+            byStart.remove(interval);
+            if (interval.requestId != null) {
+                byRequestId.remove(interval.requestId);
+            }
+        }
+
+        synchronized void removeByRequestId(Long requestId) {
+            Interval interval = byRequestId.remove(requestId);
+            if (interval != null) {
+                byStart.remove(interval);
+            }
+        }
+    }
+}
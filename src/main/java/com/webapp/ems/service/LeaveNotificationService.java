@@ -0,0 +1,34 @@
+package com.webapp.ems.service;
+
+import com.webapp.ems.model.LeaveRequest;
+import com.webapp.ems.repository.LeaveRequestRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Sends leave emails off the request thread. Callers schedule these after their transaction commits
+ * so the worker reads the committed state. With a read replica, the caller's read-your-writes pin is
+ * carried to the worker (ReplicaRoutingPolicy#propagatePin), so this read-only transaction reads the
+ * primary rather than a replica that may not have the new status yet.
+ */
+@Service
+@RequiredArgsConstructor
+public class LeaveNotificationService {
+
+    private final LeaveRequestRepository leaveRequestRepository;
+    private final EmailService emailService;
+
+    @Async
+    @Transactional(readOnly = true)
+    public void sendStatusUpdates(List<Long> leaveRequestIds) {
+        List<LeaveRequest> requests = leaveRequestRepository.findAllWithEmployeeByIdIn(leaveRequestIds);
+        for (LeaveRequest request : requests) {
+            emailService.sendLeaveStatusUpdateToEmployee(request); // Logs and swallows its own failures
+        }
+        System.out.println("Sent " + requests.size() + " queued leave status update email(s).");
+    }
+}
@@ -1,28 +1,68 @@
 package com.webapp.ems.service;
 
+import com.webapp.ems.dto.LeaveBulkActionDto;
+import com.webapp.ems.dto.LeaveBulkActionResultDto;
 import com.webapp.ems.dto.LeaveRequestActionDto;
 import com.webapp.ems.dto.LeaveRequestDto;
+import com.webapp.ems.dto.LeaveRequestPageDto;
+import com.webapp.ems.enums.LeaveActionOutcome;
 import com.webapp.ems.enums.LeaveStatus;
 import com.webapp.ems.enums.Role;
+import com.webapp.ems.model.AdminLeaveView;
+import com.webapp.ems.model.ArchivedLeaveRequest;
 import com.webapp.ems.model.LeaveRequest;
 import com.webapp.ems.model.User;
+import com.webapp.ems.repository.AdminLeaveViewRepository;
+import com.webapp.ems.repository.ArchivedLeaveRequestRepository;
 import com.webapp.ems.repository.LeaveRequestRepository;
 import com.webapp.ems.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
+@Timed("ems.service")
 @RequiredArgsConstructor
 public class LeaveRequestService {
 
     private final LeaveRequestRepository leaveRequestRepository;
     private final UserRepository userRepository;
     private final EmailService emailService;
+    private final LeaveIntervalIndex leaveIntervalIndex;
+    private final LeaveBalanceService leaveBalanceService;
+    private final LeaveNotificationService leaveNotificationService;
+    private final TeamAvailabilityService teamAvailabilityService;
+    private final LeaveAnalyticsService leaveAnalyticsService;
+    private final WorkingDayCalendarService workingDayCalendarService;
+    private final ArchivedLeaveRequestRepository archivedLeaveRequestRepository;
+    private final AdminLeaveViewRepository adminLeaveViewRepository;
+    private final AdminLeaveViewService adminLeaveViewService;
+
+    private static final int MAX_BULK_ACTION_SIZE = 1000;
+    private static final int MAX_LEAVE_SPAN_DAYS = 366; // Calendar days from start to end date, inclusive
+    private static final int MAX_PAGE_SIZE = 200;
 
     // --- Employee methods (applyForLeave, getLeaveRequestsByEmployeeId, cancelLeaveRequest) remain the same ---
     // ... (code for employee methods as before) ...
@@ -41,6 +81,21 @@ public class LeaveRequestService {
         if (leaveRequestDto.getStartDate().isBefore(LocalDate.now())) {
             throw new IllegalArgumentException("Start date cannot be in the past.");
         }
+        // Bounds the calendar, rollup and availability work a single request can cause
+        if (ChronoUnit.DAYS.between(leaveRequestDto.getStartDate(), leaveRequestDto.getEndDate()) >= MAX_LEAVE_SPAN_DAYS) {
+            throw new IllegalArgumentException("A leave request cannot span more than " + MAX_LEAVE_SPAN_DAYS + " days.");
+        }
+
+        Long managingAdminId = employee.getManagedByAdmin() != null ? employee.getManagedByAdmin().getId() : null;
+        int workingDays = workingDayCalendarService.countWorkingDays(managingAdminId,
+                leaveRequestDto.getStartDate(), leaveRequestDto.getEndDate());
+        if (workingDays == 0) {
+            throw new IllegalArgumentException("The selected dates contain no working days (only weekends or holidays).");
+        }
+
+        // Rejects overlaps with the employee's PENDING/APPROVED leave and holds the range until commit
+        LeaveIntervalIndex.Reservation reservation = leaveIntervalIndex.reserve(employeeId,
+                leaveRequestDto.getStartDate(), leaveRequestDto.getEndDate());
 
         LeaveRequest leaveRequest = new LeaveRequest();
         leaveRequest.setEmployee(employee);
@@ -50,34 +105,56 @@ public class LeaveRequestService {
         leaveRequest.setStatus(LeaveStatus.PENDING);
 
         LeaveRequest savedRequest = leaveRequestRepository.save(leaveRequest);
+        reservation.bind(savedRequest.getId());
+        leaveAnalyticsService.recordTransition(savedRequest, null, LeaveStatus.PENDING);
+        adminLeaveViewService.onCreated(savedRequest);
+        // Throws (rolling back the request) if the employee's balance doesn't cover it
+        leaveBalanceService.debitForLeaveRequest(employeeId, savedRequest.getId(), BigDecimal.valueOf(workingDays));
 
         try {
             emailService.sendLeaveApplicationConfirmationToEmployee(savedRequest);
-            List<User> adminsToNotify = userRepository.findAllByRole(Role.ADMIN); // Or get a specific list of HR/admins
-            // For scoped admin, you might want to notify only the employee's direct managing admin
-            if (employee.getManagedByAdmin() != null) {
-                adminsToNotify = List.of(employee.getManagedByAdmin()); // Notify only the direct manager
-            } else {
-                // If employee has no direct manager, notify all admins (or a default HR group)
-                adminsToNotify = userRepository.findAllByRole(Role.ADMIN);
-            }
-
-//            if (!adminsToNotify.isEmpty()) {
-//                emailService.sendLeaveApplicationNotificationToAdmin(savedRequest, adminsToNotify);
-//            }
+            // Admins are not mailed per application; LeaveDigestService sends each managing admin
+            // (or every admin, for unmanaged employees) one summary of new PENDING requests per interval.
         } catch (Exception e) {
             System.err.println("ERROR sending email notifications for new leave application (ID: " + savedRequest.getId() + "): " + e.getMessage());
         }
         return mapToDto(savedRequest);
     }
 
+    @Transactional(readOnly = true)
     public List<LeaveRequestDto> getLeaveRequestsByEmployeeId(Long employeeId) {
-        if (!userRepository.existsById(employeeId)) {
+        return getLeaveRequestsByEmployeeId(employeeId, false);
+    }
+
+    /**
+     * The employee's leave requests; with {@code includeArchived}, also those moved to the archive
+     * by LeaveArchiveService (appended after the live ones, newest first).
+     */
+    @Transactional(readOnly = true)
+    public List<LeaveRequestDto> getLeaveRequestsByEmployeeId(Long employeeId, boolean includeArchived) {
+        List<LeaveRequest> liveRequests = leaveRequestRepository.findByEmployeeId(employeeId);
+        // Rows imply the employee exists; only an empty result needs the existence check
+        if (liveRequests.isEmpty() && !userRepository.existsById(employeeId)) {
             throw new RuntimeException("Employee not found with ID: " + employeeId);
         }
-        return leaveRequestRepository.findByEmployeeId(employeeId).stream()
-                .map(this::mapToDto)
+        List<LeaveRequestDto> requests = liveRequests.stream()
+                .map(LeaveRequestService::mapToDto)
                 .collect(Collectors.toList());
+        if (includeArchived) {
+            List<ArchivedLeaveRequest> archived = archivedLeaveRequestRepository.findByEmployeeIdOrderByCreatedAtDesc(employeeId);
+            if (!archived.isEmpty()) {
+                // Employee and actioning admins in one lookup instead of one per archived row
+                Set<Long> userIds = new HashSet<>();
+                userIds.add(employeeId);
+                archived.forEach(a -> { if (a.getActionByAdminId() != null) userIds.add(a.getActionByAdminId()); });
+                Map<Long, User> usersById = new HashMap<>();
+                userRepository.findAllById(userIds).forEach(u -> usersById.put(u.getId(), u));
+                for (ArchivedLeaveRequest archivedRequest : archived) {
+                    requests.add(mapArchivedToDto(archivedRequest, usersById));
+                }
+            }
+        }
+        return requests;
     }
     @Transactional
     public LeaveRequestDto cancelLeaveRequest(Long leaveRequestId, Long employeeId) {
@@ -88,10 +165,22 @@ public class LeaveRequestService {
             throw new SecurityException("You are not authorized to cancel this leave request.");
         }
         if (leaveRequest.getStatus() != LeaveStatus.PENDING) {
-            throw new RuntimeException("Only PENDING leave requests can be cancelled. Current status: " + leaveRequest.getStatus());
+            throw new IllegalStateException("Only PENDING leave requests can be cancelled. Current status: " + leaveRequest.getStatus());
         }
-        leaveRequest.setStatus(LeaveStatus.CANCELLED);
-        LeaveRequest cancelledRequest = leaveRequestRepository.save(leaveRequest);
+        Long managingAdminId = leaveRequest.getEmployee().getManagedByAdmin() != null
+                ? leaveRequest.getEmployee().getManagedByAdmin().getId() : null;
+        LocalDateTime now = LocalDateTime.now();
+        if (leaveRequestRepository.cancelIfPending(leaveRequestId, employeeId, now) == 0) {
+            throw new OptimisticLockingFailureException("Leave request " + leaveRequestId + " was updated by someone else and is no longer PENDING.");
+        }
+        // The conditional update cleared the persistence context; read the row back as committed by it
+        LeaveRequest cancelledRequest = leaveRequestRepository.findById(leaveRequestId)
+                .orElseThrow(() -> new RuntimeException("Leave request not found."));
+        leaveIntervalIndex.release(employeeId, cancelledRequest.getId());
+        leaveBalanceService.creditForLeaveRequests(List.of(cancelledRequest.getId()));
+        leaveAnalyticsService.recordTransition(cancelledRequest, LeaveStatus.PENDING, LeaveStatus.CANCELLED);
+        adminLeaveViewService.onStatusChanged(List.of(leaveRequestId), LeaveStatus.CANCELLED, cancelledRequest.getAdminRemarks(), null, now);
+        teamAvailabilityService.evictAfterCommit(managingAdminId, cancelledRequest.getStartDate(), cancelledRequest.getEndDate());
         // Optional: Notify admin about cancellation
         return mapToDto(cancelledRequest);
     }
@@ -100,33 +189,81 @@ public class LeaveRequestService {
     // --- Admin Methods (Modified for Scoping) ---
 
     /**
-     * Admin: Get all leave requests for employees managed by this admin, optionally filtered by status.
+     * Admin: One page of the leave requests of employees managed by this admin, newest first, optionally
+     * filtered by status, employee and a date range (requests overlapping [from, to]).
+     * Keyset-paginated: pass the previous page's nextCursor to continue. Reads the denormalized
+     * admin_leave_view, so a page is one index range scan with no joins.
      */
-    public List<LeaveRequestDto> getAllLeaveRequestsForAdmin(Long adminId, LeaveStatus status) {
-        User admin = userRepository.findById(adminId)
+    @Transactional(readOnly = true)
+    public LeaveRequestPageDto getLeaveRequestQueueForAdmin(Long adminId, LeaveStatus status, Long employeeId,
+                                                           LocalDate from, LocalDate to, String cursor, int limit) {
+        userRepository.findById(adminId)
                 .filter(u -> u.getRole() == Role.ADMIN) // Ensure the user is an admin
                 .orElseThrow(() -> new RuntimeException("Admin user not found or user is not an admin: " + adminId));
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_PAGE_SIZE + ".");
+        }
 
-        List<LeaveRequest> requests;
-        if (status != null) {
-            requests = leaveRequestRepository.findAllByEmployee_ManagedByAdminAndStatus(admin, status);
-        } else {
-            requests = leaveRequestRepository.findAllByEmployee_ManagedByAdmin(admin);
+        LocalDateTime cursorCreatedAt = null;
+        Long cursorId = null;
+        if (cursor != null && !cursor.isEmpty()) {
+            try {
+                String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+                cursorCreatedAt = LocalDateTime.parse(parts[0]);
+                cursorId = Long.parseLong(parts[1]);
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Invalid cursor.");
+            }
+        }
+
+        // Fetch one extra row to know whether another page follows
+        List<AdminLeaveView> rows = adminLeaveViewRepository.findAdminQueuePage(adminId, status, employeeId, from, to,
+                cursorCreatedAt, cursorId, PageRequest.of(0, limit + 1));
+        String nextCursor = null;
+        if (rows.size() > limit) {
+            rows = rows.subList(0, limit);
+            AdminLeaveView last = rows.get(limit - 1);
+            nextCursor = Base64.getUrlEncoder().withoutPadding().encodeToString(
+                    (last.getCreatedAt() + "|" + last.getLeaveRequestId()).getBytes(StandardCharsets.UTF_8));
+        }
+        return new LeaveRequestPageDto(rows.stream().map(this::mapViewToDto).collect(Collectors.toList()), nextCursor);
+    }
+
+    /**
+     * Admin: Number of leave requests per status (plus "ALL") for employees managed by this admin.
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Long> getLeaveStatusCountsForAdmin(Long adminId) {
+        userRepository.findById(adminId)
+                .filter(u -> u.getRole() == Role.ADMIN)
+                .orElseThrow(() -> new RuntimeException("Admin user not found or user is not an admin: " + adminId));
+
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (LeaveStatus leaveStatus : LeaveStatus.values()) {
+            counts.put(leaveStatus.name(), 0L);
+        }
+        long total = 0;
+        for (Object[] row : adminLeaveViewRepository.countByStatusForAdmin(adminId)) {
+            Long count = (Long) row[1];
+            counts.put(((LeaveStatus) row[0]).name(), count);
+            total += count;
         }
-        return requests.stream().map(this::mapToDto).collect(Collectors.toList());
+        counts.put("ALL", total);
+        return counts;
     }
 
     /**
      * Admin: Get a specific leave request by its ID, ensuring it belongs to an employee they manage.
      */
+    @Transactional(readOnly = true)
     public LeaveRequestDto getLeaveRequestByIdForAdmin(Long leaveRequestId, Long adminId) {
-        User admin = userRepository.findById(adminId)
+        userRepository.findById(adminId)
                 .filter(u -> u.getRole() == Role.ADMIN)
                 .orElseThrow(() -> new RuntimeException("Admin user not found or user is not an admin: " + adminId));
 
-        LeaveRequest request = leaveRequestRepository.findByIdAndEmployee_ManagedByAdmin(leaveRequestId, admin)
+        AdminLeaveView request = adminLeaveViewRepository.findByLeaveRequestIdAndManagedByAdminId(leaveRequestId, adminId)
                 .orElseThrow(() -> new RuntimeException("Leave request not found or not managed by this admin. ID: " + leaveRequestId));
-        return mapToDto(request);
+        return mapViewToDto(request);
     }
 
     /**
@@ -143,17 +280,27 @@ public class LeaveRequestService {
                 .orElseThrow(() -> new RuntimeException("Leave request not found or not managed by this admin. ID: " + leaveRequestId));
 
         if (leaveRequest.getStatus() != LeaveStatus.PENDING) {
-            throw new RuntimeException("Leave request can only be actioned if it is in PENDING status. Current status: " + leaveRequest.getStatus());
+            throw new IllegalStateException("Leave request can only be actioned if it is in PENDING status. Current status: " + leaveRequest.getStatus());
         }
         if (actionDto.getNewStatus() != LeaveStatus.APPROVED && actionDto.getNewStatus() != LeaveStatus.REJECTED) {
             throw new IllegalArgumentException("Invalid action status. Must be APPROVED or REJECTED.");
         }
 
-        leaveRequest.setStatus(actionDto.getNewStatus());
-        leaveRequest.setAdminRemarks(actionDto.getAdminRemarks());
-        leaveRequest.setActionByAdmin(admin); // The admin performing the action
-
-        LeaveRequest updatedRequest = leaveRequestRepository.save(leaveRequest);
+        LocalDateTime now = LocalDateTime.now();
+        if (leaveRequestRepository.transitionIfPending(leaveRequestId, actionDto.getNewStatus(), actionDto.getAdminRemarks(),
+                admin, now) == 0) {
+            // Another admin (or the employee cancelling) changed it between the read above and this update
+            throw new OptimisticLockingFailureException("Leave request " + leaveRequestId + " was updated by someone else and is no longer PENDING.");
+        }
+        LeaveRequest updatedRequest = leaveRequestRepository.findById(leaveRequestId)
+                .orElseThrow(() -> new RuntimeException("Leave request not found. ID: " + leaveRequestId));
+        if (updatedRequest.getStatus() == LeaveStatus.REJECTED) {
+            leaveIntervalIndex.release(updatedRequest.getEmployee().getId(), updatedRequest.getId());
+            leaveBalanceService.creditForLeaveRequests(List.of(updatedRequest.getId()));
+        }
+        leaveAnalyticsService.recordTransition(updatedRequest, LeaveStatus.PENDING, updatedRequest.getStatus());
+        adminLeaveViewService.onStatusChanged(List.of(leaveRequestId), actionDto.getNewStatus(), actionDto.getAdminRemarks(), admin, now);
+        teamAvailabilityService.evictAfterCommit(admin.getId(), updatedRequest.getStartDate(), updatedRequest.getEndDate());
 
         try {
             emailService.sendLeaveStatusUpdateToEmployee(updatedRequest);
@@ -165,8 +312,136 @@ public class LeaveRequestService {
         return mapToDto(updatedRequest);
     }
 
-    // mapToDto remains the same
-    private LeaveRequestDto mapToDto(LeaveRequest leaveRequest) {
+    /**
+     * Admin: Approve or reject many PENDING requests at once, either by ID or all pending requests of a department.
+     * Each request is transitioned by its own guarded UPDATE; requests that were not PENDING at that moment are
+     * reported, not changed.
+     * Employee emails are sent asynchronously after commit.
+     */
+    @Transactional
+    public LeaveBulkActionResultDto bulkUpdateLeaveStatusForAdmin(LeaveBulkActionDto bulkDto, Long performingAdminId) {
+        User admin = userRepository.findById(performingAdminId)
+                .filter(u -> u.getRole() == Role.ADMIN)
+                .orElseThrow(() -> new RuntimeException("Admin user not found or user is not an admin: " + performingAdminId));
+
+        if (bulkDto.getNewStatus() != LeaveStatus.APPROVED && bulkDto.getNewStatus() != LeaveStatus.REJECTED) {
+            throw new IllegalArgumentException("Invalid action status. Must be APPROVED or REJECTED.");
+        }
+        List<Long> requestedIds;
+        if (bulkDto.getLeaveRequestIds() != null && !bulkDto.getLeaveRequestIds().isEmpty()) {
+            requestedIds = new ArrayList<>(new LinkedHashSet<>(bulkDto.getLeaveRequestIds())); // De-duplicate, keep order
+        } else if (bulkDto.getDepartmentId() != null) {
+            requestedIds = leaveRequestRepository.findPendingIdsByDepartmentForAdmin(admin, bulkDto.getDepartmentId());
+        } else {
+            throw new IllegalArgumentException("Either leaveRequestIds or departmentId is required.");
+        }
+        if (requestedIds.size() > MAX_BULK_ACTION_SIZE) {
+            throw new IllegalArgumentException("At most " + MAX_BULK_ACTION_SIZE + " leave requests can be actioned at once.");
+        }
+        if (requestedIds.isEmpty()) {
+            return new LeaveBulkActionResultDto(0, List.of());
+        }
+
+        Map<Long, LeaveStatus> statusBeforeById = new HashMap<>();
+        for (Object[] row : leaveRequestRepository.findIdAndStatusByIdInForAdmin(requestedIds, admin)) {
+            statusBeforeById.put((Long) row[0], (LeaveStatus) row[1]);
+        }
+
+        // One guarded UPDATE per request, in ascending id order: a concurrent action on the same requests
+        // blocks on the first row it shares with this one (never in the opposite order, so no deadlock) and
+        // then finds it no longer PENDING. The batch is bounded by MAX_BULK_ACTION_SIZE.
+        List<Long> candidateIds = new ArrayList<>(statusBeforeById.keySet());
+        Collections.sort(candidateIds);
+        List<Long> transitionedIds = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+        for (Long id : candidateIds) {
+            if (statusBeforeById.get(id) == LeaveStatus.PENDING
+                    && leaveRequestRepository.transitionIfPendingForAdmin(id, bulkDto.getNewStatus(), bulkDto.getAdminRemarks(), admin, now) == 1) {
+                transitionedIds.add(id);
+            }
+        }
+        Map<Long, Long> employeeIdByUpdatedId = new HashMap<>();
+        if (!transitionedIds.isEmpty()) {
+            for (Object[] row : leaveRequestRepository.findTransitionSourcesByIdIn(transitionedIds)) {
+                employeeIdByUpdatedId.put((Long) row[0], (Long) row[1]);
+                teamAvailabilityService.evictAfterCommit(admin.getId(), (LocalDate) row[2], (LocalDate) row[3]);
+                leaveAnalyticsService.recordTransition((Long) row[1], (Long) row[4], admin.getId(),
+                        (LocalDate) row[2], (LocalDate) row[3], LeaveStatus.PENDING, bulkDto.getNewStatus());
+            }
+        }
+        List<Long> updatedIds = new ArrayList<>(employeeIdByUpdatedId.keySet());
+        adminLeaveViewService.onStatusChanged(updatedIds, bulkDto.getNewStatus(), bulkDto.getAdminRemarks(), admin, now);
+
+        if (bulkDto.getNewStatus() == LeaveStatus.REJECTED && !updatedIds.isEmpty()) {
+            employeeIdByUpdatedId.forEach((leaveRequestId, employeeId) -> leaveIntervalIndex.release(employeeId, leaveRequestId));
+            leaveBalanceService.creditForLeaveRequests(updatedIds);
+        }
+        if (!updatedIds.isEmpty()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    leaveNotificationService.sendStatusUpdates(updatedIds);
+                }
+            });
+        }
+
+        List<LeaveBulkActionResultDto.Outcome> outcomes = new ArrayList<>(requestedIds.size());
+        for (Long id : requestedIds) {
+            LeaveActionOutcome outcome;
+            if (employeeIdByUpdatedId.containsKey(id)) {
+                outcome = LeaveActionOutcome.UPDATED;
+            } else if (statusBeforeById.containsKey(id)) {
+                outcome = LeaveActionOutcome.NOT_PENDING;
+            } else {
+                outcome = LeaveActionOutcome.NOT_FOUND;
+            }
+            outcomes.add(new LeaveBulkActionResultDto.Outcome(id, outcome));
+        }
+        return new LeaveBulkActionResultDto(updatedIds.size(), outcomes);
+    }
+
+    // Admin list rows come from the denormalized admin_leave_view, so no employee or admin entity is loaded
+    private LeaveRequestDto mapViewToDto(AdminLeaveView view) {
+        LeaveRequestDto dto = new LeaveRequestDto();
+        dto.setId(view.getLeaveRequestId());
+        dto.setEmployeeId(view.getEmployeeId());
+        dto.setEmployeeName(view.getEmployeeName());
+        dto.setEmployeeEmail(view.getEmployeeEmail());
+        dto.setStartDate(view.getStartDate());
+        dto.setEndDate(view.getEndDate());
+        dto.setReason(view.getReason());
+        dto.setStatus(view.getStatus());
+        dto.setAdminRemarks(view.getAdminRemarks());
+        dto.setActionByAdminName(view.getActionByAdminName());
+        dto.setCreatedAt(view.getCreatedAt());
+        dto.setUpdatedAt(view.getUpdatedAt());
+        return dto;
+    }
+
+    private LeaveRequestDto mapArchivedToDto(ArchivedLeaveRequest archived, Map<Long, User> usersById) {
+        LeaveRequestDto dto = new LeaveRequestDto();
+        dto.setId(archived.getId());
+        dto.setEmployeeId(archived.getEmployeeId());
+        User employee = usersById.get(archived.getEmployeeId());
+        if (employee != null) {
+            dto.setEmployeeName(employee.getFirstName() + " " + employee.getLastName());
+            dto.setEmployeeEmail(employee.getEmail());
+        }
+        dto.setStartDate(archived.getStartDate());
+        dto.setEndDate(archived.getEndDate());
+        dto.setReason(archived.getReason());
+        dto.setStatus(archived.getStatus());
+        dto.setAdminRemarks(archived.getAdminRemarks());
+        User actionByAdmin = archived.getActionByAdminId() != null ? usersById.get(archived.getActionByAdminId()) : null;
+        if (actionByAdmin != null) {
+            dto.setActionByAdminName(actionByAdmin.getFirstName() + " " + actionByAdmin.getLastName());
+        }
+        dto.setCreatedAt(archived.getCreatedAt());
+        dto.setUpdatedAt(archived.getUpdatedAt());
+        return dto;
+    }
+
+    static LeaveRequestDto mapToDto(LeaveRequest leaveRequest) {
         LeaveRequestDto dto = new LeaveRequestDto();
         dto.setId(leaveRequest.getId());
         if (leaveRequest.getEmployee() != null) {
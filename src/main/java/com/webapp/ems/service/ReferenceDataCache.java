@@ -0,0 +1,131 @@
+package com.webapp.ems.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.DigestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * In-memory snapshots of the public reference lists used by the registration page (all departments,
+ * all admins), held as ready-to-send JSON bytes, gzipped bytes and an ETag. Requests never touch the
+ * database: snapshots are built on startup and rebuilt after a transaction that changed the data
+ * commits ({@link ReferenceDataChangedEvent}).
+ */
+@Service
+@RequiredArgsConstructor
+public class ReferenceDataCache {
+
+    private final DepartmentService departmentService;
+    private final UserService userService;
+    private final ObjectMapper objectMapper;
+
+    private volatile Snapshot departments;
+    private volatile Snapshot admins;
+
+    public Snapshot getDepartments() {
+        Snapshot snapshot = departments;
+        return snapshot != null ? snapshot : rebuild(ReferenceDataChangedEvent.Kind.DEPARTMENTS);
+    }
+
+    public Snapshot getAdmins() {
+        Snapshot snapshot = admins;
+        return snapshot != null ? snapshot : rebuild(ReferenceDataChangedEvent.Kind.ADMINS);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        rebuild(ReferenceDataChangedEvent.Kind.DEPARTMENTS);
+        rebuild(ReferenceDataChangedEvent.Kind.ADMINS);
+    }
+
+    // fallbackExecution: changes published outside a transaction rebuild immediately
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onReferenceDataChanged(ReferenceDataChangedEvent event) {
+        rebuild(event.kind());
+    }
+
+    // Serialized per cache so a rebuild that read older data can never overwrite a newer one
+    private synchronized Snapshot rebuild(ReferenceDataChangedEvent.Kind kind) {
+        Snapshot snapshot;
+        if (kind == ReferenceDataChangedEvent.Kind.DEPARTMENTS) {
+            snapshot = Snapshot.of(serialize(departmentService.getAllPublicDepartments()));
+            departments = snapshot;
+        } else {
+            snapshot = Snapshot.of(serialize(userService.getAllAdminsSimple()));
+            admins = snapshot;
+        }
+        return snapshot;
+    }
+
+    private byte[] serialize(Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize reference data: " + e.getMessage(), e);
+        }
+    }
+
+    /** Immutable serialized form of one list; the arrays are shared by every response and must not be modified. */
+    public record Snapshot(byte[] json, byte[] gzip, String etag) {
+
+        static Snapshot of(byte[] json) {
+            // Weak: the identity and gzip encodings are the same representation for revalidation
+            return new Snapshot(json, gzip(json), "W/\"" + DigestUtils.md5DigestAsHex(json) + "\"");
+        }
+
+        /** 304 when the client already has this version, otherwise the (gzipped if accepted) JSON. */
+        public ResponseEntity<byte[]> toResponse(String ifNoneMatch, String acceptEncoding) {
+            if (matches(ifNoneMatch)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag)
+                        .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING).build();
+            }
+            ResponseEntity.BodyBuilder builder = ResponseEntity.status(HttpStatus.OK)
+                    .eTag(etag)
+                    .header(HttpHeaders.CACHE_CONTROL, "no-cache") // Always revalidate; the ETag makes that cheap
+                    .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                    .contentType(MediaType.APPLICATION_JSON);
+            if (acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip")) {
+                return builder.header(HttpHeaders.CONTENT_ENCODING, "gzip").contentLength(gzip.length).body(gzip);
+            }
+            return builder.contentLength(json.length).body(json);
+        }
+
+        private boolean matches(String ifNoneMatch) {
+            if (ifNoneMatch == null) {
+                return false;
+            }
+            String opaque = etag.substring(2); // Weak comparison: ignore W/ on either side
+            for (String candidate : ifNoneMatch.split(",")) {
+                String tag = candidate.trim();
+                if (tag.equals("*") || (tag.startsWith("W/") ? tag.substring(2) : tag).equals(opaque)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private static byte[] gzip(byte[] json) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, json.length / 4));
+            try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+                gzip.write(json);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return out.toByteArray();
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.webapp.ems.service;
+
+/**
+ * Published when data behind the public reference endpoints changes; {@link ReferenceDataCache}
+ * rebuilds the affected snapshot once the publishing transaction commits.
+ */
+public record ReferenceDataChangedEvent(Kind kind) {
+
+    public enum Kind {
+        DEPARTMENTS, // GET /api/departments/all
+        ADMINS       // GET /api/admins/list
+    }
+}
@@ -0,0 +1,225 @@
+package com.webapp.ems.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.webapp.ems.config.ReplicaReads;
+import com.webapp.ems.dto.TeamAvailabilityDayDto;
+import com.webapp.ems.dto.UserSimpleDto;
+import com.webapp.ems.enums.Role;
+import com.webapp.ems.model.User;
+import com.webapp.ems.repository.ArchivedLeaveRequestRepository;
+import com.webapp.ems.repository.LeaveRequestRepository;
+import com.webapp.ems.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * "Who is out" calendar: for each day in a range, the admin's employees on APPROVED leave.
+ * <p>
+ * Days are computed a month at a time with a sweep over leave start/end events and cached per
+ * (admin, month). Months not yet cached are loaded with a single query covering all of them.
+ * Leave status changes and employee edits evict the affected months after commit. The cache is bounded
+ * (least recently used months go first), and a month computed from data read before an eviction is never
+ * left in the cache: every eviction bumps a generation counter, and a populate that sees the counter moved
+ * since its read started drops what it just stored. Months read from a replica that may not have caught up
+ * with a recent write are returned but not cached (see {@link ReplicaReads}): that write's eviction has
+ * already run, so the counter cannot catch them.
+ */
+@Service
+@Timed("ems.service")
+@RequiredArgsConstructor
+public class TeamAvailabilityService {
+
+    private static final int MAX_RANGE_DAYS = 366;
+    private static final int MAX_CACHED_MONTHS = 4096; // (admin, month) pairs
+
+    private final LeaveRequestRepository leaveRequestRepository;
+    private final UserRepository userRepository;
+    private final ArchivedLeaveRequestRepository archivedLeaveRequestRepository;
+    private final LeaveArchiveService leaveArchiveService;
+
+    private final Cache<MonthKey, List<List<OnLeave>>> monthCache = Caffeine.newBuilder()
+            .maximumSize(MAX_CACHED_MONTHS)
+            .build();
+    private final AtomicLong evictions = new AtomicLong();
+
+    @Transactional(readOnly = true)
+    public List<TeamAvailabilityDayDto> getAvailability(Long adminId, LocalDate from, LocalDate to, Long departmentId) {
+        long generation = evictions.get(); // Before the first read, so it predates this transaction's snapshot
+        User admin = userRepository.findById(adminId)
+                .filter(u -> u.getRole() == Role.ADMIN)
+                .orElseThrow(() -> new RuntimeException("Admin user not found or user is not an admin: " + adminId));
+        if (from == null || to == null || from.isAfter(to)) {
+            throw new IllegalArgumentException("A valid 'from' and 'to' date range is required.");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_RANGE_DAYS) {
+            throw new IllegalArgumentException("Date range cannot exceed " + MAX_RANGE_DAYS + " days.");
+        }
+
+        Map<YearMonth, List<List<OnLeave>>> months = loadMonths(admin, YearMonth.from(from), YearMonth.from(to), generation);
+
+        List<TeamAvailabilityDayDto> days = new ArrayList<>();
+        for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+            List<OnLeave> onLeave = months.get(YearMonth.from(date)).get(date.getDayOfMonth() - 1);
+            List<UserSimpleDto> employees = new ArrayList<>(onLeave.size());
+            for (OnLeave person : onLeave) {
+                if (departmentId == null || departmentId.equals(person.departmentId())) {
+                    employees.add(new UserSimpleDto(person.employeeId(), person.fullName()));
+                }
+            }
+            days.add(new TeamAvailabilityDayDto(date, employees.size(), employees));
+        }
+        return days;
+    }
+
+    /** Evicts the cached months overlapping [startDate, endDate] for the admin, once the current transaction commits. */
+    public void evictAfterCommit(Long adminId, LocalDate startDate, LocalDate endDate) {
+        if (adminId == null) {
+            return;
+        }
+        runAfterCommit(() -> {
+            evictions.incrementAndGet();
+            for (YearMonth month = YearMonth.from(startDate); !month.isAfter(YearMonth.from(endDate)); month = month.plusMonths(1)) {
+                monthCache.invalidate(new MonthKey(adminId, month));
+            }
+        });
+    }
+
+    /** Evicts every cached month of the admin (e.g. an employee's name or department changed). */
+    public void evictAdminAfterCommit(Long adminId) {
+        if (adminId == null) {
+            return;
+        }
+        runAfterCommit(() -> {
+            evictions.incrementAndGet();
+            monthCache.asMap().keySet().removeIf(key -> key.adminId().equals(adminId));
+        });
+    }
+
+    /** Evicts every cached month of every admin (changes that cross admins, e.g. a department merge). */
+    public void evictAllAfterCommit() {
+        runAfterCommit(() -> {
+            evictions.incrementAndGet();
+            monthCache.invalidateAll();
+        });
+    }
+
+    private Map<YearMonth, List<List<OnLeave>>> loadMonths(User admin, YearMonth first, YearMonth last, long generation) {
+        Map<YearMonth, List<List<OnLeave>>> months = new LinkedHashMap<>();
+        List<YearMonth> missing = new ArrayList<>();
+        for (YearMonth month = first; !month.isAfter(last); month = month.plusMonths(1)) {
+            List<List<OnLeave>> cached = monthCache.getIfPresent(new MonthKey(admin.getId(), month));
+            months.put(month, cached);
+            if (cached == null) {
+                missing.add(month);
+            }
+        }
+        if (missing.isEmpty()) {
+            return months;
+        }
+
+        // One query for the span of all uncached months
+        LocalDate spanStart = missing.get(0).atDay(1);
+        LocalDate spanEnd = missing.get(missing.size() - 1).atEndOfMonth();
+        List<Object[]> spans = leaveRequestRepository.findApprovedLeaveSpansForAdmin(admin, spanStart, spanEnd);
+        if (spanStart.isBefore(leaveArchiveService.getCutoffDate())) {
+            // Old enough that some of it may have been archived
+            spans = new ArrayList<>(spans);
+            spans.addAll(archivedLeaveRequestRepository.findApprovedLeaveSpansForAdmin(admin, spanStart, spanEnd));
+        }
+        boolean mayCache = ReplicaReads.mayCache();
+        for (YearMonth month : missing) {
+            List<List<OnLeave>> computed = sweepMonth(month, spans);
+            months.put(month, computed);
+            if (!mayCache) {
+                continue;
+            }
+            MonthKey key = new MonthKey(admin.getId(), month);
+            monthCache.put(key, computed);
+            // Stored first, checked second: an eviction either bumped the counter before this check (the
+            // entry is taken back here) or invalidates after the put (and removes it itself)
+            if (evictions.get() != generation) {
+                monthCache.asMap().remove(key, computed);
+            }
+        }
+        return months;
+    }
+
+    // Sweep-line over +1 (leave starts) / -1 (day after leave ends) events, clipped to the month
+    private List<List<OnLeave>> sweepMonth(YearMonth month, List<Object[]> spans) {
+        LocalDate monthStart = month.atDay(1);
+        LocalDate monthEnd = month.atEndOfMonth();
+        List<Event> events = new ArrayList<>();
+        for (Object[] row : spans) {
+            LocalDate start = (LocalDate) row[4];
+            LocalDate end = (LocalDate) row[5];
+            if (start.isAfter(monthEnd) || end.isBefore(monthStart)) {
+                continue;
+            }
+            OnLeave person = new OnLeave((Long) row[0], row[1] + " " + row[2], (Long) row[3]);
+            int startDay = start.isBefore(monthStart) ? 0 : start.getDayOfMonth() - 1;
+            int endDay = end.isAfter(monthEnd) ? month.lengthOfMonth() - 1 : end.getDayOfMonth() - 1;
+            events.add(new Event(startDay, +1, person));
+            events.add(new Event(endDay + 1, -1, person));
+        }
+        events.sort(Comparator.comparingInt(Event::day));
+
+        // Active employees with a count, in case one employee has overlapping approved spans
+        Map<Long, OnLeave> active = new LinkedHashMap<>();
+        Map<Long, Integer> activeSpans = new HashMap<>();
+        List<List<OnLeave>> days = new ArrayList<>(month.lengthOfMonth());
+        int next = 0;
+        for (int day = 0; day < month.lengthOfMonth(); day++) {
+            while (next < events.size() && events.get(next).day() == day) {
+                Event event = events.get(next++);
+                Long employeeId = event.person().employeeId();
+                int count = activeSpans.merge(employeeId, event.delta(), Integer::sum);
+                if (count > 0) {
+                    active.putIfAbsent(employeeId, event.person());
+                } else {
+                    activeSpans.remove(employeeId);
+                    active.remove(employeeId);
+                }
+            }
+            days.add(active.isEmpty() ? List.of() : List.copyOf(active.values()));
+        }
+        return days;
+    }
+
+    private void runAfterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private record MonthKey(Long adminId, YearMonth month) {
+    }
+
+    private record OnLeave(Long employeeId, String fullName, Long departmentId) {
+    }
+
+    private record Event(int day, int delta, OnLeave person) {
+    }
+}
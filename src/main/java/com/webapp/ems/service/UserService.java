@@ -1,22 +1,22 @@
 package com.webapp.ems.service;
 
 import com.webapp.ems.dto.UserSimpleDto;
-import com.webapp.ems.enums.Role;
 import com.webapp.ems.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
+@Timed("ems.service")
 @RequiredArgsConstructor
 public class UserService {
     private final UserRepository userRepository;
 
+    @Transactional(readOnly = true)
     public List<UserSimpleDto> getAllAdminsSimple() {
-        return userRepository.findAllByRole(Role.ADMIN).stream()
-                .map(admin -> new UserSimpleDto(admin.getId(), admin.getFirstName() + " " + admin.getLastName()))
-                .collect(Collectors.toList());
+        return userRepository.findAdminsSimple(); // Projection: no entities for the public list
     }
 }
\ No newline at end of file
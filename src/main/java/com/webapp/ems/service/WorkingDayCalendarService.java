@@ -0,0 +1,106 @@
+package com.webapp.ems.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.webapp.ems.calendar.WorkingDayCalendar;
+import com.webapp.ems.repository.HolidayRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Working-day arithmetic for leave: weekends (configured globally) and each admin's holidays are not
+ * working days. Calendars are built per (admin, year) on first use and cached; employees without a
+ * managing admin use the weekends-only calendar. The cache is bounded (least recently used calendars go
+ * first), so lookups over arbitrary years cannot grow it without limit.
+ */
+@Service
+@RequiredArgsConstructor
+public class WorkingDayCalendarService {
+
+    private static final int MAX_CACHED_CALENDARS = 4096; // (admin, year) pairs; a calendar is ~200 bytes
+
+    private final HolidayRepository holidayRepository;
+
+    private final Cache<CalendarKey, WorkingDayCalendar> calendars = Caffeine.newBuilder()
+            .maximumSize(MAX_CACHED_CALENDARS)
+            .build();
+
+    @Value("${ems.calendar.weekend-days:SATURDAY,SUNDAY}")
+    private List<DayOfWeek> weekendDays;
+
+    /** Working days in [from, to] (inclusive) in the given admin's calendar; {@code adminId} may be null. */
+    public int countWorkingDays(Long adminId, LocalDate from, LocalDate to) {
+        int total = 0;
+        for (int year = from.getYear(); year <= to.getYear(); year++) {
+            WorkingDayCalendar calendar = calendarFor(adminId, year);
+            LocalDate yearStart = year == from.getYear() ? from : LocalDate.of(year, 1, 1);
+            LocalDate yearEnd = year == to.getYear() ? to : LocalDate.of(year, 12, 31);
+            total += calendar.countWorkingDays(yearStart, yearEnd);
+        }
+        return total;
+    }
+
+    /** Working days of [from, to] falling in each month, keyed by the month's first day (months with none included). */
+    public Map<LocalDate, Integer> countWorkingDaysPerMonth(Long adminId, LocalDate from, LocalDate to) {
+        Map<LocalDate, Integer> days = new LinkedHashMap<>();
+        LocalDate cursor = from;
+        while (!cursor.isAfter(to)) {
+            YearMonth month = YearMonth.from(cursor);
+            LocalDate last = month.atEndOfMonth().isBefore(to) ? month.atEndOfMonth() : to;
+            days.put(month.atDay(1), calendarFor(adminId, month.getYear()).countWorkingDays(cursor, last));
+            cursor = last.plusDays(1);
+        }
+        return days;
+    }
+
+    public int countWorkingDaysInMonth(Long adminId, YearMonth month) {
+        return calendarFor(adminId, month.getYear()).countWorkingDays(month.atDay(1), month.atEndOfMonth());
+    }
+
+    public boolean isWorkingDay(Long adminId, LocalDate date) {
+        return calendarFor(adminId, date.getYear()).isWorkingDay(date);
+    }
+
+    public boolean isWeekend(LocalDate date) {
+        return weekendDays.contains(date.getDayOfWeek());
+    }
+
+    /** Drops the admin's cached calendar for the year once the current transaction commits (holiday added/removed). */
+    public void evictAfterCommit(Long adminId, int year) {
+        CalendarKey key = new CalendarKey(adminId, year);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    calendars.invalidate(key);
+                }
+            });
+        } else {
+            calendars.invalidate(key);
+        }
+    }
+
+    private WorkingDayCalendar calendarFor(Long adminId, int year) {
+        return calendars.get(new CalendarKey(adminId, year), key -> {
+            List<LocalDate> holidays = adminId == null ? List.of()
+                    : holidayRepository.findDatesByAdminIdBetween(adminId, LocalDate.of(year, 1, 1), LocalDate.of(year, 12, 31));
+            Set<DayOfWeek> weekend = weekendDays.isEmpty() ? EnumSet.noneOf(DayOfWeek.class) : EnumSet.copyOf(weekendDays);
+            return WorkingDayCalendar.build(year, weekend, holidays);
+        });
+    }
+
+    private record CalendarKey(Long adminId, int year) {
+    }
+}
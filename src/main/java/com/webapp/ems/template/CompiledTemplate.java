@@ -0,0 +1,171 @@
+package com.webapp.ems.template;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A template parsed once into a flat list of segments: literal text, {{variable}} lookups and
+ * {{#section}}...{{/section}} blocks. A section renders its body once when its value is present
+ * (non-null, not false, not empty), or once per element when the value is a collection of maps;
+ * inside a repeated section, keys are looked up on the element first and then on the root model.
+ */
+public final class CompiledTemplate {
+
+    private final String name;
+    private final Segment[] segments;
+
+    private CompiledTemplate(String name, Segment[] segments) {
+        this.name = name;
+        this.segments = segments;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public static CompiledTemplate compile(String name, String source) {
+        Deque<SectionBuilder> open = new ArrayDeque<>();
+        SectionBuilder root = new SectionBuilder(null);
+        open.push(root);
+
+        int pos = 0;
+        while (pos < source.length()) {
+            int start = source.indexOf("{{", pos);
+            if (start < 0) {
+                open.peek().segments.add(new Literal(source.substring(pos)));
+                break;
+            }
+            if (start > pos) {
+                open.peek().segments.add(new Literal(source.substring(pos, start)));
+            }
+            int end = source.indexOf("}}", start + 2);
+            if (end < 0) {
+                throw new IllegalStateException("Unclosed tag in email template '" + name + "' at offset " + start);
+            }
+            String tag = source.substring(start + 2, end).trim();
+            if (tag.isEmpty()) {
+                throw new IllegalStateException("Empty tag in email template '" + name + "' at offset " + start);
+            }
+            if (tag.charAt(0) == '#') {
+                open.push(new SectionBuilder(tag.substring(1).trim()));
+            } else if (tag.charAt(0) == '/') {
+                String key = tag.substring(1).trim();
+                SectionBuilder closed = open.pop();
+                if (closed == root || !closed.key.equals(key)) {
+                    throw new IllegalStateException("Unexpected {{/" + key + "}} in email template '" + name + "'");
+                }
+                open.peek().segments.add(new Section(key, closed.segments.toArray(new Segment[0])));
+            } else {
+                open.peek().segments.add(new Variable(tag));
+            }
+            pos = end + 2;
+        }
+        if (open.peek() != root) {
+            throw new IllegalStateException("Unclosed section {{#" + open.peek().key + "}} in email template '" + name + "'");
+        }
+        return new CompiledTemplate(name, root.segments.toArray(new Segment[0]));
+    }
+
+    /**
+     * Appends the rendered template to {@code out}. Variable values are HTML-escaped when
+     * {@code escapeHtml} is set; literal template text is written as-is.
+     */
+    public void renderTo(StringBuilder out, Map<String, ?> model, boolean escapeHtml) {
+        for (Segment segment : segments) {
+            segment.render(out, model, null, escapeHtml);
+        }
+    }
+
+    private static Object lookup(String key, Map<String, ?> root, Map<?, ?> item) {
+        if (item != null) {
+            Object value = item.get(key);
+            if (value != null) {
+                return value;
+            }
+        }
+        return root.get(key);
+    }
+
+    private static boolean isPresent(Object value) {
+        if (value == null || Boolean.FALSE.equals(value)) return false;
+        if (value instanceof CharSequence cs) return !cs.isEmpty();
+        if (value instanceof Collection<?> c) return !c.isEmpty();
+        return true;
+    }
+
+    private static void appendEscaped(StringBuilder out, CharSequence value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '<' -> out.append("&lt;");
+                case '>' -> out.append("&gt;");
+                case '&' -> out.append("&amp;");
+                case '"' -> out.append("&quot;");
+                case '\'' -> out.append("&#39;");
+                default -> out.append(c);
+            }
+        }
+    }
+
+    private interface Segment {
+        void render(StringBuilder out, Map<String, ?> root, Map<?, ?> item, boolean escapeHtml);
+    }
+
+    private record Literal(String text) implements Segment {
+        @Override
+        public void render(StringBuilder out, Map<String, ?> root, Map<?, ?> item, boolean escapeHtml) {
+            out.append(text);
+        }
+    }
+
+    private record Variable(String key) implements Segment {
+        @Override
+        public void render(StringBuilder out, Map<String, ?> root, Map<?, ?> item, boolean escapeHtml) {
+            Object value = lookup(key, root, item);
+            if (value == null) {
+                return;
+            }
+            CharSequence text = value instanceof CharSequence cs ? cs : value.toString();
+            if (escapeHtml) {
+                appendEscaped(out, text);
+            } else {
+                out.append(text);
+            }
+        }
+    }
+
+    private record Section(String key, Segment[] body) implements Segment {
+        @Override
+        public void render(StringBuilder out, Map<String, ?> root, Map<?, ?> item, boolean escapeHtml) {
+            Object value = lookup(key, root, item);
+            if (!isPresent(value)) {
+                return;
+            }
+            if (value instanceof Collection<?> elements) {
+                for (Object element : elements) {
+                    Map<?, ?> scope = element instanceof Map<?, ?> m ? m : item;
+                    for (Segment segment : body) {
+                        segment.render(out, root, scope, escapeHtml);
+                    }
+                }
+            } else {
+                for (Segment segment : body) {
+                    segment.render(out, root, item, escapeHtml);
+                }
+            }
+        }
+    }
+
+    private static final class SectionBuilder {
+        private final String key;
+        private final List<Segment> segments = new ArrayList<>();
+
+        private SectionBuilder(String key) {
+            this.key = key;
+        }
+    }
+}
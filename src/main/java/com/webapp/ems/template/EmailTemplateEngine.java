@@ -0,0 +1,83 @@
+package com.webapp.ems.template;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Loads the email templates under {@code classpath:templates/email/} once at startup and renders them.
+ * Each template name has three files: {@code <name>.subject}, {@code <name>.txt} and {@code <name>.html}.
+ */
+@Component
+public class EmailTemplateEngine {
+
+    public static final String OTP = "otp";
+    public static final String WELCOME = "welcome";
+    public static final String LEAVE_CONFIRMATION = "leave-confirmation";
+    public static final String LEAVE_STATUS = "leave-status";
+    public static final String LEAVE_DIGEST = "leave-digest";
+
+    private static final String[] TEMPLATE_NAMES = {OTP, WELCOME, LEAVE_CONFIRMATION, LEAVE_STATUS, LEAVE_DIGEST};
+    private static final String TEMPLATE_LOCATION = "classpath:templates/email/";
+    private static final int MAX_RETAINED_BUFFER = 16 * 1024;
+
+    private final ResourceLoader resourceLoader;
+    private final Map<String, CompiledTemplate[]> templates = new HashMap<>();
+
+    // One render buffer per thread, reused across renders so only the final Strings are allocated.
+    private final ThreadLocal<StringBuilder> buffers = ThreadLocal.withInitial(() -> new StringBuilder(2048));
+
+    public EmailTemplateEngine(ResourceLoader resourceLoader) {
+        this.resourceLoader = resourceLoader;
+    }
+
+    @PostConstruct
+    public void load() {
+        for (String name : TEMPLATE_NAMES) {
+            CompiledTemplate subject = CompiledTemplate.compile(name + ".subject", read(name + ".subject").strip());
+            CompiledTemplate text = CompiledTemplate.compile(name + ".txt", read(name + ".txt"));
+            CompiledTemplate html = CompiledTemplate.compile(name + ".html", read(name + ".html"));
+            templates.put(name, new CompiledTemplate[]{subject, text, html});
+        }
+    }
+
+    public RenderedEmail render(String templateName, Map<String, ?> model) {
+        CompiledTemplate[] parts = templates.get(templateName);
+        if (parts == null) {
+            throw new IllegalArgumentException("Unknown email template: " + templateName);
+        }
+        StringBuilder buffer = buffers.get();
+        try {
+            String subject = renderPart(buffer, parts[0], model, false);
+            String text = renderPart(buffer, parts[1], model, false);
+            String html = renderPart(buffer, parts[2], model, true);
+            return new RenderedEmail(subject, text, html);
+        } finally {
+            if (buffer.capacity() > MAX_RETAINED_BUFFER) {
+                buffers.remove(); // Don't pin an unusually large buffer to the thread
+            }
+        }
+    }
+
+    private String renderPart(StringBuilder buffer, CompiledTemplate template, Map<String, ?> model, boolean escapeHtml) {
+        buffer.setLength(0);
+        template.renderTo(buffer, model, escapeHtml);
+        return buffer.toString();
+    }
+
+    private String read(String fileName) {
+        Resource resource = resourceLoader.getResource(TEMPLATE_LOCATION + fileName);
+        try (InputStream in = resource.getInputStream()) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new IllegalStateException("Email template not found: " + TEMPLATE_LOCATION + fileName, e);
+        }
+    }
+}
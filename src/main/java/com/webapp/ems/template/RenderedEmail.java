@@ -0,0 +1,8 @@
+package com.webapp.ems.template;
+
+/**
+ * Output of {@link EmailTemplateEngine#render}: the subject plus plain-text and HTML bodies
+ * for a multipart/alternative message.
+ */
+public record RenderedEmail(String subject, String textBody, String htmlBody) {
+}
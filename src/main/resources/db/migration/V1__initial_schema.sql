@@ -0,0 +1,50 @@
+-- Baseline: the schema spring.jpa.hibernate.ddl-auto=update generated for the original entity model
+-- (users, departments, leave_requests) before migrations took over. Databases that already have these
+-- tables are baselined at version 1 (spring.flyway.baseline-on-migrate) and skip this script, so it must
+-- never gain anything that older databases lack: later changes go into new versions.
+-- Kept to syntax that MySQL and H2 (MODE=MySQL, used by the tests) both accept.
+
+CREATE TABLE users (
+    id                  BIGINT       NOT NULL AUTO_INCREMENT PRIMARY KEY,
+    first_name          VARCHAR(255) NOT NULL,
+    last_name           VARCHAR(255) NOT NULL,
+    email               VARCHAR(255) NOT NULL,
+    password            VARCHAR(255) NOT NULL,
+    gender              VARCHAR(32),
+    date_of_birth       DATE,
+    hire_date           DATE,
+    salary              DOUBLE,
+    role                VARCHAR(32)  NOT NULL,
+    department_id       BIGINT,
+    otp                 VARCHAR(255),
+    otp_generated_time  DATETIME(6),
+    is_verified         BOOLEAN DEFAULT FALSE,
+    managed_by_admin_id BIGINT,
+    CONSTRAINT uk_users_email UNIQUE (email)
+);
+
+CREATE TABLE departments (
+    id                  BIGINT       NOT NULL AUTO_INCREMENT PRIMARY KEY,
+    name                VARCHAR(255) NOT NULL,
+    created_by_admin_id BIGINT       NOT NULL,
+    CONSTRAINT uk_department_name_per_admin UNIQUE (name, created_by_admin_id)
+);
+
+ALTER TABLE users ADD CONSTRAINT fk_users_department FOREIGN KEY (department_id) REFERENCES departments (id);
+ALTER TABLE users ADD CONSTRAINT fk_users_managed_by_admin FOREIGN KEY (managed_by_admin_id) REFERENCES users (id);
+ALTER TABLE departments ADD CONSTRAINT fk_departments_created_by_admin FOREIGN KEY (created_by_admin_id) REFERENCES users (id);
+
+CREATE TABLE leave_requests (
+    id                 BIGINT      NOT NULL AUTO_INCREMENT PRIMARY KEY,
+    employee_id        BIGINT      NOT NULL,
+    start_date         DATE        NOT NULL,
+    end_date           DATE        NOT NULL,
+    reason             TEXT,
+    status             VARCHAR(32) NOT NULL,
+    admin_remarks      TEXT,
+    action_by_admin_id BIGINT,
+    created_at         DATETIME(6) NOT NULL,
+    updated_at         DATETIME(6) NOT NULL,
+    CONSTRAINT fk_leave_requests_employee FOREIGN KEY (employee_id) REFERENCES users (id),
+    CONSTRAINT fk_leave_requests_action_by_admin FOREIGN KEY (action_by_admin_id) REFERENCES users (id)
+);
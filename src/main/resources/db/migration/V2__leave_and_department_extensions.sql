@@ -0,0 +1,100 @@
+-- Everything the entity model gained on top of the V1 baseline: optimistic locking on leave requests,
+-- maintained department headcounts and hierarchy, and the leave tables (archive, admin read model,
+-- holidays, balances and ledger, monthly rollups). Runs on new databases and on ones baselined at 1.
+-- Columns added to existing tables carry a default so rows that predate them stay valid.
+
+ALTER TABLE leave_requests ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+CREATE INDEX idx_leave_employee_status_created ON leave_requests (employee_id, status, created_at);
+CREATE INDEX idx_leave_employee_created ON leave_requests (employee_id, created_at);
+CREATE INDEX idx_leave_status_created ON leave_requests (status, created_at);
+
+CREATE INDEX idx_users_managed_by_role ON users (managed_by_admin_id, role);
+
+ALTER TABLE departments ADD COLUMN employee_count BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE departments ADD COLUMN parent_id BIGINT;
+ALTER TABLE departments ADD CONSTRAINT fk_departments_parent FOREIGN KEY (parent_id) REFERENCES departments (id);
+
+CREATE TABLE department_closure (
+    id            BIGINT NOT NULL AUTO_INCREMENT PRIMARY KEY,
+    ancestor_id   BIGINT NOT NULL,
+    descendant_id BIGINT NOT NULL,
+    depth         INT    NOT NULL,
+    CONSTRAINT uk_closure_ancestor_descendant UNIQUE (ancestor_id, descendant_id)
+);
+CREATE INDEX idx_closure_descendant ON department_closure (descendant_id, ancestor_id);
+
+CREATE TABLE leave_requests_archive (
+    id                 BIGINT      NOT NULL PRIMARY KEY,
+    employee_id        BIGINT      NOT NULL,
+    start_date         DATE        NOT NULL,
+    end_date           DATE        NOT NULL,
+    reason             TEXT,
+    status             VARCHAR(32) NOT NULL,
+    admin_remarks      TEXT,
+    action_by_admin_id BIGINT,
+    created_at         DATETIME(6) NOT NULL,
+    updated_at         DATETIME(6) NOT NULL,
+    archived_at        DATETIME(6) NOT NULL
+);
+CREATE INDEX idx_leave_archive_employee_created ON leave_requests_archive (employee_id, created_at);
+CREATE INDEX idx_leave_archive_status_dates ON leave_requests_archive (status, start_date, end_date);
+
+CREATE TABLE admin_leave_view (
+    leave_request_id     BIGINT       NOT NULL PRIMARY KEY,
+    managed_by_admin_id  BIGINT,
+    status               VARCHAR(32)  NOT NULL,
+    created_at           DATETIME(6)  NOT NULL,
+    updated_at           DATETIME(6)  NOT NULL,
+    employee_id          BIGINT       NOT NULL,
+    employee_name        VARCHAR(255) NOT NULL,
+    employee_email       VARCHAR(255) NOT NULL,
+    start_date           DATE         NOT NULL,
+    end_date             DATE         NOT NULL,
+    reason               TEXT,
+    admin_remarks        TEXT,
+    action_by_admin_name VARCHAR(255)
+);
+CREATE INDEX idx_alv_admin_status_created ON admin_leave_view (managed_by_admin_id, status, created_at, leave_request_id);
+CREATE INDEX idx_alv_admin_created ON admin_leave_view (managed_by_admin_id, created_at, leave_request_id);
+CREATE INDEX idx_alv_employee ON admin_leave_view (employee_id);
+
+CREATE TABLE holidays (
+    id           BIGINT       NOT NULL AUTO_INCREMENT PRIMARY KEY,
+    admin_id     BIGINT       NOT NULL,
+    holiday_date DATE         NOT NULL,
+    name         VARCHAR(255) NOT NULL,
+    CONSTRAINT uk_holiday_date_per_admin UNIQUE (admin_id, holiday_date),
+    CONSTRAINT fk_holidays_admin FOREIGN KEY (admin_id) REFERENCES users (id)
+);
+
+CREATE TABLE leave_balances (
+    employee_id    BIGINT        NOT NULL PRIMARY KEY,
+    available_days DECIMAL(7, 2) NOT NULL,
+    updated_at     DATETIME(6)   NOT NULL
+);
+
+CREATE TABLE leave_ledger_entries (
+    id               BIGINT        NOT NULL AUTO_INCREMENT PRIMARY KEY,
+    employee_id      BIGINT        NOT NULL,
+    entry_type       VARCHAR(32)   NOT NULL,
+    days             DECIMAL(7, 2) NOT NULL,
+    leave_request_id BIGINT,
+    period           VARCHAR(16),
+    created_at       DATETIME(6)   NOT NULL
+);
+CREATE INDEX idx_ledger_employee_created ON leave_ledger_entries (employee_id, created_at);
+CREATE INDEX idx_ledger_leave_request ON leave_ledger_entries (leave_request_id);
+CREATE INDEX idx_ledger_type_period ON leave_ledger_entries (entry_type, period, employee_id);
+
+CREATE TABLE leave_monthly_rollups (
+    id            BIGINT      NOT NULL AUTO_INCREMENT PRIMARY KEY,
+    employee_id   BIGINT      NOT NULL,
+    department_id BIGINT,
+    admin_id      BIGINT,
+    month_start   DATE        NOT NULL,
+    status        VARCHAR(20) NOT NULL,
+    days          INT         NOT NULL,
+    CONSTRAINT uk_rollup_employee_month_status UNIQUE (employee_id, month_start, status)
+);
+CREATE INDEX idx_rollup_admin_month ON leave_monthly_rollups (admin_id, month_start, status);
+CREATE INDEX idx_rollup_department_month ON leave_monthly_rollups (department_id, month_start);
@@ -0,0 +1,7 @@
+-- Composite indexes for the hot queries that V1 and V2 left to a full scan or a single-column FK index.
+
+-- Department listings and moves: WHERE department_id = ? AND role = 'EMPLOYEE'
+CREATE INDEX idx_users_department_role ON users (department_id, role);
+
+-- Admin lists and role-wide batches: WHERE role = ? [AND id > ?] ORDER BY id
+CREATE INDEX idx_users_role ON users (role);
@@ -0,0 +1,13 @@
+-- Projects the leave requests of a database upgraded from before admin_leave_view existed into it, in one
+-- set-based statement. As a migration it runs before the application serves requests, so no request filed
+-- or actioned meanwhile can be projected twice. Rows the application already wrote are left alone.
+
+INSERT INTO admin_leave_view (leave_request_id, managed_by_admin_id, status, created_at, updated_at, employee_id,
+                              employee_name, employee_email, start_date, end_date, reason, admin_remarks, action_by_admin_name)
+SELECT lr.id, e.managed_by_admin_id, lr.status, lr.created_at, lr.updated_at, e.id,
+       CONCAT(e.first_name, ' ', e.last_name), e.email, lr.start_date, lr.end_date, lr.reason, lr.admin_remarks,
+       CASE WHEN a.id IS NULL THEN NULL ELSE CONCAT(a.first_name, ' ', a.last_name) END
+FROM leave_requests lr
+    JOIN users e ON e.id = lr.employee_id
+    LEFT JOIN users a ON a.id = lr.action_by_admin_id
+WHERE NOT EXISTS (SELECT 1 FROM admin_leave_view v WHERE v.leave_request_id = lr.id);
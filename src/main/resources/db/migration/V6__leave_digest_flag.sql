@@ -0,0 +1,6 @@
+-- The admin digest selects PENDING requests that no digest has listed yet, instead of a creation-time
+-- window kept in memory, so requests that commit late or while the application is down are still
+-- reported exactly once. Requests already PENDING when this runs go into the next digest.
+ALTER TABLE leave_requests ADD COLUMN digested BOOLEAN NOT NULL DEFAULT FALSE;
+UPDATE leave_requests SET digested = TRUE WHERE status <> 'PENDING';
+CREATE INDEX idx_leave_status_digested ON leave_requests (status, digested);
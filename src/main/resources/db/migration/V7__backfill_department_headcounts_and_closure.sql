@@ -0,0 +1,11 @@
+-- Fills the department columns and table added in V2 for a database upgraded from before they existed:
+-- each department's headcount from its users, and a closure self row for every department (all of them
+-- roots, as parent_id starts out NULL). Runs once, before the application serves requests; from then on
+-- the application keeps both up to date as employees and departments change.
+
+UPDATE departments SET employee_count = (SELECT COUNT(*) FROM users u WHERE u.department_id = departments.id);
+
+INSERT INTO department_closure (ancestor_id, descendant_id, depth)
+SELECT d.id, d.id, 0
+FROM departments d
+WHERE NOT EXISTS (SELECT 1 FROM department_closure c WHERE c.descendant_id = d.id AND c.depth = 0);
@@ -11,6 +11,7 @@ document.addEventListener('DOMContentLoaded', function() {
     const loadingAllLeavesMsg = document.getElementById('loadingAllLeavesMsg');
     const allLeaveListMessage = document.getElementById('allLeaveListMessage');
     const filterButtons = document.querySelectorAll('.leave-filters .btn');
+    const loadMoreLeavesBtn = document.getElementById('loadMoreLeavesBtn');
 
     // Modal elements
     const leaveActionModal = document.getElementById('leaveActionModal');
@@ -26,9 +27,14 @@ document.addEventListener('DOMContentLoaded', function() {
     const leaveActionMessage = document.getElementById('leaveActionMessage');
 
     let currentFilterStatus = "";
+    let nextCursor = null; // Keyset cursor for the next page of the current filter
+    const PAGE_SIZE = 50;
 
     // Initial fetch
     fetchLeaveRequestsByStatus(currentFilterStatus);
+    fetchStatusCounts();
+
+    loadMoreLeavesBtn.addEventListener('click', () => fetchLeaveRequestsByStatus(currentFilterStatus, true));
 
     filterButtons.forEach(button => {
         button.addEventListener('click', function() {
@@ -39,42 +45,70 @@ document.addEventListener('DOMContentLoaded', function() {
         });
     });
 
-    async function fetchLeaveRequestsByStatus(status = "") {
-        showLoadingState(true); // Unified loading state management
+    async function fetchLeaveRequestsByStatus(status = "", append = false) {
+        if (!append) {
+            nextCursor = null;
+            showLoadingState(true); // Unified loading state management
+        }
         clearMessage(allLeaveListMessage);
-        let url = `/api/leaves/admin/all`;
+        const params = new URLSearchParams({ limit: PAGE_SIZE });
         if (status) {
-            url += `?status=${status}`;
+            params.set('status', status);
         }
+        if (append && nextCursor) {
+            params.set('cursor', nextCursor);
+        }
+        const url = `/api/leaves/admin/all?${params.toString()}`;
 
         const headers = { 'X-Admin-Id': String(loggedInUser.id) };
 
         try {
-            // Use the global loader from common.js by default for makeApiCall
-            // Set the 4th parameter (showLoader) to false if you want to manage loader locally only.
-            const requests = await makeApiCall(url, 'GET', null, headers, true, "Fetching leave requests...");
-
-            console.log("Fetched leave requests from API:", requests); // DEBUG: Crucial log
+            // The endpoint returns one page: { items: [...], nextCursor: "..." | null }
+            const page = await makeApiCall(url, 'GET', null, headers, true, "Fetching leave requests...");
+            const requests = (page && page.items) || [];
+            nextCursor = page ? page.nextCursor : null;
 
-            // Ensure 'requests' is an array. If makeApiCall returns null for non-JSON success,
-            // and your API /api/leaves/admin/all IS returning JSON, this means makeApiCall might be misinterpreting.
-            // However, if the API genuinely might return nothing (e.g. 204, or non-JSON), then `|| []` is a safe default.
-            renderAllLeavesTable(requests || []); // Always pass an array
+            renderAllLeavesTable(requests, append);
 
-            if (!requests || requests.length === 0) {
+            if (!append && requests.length === 0) {
                 displayMessage(allLeaveListMessage, "No leave requests found for the selected filter.", "info");
             }
         } catch (error) {
             console.error("Error fetching leave requests:", error);
             displayMessage(allLeaveListMessage, error.message || "Failed to load leave requests.", "error");
-            renderAllLeavesTable([]); // Clear/hide table on error
+            if (!append) {
+                nextCursor = null;
+                renderAllLeavesTable([]); // Clear/hide table on error
+            }
         } finally {
-            showLoadingState(false); // Unified loading state management
+            if (!append) {
+                showLoadingState(false); // Unified loading state management
+            }
+            loadMoreLeavesBtn.style.display = nextCursor ? 'inline-block' : 'none';
         }
     }
 
-    function renderAllLeavesTable(requestsArray) { // Ensure parameter is named descriptively
-        allLeavesTableBody.innerHTML = ''; // Clear previous rows
+    // Shows per-status totals on the filter buttons, e.g. "Pending (12)"
+    async function fetchStatusCounts() {
+        const headers = { 'X-Admin-Id': String(loggedInUser.id) };
+        try {
+            const counts = await makeApiCall('/api/leaves/admin/status-counts', 'GET', null, headers, false);
+            filterButtons.forEach(button => {
+                if (!button.dataset.label) {
+                    button.dataset.label = button.textContent.trim();
+                }
+                const count = counts[button.dataset.status || 'ALL'];
+                button.textContent = count !== undefined ? `${button.dataset.label} (${count})` : button.dataset.label;
+            });
+        } catch (error) {
+            console.warn("Could not load leave status counts:", error);
+        }
+    }
+
+    function renderAllLeavesTable(requestsArray, append = false) { // Ensure parameter is named descriptively
+        if (!append) {
+            allLeavesTableBody.innerHTML = ''; // Clear previous rows
+        }
 
         if (requestsArray && requestsArray.length > 0) {
             allLeavesTable.style.display = ''; // Show table
@@ -122,7 +156,7 @@ document.addEventListener('DOMContentLoaded', function() {
                     cell.style.color = 'red';
                 }
             });
-        } else {
+        } else if (!append) {
             allLeavesTable.style.display = 'none'; // Hide table if no data
         }
     }
@@ -174,6 +208,7 @@ document.addEventListener('DOMContentLoaded', function() {
             setTimeout(() => {
                 closeActionModal();
                 fetchLeaveRequestsByStatus(currentFilterStatus);
+                fetchStatusCounts();
             }, 1500);
         } catch (error) {
             console.error(`Error ${newStatus.toLowerCase()} leave:`, error);
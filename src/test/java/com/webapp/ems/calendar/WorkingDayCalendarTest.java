@@ -0,0 +1,63 @@
+package com.webapp.ems.calendar;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WorkingDayCalendarTest {
+
+    private static final Set<DayOfWeek> WEEKEND = Set.of(DayOfWeek.SATURDAY, DayOfWeek.SUNDAY);
+
+    @Test
+    void excludesWeekendsAndHolidays() {
+        WorkingDayCalendar calendar = WorkingDayCalendar.build(2026, WEEKEND,
+                List.of(LocalDate.of(2026, 1, 1), LocalDate.of(2026, 12, 25), LocalDate.of(2025, 12, 31)));
+
+        assertFalse(calendar.isWorkingDay(LocalDate.of(2026, 1, 1)));  // Holiday (Thursday)
+        assertTrue(calendar.isWorkingDay(LocalDate.of(2026, 1, 2)));   // Friday
+        assertFalse(calendar.isWorkingDay(LocalDate.of(2026, 1, 3)));  // Saturday
+        // Mon 5 Jan .. Sun 11 Jan 2026
+        assertEquals(5, calendar.countWorkingDays(LocalDate.of(2026, 1, 5), LocalDate.of(2026, 1, 11)));
+        // 261 weekdays in 2026, minus two weekday holidays; the 2025 date is ignored
+        assertEquals(259, calendar.getWorkingDaysInYear());
+        assertEquals(0, calendar.countWorkingDays(LocalDate.of(2026, 1, 3), LocalDate.of(2026, 1, 4)));
+    }
+
+    @Test
+    void matchesDayByDayCountForRandomRanges() {
+        Random random = new Random(42);
+        for (int year : new int[]{2024, 2026}) { // Leap and common year
+            List<LocalDate> holidays = random.ints(20, 0, 365)
+                    .mapToObj(d -> LocalDate.ofYearDay(year, d + 1)).toList();
+            WorkingDayCalendar calendar = WorkingDayCalendar.build(year, WEEKEND, holidays);
+            int daysInYear = LocalDate.of(year, 12, 31).getDayOfYear();
+            for (int i = 0; i < 2000; i++) {
+                int a = random.nextInt(daysInYear) + 1;
+                int b = random.nextInt(daysInYear) + 1;
+                LocalDate from = LocalDate.ofYearDay(year, Math.min(a, b));
+                LocalDate to = LocalDate.ofYearDay(year, Math.max(a, b));
+
+                int expected = 0;
+                for (LocalDate d = from; !d.isAfter(to); d = d.plusDays(1)) {
+                    if (!WEEKEND.contains(d.getDayOfWeek()) && !holidays.contains(d)) {
+                        expected++;
+                    }
+                }
+                assertEquals(expected, calendar.countWorkingDays(from, to), from + ".." + to);
+            }
+        }
+    }
+
+    @Test
+    void rejectsDatesOutsideTheYear() {
+        WorkingDayCalendar calendar = WorkingDayCalendar.build(2026, WEEKEND, List.of());
+        assertThrows(IllegalArgumentException.class,
+                () -> calendar.countWorkingDays(LocalDate.of(2025, 12, 31), LocalDate.of(2026, 1, 2)));
+    }
+}
@@ -0,0 +1,116 @@
+package com.webapp.ems.config;
+
+import com.webapp.ems.dto.DepartmentDto;
+import com.webapp.ems.model.User;
+import com.webapp.ems.repository.UserRepository;
+import com.webapp.ems.service.DepartmentService;
+import com.webapp.ems.service.EmailService;
+import com.webapp.ems.service.EmployeeService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.mail.Session;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static com.webapp.ems.support.TestUsers.newAdmin;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Endpoint latency histograms, service and repository timers, pool gauges and email metrics are
+ * recorded and exposed in Prometheus format. The real EmailService runs against a mocked mail sender.
+ */
+// The mail health indicator needs a JavaMailSenderImpl; the mocked sender would leave it with no beans
+@SpringBootTest(properties = {"spring.mail.username=noreply@example.com", "management.health.mail.enabled=false"})
+@AutoConfigureMockMvc
+@AutoConfigureObservability // Metrics export (the Prometheus registry) is off in tests otherwise
+@ActiveProfiles("test")
+class MetricsTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private DepartmentService departmentService;
+    @Autowired
+    private EmployeeService employeeService;
+    @Autowired
+    private EmailService emailService;
+
+    @MockitoBean
+    private JavaMailSender javaMailSender;
+
+    private User admin;
+
+    @BeforeEach
+    void setUp() {
+        when(javaMailSender.createMimeMessage()).thenAnswer(invocation -> new MimeMessage((Session) null));
+        admin = userRepository.save(newAdmin());
+    }
+
+    @Test
+    void endpointLatencyIsRecordedAsAHistogramAndScraped() throws Exception {
+        DepartmentDto department = departmentService.createDepartment(new DepartmentDto("Measured"), admin.getId());
+        long before = timerCount("http.server.requests", "uri", "/api/departments/{id}");
+
+        mockMvc.perform(get("/api/departments/" + department.getId()).header("X-Admin-Id", admin.getId()))
+                .andExpect(status().isOk());
+
+        assertEquals(before + 1, timerCount("http.server.requests", "uri", "/api/departments/{id}"));
+        String scrape = mockMvc.perform(get("/actuator/prometheus")).andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        assertTrue(scrape.contains("http_server_requests_seconds_bucket{"), "No latency buckets in:\n" + scrape);
+        assertTrue(scrape.contains("uri=\"/api/departments/{id}\""));
+        assertTrue(scrape.contains("hikaricp_connections_active"));
+    }
+
+    @Test
+    void serviceMethodsAndRepositoryQueriesAreTimed() {
+        long serviceBefore = timerCount("ems.service", "method", "getAllEmployeesForAdmin");
+        long repositoryBefore = timerCount("spring.data.repository.invocations", "method", "findAllByRoleAndManagedByAdmin");
+
+        employeeService.getAllEmployeesForAdmin(admin.getId());
+
+        assertEquals(serviceBefore + 1, timerCount("ems.service", "method", "getAllEmployeesForAdmin"));
+        assertEquals(EmployeeService.class.getName(),
+                meterRegistry.get("ems.service").tag("method", "getAllEmployeesForAdmin").timer().getId().getTag("class"));
+        assertEquals(repositoryBefore + 1, timerCount("spring.data.repository.invocations", "method", "findAllByRoleAndManagedByAdmin"));
+    }
+
+    @Test
+    void emailSendsAreTimedAndFailuresCounted() {
+        doNothing().when(javaMailSender).send(any(MimeMessage.class));
+        emailService.sendOtpEmail("ok@example.com", "123456");
+        doThrow(new MailSendException("SMTP server unreachable")).when(javaMailSender).send(any(MimeMessage.class));
+        emailService.sendOtpEmail("fails@example.com", "654321"); // Logged, not thrown
+
+        assertTrue(meterRegistry.get("ems.email.send").tags("template", "otp", "outcome", "success").timer().count() >= 1);
+        assertTrue(meterRegistry.get("ems.email.send").tags("template", "otp", "outcome", "failure").timer().count() >= 1);
+        Counter failures = meterRegistry.get("ems.email.failures").tags("template", "otp", "exception", "MailSendException").counter();
+        assertTrue(failures.count() >= 1);
+    }
+
+    private long timerCount(String name, String tagKey, String tagValue) {
+        Timer timer = meterRegistry.find(name).tag(tagKey, tagValue).timer();
+        return timer != null ? timer.count() : 0;
+    }
+}
@@ -0,0 +1,225 @@
+package com.webapp.ems.config;
+
+import com.webapp.ems.dto.UserSimpleDto;
+import com.webapp.ems.enums.Role;
+import com.webapp.ems.model.User;
+import com.webapp.ems.repository.UserRepository;
+import com.webapp.ems.service.EmailService;
+import com.webapp.ems.service.UserService;
+import jakarta.persistence.CacheStoreMode;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.servlet.http.Cookie;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.output.MigrateResult;
+import org.hibernate.Session;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Read-only work reads the replica, writes go to the primary, and a recent write or a lagging replica
+ * sends reads to the primary. Two in-memory H2 databases stand in for the primary and the replica;
+ * nothing replicates between them, so which one answered shows in the data. Reads on the replica right
+ * after a write must not fill caches, and async work scheduled after a write reads the primary.
+ */
+@SpringBootTest(properties = {
+        "ems.datasource.replica.url=" + ReadWriteRoutingTest.REPLICA_URL,
+        "ems.datasource.replica.lag-query=SELECT seconds FROM test_replica_lag",
+        "ems.datasource.replica.lag-check-interval-ms=3600000" // Checks are driven by the tests
+})
+@ActiveProfiles("test")
+class ReadWriteRoutingTest {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:ems_replica;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate; // Outside transactions: the primary
+    @Autowired
+    private ReplicaRoutingPolicy policy;
+    @Autowired
+    private ReadYourWritesFilter readYourWritesFilter;
+    @Autowired
+    @Qualifier("applicationTaskExecutor") // The executor behind @Async
+    private AsyncTaskExecutor taskExecutor;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @MockitoBean
+    private EmailService emailService;
+
+    private final JdbcTemplate replica = replicaJdbcTemplate();
+
+    @TestConfiguration
+    static class ReplicaSchema {
+        // A real replica gets its schema through replication; the stand-in is migrated like the primary
+        @Bean
+        MigrateResult replicaMigration() {
+            MigrateResult result = Flyway.configure().dataSource(REPLICA_URL, "sa", "")
+                    .locations("classpath:db/migration").load().migrate();
+            replicaJdbcTemplate().execute("CREATE TABLE IF NOT EXISTS test_replica_lag (seconds INT)");
+            return result;
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        setReplicaLag(0);
+        policy.clearReadYourWrites(); // Startup and fixture writes pinned this thread to the primary
+    }
+
+    @AfterEach
+    void tearDown() {
+        setReplicaLag(0);
+    }
+
+    @Test
+    void readOnlyTransactionsReadTheReplica() {
+        String replicaOnly = insertReplicaOnlyAdmin();
+
+        assertTrue(adminNames().contains(replicaOnly));
+        assertEquals(0, count(jdbcTemplate, replicaOnly));
+    }
+
+    @Test
+    void writesGoToThePrimaryAndTheWriterReadsThemBack() {
+        User admin = userRepository.save(newAdmin());
+        String name = admin.getFirstName() + " " + admin.getLastName();
+
+        assertEquals(1, count(jdbcTemplate, admin.getLastName()));
+        assertEquals(0, count(replica, admin.getLastName()));
+        assertTrue(adminNames().contains(name)); // Within the read-your-writes window: primary
+
+        policy.clearReadYourWrites();
+        assertFalse(adminNames().contains(name)); // The replica never caught up
+    }
+
+    @Test
+    void laggingReplicaIsSkipped() {
+        String replicaOnly = insertReplicaOnlyAdmin();
+
+        setReplicaLag(60);
+        assertFalse(policy.isReplicaUsable());
+        assertFalse(adminNames().contains(replicaOnly));
+
+        setReplicaLag(0);
+        assertTrue(policy.isReplicaUsable());
+        assertTrue(adminNames().contains(replicaOnly));
+    }
+
+    @Test
+    void lastWriteCookieCarriesReadYourWritesAcrossRequests() throws Exception {
+        User admin = userRepository.save(newAdmin());
+        String name = admin.getFirstName() + " " + admin.getLastName();
+        policy.clearReadYourWrites();
+
+        MockHttpServletRequest followUp = new MockHttpServletRequest("GET", "/api/admins/list");
+        followUp.setCookies(new Cookie(ReplicaRoutingPolicy.LAST_WRITE_COOKIE, String.valueOf(System.currentTimeMillis())));
+        List<String> seen = new ArrayList<>();
+        readYourWritesFilter.doFilter(followUp, new MockHttpServletResponse(), (request, response) -> seen.addAll(adminNames()));
+        assertTrue(seen.contains(name));
+
+        MockHttpServletResponse writeResponse = new MockHttpServletResponse();
+        readYourWritesFilter.doFilter(new MockHttpServletRequest("POST", "/api/auth/register"), writeResponse,
+                (request, response) -> userRepository.save(newAdmin()));
+        assertNotNull(writeResponse.getCookie(ReplicaRoutingPolicy.LAST_WRITE_COOKIE));
+        assertFalse(adminNames().contains(name)); // The filter cleared the request's pin
+    }
+
+    @Test
+    void asyncWorkAfterAWriteReadsThePrimary() throws Exception {
+        User admin = userRepository.save(newAdmin());
+        String name = admin.getFirstName() + " " + admin.getLastName();
+
+        // Submitted from the writing thread: the pin goes along
+        assertTrue(taskExecutor.submit(this::adminNames).get(10, TimeUnit.SECONDS).contains(name));
+
+        // No pin to hand over, and the worker kept none from the previous task
+        policy.clearReadYourWrites();
+        assertFalse(taskExecutor.submit(this::adminNames).get(10, TimeUnit.SECONDS).contains(name));
+    }
+
+    @Test
+    void replicaReadsRightAfterAWriteDoNotFillCaches() {
+        userRepository.save(newAdmin());
+        policy.clearReadYourWrites(); // Routed to the replica, which may not have the write yet
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        readOnly.executeWithoutResult(status -> {
+            userRepository.count(); // The first statement picks the replica
+            assertFalse(ReplicaReads.mayCache());
+            assertEquals(CacheStoreMode.BYPASS, entityManager.unwrap(Session.class).getCacheStoreMode());
+        });
+        assertTrue(ReplicaReads.mayCache());
+
+        // The primary always has the latest state
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            userRepository.count();
+            assertTrue(ReplicaReads.mayCache());
+        });
+    }
+
+    private List<String> adminNames() {
+        return userService.getAllAdminsSimple().stream().map(UserSimpleDto::getFullName).toList();
+    }
+
+    private String insertReplicaOnlyAdmin() {
+        String lastName = "replica" + System.nanoTime();
+        replica.update("INSERT INTO users (first_name, last_name, email, password, role, is_verified) "
+                + "VALUES ('admin', ?, ?, 'secret', 'ADMIN', TRUE)", lastName, lastName + "@example.com");
+        return "admin " + lastName;
+    }
+
+    private void setReplicaLag(int seconds) {
+        replica.update("DELETE FROM test_replica_lag");
+        replica.update("INSERT INTO test_replica_lag (seconds) VALUES (?)", seconds);
+        policy.checkReplicaLag();
+    }
+
+    private static int count(JdbcTemplate database, String lastNameOrName) {
+        String lastName = lastNameOrName.startsWith("admin ") ? lastNameOrName.substring("admin ".length()) : lastNameOrName;
+        Integer count = database.queryForObject("SELECT COUNT(*) FROM users WHERE last_name = ?", Integer.class, lastName);
+        return count != null ? count : 0;
+    }
+
+    private static User newAdmin() {
+        User user = new User();
+        user.setFirstName("admin");
+        user.setLastName("primary" + System.nanoTime());
+        user.setEmail(user.getLastName() + "@example.com");
+        user.setPassword("secret");
+        user.setRole(Role.ADMIN);
+        return user;
+    }
+
+    private static JdbcTemplate replicaJdbcTemplate() {
+        return new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+    }
+}
@@ -0,0 +1,27 @@
+package com.webapp.ems.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+
+import static com.webapp.ems.support.TestUsers.uniqueEmail;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class AuthControllerSqlBudgetTest extends SqlBudgetTestBase {
+
+    @Test
+    void login() throws Exception {
+        // User by email + department name
+        String body = "{\"email\":\"" + employees.get(0).getEmail() + "\",\"password\":\"secret\"}";
+        assertSqlBudget(2, 2, post("/api/auth/login").contentType(MediaType.APPLICATION_JSON).content(body), status().isOk());
+    }
+
+    @Test
+    void registeringAnEmployee() throws Exception {
+        // Email check, department, managing admin, INSERT, headcount UPDATE
+        String body = "{\"firstName\":\"Self\",\"lastName\":\"Registered\",\"email\":\"" + uniqueEmail("budget-register")
+                + "\",\"password\":\"secret\",\"role\":\"EMPLOYEE\",\"departmentId\":" + departments.get(0).getId()
+                + ",\"managedByAdminId\":" + admin.getId() + "}";
+        assertSqlBudget(5, 2, post("/api/auth/register").contentType(MediaType.APPLICATION_JSON).content(body), status().isOk());
+    }
+}
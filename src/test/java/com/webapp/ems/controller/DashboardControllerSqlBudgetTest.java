@@ -0,0 +1,16 @@
+package com.webapp.ems.controller;
+
+import org.junit.jupiter.api.Test;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class DashboardControllerSqlBudgetTest extends SqlBudgetTestBase {
+
+    @Test
+    void summary() throws Exception {
+        // Admin + one aggregate per dashboard section (ten); the age groups still read one row per employee
+        assertSqlBudget(11, 1 + EMPLOYEES + 25, get("/api/dashboard/summary").header("X-Admin-Id", admin.getId()),
+                status().isOk());
+    }
+}
@@ -0,0 +1,33 @@
+package com.webapp.ems.controller;
+
+import org.junit.jupiter.api.Test;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class DepartmentControllerSqlBudgetTest extends SqlBudgetTestBase {
+
+    @Test
+    void listingDepartments() throws Exception {
+        // Admin + departments; headcounts are columns, no employee is loaded
+        assertSqlBudget(2, 1 + DEPARTMENTS, get("/api/departments").header("X-Admin-Id", admin.getId()), status().isOk());
+    }
+
+    @Test
+    void gettingOneDepartment() throws Exception {
+        assertSqlBudget(2, 2, get("/api/departments/{id}", departments.get(0).getId()).header("X-Admin-Id", admin.getId()),
+                status().isOk());
+    }
+
+    @Test
+    void subtreeSummary() throws Exception {
+        // Admin, department, closure totals, average salary
+        assertSqlBudget(4, 4, get("/api/departments/{id}/subtree", departments.get(0).getId())
+                .header("X-Admin-Id", admin.getId()), status().isOk());
+    }
+
+    @Test
+    void publicListIsServedFromMemory() throws Exception {
+        assertSqlBudget(0, 0, get("/api/departments/all"), status().isOk());
+    }
+}
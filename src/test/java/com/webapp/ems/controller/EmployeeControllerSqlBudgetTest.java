@@ -0,0 +1,42 @@
+package com.webapp.ems.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+
+import static com.webapp.ems.support.TestUsers.uniqueEmail;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class EmployeeControllerSqlBudgetTest extends SqlBudgetTestBase {
+
+    @Test
+    void listingEmployees() throws Exception {
+        // Admin + employees with their departments
+        assertSqlBudget(2, 1 + EMPLOYEES, get("/api/employees").header("X-Admin-Id", admin.getId()), status().isOk());
+    }
+
+    @Test
+    void listingADepartmentSubtree() throws Exception {
+        // Admin + department + employees under it
+        assertSqlBudget(3, 2 + EMPLOYEES / DEPARTMENTS, get("/api/employees").header("X-Admin-Id", admin.getId())
+                .param("departmentId", String.valueOf(departments.get(0).getId())), status().isOk());
+    }
+
+    @Test
+    void gettingOneEmployee() throws Exception {
+        // Admin + employee + department name
+        assertSqlBudget(3, 3, get("/api/employees/{id}", employees.get(0).getId()).header("X-Admin-Id", admin.getId()),
+                status().isOk());
+    }
+
+    @Test
+    void creatingAnEmployee() throws Exception {
+        // Admin, email check, department, INSERT, headcount UPDATE
+        String body = "{\"firstName\":\"New\",\"lastName\":\"Hire\",\"email\":\"" + uniqueEmail("budget-hire")
+                + "\",\"password\":\"secret\",\"salary\":1000.0,\"role\":\"EMPLOYEE\",\"departmentId\":"
+                + departments.get(0).getId() + "}";
+        assertSqlBudget(5, 3, post("/api/employees").header("X-Admin-Id", admin.getId())
+                .contentType(MediaType.APPLICATION_JSON).content(body), status().isCreated());
+    }
+}
@@ -0,0 +1,50 @@
+package com.webapp.ems.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.webapp.ems.dto.EmployeeDto;
+import com.webapp.ems.enums.Gender;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON serialization of the employee list response, with a mapper configured the way Spring Boot
+ * configures the one behind the controllers (JavaTimeModule, ISO dates).
+ * Run with: mvn -Pbenchmark test-compile exec:exec -Djmh.args="EmployeeListSerializationBenchmark"
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@State(Scope.Benchmark)
+public class EmployeeListSerializationBenchmark {
+
+    @Param({"100", "10000"})
+    public int size;
+
+    private ObjectMapper objectMapper;
+    private List<EmployeeDto> employees;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        employees = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            EmployeeDto dto = new EmployeeDto("Employee", "No" + i, "employee" + i + "@example.com", null,
+                    i % 2 == 0 ? Gender.FEMALE : Gender.MALE, LocalDate.of(1970 + i % 40, 1 + i % 12, 1),
+                    LocalDate.of(2020, 1, 1), 1000.0 + i, "EMPLOYEE", (long) (i % 50));
+            dto.setId((long) i);
+            dto.setDepartmentName("Department " + i % 50);
+            employees.add(dto);
+        }
+    }
+
+    @Benchmark
+    public byte[] serializeEmployeeList() throws Exception {
+        return objectMapper.writeValueAsBytes(employees);
+    }
+}
@@ -0,0 +1,205 @@
+package com.webapp.ems.controller;
+
+import com.webapp.ems.dto.LeaveRequestActionDto;
+import com.webapp.ems.dto.LeaveRequestDto;
+import com.webapp.ems.enums.LeaveStatus;
+import com.webapp.ems.enums.Role;
+import com.webapp.ems.model.AdminLeaveView;
+import com.webapp.ems.model.LeaveMonthlyRollup;
+import com.webapp.ems.model.User;
+import com.webapp.ems.repository.AdminLeaveViewRepository;
+import com.webapp.ems.repository.LeaveMonthlyRollupRepository;
+import com.webapp.ems.repository.UserRepository;
+import com.webapp.ems.service.EmailService;
+import com.webapp.ems.service.LeaveBalanceService;
+import com.webapp.ems.service.LeaveRequestService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static com.webapp.ems.support.TestUsers.newUser;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * POST /api/leaves/admin/bulk-action with a mix of the admin's PENDING requests, a request the admin already
+ * actioned, another admin's request and an unknown id: each id gets its own outcome, and only the
+ * transitioned requests move their balance, rollup days and read-model row.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class LeaveBulkActionTest {
+
+    private static final BigDecimal OPENING = new BigDecimal("12");
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private LeaveRequestService leaveRequestService;
+    @Autowired
+    private LeaveBalanceService leaveBalanceService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private LeaveMonthlyRollupRepository rollupRepository;
+    @Autowired
+    private AdminLeaveViewRepository adminLeaveViewRepository;
+
+    @MockitoBean
+    private EmailService emailService;
+
+    private User admin;
+    private User employee;
+    private User otherAdmin;
+    private User foreignEmployee;
+    private LocalDate monday; // A Monday far enough ahead to file leave for
+
+    @BeforeEach
+    void setUp() {
+        admin = userRepository.save(newUser(Role.ADMIN, null));
+        employee = userRepository.save(newUser(Role.EMPLOYEE, admin));
+        otherAdmin = userRepository.save(newUser(Role.ADMIN, null));
+        foreignEmployee = userRepository.save(newUser(Role.EMPLOYEE, otherAdmin));
+        monday = LocalDate.now().plusDays(14).with(TemporalAdjusters.next(DayOfWeek.MONDAY));
+    }
+
+    @Test
+    void rejectReportsEachIdAndAppliesSideEffectsOnlyToTransitionedRequests() throws Exception {
+        LeaveRequestDto pendingA = apply(employee, monday, monday.plusDays(1));                       // 2 days
+        LeaveRequestDto pendingB = apply(employee, monday.plusWeeks(1), monday.plusWeeks(1));        // 1 day
+        LeaveRequestDto approved = apply(employee, monday.plusWeeks(2), monday.plusWeeks(2).plusDays(2)); // 3 days
+        LeaveRequestActionDto approve = new LeaveRequestActionDto();
+        approve.setNewStatus(LeaveStatus.APPROVED);
+        leaveRequestService.updateLeaveStatusForAdmin(approved.getId(), approve, admin.getId());
+        LeaveRequestDto foreign = apply(foreignEmployee, monday, monday);
+        long unknownId = Long.MAX_VALUE;
+        assertBalance(OPENING.subtract(new BigDecimal("6")), leaveBalanceService.getBalance(employee.getId()).getAvailableDays());
+
+        String body = "{\"leaveRequestIds\":[" + pendingA.getId() + "," + approved.getId() + "," + foreign.getId() + ","
+                + unknownId + "," + pendingB.getId() + "," + pendingA.getId() + "],"
+                + "\"newStatus\":\"REJECTED\",\"adminRemarks\":\"Team offsite\"}";
+        mockMvc.perform(post("/api/leaves/admin/bulk-action").header("X-Admin-Id", admin.getId())
+                        .contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.updatedCount").value(2))
+                .andExpect(jsonPath("$.outcomes.length()").value(5)) // The duplicate id is reported once
+                .andExpect(jsonPath("$.outcomes[0].leaveRequestId").value(pendingA.getId()))
+                .andExpect(jsonPath("$.outcomes[0].outcome").value("UPDATED"))
+                .andExpect(jsonPath("$.outcomes[1].leaveRequestId").value(approved.getId()))
+                .andExpect(jsonPath("$.outcomes[1].outcome").value("NOT_PENDING"))
+                .andExpect(jsonPath("$.outcomes[2].leaveRequestId").value(foreign.getId()))
+                .andExpect(jsonPath("$.outcomes[2].outcome").value("NOT_FOUND"))
+                .andExpect(jsonPath("$.outcomes[3].leaveRequestId").value(unknownId))
+                .andExpect(jsonPath("$.outcomes[3].outcome").value("NOT_FOUND"))
+                .andExpect(jsonPath("$.outcomes[4].leaveRequestId").value(pendingB.getId()))
+                .andExpect(jsonPath("$.outcomes[4].outcome").value("UPDATED"));
+
+        // The rejected days come back; the approved request keeps its debit
+        assertBalance(OPENING.subtract(new BigDecimal("3")), leaveBalanceService.getBalance(employee.getId()).getAvailableDays());
+        assertBalance(OPENING.subtract(BigDecimal.ONE), leaveBalanceService.getBalance(foreignEmployee.getId()).getAvailableDays());
+
+        // Rollup days moved from PENDING to REJECTED, the approved request's days stay where they were
+        assertEquals(0, rollupDays(employee, LeaveStatus.PENDING));
+        assertEquals(3, rollupDays(employee, LeaveStatus.REJECTED));
+        assertEquals(3, rollupDays(employee, LeaveStatus.APPROVED));
+        assertEquals(1, rollupDays(foreignEmployee, LeaveStatus.PENDING));
+
+        // The read model shows the new status and remarks for exactly the transitioned requests
+        for (LeaveRequestDto rejected : List.of(pendingA, pendingB)) {
+            AdminLeaveView view = adminLeaveViewRepository.findById(rejected.getId()).orElseThrow();
+            assertEquals(LeaveStatus.REJECTED, view.getStatus());
+            assertEquals("Team offsite", view.getAdminRemarks());
+        }
+        assertEquals(LeaveStatus.APPROVED, adminLeaveViewRepository.findById(approved.getId()).orElseThrow().getStatus());
+        AdminLeaveView foreignView = adminLeaveViewRepository.findById(foreign.getId()).orElseThrow();
+        assertEquals(LeaveStatus.PENDING, foreignView.getStatus());
+        assertNull(foreignView.getAdminRemarks());
+    }
+
+    @Test
+    void concurrentBulkActionsOnTheSameRequestsTransitionEachOnce() throws Exception {
+        List<Long> ids = new ArrayList<>();
+        for (int week = 0; week < 6; week++) {
+            ids.add(apply(employee, monday.plusWeeks(week), monday.plusWeeks(week)).getId());
+        }
+        String idList = ids.stream().map(String::valueOf).collect(Collectors.joining(","));
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<String>> responses = new ArrayList<>();
+        for (String newStatus : List.of("APPROVED", "REJECTED")) {
+            responses.add(executor.submit(() -> {
+                start.await();
+                return mockMvc.perform(post("/api/leaves/admin/bulk-action").header("X-Admin-Id", admin.getId())
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("{\"leaveRequestIds\":[" + idList + "],\"newStatus\":\"" + newStatus + "\"}"))
+                        .andExpect(status().isOk())
+                        .andReturn().getResponse().getContentAsString();
+            }));
+        }
+        start.countDown();
+        int updated = 0;
+        for (Future<String> response : responses) {
+            String json = response.get(30, TimeUnit.SECONDS);
+            updated += count(json, "\"UPDATED\"");
+            assertEquals(ids.size(), count(json, "\"UPDATED\"") + count(json, "\"NOT_PENDING\""));
+        }
+        executor.shutdown();
+
+        // Every request was transitioned by exactly one of the two calls, and the rollups agree
+        assertEquals(ids.size(), updated);
+        assertEquals(0, rollupDays(employee, LeaveStatus.PENDING));
+        assertEquals(ids.size(), rollupDays(employee, LeaveStatus.APPROVED) + rollupDays(employee, LeaveStatus.REJECTED));
+        long approvedInView = ids.stream()
+                .filter(id -> adminLeaveViewRepository.findById(id).orElseThrow().getStatus() == LeaveStatus.APPROVED)
+                .count();
+        assertEquals(rollupDays(employee, LeaveStatus.APPROVED), approvedInView);
+        assertBalance(OPENING.subtract(BigDecimal.valueOf(approvedInView)),
+                leaveBalanceService.getBalance(employee.getId()).getAvailableDays());
+    }
+
+    private LeaveRequestDto apply(User applicant, LocalDate start, LocalDate end) {
+        LeaveRequestDto dto = new LeaveRequestDto();
+        dto.setStartDate(start);
+        dto.setEndDate(end);
+        dto.setReason("Bulk action test");
+        return leaveRequestService.applyForLeave(dto, applicant.getId());
+    }
+
+    private int rollupDays(User owner, LeaveStatus status) {
+        return rollupRepository.findAll().stream()
+                .filter(r -> r.getEmployeeId().equals(owner.getId()) && r.getStatus() == status)
+                .mapToInt(LeaveMonthlyRollup::getDays)
+                .sum();
+    }
+
+    private static int count(String haystack, String needle) {
+        return haystack.split(needle, -1).length - 1;
+    }
+
+    private static void assertBalance(BigDecimal expected, BigDecimal actual) {
+        assertEquals(0, expected.compareTo(actual), () -> "Expected " + expected + " day(s) but was " + actual);
+    }
+}
@@ -0,0 +1,48 @@
+package com.webapp.ems.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class LeaveRequestControllerSqlBudgetTest extends SqlBudgetTestBase {
+
+    private static final int PAGE_SIZE = 50;
+
+    @Test
+    void adminQueuePage() throws Exception {
+        // Admin + one page (plus the look-ahead row) from the read model
+        assertSqlBudget(2, 1 + PAGE_SIZE + 1, get("/api/leaves/admin/all").header("X-Admin-Id", admin.getId())
+                .param("limit", String.valueOf(PAGE_SIZE)), status().isOk());
+    }
+
+    @Test
+    void adminStatusCounts() throws Exception {
+        // Admin + one grouped count
+        assertSqlBudget(2, 1 + 4, get("/api/leaves/admin/status-counts").header("X-Admin-Id", admin.getId()), status().isOk());
+    }
+
+    @Test
+    void employeeHistory() throws Exception {
+        // Requests with employee and actioning admin fetched in the same statement
+        assertSqlBudget(1, LEAVES_PER_EMPLOYEE, get("/api/leaves/my-requests/{employeeId}", employees.get(0).getId()),
+                status().isOk());
+    }
+
+    @Test
+    void applyingForLeave() throws Exception {
+        // Employee, holidays, active intervals, INSERT, rollup upsert, read-model INSERT, department name,
+        // balance check/creation, debit, ledger INSERT: independent of how much leave the employee has
+        LocalDate day = LocalDate.now().with(TemporalAdjusters.next(DayOfWeek.MONDAY)).plusWeeks(LEAVES_PER_EMPLOYEE);
+        String body = "{\"employeeId\":" + employees.get(1).getId() + ",\"startDate\":\"" + day + "\",\"endDate\":\"" + day
+                + "\",\"reason\":\"Budget\"}";
+        assertSqlBudget(14, 12, post("/api/leaves/apply").contentType(MediaType.APPLICATION_JSON).content(body),
+                status().isCreated());
+    }
+}
@@ -0,0 +1,113 @@
+package com.webapp.ems.controller;
+
+import com.webapp.ems.dto.DepartmentDto;
+import com.webapp.ems.dto.EmployeeDto;
+import com.webapp.ems.dto.LeaveRequestDto;
+import com.webapp.ems.enums.Gender;
+import com.webapp.ems.enums.Role;
+import com.webapp.ems.model.User;
+import com.webapp.ems.repository.UserRepository;
+import com.webapp.ems.service.DepartmentService;
+import com.webapp.ems.service.EmailService;
+import com.webapp.ems.service.EmployeeService;
+import com.webapp.ems.service.LeaveRequestService;
+import com.webapp.ems.support.SqlBudget;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockServletContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.webapp.ems.support.TestUsers.newAdmin;
+import static com.webapp.ems.support.TestUsers.uniqueEmail;
+
+/**
+ * Statement budgets per endpoint: each subclass sends real requests through MockMvc against one admin's
+ * seeded data and fails when a request needs more statements or rows than its budget. The dataset is
+ * large enough that a per-row query (N+1) breaks any budget, so budgets stay small constants plus the
+ * rows the response legitimately contains.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+abstract class SqlBudgetTestBase {
+
+    static final int DEPARTMENTS = 3;
+    static final int EMPLOYEES = 30;
+    static final int LEAVES_PER_EMPLOYEE = 2;
+
+    @Autowired
+    protected MockMvc mockMvc;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private DepartmentService departmentService;
+    @Autowired
+    private EmployeeService employeeService;
+    @Autowired
+    private LeaveRequestService leaveRequestService;
+
+    @MockitoBean
+    private EmailService emailService;
+
+    protected User admin;
+    protected final List<DepartmentDto> departments = new ArrayList<>();
+    protected final List<EmployeeDto> employees = new ArrayList<>();
+    protected final List<LeaveRequestDto> leaveRequests = new ArrayList<>();
+
+    @BeforeAll
+    void seed() {
+        User user = newAdmin();
+        user.setVerified(true);
+        admin = userRepository.save(user);
+
+        for (int i = 0; i < DEPARTMENTS; i++) {
+            departments.add(departmentService.createDepartment(new DepartmentDto("Budget " + i), admin.getId()));
+        }
+        LocalDate firstMonday = LocalDate.now().with(TemporalAdjusters.next(DayOfWeek.MONDAY));
+        for (int i = 0; i < EMPLOYEES; i++) {
+            EmployeeDto dto = new EmployeeDto("Employee", "No" + i, uniqueEmail("budget-employee"), "secret",
+                    i % 2 == 0 ? Gender.FEMALE : Gender.MALE, LocalDate.of(1970 + i, 1 + i % 12, 1), LocalDate.of(2020, 1, 1),
+                    1000.0 + 100 * i, Role.EMPLOYEE.name(), departments.get(i % DEPARTMENTS).getId());
+            EmployeeDto employee = employeeService.createEmployee(dto, admin.getId());
+            employees.add(employee);
+            for (int j = 0; j < LEAVES_PER_EMPLOYEE; j++) {
+                LeaveRequestDto leave = new LeaveRequestDto();
+                leave.setEmployeeId(employee.getId());
+                leave.setStartDate(firstMonday.plusWeeks(j));
+                leave.setEndDate(firstMonday.plusWeeks(j));
+                leave.setReason("Budget seed");
+                leaveRequests.add(leaveRequestService.applyForLeave(leave, employee.getId()));
+            }
+        }
+    }
+
+    /** Performs the request, checks its status and fails if it costs more than the budget. */
+    protected MvcResult assertSqlBudget(long maxStatements, long maxRowsFetched, RequestBuilder request,
+                                        ResultMatcher expectedStatus) throws Exception {
+        MockHttpServletRequest built = request.buildRequest(new MockServletContext());
+        MvcResult[] result = new MvcResult[1];
+        new SqlBudget(entityManagerFactory)
+                .measure(() -> result[0] = mockMvc.perform(request).andExpect(expectedStatus).andReturn())
+                .assertWithin(built.getMethod() + " " + built.getRequestURI(), maxStatements, maxRowsFetched);
+        return result[0];
+    }
+}
@@ -0,0 +1,89 @@
+package com.webapp.ems.datagen;
+
+import com.webapp.ems.dto.DepartmentDto;
+import com.webapp.ems.service.DepartmentService;
+import com.webapp.ems.service.EmailService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * A small generated data set (in its own in-memory database) is consistent with what the application
+ * itself would have written: headcounts, closure rows, non-overlapping leave, rollups and the admin view.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:ems_datagen;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "ems.datagen.users=2010",
+        "ems.datagen.admins=10",
+        "ems.datagen.departments=45",
+        "ems.datagen.leave-requests=20000",
+        "ems.datagen.reference-date=2026-06-15",
+        "ems.datagen.threads=3",
+        "ems.datagen.batch-size=250",
+        "ems.datagen.exit-when-done=false"
+})
+@ActiveProfiles({"test", "datagen"})
+class SyntheticDataGeneratorTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private DepartmentService departmentService;
+
+    @MockitoBean
+    private EmailService emailService;
+
+    @Test
+    void generatesTheConfiguredVolumes() {
+        assertEquals(10, count("SELECT COUNT(*) FROM users WHERE role = 'ADMIN'"));
+        assertEquals(2000, count("SELECT COUNT(*) FROM users WHERE role = 'EMPLOYEE'"));
+        assertEquals(45, count("SELECT COUNT(*) FROM departments"));
+        assertEquals(20000, count("SELECT COUNT(*) FROM leave_requests"));
+        assertEquals(20000, count("SELECT MAX(id) FROM leave_requests"));
+        assertEquals(20000, count("SELECT COUNT(*) FROM admin_leave_view"));
+    }
+
+    @Test
+    void derivedDataMatchesTheRows() {
+        // Headcounts
+        assertEquals(0, count("SELECT COUNT(*) FROM departments d WHERE d.employee_count <> "
+                + "(SELECT COUNT(*) FROM users u WHERE u.department_id = d.id)"));
+        // Every department is its own closure row; children also hang under their root
+        assertEquals(45 + 35, count("SELECT COUNT(*) FROM department_closure"));
+        // Employees belong to departments of their own admin
+        assertEquals(0, count("SELECT COUNT(*) FROM users u JOIN departments d ON d.id = u.department_id "
+                + "WHERE d.created_by_admin_id <> u.managed_by_admin_id"));
+        // Every request starting on a working day shows up in its employee's rollups under its status
+        assertEquals(0, count("SELECT COUNT(*) FROM leave_requests lr WHERE NOT EXISTS (SELECT 1 FROM leave_monthly_rollups r "
+                + "WHERE r.employee_id = lr.employee_id AND r.status = lr.status) AND DAYOFWEEK(lr.start_date) NOT IN (1, 7)"));
+    }
+
+    @Test
+    void leaveIsRealistic() {
+        assertEquals(0, count("SELECT COUNT(*) FROM leave_requests a JOIN leave_requests b ON a.employee_id = b.employee_id "
+                + "AND a.id < b.id AND a.start_date <= b.end_date AND b.start_date <= a.end_date"));
+        assertEquals(0, count("SELECT COUNT(*) FROM leave_requests WHERE status = 'PENDING' AND end_date < DATE '2026-06-15'"));
+        assertEquals(0, count("SELECT COUNT(*) FROM leave_requests WHERE created_at > updated_at OR updated_at > TIMESTAMP '2026-06-15 00:00:00'"));
+        List<String> statuses = jdbcTemplate.queryForList("SELECT DISTINCT status FROM leave_requests ORDER BY status", String.class);
+        assertEquals(List.of("APPROVED", "CANCELLED", "PENDING", "REJECTED"), statuses);
+        assertEquals(0, count("SELECT COUNT(*) FROM leave_requests WHERE status IN ('APPROVED', 'REJECTED') AND action_by_admin_id IS NULL"));
+    }
+
+    @Test
+    void applicationKeepsWorkingOnTopOfTheGeneratedRows() {
+        DepartmentDto created = departmentService.createDepartment(new DepartmentDto("Created after generation"), 1L);
+        assertEquals(46L, created.getId());
+    }
+
+    private long count(String sql) {
+        Long value = jdbcTemplate.queryForObject(sql, Long.class);
+        return value != null ? value : 0;
+    }
+}
@@ -0,0 +1,363 @@
+package com.webapp.ems.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.webapp.ems.EmsApplication;
+import com.webapp.ems.dto.DepartmentDto;
+import com.webapp.ems.dto.EmployeeDto;
+import com.webapp.ems.dto.LeaveRequestDto;
+import com.webapp.ems.enums.Gender;
+import com.webapp.ems.enums.Role;
+import com.webapp.ems.model.User;
+import com.webapp.ems.repository.UserRepository;
+import com.webapp.ems.service.DepartmentService;
+import com.webapp.ems.service.EmployeeService;
+import com.webapp.ems.service.LeaveRequestService;
+import jakarta.mail.internet.MimeMessage;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.context.TypeExcludeFilter;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.type.classreading.MetadataReader;
+import org.springframework.core.type.classreading.MetadataReaderFactory;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * End-to-end load test. Boots the application on a random port against an in-memory H2 database in MySQL
+ * mode (profile "loadtest", schema from the Flyway migrations), seeds it through the services, then has
+ * {@code concurrency} workers send a weighted mix of real HTTP requests and reports throughput and
+ * p50/p99 latency per endpoint. Emails are built as in production but not delivered. Runs offline.
+ * Run with: mvn -Ploadtest test-compile exec:exec [-Dloadtest.args="concurrency=32 durationSeconds=120"]
+ */
+public class LoadTest {
+
+    enum Operation {
+        LOGIN("login", "POST /api/auth/login"),
+        DASHBOARD("dashboard", "GET /api/dashboard/summary"),
+        LIST_EMPLOYEES("employees", "GET /api/employees"),
+        APPLY("apply", "POST /api/leaves/apply"),
+        APPROVE("approve", "PUT /api/leaves/admin/{id}/action");
+
+        final String optionName;
+        final String endpoint;
+
+        Operation(String optionName, String endpoint) {
+            this.optionName = optionName;
+            this.endpoint = endpoint;
+        }
+
+        static Operation fromName(String name) {
+            for (Operation operation : values()) {
+                if (operation.optionName.equalsIgnoreCase(name)) {
+                    return operation;
+                }
+            }
+            throw new IllegalArgumentException("Unknown operation in mix: " + name);
+        }
+    }
+
+    static final String PASSWORD = "load-test";
+    private static final Path REPORT_FILE = Path.of("target", "load-test-report.txt");
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        String report = run(options).format();
+        System.out.println(report);
+        Files.createDirectories(REPORT_FILE.getParent());
+        Files.writeString(REPORT_FILE, options + System.lineSeparator() + report);
+        System.out.println("Report written to " + REPORT_FILE.toAbsolutePath());
+    }
+
+    static LoadTestReport run(LoadTestOptions options) throws InterruptedException {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(EmsApplication.class, NoDeliveryMailConfiguration.class)
+                .profiles("loadtest")
+                .properties("server.port=0")
+                .initializers(c -> c.getBeanFactory().registerSingleton("excludeTestConfigurations", new ExcludeTestConfigurations()))
+                .run()) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            Dataset dataset = seed(context, options);
+            return drive(URI.create("http://localhost:" + port), dataset, options);
+        }
+    }
+
+    // --- Seeding (through the services, so balances, headcounts and read models stay consistent) ---
+
+    private record SeededEmployee(long id, long adminId, String email, AtomicInteger nextLeaveWeek) {
+    }
+
+    private record PendingLeave(long id, long adminId) {
+    }
+
+    private record Dataset(List<Long> adminIds, List<SeededEmployee> employees, Queue<PendingLeave> pending, LocalDate firstMonday) {
+    }
+
+    private static Dataset seed(ConfigurableApplicationContext context, LoadTestOptions options) {
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        DepartmentService departmentService = context.getBean(DepartmentService.class);
+        EmployeeService employeeService = context.getBean(EmployeeService.class);
+        LeaveRequestService leaveRequestService = context.getBean(LeaveRequestService.class);
+
+        // Unique emails when one JVM runs several times against the same in-memory database
+        String run = Long.toString(System.nanoTime(), 36);
+        Random random = new Random(options.seed);
+        Dataset dataset = new Dataset(new ArrayList<>(), new ArrayList<>(), new ConcurrentLinkedQueue<>(),
+                LocalDate.now().with(TemporalAdjusters.next(DayOfWeek.MONDAY)));
+        long started = System.nanoTime();
+
+        for (int a = 0; a < options.admins; a++) {
+            User admin = new User();
+            admin.setFirstName("Admin");
+            admin.setLastName("No" + a);
+            admin.setEmail("lt-" + run + "-admin" + a + "@example.com");
+            admin.setPassword(PASSWORD);
+            admin.setRole(Role.ADMIN);
+            admin.setVerified(true);
+            admin = userRepository.save(admin);
+            dataset.adminIds().add(admin.getId());
+
+            List<Long> departmentIds = new ArrayList<>();
+            for (int d = 0; d < options.departmentsPerAdmin; d++) {
+                departmentIds.add(departmentService.createDepartment(new DepartmentDto("Department " + d), admin.getId()).getId());
+            }
+            for (int e = 0; e < options.employeesPerAdmin; e++) {
+                EmployeeDto dto = new EmployeeDto("Employee", "No" + e, "lt-" + run + "-a" + a + "-e" + e + "@example.com", PASSWORD,
+                        random.nextBoolean() ? Gender.FEMALE : Gender.MALE,
+                        LocalDate.of(1965 + random.nextInt(40), 1 + random.nextInt(12), 1 + random.nextInt(28)),
+                        LocalDate.of(2010 + random.nextInt(15), 1 + random.nextInt(12), 1),
+                        (double) (30_000 + random.nextInt(120_000)), Role.EMPLOYEE.name(),
+                        departmentIds.get(random.nextInt(departmentIds.size())));
+                EmployeeDto created = employeeService.createEmployee(dto, admin.getId());
+                SeededEmployee employee = new SeededEmployee(created.getId(), admin.getId(), created.getEmail(), new AtomicInteger());
+                dataset.employees().add(employee);
+                for (int l = 0; l < options.leavesPerEmployee; l++) {
+                    LeaveRequestDto leave = leaveRequestService.applyForLeave(newLeave(employee, dataset.firstMonday()), employee.id());
+                    dataset.pending().add(new PendingLeave(leave.getId(), admin.getId()));
+                }
+            }
+            System.out.println("Seeded admin " + (a + 1) + "/" + options.admins);
+        }
+        System.out.printf("Seeded %d admins, %d employees and %d leave requests in %.1f s%n", dataset.adminIds().size(),
+                dataset.employees().size(), dataset.pending().size(), (System.nanoTime() - started) / 1e9);
+        return dataset;
+    }
+
+    // Each request of an employee takes a later week, so requests never overlap
+    private static LeaveRequestDto newLeave(SeededEmployee employee, LocalDate firstMonday) {
+        LocalDate start = firstMonday.plusWeeks(employee.nextLeaveWeek().getAndIncrement()).plusDays(employee.id() % 3);
+        LeaveRequestDto leave = new LeaveRequestDto();
+        leave.setEmployeeId(employee.id());
+        leave.setStartDate(start);
+        leave.setEndDate(start.plusDays(employee.id() % 2));
+        leave.setReason("Load test");
+        return leave;
+    }
+
+    // --- Workload ---
+
+    private static LoadTestReport drive(URI baseUri, Dataset dataset, LoadTestOptions options) throws InterruptedException {
+        LoadTestReport report = new LoadTestReport();
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        long measureFrom = System.nanoTime() + TimeUnit.SECONDS.toNanos(options.warmupSeconds);
+        long measureUntil = measureFrom + TimeUnit.SECONDS.toNanos(options.durationSeconds);
+        System.out.println("Running " + options);
+
+        ExecutorService workers = Executors.newFixedThreadPool(options.concurrency);
+        for (int i = 0; i < options.concurrency; i++) {
+            Worker worker = new Worker(client, objectMapper, baseUri, dataset, options, new Random(options.seed + i), report);
+            workers.submit(() -> worker.run(measureFrom, measureUntil));
+        }
+        workers.shutdown();
+        if (!workers.awaitTermination(options.warmupSeconds + options.durationSeconds + 60L, TimeUnit.SECONDS)) {
+            workers.shutdownNow();
+        }
+        report.setMeasuredNanos(measureUntil - measureFrom);
+        return report;
+    }
+
+    private static final class Worker {
+        private final HttpClient client;
+        private final ObjectMapper objectMapper;
+        private final URI baseUri;
+        private final Dataset dataset;
+        private final Random random;
+        private final LoadTestReport report;
+        private final Operation[] operations;
+        private final int[] cumulativeWeights;
+
+        Worker(HttpClient client, ObjectMapper objectMapper, URI baseUri, Dataset dataset, LoadTestOptions options,
+               Random random, LoadTestReport report) {
+            this.client = client;
+            this.objectMapper = objectMapper;
+            this.baseUri = baseUri;
+            this.dataset = dataset;
+            this.random = random;
+            this.report = report;
+            this.operations = options.mix.keySet().toArray(new Operation[0]);
+            this.cumulativeWeights = new int[operations.length];
+            int sum = 0;
+            for (int i = 0; i < operations.length; i++) {
+                sum += options.mix.get(operations[i]);
+                cumulativeWeights[i] = sum;
+            }
+        }
+
+        void run(long measureFrom, long measureUntil) {
+            while (System.nanoTime() < measureUntil && !Thread.currentThread().isInterrupted()) {
+                Operation operation = nextOperation();
+                long started = System.nanoTime();
+                int status;
+                try {
+                    status = execute(operation);
+                } catch (IOException e) {
+                    status = -1;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                long finished = System.nanoTime();
+                // 0: nothing to do (no pending leave to approve)
+                if (status != 0 && started >= measureFrom && finished <= measureUntil) {
+                    report.record(operation, finished - started, status >= 200 && status < 300);
+                }
+            }
+        }
+
+        private Operation nextOperation() {
+            int pick = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+            for (int i = 0; i < cumulativeWeights.length; i++) {
+                if (pick < cumulativeWeights[i]) {
+                    return operations[i];
+                }
+            }
+            throw new IllegalStateException("Unreachable");
+        }
+
+        private int execute(Operation operation) throws IOException, InterruptedException {
+            switch (operation) {
+                case LOGIN -> {
+                    SeededEmployee employee = randomEmployee();
+                    return send(post("/api/auth/login", Map.of("email", employee.email(), "password", PASSWORD))).statusCode();
+                }
+                case DASHBOARD -> {
+                    return send(get("/api/dashboard/summary", randomAdminId())).statusCode();
+                }
+                case LIST_EMPLOYEES -> {
+                    return send(get("/api/employees", randomAdminId())).statusCode();
+                }
+                case APPLY -> {
+                    SeededEmployee employee = randomEmployee();
+                    HttpResponse<String> response = send(post("/api/leaves/apply", newLeave(employee, dataset.firstMonday())));
+                    if (response.statusCode() == 201) {
+                        long id = objectMapper.readTree(response.body()).get("id").asLong();
+                        dataset.pending().add(new PendingLeave(id, employee.adminId()));
+                    }
+                    return response.statusCode();
+                }
+                case APPROVE -> {
+                    PendingLeave leave = dataset.pending().poll();
+                    if (leave == null) {
+                        return 0;
+                    }
+                    return send(put("/api/leaves/admin/" + leave.id() + "/action",
+                            Map.of("newStatus", "APPROVED", "adminRemarks", "Load test"), leave.adminId())).statusCode();
+                }
+                default -> throw new IllegalStateException("Unhandled operation: " + operation);
+            }
+        }
+
+        private SeededEmployee randomEmployee() {
+            return dataset.employees().get(random.nextInt(dataset.employees().size()));
+        }
+
+        private long randomAdminId() {
+            return dataset.adminIds().get(random.nextInt(dataset.adminIds().size()));
+        }
+
+        private HttpRequest get(String path, long adminId) {
+            return HttpRequest.newBuilder(baseUri.resolve(path)).header("X-Admin-Id", String.valueOf(adminId)).GET().build();
+        }
+
+        private HttpRequest post(String path, Object body) throws IOException {
+            return HttpRequest.newBuilder(baseUri.resolve(path))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+                    .build();
+        }
+
+        private HttpRequest put(String path, Object body, long adminId) throws IOException {
+            return HttpRequest.newBuilder(baseUri.resolve(path))
+                    .header("Content-Type", "application/json")
+                    .header("X-Admin-Id", String.valueOf(adminId))
+                    .PUT(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+                    .build();
+        }
+
+        private HttpResponse<String> send(HttpRequest request) throws IOException, InterruptedException {
+            return client.send(request, HttpResponse.BodyHandlers.ofString());
+        }
+    }
+
+    // --- Application setup ---
+
+    // Passed to the application explicitly; @TestConfiguration keeps it out of component scanning
+    @TestConfiguration
+    static class NoDeliveryMailConfiguration {
+        @Bean
+        JavaMailSender javaMailSender() {
+            return new JavaMailSenderImpl() {
+                @Override
+                protected void doSend(MimeMessage[] mimeMessages, Object[] originalMessages) {
+                    // Built and rendered as in production, never delivered
+                }
+            };
+        }
+    }
+
+    // Test classes are on the classpath here; skip their @TestConfiguration classes as a test context would
+    static class ExcludeTestConfigurations extends TypeExcludeFilter {
+        @Override
+        public boolean match(MetadataReader metadataReader, MetadataReaderFactory metadataReaderFactory) {
+            return metadataReader.getAnnotationMetadata().hasAnnotation(TestConfiguration.class.getName());
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj != null && obj.getClass() == getClass();
+        }
+
+        @Override
+        public int hashCode() {
+            return getClass().hashCode();
+        }
+    }
+}
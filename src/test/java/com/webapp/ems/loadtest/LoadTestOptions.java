@@ -0,0 +1,94 @@
+package com.webapp.ems.loadtest;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Settings of a load test run, given as key=value arguments, e.g.
+ * {@code concurrency=64 durationSeconds=120 mix=login:50,apply:50}. Unset keys keep the defaults below.
+ */
+class LoadTestOptions {
+
+    // Seeded volume: admins x employeesPerAdmin employees, each with leavesPerEmployee pending requests
+    int admins = 10;
+    int employeesPerAdmin = 200;
+    int departmentsPerAdmin = 8;
+    int leavesPerEmployee = 3;
+
+    int concurrency = 16;
+    int warmupSeconds = 10;
+    int durationSeconds = 60;
+    long seed = 42;
+    // Relative weight of each operation in the workload
+    Map<LoadTest.Operation, Integer> mix = defaultMix();
+
+    static LoadTestOptions parse(String... args) {
+        LoadTestOptions options = new LoadTestOptions();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (eq <= 0) {
+                throw new IllegalArgumentException("Expected key=value but got: " + arg);
+            }
+            String key = arg.substring(0, eq);
+            String value = arg.substring(eq + 1);
+            switch (key) {
+                case "admins" -> options.admins = positive(key, value);
+                case "employeesPerAdmin" -> options.employeesPerAdmin = positive(key, value);
+                case "departmentsPerAdmin" -> options.departmentsPerAdmin = positive(key, value);
+                case "leavesPerEmployee" -> options.leavesPerEmployee = Integer.parseInt(value);
+                case "concurrency" -> options.concurrency = positive(key, value);
+                case "warmupSeconds" -> options.warmupSeconds = Integer.parseInt(value);
+                case "durationSeconds" -> options.durationSeconds = positive(key, value);
+                case "seed" -> options.seed = Long.parseLong(value);
+                case "mix" -> options.mix = parseMix(value);
+                default -> throw new IllegalArgumentException("Unknown load test option: " + key);
+            }
+        }
+        return options;
+    }
+
+    private static Map<LoadTest.Operation, Integer> defaultMix() {
+        Map<LoadTest.Operation, Integer> mix = new LinkedHashMap<>();
+        mix.put(LoadTest.Operation.LOGIN, 30);
+        mix.put(LoadTest.Operation.DASHBOARD, 10);
+        mix.put(LoadTest.Operation.LIST_EMPLOYEES, 20);
+        mix.put(LoadTest.Operation.APPLY, 25);
+        mix.put(LoadTest.Operation.APPROVE, 15);
+        return mix;
+    }
+
+    // e.g. login:30,dashboard:10,employees:20,apply:25,approve:15
+    private static Map<LoadTest.Operation, Integer> parseMix(String value) {
+        Map<LoadTest.Operation, Integer> mix = new LinkedHashMap<>();
+        for (String part : value.split(",")) {
+            String[] nameAndWeight = part.split(":");
+            if (nameAndWeight.length != 2) {
+                throw new IllegalArgumentException("Expected operation:weight in mix but got: " + part);
+            }
+            int weight = Integer.parseInt(nameAndWeight[1].trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("Mix weights cannot be negative: " + part);
+            }
+            mix.put(LoadTest.Operation.fromName(nameAndWeight[0].trim()), weight);
+        }
+        if (mix.values().stream().mapToInt(Integer::intValue).sum() == 0) {
+            throw new IllegalArgumentException("The mix needs at least one operation with a positive weight.");
+        }
+        return mix;
+    }
+
+    private static int positive(String key, String value) {
+        int parsed = Integer.parseInt(value);
+        if (parsed <= 0) {
+            throw new IllegalArgumentException(key + " must be positive but was " + parsed);
+        }
+        return parsed;
+    }
+
+    @Override
+    public String toString() {
+        return "admins=" + admins + " employeesPerAdmin=" + employeesPerAdmin + " departmentsPerAdmin=" + departmentsPerAdmin
+                + " leavesPerEmployee=" + leavesPerEmployee + " concurrency=" + concurrency + " warmupSeconds=" + warmupSeconds
+                + " durationSeconds=" + durationSeconds + " seed=" + seed + " mix=" + mix;
+    }
+}
@@ -0,0 +1,98 @@
+package com.webapp.ems.loadtest;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Latencies and outcomes per operation, recorded by the load test workers during the measured window.
+ * Latencies are kept in full (microseconds) so percentiles are exact rather than bucketed.
+ */
+class LoadTestReport {
+
+    private final Map<LoadTest.Operation, Recorder> recorders = new EnumMap<>(LoadTest.Operation.class);
+    private volatile long measuredNanos;
+
+    LoadTestReport() {
+        for (LoadTest.Operation operation : LoadTest.Operation.values()) {
+            recorders.put(operation, new Recorder());
+        }
+    }
+
+    void record(LoadTest.Operation operation, long latencyNanos, boolean success) {
+        recorders.get(operation).record(latencyNanos / 1_000, success);
+    }
+
+    void setMeasuredNanos(long measuredNanos) {
+        this.measuredNanos = measuredNanos;
+    }
+
+    long requests(LoadTest.Operation operation) {
+        return recorders.get(operation).count();
+    }
+
+    long errors(LoadTest.Operation operation) {
+        return recorders.get(operation).errors();
+    }
+
+    /** Latency in milliseconds at the given percentile (0-100), or 0 when nothing was recorded. */
+    double percentileMillis(LoadTest.Operation operation, double percentile) {
+        return recorders.get(operation).percentileMicros(percentile) / 1000.0;
+    }
+
+    String format() {
+        double seconds = measuredNanos / 1e9;
+        StringBuilder out = new StringBuilder();
+        out.append(String.format(Locale.ROOT, "%-40s %9s %7s %9s %9s %9s %9s%n",
+                "Endpoint", "Requests", "Errors", "Req/s", "p50 ms", "p99 ms", "Max ms"));
+        long total = 0;
+        for (LoadTest.Operation operation : LoadTest.Operation.values()) {
+            Recorder recorder = recorders.get(operation);
+            long count = recorder.count();
+            total += count;
+            out.append(String.format(Locale.ROOT, "%-40s %9d %7d %9.1f %9.2f %9.2f %9.2f%n",
+                    operation.endpoint, count, recorder.errors(), seconds > 0 ? count / seconds : 0.0,
+                    recorder.percentileMicros(50) / 1000.0, recorder.percentileMicros(99) / 1000.0,
+                    recorder.percentileMicros(100) / 1000.0));
+        }
+        out.append(String.format(Locale.ROOT, "Total %d requests in %.1f s: %.1f req/s%n", total, seconds,
+                seconds > 0 ? total / seconds : 0.0));
+        return out.toString();
+    }
+
+    private static final class Recorder {
+        private long[] latencies = new long[1024];
+        private int count;
+        private long errors;
+
+        synchronized void record(long latencyMicros, boolean success) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = latencyMicros;
+            if (!success) {
+                errors++;
+            }
+        }
+
+        synchronized long count() {
+            return count;
+        }
+
+        synchronized long errors() {
+            return errors;
+        }
+
+        // Nearest-rank percentile
+        synchronized long percentileMicros(double percentile) {
+            if (count == 0) {
+                return 0;
+            }
+            long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            int rank = (int) Math.ceil(percentile / 100.0 * count);
+            return sorted[Math.max(0, Math.min(count, rank) - 1)];
+        }
+    }
+}
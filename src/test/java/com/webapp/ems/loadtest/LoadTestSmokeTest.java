@@ -0,0 +1,34 @@
+package com.webapp.ems.loadtest;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * A tiny load test run: the harness boots, seeds and drives every operation, and none of them fails.
+ */
+class LoadTestSmokeTest {
+
+    @Test
+    void shortRunExercisesEveryEndpointWithoutErrors() throws InterruptedException {
+        LoadTestOptions options = LoadTestOptions.parse("admins=1", "employeesPerAdmin=10", "departmentsPerAdmin=2",
+                "leavesPerEmployee=2", "concurrency=4", "warmupSeconds=0", "durationSeconds=2");
+
+        LoadTestReport report = LoadTest.run(options);
+
+        for (LoadTest.Operation operation : LoadTest.Operation.values()) {
+            assertTrue(report.requests(operation) > 0, "No requests recorded for " + operation.endpoint);
+            assertEquals(0, report.errors(operation), "Failed requests for " + operation.endpoint);
+            assertTrue(report.percentileMillis(operation, 99) >= report.percentileMillis(operation, 50));
+        }
+        assertTrue(report.format().contains("p99 ms"));
+    }
+
+    @Test
+    void rejectsUnknownOptionsAndEmptyMixes() {
+        assertThrows(IllegalArgumentException.class, () -> LoadTestOptions.parse("threads=4"));
+        assertThrows(IllegalArgumentException.class, () -> LoadTestOptions.parse("mix=login:0"));
+        assertThrows(IllegalArgumentException.class, () -> LoadTestOptions.parse("mix=logout:5"));
+        assertEquals(1, LoadTestOptions.parse("mix=apply:1").mix.size());
+    }
+}
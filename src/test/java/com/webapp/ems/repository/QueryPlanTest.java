@@ -0,0 +1,128 @@
+package com.webapp.ems.repository;
+
+import com.webapp.ems.service.EmailService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs EXPLAIN on the SQL of each hot repository query against the migrated schema and checks that
+ * the planner picks one of the indexes defined for it. The statements mirror the repository queries
+ * (named in each test) with literal arguments.
+ * <p>
+ * V1 declares its foreign keys on bare columns, and H2 keeps the single-column index it creates for each
+ * of them next to the composite indexes added later (MySQL drops such an implicit index once another one
+ * covers the key). Where a composite index adds only a low-selectivity column like status, H2 costs the
+ * two alike, so the FK index is accepted too.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class QueryPlanTest {
+
+    // Prefixes of the index names H2 generates for V1's foreign keys
+    private static final String FK_LEAVE_EMPLOYEE = "fk_leave_requests_employee_index";
+    private static final String FK_USERS_MANAGED_BY_ADMIN = "fk_users_managed_by_admin_index";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockitoBean
+    private EmailService emailService;
+
+    @Test
+    void usersByManagingAdminAndRole() { // UserRepository.findAllByRoleAndManagedByAdmin, countEmployeesManagedBy, ...
+        assertUsesIndex("SELECT u.id FROM users u WHERE u.role = 'EMPLOYEE' AND u.managed_by_admin_id = 1",
+                "idx_users_managed_by_role");
+    }
+
+    @Test
+    void usersByDepartmentAndRole() { // UserRepository.findAllByDepartmentIdAndRole, moveEmployeesOfAdmin
+        assertUsesIndex("SELECT u.id FROM users u WHERE u.department_id = 1 AND u.role = 'EMPLOYEE'",
+                "idx_users_department_role");
+    }
+
+    @Test
+    void usersByRole() { // UserRepository.findAdminsSimple, findAllByRole, findEmployeeIdsAfter
+        assertUsesIndex("SELECT u.id FROM users u WHERE u.role = 'ADMIN' ORDER BY u.id", "idx_users_role");
+    }
+
+    @Test
+    void userByEmail() { // UserRepository.findByEmail, existsByEmail
+        assertUsesIndex("SELECT u.id FROM users u WHERE u.email = 'someone@example.com'", "uk_users_email");
+    }
+
+    @Test
+    void leaveHistoryOfEmployee() { // LeaveRequestRepository.findByEmployeeId
+        assertUsesIndex("SELECT lr.id FROM leave_requests lr WHERE lr.employee_id = 1 ORDER BY lr.created_at DESC, lr.id DESC",
+                "idx_leave_employee_created", "idx_leave_employee_status_created");
+    }
+
+    @Test
+    void activeIntervalsOfEmployee() { // LeaveRequestRepository.findActiveIntervalsByEmployeeId
+        assertUsesIndex("SELECT lr.id FROM leave_requests lr WHERE lr.employee_id = 1 AND lr.end_date >= DATE '2026-01-01' "
+                + "AND lr.status IN ('PENDING', 'APPROVED')", "idx_leave_employee_status_created", "idx_leave_employee_created",
+                FK_LEAVE_EMPLOYEE);
+    }
+
+    @Test
+    void pendingRequestsNotYetDigested() { // LeaveRequestRepository.lockUndigestedPendingIdsAfter
+        assertUsesIndex("SELECT lr.id FROM leave_requests lr WHERE lr.status = 'PENDING' AND lr.digested = FALSE "
+                + "AND lr.id > 0 ORDER BY lr.id LIMIT 500",
+                "idx_leave_status_digested");
+    }
+
+    @Test
+    void approvedSpansForAdmin() { // LeaveRequestRepository.findApprovedLeaveSpansForAdmin
+        String sql = "SELECT e.id, lr.start_date, lr.end_date FROM leave_requests lr JOIN users e ON e.id = lr.employee_id "
+                + "WHERE e.managed_by_admin_id = 1 AND lr.status = 'APPROVED' "
+                + "AND lr.start_date <= DATE '2026-12-31' AND lr.end_date >= DATE '2026-01-01'";
+        assertUsesIndex(sql, "idx_users_managed_by_role", FK_USERS_MANAGED_BY_ADMIN);
+        assertUsesIndex(sql, "idx_leave_employee_status_created", "idx_leave_employee_created", FK_LEAVE_EMPLOYEE);
+    }
+
+    @Test
+    void adminLeaveQueue() { // AdminLeaveViewRepository.findAdminQueuePage, countByStatusForAdmin
+        assertUsesIndex("SELECT v.leave_request_id FROM admin_leave_view v WHERE v.managed_by_admin_id = 1 "
+                + "AND v.status = 'PENDING' ORDER BY v.created_at DESC, v.leave_request_id DESC", "idx_alv_admin_status_created");
+        assertUsesIndex("SELECT v.status, COUNT(*) FROM admin_leave_view v WHERE v.managed_by_admin_id = 1 GROUP BY v.status",
+                "idx_alv_admin_status_created", "idx_alv_admin_created");
+    }
+
+    @Test
+    void absenceRollupsForAdmin() { // LeaveMonthlyRollupRepository.sumDaysByMonthAndStatus
+        assertUsesIndex("SELECT r.month_start, r.status, SUM(r.days) FROM leave_monthly_rollups r WHERE r.admin_id = 1 "
+                + "AND r.month_start BETWEEN DATE '2026-01-01' AND DATE '2026-12-01' GROUP BY r.month_start, r.status",
+                "idx_rollup_admin_month");
+    }
+
+    @Test
+    void holidaysOfAdminInYear() { // HolidayRepository.findDatesByAdminIdBetween
+        assertUsesIndex("SELECT h.holiday_date FROM holidays h WHERE h.admin_id = 1 "
+                + "AND h.holiday_date BETWEEN DATE '2026-01-01' AND DATE '2026-12-31'", "uk_holiday_date_per_admin");
+    }
+
+    @Test
+    void departmentSubtree() { // DepartmentClosureRepository.findSubtreeIds, UserRepository.findEmployeesInDepartmentSubtree
+        assertUsesIndex("SELECT c.descendant_id FROM department_closure c WHERE c.ancestor_id = 1",
+                "uk_closure_ancestor_descendant");
+    }
+
+    @Test
+    void ledgerOfEmployee() { // LeaveLedgerEntryRepository.findTop50ByEmployeeIdOrderByCreatedAtDesc
+        assertUsesIndex("SELECT l.id FROM leave_ledger_entries l WHERE l.employee_id = 1 ORDER BY l.created_at DESC",
+                "idx_ledger_employee_created");
+    }
+
+    private void assertUsesIndex(String sql, String... acceptableIndexes) {
+        String plan = jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class).toLowerCase();
+        assertTrue(Arrays.stream(acceptableIndexes).anyMatch(plan::contains),
+                () -> "Expected one of " + Arrays.toString(acceptableIndexes) + " in the plan of:\n" + sql + "\nPlan:\n" + plan);
+    }
+}
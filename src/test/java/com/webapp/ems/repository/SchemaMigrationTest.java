@@ -0,0 +1,144 @@
+package com.webapp.ems.repository;
+
+import com.webapp.ems.migration.V4__Backfill_leave_monthly_rollups;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationInfo;
+import org.flywaydb.core.api.MigrationState;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.time.DayOfWeek;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Upgrading a database that ddl-auto=update created from the original three entities: Flyway baselines
+ * it at version 1, as spring.flyway.baseline-on-migrate does in production, and every later migration
+ * must then bring it to the full schema without losing or invalidating existing rows.
+ */
+class SchemaMigrationTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private Flyway flyway;
+
+    @BeforeEach
+    void setUp() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:ems_upgrade_" + System.nanoTime() + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+        dataSource.setUser("sa");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        flyway = Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration")
+                .baselineOnMigrate(true)
+                .baselineVersion("1")
+                // Spring registers the Java migrations as beans; a bare Flyway needs them passed in
+                .javaMigrations(new V4__Backfill_leave_monthly_rollups(List.of(DayOfWeek.SATURDAY, DayOfWeek.SUNDAY)))
+                .load();
+    }
+
+    @Test
+    void preMigrationDatabaseIsBaselinedAndUpgraded() {
+        createPreMigrationSchema();
+        jdbcTemplate.update("INSERT INTO users (id, first_name, last_name, email, password, role) "
+                + "VALUES (1, 'Ada', 'Admin', 'admin@example.com', 'secret', 'ADMIN')");
+        jdbcTemplate.update("INSERT INTO departments (id, name, created_by_admin_id) VALUES (10, 'Engineering', 1)");
+        jdbcTemplate.update("INSERT INTO users (id, first_name, last_name, email, password, role, department_id, managed_by_admin_id) "
+                + "VALUES (2, 'Eve', 'Employee', 'eve@example.com', 'secret', 'EMPLOYEE', 10, 1)");
+        jdbcTemplate.update("INSERT INTO leave_requests (id, employee_id, start_date, end_date, status, created_at, updated_at) "
+                + "VALUES (100, 2, DATE '2026-03-02', DATE '2026-03-04', 'PENDING', TIMESTAMP '2026-02-20 09:00:00', TIMESTAMP '2026-02-20 09:00:00')");
+        // Mon 30 March - Wed 1 April: two working days in March, one in April
+        jdbcTemplate.update("INSERT INTO leave_requests (id, employee_id, start_date, end_date, status, action_by_admin_id, created_at, updated_at) "
+                + "VALUES (101, 2, DATE '2026-03-30', DATE '2026-04-01', 'APPROVED', 1, TIMESTAMP '2026-02-21 09:00:00', TIMESTAMP '2026-02-22 09:00:00')");
+
+        flyway.migrate();
+
+        MigrationInfo[] applied = flyway.info().applied();
+        assertEquals(MigrationState.BASELINE, applied[0].getState());
+        assertEquals("1", applied[0].getVersion().getVersion());
+        assertTrue(Arrays.stream(applied).skip(1).allMatch(m -> m.getState() == MigrationState.SUCCESS));
+        assertEquals(flyway.info().current().getVersion(), applied[applied.length - 1].getVersion());
+        assertEquals(0, flyway.info().pending().length);
+
+        for (String table : List.of("department_closure", "leave_requests_archive", "admin_leave_view", "holidays",
+                "leave_balances", "leave_ledger_entries", "leave_monthly_rollups")) {
+            assertEquals(1, count("SELECT COUNT(*) FROM information_schema.tables WHERE table_name = ?", table), table);
+        }
+        assertColumn("leave_requests", "version");
+        assertColumn("departments", "employee_count");
+        assertColumn("departments", "parent_id");
+        assertColumn("leave_requests", "digested");
+
+        // Existing rows survive and satisfy the new NOT NULL columns
+        assertEquals(0L, jdbcTemplate.queryForObject("SELECT version FROM leave_requests WHERE id = 100", Long.class));
+        assertNull(jdbcTemplate.queryForObject("SELECT parent_id FROM departments WHERE id = 10", Long.class));
+        assertEquals(2, count("SELECT COUNT(*) FROM users"));
+
+        // Departments get their headcount and their closure self row
+        assertEquals(1L, jdbcTemplate.queryForObject("SELECT employee_count FROM departments WHERE id = 10", Long.class));
+        assertEquals(1, count("SELECT COUNT(*) FROM department_closure WHERE ancestor_id = 10 AND descendant_id = 10 AND depth = 0"));
+        assertEquals(1, count("SELECT COUNT(*) FROM department_closure"));
+
+        // Only the request still PENDING is left for the next digest
+        assertFalse(jdbcTemplate.queryForObject("SELECT digested FROM leave_requests WHERE id = 100", Boolean.class));
+        assertTrue(jdbcTemplate.queryForObject("SELECT digested FROM leave_requests WHERE id = 101", Boolean.class));
+
+        // Existing requests are counted into the rollups once, by the migration
+        assertEquals(3, rollupDays("2026-03-01", "PENDING"));
+        assertEquals(2, rollupDays("2026-03-01", "APPROVED"));
+        assertEquals(1, rollupDays("2026-04-01", "APPROVED"));
+        assertEquals(3, count("SELECT COUNT(*) FROM leave_monthly_rollups WHERE employee_id = 2 AND department_id = 10 AND admin_id = 1"));
+
+        // ... and projected into the admin read model
+        assertEquals(2, count("SELECT COUNT(*) FROM admin_leave_view WHERE managed_by_admin_id = 1 AND employee_name = 'Eve Employee'"));
+        assertEquals("Ada Admin", jdbcTemplate.queryForObject(
+                "SELECT action_by_admin_name FROM admin_leave_view WHERE leave_request_id = 101", String.class));
+    }
+
+    @Test
+    void emptyDatabaseRunsEveryMigration() {
+        flyway.migrate();
+
+        MigrationInfo[] applied = flyway.info().applied();
+        assertEquals("1", applied[0].getVersion().getVersion());
+        assertTrue(Arrays.stream(applied).allMatch(m -> m.getState() == MigrationState.SUCCESS));
+        assertColumn("leave_requests", "version");
+    }
+
+    // The tables as ddl-auto=update created them from the original User, Department and LeaveRequest entities
+    private void createPreMigrationSchema() {
+        jdbcTemplate.execute("CREATE TABLE users (id BIGINT AUTO_INCREMENT PRIMARY KEY, first_name VARCHAR(255) NOT NULL, "
+                + "last_name VARCHAR(255) NOT NULL, email VARCHAR(255) NOT NULL UNIQUE, password VARCHAR(255) NOT NULL, "
+                + "gender VARCHAR(255), date_of_birth DATE, hire_date DATE, salary DOUBLE, role VARCHAR(255) NOT NULL, "
+                + "department_id BIGINT, otp VARCHAR(255), otp_generated_time TIMESTAMP(6), is_verified BOOLEAN DEFAULT FALSE, "
+                + "managed_by_admin_id BIGINT)");
+        jdbcTemplate.execute("CREATE TABLE departments (id BIGINT AUTO_INCREMENT PRIMARY KEY, name VARCHAR(255) NOT NULL, "
+                + "created_by_admin_id BIGINT NOT NULL, CONSTRAINT uk_department_name_per_admin UNIQUE (name, created_by_admin_id))");
+        jdbcTemplate.execute("ALTER TABLE users ADD CONSTRAINT fk_users_dept FOREIGN KEY (department_id) REFERENCES departments (id)");
+        jdbcTemplate.execute("ALTER TABLE users ADD CONSTRAINT fk_users_admin FOREIGN KEY (managed_by_admin_id) REFERENCES users (id)");
+        jdbcTemplate.execute("ALTER TABLE departments ADD CONSTRAINT fk_dept_admin FOREIGN KEY (created_by_admin_id) REFERENCES users (id)");
+        jdbcTemplate.execute("CREATE TABLE leave_requests (id BIGINT AUTO_INCREMENT PRIMARY KEY, employee_id BIGINT NOT NULL, "
+                + "start_date DATE NOT NULL, end_date DATE NOT NULL, reason TEXT, status VARCHAR(255) NOT NULL, admin_remarks TEXT, "
+                + "action_by_admin_id BIGINT, created_at TIMESTAMP(6) NOT NULL, updated_at TIMESTAMP(6) NOT NULL, "
+                + "FOREIGN KEY (employee_id) REFERENCES users (id), FOREIGN KEY (action_by_admin_id) REFERENCES users (id))");
+    }
+
+    private int rollupDays(String monthStart, String status) {
+        return count("SELECT days FROM leave_monthly_rollups WHERE employee_id = 2 AND month_start = ? AND status = ?",
+                Date.valueOf(monthStart), status);
+    }
+
+    private void assertColumn(String table, String column) {
+        assertEquals(1, count("SELECT COUNT(*) FROM information_schema.columns WHERE table_name = ? AND column_name = ?",
+                table, column), table + "." + column);
+    }
+
+    private int count(String sql, Object... args) {
+        return jdbcTemplate.queryForObject(sql, Integer.class, args);
+    }
+}
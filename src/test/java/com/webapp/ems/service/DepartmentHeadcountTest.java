@@ -0,0 +1,115 @@
+package com.webapp.ems.service;
+
+import com.webapp.ems.dto.DepartmentDto;
+import com.webapp.ems.dto.EmployeeDto;
+import com.webapp.ems.enums.Role;
+import com.webapp.ems.model.User;
+import com.webapp.ems.repository.DepartmentRepository;
+import com.webapp.ems.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.webapp.ems.support.TestUsers.newAdmin;
+import static com.webapp.ems.support.TestUsers.uniqueEmail;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Department headcounts are maintained on every employee change, and the delete guard reads the
+ * count instead of loading the employees collection.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class DepartmentHeadcountTest {
+
+    private static final int LARGE_DEPARTMENT = 50_000;
+
+    @Autowired
+    private DepartmentService departmentService;
+    @Autowired
+    private EmployeeService employeeService;
+    @Autowired
+    private DepartmentRepository departmentRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockitoBean
+    private EmailService emailService;
+
+    private Statistics statistics;
+    private User admin;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        admin = userRepository.save(newAdmin());
+    }
+
+    @Test
+    void deletingLargeDepartmentDoesNotLoadEmployees() {
+        DepartmentDto department = departmentService.createDepartment(new DepartmentDto("Large"), admin.getId());
+        String prefix = "headcount-" + System.nanoTime() + "-";
+        List<Object[]> rows = new ArrayList<>(LARGE_DEPARTMENT);
+        for (int i = 0; i < LARGE_DEPARTMENT; i++) {
+            rows.add(new Object[]{"employee", "e" + i, prefix + i + "@example.com", "secret", Role.EMPLOYEE.name(),
+                    department.getId(), admin.getId()});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO users (first_name, last_name, email, password, role, department_id, "
+                + "managed_by_admin_id, is_verified) VALUES (?, ?, ?, ?, ?, ?, ?, TRUE)", rows);
+        // Rows were inserted behind the application's back, so the count is set alongside them
+        jdbcTemplate.update("UPDATE departments SET employee_count = ? WHERE id = ?", LARGE_DEPARTMENT, department.getId());
+
+        statistics.clear();
+        RuntimeException e = assertThrows(RuntimeException.class,
+                () -> departmentService.deleteDepartment(department.getId(), admin.getId()));
+
+        assertTrue(e.getMessage().contains(String.valueOf(LARGE_DEPARTMENT)));
+        assertEquals(0, statistics.getCollectionLoadCount());
+        assertEquals(0, statistics.getCollectionFetchCount());
+        // Admin + department
+        assertEquals(2, statistics.getEntityLoadCount());
+        assertTrue(departmentRepository.existsById(department.getId()));
+    }
+
+    @Test
+    void headcountFollowsEmployeeCreateMoveAndDelete() {
+        DepartmentDto first = departmentService.createDepartment(new DepartmentDto("First"), admin.getId());
+        DepartmentDto second = departmentService.createDepartment(new DepartmentDto("Second"), admin.getId());
+        assertEquals(Long.valueOf(0), first.getEmployeeCount());
+
+        EmployeeDto dto = new EmployeeDto("Ada", "Lovelace", uniqueEmail("headcount-ada"),
+                "secret", null, null, null, 1000.0, Role.EMPLOYEE.name(), first.getId());
+        EmployeeDto created = employeeService.createEmployee(dto, admin.getId());
+        assertEquals(1, headcount(first.getId()));
+
+        dto.setDepartmentId(second.getId());
+        employeeService.updateEmployee(created.getId(), dto, admin.getId());
+        assertEquals(0, headcount(first.getId()));
+        assertEquals(1, headcount(second.getId()));
+
+        assertThrows(RuntimeException.class, () -> departmentService.deleteDepartment(second.getId(), admin.getId()));
+        employeeService.deleteEmployee(created.getId(), admin.getId());
+        assertEquals(0, headcount(second.getId()));
+
+        departmentService.deleteDepartment(second.getId(), admin.getId());
+        assertFalse(departmentRepository.existsById(second.getId()));
+    }
+
+    private long headcount(Long departmentId) {
+        return departmentService.getDepartmentById(departmentId, admin.getId()).getEmployeeCount();
+    }
+}
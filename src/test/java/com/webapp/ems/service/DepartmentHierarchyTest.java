@@ -0,0 +1,133 @@
+package com.webapp.ems.service;
+
+import com.webapp.ems.dto.DepartmentDto;
+import com.webapp.ems.dto.DepartmentSubtreeDto;
+import com.webapp.ems.dto.EmployeeDto;
+import com.webapp.ems.enums.Role;
+import com.webapp.ems.model.User;
+import com.webapp.ems.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.util.List;
+
+import static com.webapp.ems.support.TestUsers.newAdmin;
+import static com.webapp.ems.support.TestUsers.uniqueEmail;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Division → department → team trees: subtree queries follow the closure table, and moves keep it
+ * consistent.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class DepartmentHierarchyTest {
+
+    @Autowired
+    private DepartmentService departmentService;
+    @Autowired
+    private EmployeeService employeeService;
+    @Autowired
+    private UserRepository userRepository;
+
+    @MockitoBean
+    private EmailService emailService;
+
+    private User admin;
+
+    @BeforeEach
+    void setUp() {
+        admin = userRepository.save(newAdmin());
+    }
+
+    @Test
+    void subtreeQueriesCoverEveryLevel() {
+        DepartmentDto division = create("Engineering", null);
+        DepartmentDto department = create("Platform", division.getId());
+        DepartmentDto team = create("Storage", department.getId());
+        hire(department.getId(), 1000.0);
+        hire(team.getId(), 2000.0);
+        hire(team.getId(), 3000.0);
+
+        DepartmentSubtreeDto subtree = departmentService.getDepartmentSubtree(division.getId(), admin.getId());
+        assertEquals(3, subtree.getDepartmentCount());
+        assertEquals(3, subtree.getEmployeeCount());
+        assertEquals(2000.0, subtree.getAverageSalary(), 0.001);
+
+        assertEquals(3, employeeService.getEmployeesInDepartmentSubtree(division.getId(), admin.getId()).size());
+        assertEquals(2, employeeService.getEmployeesInDepartmentSubtree(team.getId(), admin.getId()).size());
+    }
+
+    @Test
+    void movingASubtreeRelinksAllOfIt() {
+        DepartmentDto engineering = create("Engineering", null);
+        DepartmentDto operations = create("Operations", null);
+        DepartmentDto platform = create("Platform", engineering.getId());
+        DepartmentDto storage = create("Storage", platform.getId());
+        hire(storage.getId(), 1000.0);
+
+        platform.setParentId(operations.getId());
+        departmentService.updateDepartment(platform.getId(), platform, admin.getId());
+
+        assertEquals(0, departmentService.getDepartmentSubtree(engineering.getId(), admin.getId()).getEmployeeCount());
+        DepartmentSubtreeDto moved = departmentService.getDepartmentSubtree(operations.getId(), admin.getId());
+        assertEquals(3, moved.getDepartmentCount());
+        assertEquals(1, moved.getEmployeeCount());
+
+        // Explicitly to the top level: Operations keeps only itself
+        departmentService.moveDepartment(platform.getId(), null, admin.getId());
+        assertNull(departmentService.getDepartmentById(platform.getId(), admin.getId()).getParentId());
+        assertEquals(1, departmentService.getDepartmentSubtree(operations.getId(), admin.getId()).getDepartmentCount());
+        assertEquals(2, departmentService.getDepartmentSubtree(platform.getId(), admin.getId()).getDepartmentCount());
+    }
+
+    @Test
+    void renamingASubDepartmentKeepsItsParentAndAncestors() {
+        DepartmentDto division = create("Engineering", null);
+        DepartmentDto department = create("Platform", division.getId());
+        DepartmentDto team = create("Storage", department.getId());
+        hire(team.getId(), 1000.0);
+
+        // What the admin page sends on a rename: the name only
+        DepartmentDto renamed = departmentService.updateDepartment(team.getId(), new DepartmentDto("Block Storage"), admin.getId());
+
+        assertEquals("Block Storage", renamed.getName());
+        assertEquals(department.getId(), renamed.getParentId());
+        assertEquals(department.getId(), departmentService.getDepartmentById(team.getId(), admin.getId()).getParentId());
+        DepartmentSubtreeDto subtree = departmentService.getDepartmentSubtree(division.getId(), admin.getId());
+        assertEquals(3, subtree.getDepartmentCount());
+        assertEquals(1, subtree.getEmployeeCount());
+        assertEquals(2, departmentService.getDepartmentSubtree(department.getId(), admin.getId()).getDepartmentCount());
+    }
+
+    @Test
+    void cyclesAndNonEmptyParentsAreRejected() {
+        DepartmentDto division = create("Engineering", null);
+        DepartmentDto team = create("Storage", division.getId());
+
+        division.setParentId(team.getId());
+        assertThrows(IllegalArgumentException.class,
+                () -> departmentService.updateDepartment(division.getId(), division, admin.getId()));
+        assertThrows(RuntimeException.class, () -> departmentService.deleteDepartment(division.getId(), admin.getId()));
+
+        departmentService.deleteDepartment(team.getId(), admin.getId());
+        departmentService.deleteDepartment(division.getId(), admin.getId());
+        List<DepartmentDto> remaining = departmentService.getAllDepartmentsByAdmin(admin.getId());
+        assertTrue(remaining.isEmpty());
+    }
+
+    private DepartmentDto create(String name, Long parentId) {
+        DepartmentDto dto = new DepartmentDto(name);
+        dto.setParentId(parentId);
+        return departmentService.createDepartment(dto, admin.getId());
+    }
+
+    private void hire(Long departmentId, double salary) {
+        EmployeeDto dto = new EmployeeDto("Grace", "Hopper", uniqueEmail("hierarchy"), "secret", null, null, null, salary, Role.EMPLOYEE.name(), departmentId);
+        employeeService.createEmployee(dto, admin.getId());
+    }
+}
@@ -0,0 +1,136 @@
+package com.webapp.ems.service;
+
+import com.webapp.ems.dto.DepartmentDto;
+import com.webapp.ems.dto.DepartmentMoveDto;
+import com.webapp.ems.dto.DepartmentMoveResultDto;
+import com.webapp.ems.dto.DepartmentSubtreeDto;
+import com.webapp.ems.dto.EmployeeDto;
+import com.webapp.ems.enums.Role;
+import com.webapp.ems.model.User;
+import com.webapp.ems.repository.DepartmentRepository;
+import com.webapp.ems.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.webapp.ems.support.TestUsers.newAdmin;
+import static com.webapp.ems.support.TestUsers.uniqueEmail;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Bulk moves and merges are set-based and keep headcounts and the hierarchy consistent.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class DepartmentMoveTest {
+
+    private static final int EMPLOYEES = 200;
+
+    @Autowired
+    private DepartmentService departmentService;
+    @Autowired
+    private EmployeeService employeeService;
+    @Autowired
+    private DepartmentRepository departmentRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockitoBean
+    private EmailService emailService;
+
+    private User admin;
+
+    @BeforeEach
+    void setUp() {
+        admin = userRepository.save(newAdmin());
+    }
+
+    @Test
+    void movingAllEmployeesIsOneUpdateRegardlessOfSize() {
+        DepartmentDto source = create("Source", null);
+        DepartmentDto target = create("Target", null);
+        for (int i = 0; i < EMPLOYEES; i++) {
+            hire(source.getId());
+        }
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        DepartmentMoveDto move = new DepartmentMoveDto();
+        move.setTargetDepartmentId(target.getId());
+        statistics.clear();
+        DepartmentMoveResultDto result = departmentService.moveEmployees(source.getId(), move, admin.getId());
+
+        assertEquals(EMPLOYEES, result.getMovedEmployees());
+        // Admin, source, target, the UPDATE and the two headcount adjustments
+        assertEquals(6, statistics.getPrepareStatementCount());
+        assertEquals(0, headcount(source.getId()));
+        assertEquals(EMPLOYEES, headcount(target.getId()));
+    }
+
+    @Test
+    void movingListedEmployeesSkipsOthers() {
+        DepartmentDto source = create("Source", null);
+        DepartmentDto target = create("Target", null);
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            ids.add(hire(source.getId()));
+        }
+
+        DepartmentMoveDto move = new DepartmentMoveDto();
+        move.setTargetDepartmentId(target.getId());
+        move.setEmployeeIds(List.of(ids.get(0), ids.get(1), Long.MAX_VALUE));
+        DepartmentMoveResultDto result = departmentService.moveEmployees(source.getId(), move, admin.getId());
+
+        assertEquals(2, result.getMovedEmployees());
+        assertEquals(2, headcount(source.getId()));
+        assertEquals(2, headcount(target.getId()));
+    }
+
+    @Test
+    void mergeMovesUsersAndSubDepartmentsThenDeletesSource() {
+        DepartmentDto source = create("Source", null);
+        DepartmentDto child = create("Child", source.getId());
+        DepartmentDto target = create("Target", null);
+        hire(source.getId());
+        hire(child.getId());
+
+        assertThrows(IllegalArgumentException.class,
+                () -> departmentService.mergeDepartments(source.getId(), child.getId(), admin.getId()));
+
+        DepartmentMoveResultDto result = departmentService.mergeDepartments(source.getId(), target.getId(), admin.getId());
+
+        assertEquals(1, result.getMovedEmployees());
+        assertEquals(1, result.getMovedSubDepartments());
+        assertFalse(departmentRepository.existsById(source.getId()));
+        assertEquals(target.getId(), departmentService.getDepartmentById(child.getId(), admin.getId()).getParentId());
+        DepartmentSubtreeDto subtree = departmentService.getDepartmentSubtree(target.getId(), admin.getId());
+        assertEquals(2, subtree.getDepartmentCount());
+        assertEquals(2, subtree.getEmployeeCount());
+        assertEquals(1, headcount(target.getId()));
+    }
+
+    private DepartmentDto create(String name, Long parentId) {
+        DepartmentDto dto = new DepartmentDto(name);
+        dto.setParentId(parentId);
+        return departmentService.createDepartment(dto, admin.getId());
+    }
+
+    private Long hire(Long departmentId) {
+        EmployeeDto dto = new EmployeeDto("Alan", "Turing", uniqueEmail("move"), "secret", null, null, null, 1000.0, Role.EMPLOYEE.name(), departmentId);
+        return employeeService.createEmployee(dto, admin.getId()).getId();
+    }
+
+    private long headcount(Long departmentId) {
+        return departmentService.getDepartmentById(departmentId, admin.getId()).getEmployeeCount();
+    }
+}
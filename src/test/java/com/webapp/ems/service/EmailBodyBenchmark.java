@@ -0,0 +1,80 @@
+package com.webapp.ems.service;
+
+import com.webapp.ems.enums.LeaveStatus;
+import com.webapp.ems.model.LeaveRequest;
+import com.webapp.ems.model.User;
+import com.webapp.ems.template.EmailTemplateEngine;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Email body building from entities (model assembly, date formatting and rendering), without sending.
+ * Run with: mvn -Pbenchmark test-compile exec:exec -Djmh.args="EmailBodyBenchmark"
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@State(Scope.Benchmark)
+public class EmailBodyBenchmark {
+
+    private EmailService emailService;
+    private User admin;
+    private LeaveRequest actioned;
+    private List<LeaveRequest> pending;
+
+    @Setup
+    public void setUp() {
+        EmailTemplateEngine engine = new EmailTemplateEngine(new DefaultResourceLoader());
+        engine.load();
+        emailService = new EmailService(null, engine, new SimpleMeterRegistry()); // No mail sender: nothing is sent
+
+        admin = new User();
+        admin.setId(1L);
+        admin.setFirstName("Rahul");
+        admin.setEmail("rahul@example.com");
+
+        User employee = new User();
+        employee.setId(2L);
+        employee.setFirstName("Priya");
+        employee.setLastName("Sharma");
+        employee.setEmail("priya@example.com");
+
+        actioned = leave(1042L, employee);
+        actioned.setStatus(LeaveStatus.APPROVED);
+        actioned.setAdminRemarks("Enjoy & take care");
+        actioned.setActionByAdmin(admin);
+
+        pending = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            pending.add(leave(2000L + i, employee));
+        }
+    }
+
+    private static LeaveRequest leave(long id, User employee) {
+        LeaveRequest leaveRequest = new LeaveRequest();
+        leaveRequest.setId(id);
+        leaveRequest.setEmployee(employee);
+        leaveRequest.setStartDate(LocalDate.of(2026, 11, 3));
+        leaveRequest.setEndDate(LocalDate.of(2026, 11, 7));
+        leaveRequest.setReason("Family function <out of town>");
+        return leaveRequest;
+    }
+
+    @Benchmark
+    public void leaveStatusEmail(Blackhole bh) {
+        bh.consume(emailService.leaveStatusEmail(actioned));
+    }
+
+    @Benchmark
+    public void pendingDigestOf25(Blackhole bh) {
+        bh.consume(emailService.pendingLeaveDigestEmail(admin, pending));
+    }
+}
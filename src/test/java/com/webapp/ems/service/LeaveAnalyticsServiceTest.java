@@ -0,0 +1,104 @@
+package com.webapp.ems.service;
+
+import com.webapp.ems.enums.LeaveStatus;
+import com.webapp.ems.enums.Role;
+import com.webapp.ems.model.LeaveMonthlyRollup;
+import com.webapp.ems.model.User;
+import com.webapp.ems.repository.LeaveMonthlyRollupRepository;
+import com.webapp.ems.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.webapp.ems.support.TestUsers.newUser;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Rollup rows written by status transitions: days move between statuses within a month, and a row keeps
+ * the department and admin it was first written with when the employee later moves.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class LeaveAnalyticsServiceTest {
+
+    private static final AtomicLong SEQUENCE = new AtomicLong(); // Department IDs no other test uses
+    private static final LocalDate MARCH = LocalDate.of(2031, 3, 1);
+    private static final LocalDate APRIL = LocalDate.of(2031, 4, 1);
+
+    @Autowired
+    private LeaveAnalyticsService leaveAnalyticsService;
+    @Autowired
+    private LeaveMonthlyRollupRepository rollupRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @MockitoBean
+    private EmailService emailService;
+
+    private User admin;
+    private User employee;
+
+    @BeforeEach
+    void setUp() {
+        admin = userRepository.save(newUser(Role.ADMIN, null));
+        employee = userRepository.save(newUser(Role.EMPLOYEE, admin));
+    }
+
+    @Test
+    void transitionsMoveWorkingDaysBetweenStatusesPerMonth() {
+        // Mon 31 Mar - Tue 1 Apr 2031: one working day in each month
+        record(null, admin.getId(), LocalDate.of(2031, 3, 31), LocalDate.of(2031, 4, 1), null, LeaveStatus.PENDING);
+        record(null, admin.getId(), LocalDate.of(2031, 3, 31), LocalDate.of(2031, 4, 1), LeaveStatus.PENDING, LeaveStatus.APPROVED);
+
+        assertEquals(0, row(MARCH, LeaveStatus.PENDING).getDays());
+        assertEquals(1, row(MARCH, LeaveStatus.APPROVED).getDays());
+        assertEquals(0, row(APRIL, LeaveStatus.PENDING).getDays());
+        assertEquals(1, row(APRIL, LeaveStatus.APPROVED).getDays());
+    }
+
+    @Test
+    void movingAnEmployeeDoesNotReassignDaysAlreadyCounted() {
+        long departmentA = 1_000_000L + SEQUENCE.incrementAndGet();
+        long departmentB = 2_000_000L + SEQUENCE.incrementAndGet();
+        User otherAdmin = userRepository.save(newUser(Role.ADMIN, null));
+        // Mon 3 - Wed 5 March 2031 while in department A under the first admin
+        record(departmentA, admin.getId(), LocalDate.of(2031, 3, 3), LocalDate.of(2031, 3, 5), null, LeaveStatus.APPROVED);
+
+        // Moved: later leave in the same month only adds days, leave in a new month is the new department's
+        record(departmentB, otherAdmin.getId(), LocalDate.of(2031, 3, 10), LocalDate.of(2031, 3, 11), null, LeaveStatus.APPROVED);
+        record(departmentB, otherAdmin.getId(), LocalDate.of(2031, 4, 7), LocalDate.of(2031, 4, 7), null, LeaveStatus.APPROVED);
+
+        LeaveMonthlyRollup march = row(MARCH, LeaveStatus.APPROVED);
+        assertEquals(departmentA, march.getDepartmentId());
+        assertEquals(admin.getId(), march.getAdminId());
+        assertEquals(5, march.getDays());
+        LeaveMonthlyRollup april = row(APRIL, LeaveStatus.APPROVED);
+        assertEquals(departmentB, april.getDepartmentId());
+        assertEquals(otherAdmin.getId(), april.getAdminId());
+        assertEquals(1, april.getDays());
+    }
+
+    private void record(Long departmentId, Long adminId, LocalDate start, LocalDate end, LeaveStatus from, LeaveStatus to) {
+        transactionTemplate.executeWithoutResult(status ->
+                leaveAnalyticsService.recordTransition(employee.getId(), departmentId, adminId, start, end, from, to));
+    }
+
+    private LeaveMonthlyRollup row(LocalDate monthStart, LeaveStatus status) {
+        List<LeaveMonthlyRollup> rows = rollupRepository.findAll().stream()
+                .filter(r -> r.getEmployeeId().equals(employee.getId()) && r.getMonthStart().equals(monthStart)
+                        && r.getStatus() == status)
+                .toList();
+        assertEquals(1, rows.size(), "Rollup rows for " + monthStart + " " + status);
+        return rows.get(0);
+    }
+}
@@ -0,0 +1,170 @@
+package com.webapp.ems.service;
+
+import com.webapp.ems.dto.AbsenceReportDto;
+import com.webapp.ems.dto.LeaveRequestActionDto;
+import com.webapp.ems.dto.LeaveRequestDto;
+import com.webapp.ems.dto.TeamAvailabilityDayDto;
+import com.webapp.ems.dto.UserSimpleDto;
+import com.webapp.ems.enums.LeaveStatus;
+import com.webapp.ems.enums.Role;
+import com.webapp.ems.model.ArchivedLeaveRequest;
+import com.webapp.ems.model.LeaveRequest;
+import com.webapp.ems.model.User;
+import com.webapp.ems.repository.AdminLeaveViewRepository;
+import com.webapp.ems.repository.ArchivedLeaveRequestRepository;
+import com.webapp.ems.repository.LeaveRequestRepository;
+import com.webapp.ems.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.TemporalAdjusters;
+import java.util.List;
+
+import static com.webapp.ems.support.TestUsers.newUser;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The archival job copies closed requests past the horizon into leave_requests_archive and deletes them
+ * from the live table and the admin read model, a batch at a time. Archived requests stay visible in the
+ * employee's history (when asked for), the availability calendar and the absence report.
+ * <p>
+ * The horizon is negative here, so requests ending within the next 60 days count as old enough and the
+ * fixtures can be filed through the service like any other request.
+ */
+@SpringBootTest(properties = {"ems.leave-archive.horizon-days=-60", "ems.leave-archive.batch-size=2"})
+@ActiveProfiles("test")
+class LeaveArchiveServiceTest {
+
+
+    @Autowired
+    private LeaveArchiveService leaveArchiveService;
+    @Autowired
+    private LeaveRequestService leaveRequestService;
+    @Autowired
+    private TeamAvailabilityService teamAvailabilityService;
+    @Autowired
+    private LeaveAnalyticsService leaveAnalyticsService;
+    @Autowired
+    private LeaveRequestRepository leaveRequestRepository;
+    @Autowired
+    private ArchivedLeaveRequestRepository archivedLeaveRequestRepository;
+    @Autowired
+    private AdminLeaveViewRepository adminLeaveViewRepository;
+    @Autowired
+    private UserRepository userRepository;
+
+    @MockitoBean
+    private EmailService emailService;
+
+    private User admin;
+    private User employee;
+    private LocalDate monday; // Next week's Monday: well inside the (shifted) horizon
+
+    @BeforeEach
+    void setUp() {
+        admin = userRepository.save(newUser(Role.ADMIN, null));
+        employee = userRepository.save(newUser(Role.EMPLOYEE, admin));
+        monday = LocalDate.now().plusDays(1).with(TemporalAdjusters.next(DayOfWeek.MONDAY));
+    }
+
+    @Test
+    void closedRequestsPastTheHorizonAreCopiedThenDeleted() {
+        LeaveRequestDto approved = action(apply(monday, monday.plusDays(1)), LeaveStatus.APPROVED, "Enjoy");
+        LeaveRequestDto rejected = action(apply(monday.plusDays(2), monday.plusDays(2)), LeaveStatus.REJECTED, "Busy week");
+        LeaveRequestDto cancelled = apply(monday.plusWeeks(1), monday.plusWeeks(1));
+        leaveRequestService.cancelLeaveRequest(cancelled.getId(), employee.getId());
+        LeaveRequestDto pending = apply(monday.plusWeeks(2), monday.plusWeeks(2));
+        LeaveRequestDto approvedLater = action(apply(monday.plusWeeks(10), monday.plusWeeks(10)), LeaveStatus.APPROVED, null);
+        LeaveRequest liveBefore = leaveRequestRepository.findById(approved.getId()).orElseThrow();
+
+        leaveArchiveService.archiveClosedRequests();
+
+        // Closed and past the horizon: moved, field for field
+        for (LeaveRequestDto moved : List.of(approved, rejected, cancelled)) {
+            assertFalse(leaveRequestRepository.existsById(moved.getId()), "Still live: " + moved.getId());
+            assertTrue(adminLeaveViewRepository.findById(moved.getId()).isEmpty(), "Still in the read model: " + moved.getId());
+        }
+        ArchivedLeaveRequest archived = archivedLeaveRequestRepository.findById(approved.getId()).orElseThrow();
+        assertEquals(employee.getId(), archived.getEmployeeId());
+        assertEquals(LeaveStatus.APPROVED, archived.getStatus());
+        assertEquals(monday, archived.getStartDate());
+        assertEquals(monday.plusDays(1), archived.getEndDate());
+        assertEquals("Archive test", archived.getReason());
+        assertEquals("Enjoy", archived.getAdminRemarks());
+        assertEquals(admin.getId(), archived.getActionByAdminId());
+        assertEquals(liveBefore.getCreatedAt(), archived.getCreatedAt());
+        assertNotNull(archived.getArchivedAt());
+        assertEquals(LeaveStatus.REJECTED, archivedLeaveRequestRepository.findById(rejected.getId()).orElseThrow().getStatus());
+        assertEquals(LeaveStatus.CANCELLED, archivedLeaveRequestRepository.findById(cancelled.getId()).orElseThrow().getStatus());
+
+        // Still open, or ending after the horizon: left alone
+        for (LeaveRequestDto kept : List.of(pending, approvedLater)) {
+            assertTrue(leaveRequestRepository.existsById(kept.getId()), "Archived: " + kept.getId());
+            assertTrue(adminLeaveViewRepository.findById(kept.getId()).isPresent());
+            assertFalse(archivedLeaveRequestRepository.existsById(kept.getId()));
+        }
+
+        // A second run finds nothing more to move
+        leaveArchiveService.archiveClosedRequests();
+        assertEquals(3, archivedLeaveRequestRepository.findByEmployeeIdOrderByCreatedAtDesc(employee.getId()).size());
+    }
+
+    @Test
+    void archivedRequestsStillAppearInHistoryAvailabilityAndAnalytics() {
+        LeaveRequestDto approved = action(apply(monday, monday.plusDays(1)), LeaveStatus.APPROVED, "Enjoy");
+        LeaveRequestDto pending = apply(monday.plusWeeks(2), monday.plusWeeks(2));
+        YearMonth first = YearMonth.from(monday);
+        YearMonth last = YearMonth.from(monday.plusWeeks(2));
+        AbsenceReportDto reportBefore = leaveAnalyticsService.getAbsenceReport(admin.getId(), first, last);
+
+        leaveArchiveService.archiveClosedRequests();
+        assertTrue(archivedLeaveRequestRepository.existsById(approved.getId()));
+
+        // History: the archived request only when asked for, with the names filled in
+        assertEquals(List.of(pending.getId()), ids(leaveRequestService.getLeaveRequestsByEmployeeId(employee.getId(), false)));
+        List<LeaveRequestDto> history = leaveRequestService.getLeaveRequestsByEmployeeId(employee.getId(), true);
+        assertEquals(List.of(pending.getId(), approved.getId()), ids(history));
+        LeaveRequestDto archivedDto = history.get(1);
+        assertEquals(LeaveStatus.APPROVED, archivedDto.getStatus());
+        assertEquals(employee.getFirstName() + " " + employee.getLastName(), archivedDto.getEmployeeName());
+
+        // Availability: the archived approved leave still marks the employee as out
+        List<TeamAvailabilityDayDto> days = teamAvailabilityService.getAvailability(admin.getId(), monday, monday.plusDays(2), null);
+        assertEquals(List.of(employee.getId()), days.get(0).getEmployeesOnLeave().stream().map(UserSimpleDto::getId).toList());
+        assertEquals(List.of(employee.getId()), days.get(1).getEmployeesOnLeave().stream().map(UserSimpleDto::getId).toList());
+        assertTrue(days.get(2).getEmployeesOnLeave().isEmpty());
+
+        // Analytics: rollups are untouched by archival
+        AbsenceReportDto reportAfter = leaveAnalyticsService.getAbsenceReport(admin.getId(), first, last);
+        assertEquals(2, reportBefore.getApprovedLeaveDays());
+        assertEquals(reportBefore.getApprovedLeaveDays(), reportAfter.getApprovedLeaveDays());
+        assertEquals(reportBefore.getLeaveDaysByStatus(), reportAfter.getLeaveDaysByStatus());
+    }
+
+    private LeaveRequestDto apply(LocalDate start, LocalDate end) {
+        LeaveRequestDto dto = new LeaveRequestDto();
+        dto.setStartDate(start);
+        dto.setEndDate(end);
+        dto.setReason("Archive test");
+        return leaveRequestService.applyForLeave(dto, employee.getId());
+    }
+
+    private LeaveRequestDto action(LeaveRequestDto request, LeaveStatus newStatus, String remarks) {
+        LeaveRequestActionDto action = new LeaveRequestActionDto();
+        action.setNewStatus(newStatus);
+        action.setAdminRemarks(remarks);
+        leaveRequestService.updateLeaveStatusForAdmin(request.getId(), action, admin.getId());
+        return request;
+    }
+
+    private static List<Long> ids(List<LeaveRequestDto> requests) {
+        return requests.stream().map(LeaveRequestDto::getId).toList();
+    }
+}
@@ -0,0 +1,203 @@
+package com.webapp.ems.service;
+
+import com.webapp.ems.dto.LeaveRequestActionDto;
+import com.webapp.ems.dto.LeaveRequestDto;
+import com.webapp.ems.enums.LeaveLedgerEntryType;
+import com.webapp.ems.enums.LeaveStatus;
+import com.webapp.ems.enums.Role;
+import com.webapp.ems.model.LeaveLedgerEntry;
+import com.webapp.ems.model.User;
+import com.webapp.ems.repository.LeaveBalanceRepository;
+import com.webapp.ems.repository.LeaveLedgerEntryRepository;
+import com.webapp.ems.repository.LeaveRequestRepository;
+import com.webapp.ems.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static com.webapp.ems.support.TestUsers.newUser;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Balances and their ledger: opening balances created once (also under concurrent first use), debits on
+ * filing, refunds on rejection and cancellation, idempotent monthly accrual, and a running balance that
+ * always equals the sum of the employee's ledger entries. Opening balance 12 days, accrual 1.75 per month
+ * (the defaults).
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class LeaveBalanceServiceTest {
+
+    private static final BigDecimal OPENING = new BigDecimal("12");
+
+    @Autowired
+    private LeaveBalanceService leaveBalanceService;
+    @Autowired
+    private LeaveRequestService leaveRequestService;
+    @Autowired
+    private LeaveBalanceRepository leaveBalanceRepository;
+    @Autowired
+    private LeaveLedgerEntryRepository leaveLedgerEntryRepository;
+    @Autowired
+    private LeaveRequestRepository leaveRequestRepository;
+    @Autowired
+    private UserRepository userRepository;
+
+    @MockitoBean
+    private EmailService emailService;
+
+    private User admin;
+    private User employee;
+    private LocalDate monday; // A Monday far enough ahead to file leave for
+
+    @BeforeEach
+    void setUp() {
+        admin = userRepository.save(newUser(Role.ADMIN, null));
+        employee = userRepository.save(newUser(Role.EMPLOYEE, admin));
+        monday = LocalDate.now().plusDays(14).with(TemporalAdjusters.next(DayOfWeek.MONDAY));
+    }
+
+    @Test
+    void firstBalanceReadCreatesTheOpeningBalanceOnce() {
+        assertEquals(0, leaveBalanceRepository.findExistingEmployeeIds(List.of(employee.getId())).size());
+
+        assertBalance(OPENING, leaveBalanceService.getBalance(employee.getId()).getAvailableDays());
+        assertBalance(OPENING, leaveBalanceService.getBalance(employee.getId()).getAvailableDays());
+
+        List<LeaveLedgerEntry> ledger = ledger();
+        assertEquals(1, ledger.size());
+        assertEquals(LeaveLedgerEntryType.ACCRUAL, ledger.get(0).getType());
+        assertEquals(LeaveBalanceService.OPENING_PERIOD, ledger.get(0).getPeriod());
+        assertLedgerMatchesBalance();
+    }
+
+    @Test
+    void concurrentFirstUseCreatesOneBalanceAndOneOpeningEntry() throws Exception {
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<BigDecimal>> results = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            results.add(executor.submit(() -> {
+                start.await();
+                return leaveBalanceService.getBalance(employee.getId()).getAvailableDays();
+            }));
+        }
+        start.countDown();
+        for (Future<BigDecimal> result : results) {
+            assertBalance(OPENING, result.get(30, TimeUnit.SECONDS)); // None fails on a duplicate key
+        }
+        executor.shutdown();
+
+        assertEquals(1, ledger().size());
+        assertLedgerMatchesBalance();
+    }
+
+    @Test
+    void filingDebitsWorkingDaysAndRejectionOrCancellationRefundsThem() {
+        LeaveRequestDto rejected = apply(monday, monday.plusDays(2)); // Mon-Wed: 3 days
+        LeaveRequestDto cancelled = apply(monday.plusWeeks(1).plusDays(3), monday.plusWeeks(1).plusDays(6)); // Thu-Sun: 2 days
+        assertBalance(new BigDecimal("7"), balance());
+
+        LeaveRequestActionDto reject = new LeaveRequestActionDto();
+        reject.setNewStatus(LeaveStatus.REJECTED);
+        leaveRequestService.updateLeaveStatusForAdmin(rejected.getId(), reject, admin.getId());
+        assertBalance(new BigDecimal("10"), balance());
+
+        leaveRequestService.cancelLeaveRequest(cancelled.getId(), employee.getId());
+        assertBalance(OPENING, balance());
+
+        // A request is never refunded twice
+        leaveBalanceService.creditForLeaveRequests(List.of(rejected.getId(), cancelled.getId()));
+        assertBalance(OPENING, balance());
+
+        assertEquals(2, ledger().stream().filter(e -> e.getType() == LeaveLedgerEntryType.DEBIT).count());
+        assertEquals(2, ledger().stream().filter(e -> e.getType() == LeaveLedgerEntryType.CREDIT).count());
+        assertLedgerMatchesBalance();
+    }
+
+    @Test
+    void approvalKeepsTheDebit() {
+        LeaveRequestDto request = apply(monday, monday.plusDays(4)); // 5 days
+        LeaveRequestActionDto approve = new LeaveRequestActionDto();
+        approve.setNewStatus(LeaveStatus.APPROVED);
+        leaveRequestService.updateLeaveStatusForAdmin(request.getId(), approve, admin.getId());
+
+        assertBalance(new BigDecimal("7"), balance());
+        assertLedgerMatchesBalance();
+    }
+
+    @Test
+    void filingBeyondTheBalanceIsRejectedAndRolledBack() {
+        long before = leaveRequestRepository.count();
+
+        // Three full weeks: 15 working days against 12 available
+        assertThrows(IllegalArgumentException.class, () -> apply(monday, monday.plusDays(18)));
+
+        assertEquals(before, leaveRequestRepository.count());
+        assertBalance(OPENING, balance());
+        assertLedgerMatchesBalance();
+    }
+
+    @Test
+    void monthlyAccrualCreditsEachEmployeeOncePerPeriod() {
+        User other = userRepository.save(newUser(Role.EMPLOYEE, admin));
+        leaveBalanceService.getBalance(employee.getId()); // One with an existing balance, one without
+
+        leaveBalanceService.accrueMonthly();
+        leaveBalanceService.accrueMonthly(); // Re-run for the same month: no double credit
+
+        BigDecimal expected = OPENING.add(new BigDecimal("1.75"));
+        assertBalance(expected, balance());
+        assertBalance(expected, leaveBalanceService.getBalance(other.getId()).getAvailableDays());
+        String period = YearMonth.now().toString();
+        assertEquals(1, ledger().stream().filter(e -> period.equals(e.getPeriod())).count());
+        assertEquals(List.of(employee.getId()),
+                leaveLedgerEntryRepository.findEmployeeIdsAccruedForPeriod(period, List.of(employee.getId())));
+        assertLedgerMatchesBalance();
+    }
+
+    private LeaveRequestDto apply(LocalDate start, LocalDate end) {
+        LeaveRequestDto dto = new LeaveRequestDto();
+        dto.setStartDate(start);
+        dto.setEndDate(end);
+        dto.setReason("Balance test");
+        return leaveRequestService.applyForLeave(dto, employee.getId());
+    }
+
+    private BigDecimal balance() {
+        return leaveBalanceService.getBalance(employee.getId()).getAvailableDays();
+    }
+
+    private List<LeaveLedgerEntry> ledger() {
+        return leaveLedgerEntryRepository.findTop50ByEmployeeIdOrderByCreatedAtDesc(employee.getId());
+    }
+
+    private void assertLedgerMatchesBalance() {
+        BigDecimal total = BigDecimal.ZERO;
+        for (LeaveLedgerEntry entry : ledger()) {
+            total = entry.getType() == LeaveLedgerEntryType.DEBIT ? total.subtract(entry.getDays()) : total.add(entry.getDays());
+        }
+        assertBalance(total, leaveBalanceRepository.findById(employee.getId()).orElseThrow().getAvailableDays());
+    }
+
+    private static void assertBalance(BigDecimal expected, BigDecimal actual) {
+        assertEquals(0, expected.compareTo(actual), () -> "Expected " + expected + " day(s) but was " + actual);
+    }
+}
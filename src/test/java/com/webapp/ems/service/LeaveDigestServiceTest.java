@@ -0,0 +1,125 @@
+package com.webapp.ems.service;
+
+import com.webapp.ems.dto.LeaveRequestActionDto;
+import com.webapp.ems.dto.LeaveRequestDto;
+import com.webapp.ems.enums.LeaveStatus;
+import com.webapp.ems.enums.Role;
+import com.webapp.ems.model.LeaveRequest;
+import com.webapp.ems.model.User;
+import com.webapp.ems.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.webapp.ems.support.TestUsers.newUser;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+
+/**
+ * The pending digest: requests grouped per managing admin, unmanaged employees' requests reported to
+ * every admin, each request listed exactly once (also when it commits with an older creation time), and
+ * the emails sent outside the transaction that claims the requests.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class LeaveDigestServiceTest {
+
+
+    @Autowired
+    private LeaveDigestService leaveDigestService;
+    @Autowired
+    private LeaveRequestService leaveRequestService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockitoBean
+    private EmailService emailService;
+
+    // Request IDs per admin ID, as handed to the email service
+    private final Map<Long, List<Long>> sent = new HashMap<>();
+    private final List<Boolean> sentInTransaction = new ArrayList<>();
+
+    private User firstAdmin;
+    private User secondAdmin;
+    private LocalDate monday; // A Monday far enough ahead to file leave for
+
+    @BeforeEach
+    void setUp() {
+        firstAdmin = userRepository.save(newUser(Role.ADMIN, null));
+        secondAdmin = userRepository.save(newUser(Role.ADMIN, null));
+        monday = LocalDate.now().plusDays(14).with(TemporalAdjusters.next(DayOfWeek.MONDAY));
+        leaveDigestService.sendDigest(); // Claims whatever other tests left pending
+        doAnswer(invocation -> {
+            User admin = invocation.getArgument(0);
+            List<LeaveRequest> requests = invocation.getArgument(1);
+            sent.computeIfAbsent(admin.getId(), id -> new ArrayList<>()).addAll(requests.stream().map(LeaveRequest::getId).toList());
+            sentInTransaction.add(TransactionSynchronizationManager.isActualTransactionActive());
+            return null;
+        }).when(emailService).sendPendingLeaveDigestToAdmin(any(User.class), anyList());
+    }
+
+    @Test
+    void requestsAreGroupedPerManagingAdminAndUnmanagedOnesGoToEveryAdmin() {
+        User firstEmployee = userRepository.save(newUser(Role.EMPLOYEE, firstAdmin));
+        User secondEmployee = userRepository.save(newUser(Role.EMPLOYEE, secondAdmin));
+        User unmanaged = userRepository.save(newUser(Role.EMPLOYEE, null));
+        Long first = apply(firstEmployee, monday).getId();
+        Long second = apply(secondEmployee, monday).getId();
+        Long unmanagedRequest = apply(unmanaged, monday).getId();
+
+        leaveDigestService.sendDigest();
+
+        assertEquals(List.of(first, unmanagedRequest), sent.get(firstAdmin.getId()));
+        assertEquals(List.of(second, unmanagedRequest), sent.get(secondAdmin.getId()));
+        assertFalse(sentInTransaction.isEmpty());
+        assertFalse(sentInTransaction.contains(true), "Digest emails were sent inside a transaction");
+    }
+
+    @Test
+    void eachRequestIsListedOnceEvenWhenItCommitsWithAnOlderCreationTime() {
+        User employee = userRepository.save(newUser(Role.EMPLOYEE, firstAdmin));
+        Long early = apply(employee, monday).getId();
+        leaveDigestService.sendDigest();
+        assertEquals(List.of(early), sent.remove(firstAdmin.getId()));
+
+        // Created (by its timestamp) before the previous run, but only visible now: a late commit
+        Long late = apply(employee, monday.plusDays(1)).getId();
+        jdbcTemplate.update("UPDATE leave_requests SET created_at = DATEADD('DAY', -2, created_at) WHERE id = ?", late);
+        // Decided before any digest ran: no longer awaiting the admin
+        LeaveRequestDto decided = apply(employee, monday.plusDays(2));
+        LeaveRequestActionDto approve = new LeaveRequestActionDto();
+        approve.setNewStatus(LeaveStatus.APPROVED);
+        leaveRequestService.updateLeaveStatusForAdmin(decided.getId(), approve, firstAdmin.getId());
+
+        leaveDigestService.sendDigest();
+        assertEquals(List.of(late), sent.remove(firstAdmin.getId()));
+
+        leaveDigestService.sendDigest();
+        assertNull(sent.get(firstAdmin.getId()));
+    }
+
+    private LeaveRequestDto apply(User employee, LocalDate day) {
+        LeaveRequestDto dto = new LeaveRequestDto();
+        dto.setStartDate(day);
+        dto.setEndDate(day);
+        dto.setReason("Digest test");
+        return leaveRequestService.applyForLeave(dto, employee.getId());
+    }
+}
@@ -0,0 +1,146 @@
+package com.webapp.ems.service;
+
+import com.webapp.ems.repository.LeaveRequestRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class LeaveIntervalIndexTest {
+
+    private static final LocalDate BASE = LocalDate.now().plusDays(10);
+
+    private LeaveRequestRepository leaveRequestRepository;
+    private LeaveIntervalIndex index;
+
+    @BeforeEach
+    void setUp() {
+        leaveRequestRepository = mock(LeaveRequestRepository.class);
+        index = new LeaveIntervalIndex(leaveRequestRepository);
+    }
+
+    @Test
+    void rejectsOverlapWithLoadedRequestAndAllowsAdjacentRanges() {
+        List<Object[]> existing = new ArrayList<>();
+        existing.add(new Object[]{7L, BASE, BASE.plusDays(4)});
+        when(leaveRequestRepository.findActiveIntervalsByEmployeeId(eq(1L), any())).thenReturn(existing);
+
+        assertThrows(IllegalArgumentException.class, () -> index.reserve(1L, BASE.plusDays(4), BASE.plusDays(6)));
+        assertThrows(IllegalArgumentException.class, () -> index.reserve(1L, BASE.minusDays(2), BASE));
+        assertDoesNotThrow(() -> index.reserve(1L, BASE.plusDays(5), BASE.plusDays(6)));
+        assertDoesNotThrow(() -> index.reserve(1L, BASE.minusDays(3), BASE.minusDays(1)));
+
+        verify(leaveRequestRepository, times(1)).findActiveIntervalsByEmployeeId(eq(1L), any());
+    }
+
+    @Test
+    void releasedRequestNoLongerBlocks() {
+        when(leaveRequestRepository.findActiveIntervalsByEmployeeId(eq(2L), any())).thenReturn(List.of());
+
+        index.reserve(2L, BASE, BASE.plusDays(2)).bind(11L);
+        assertThrows(IllegalArgumentException.class, () -> index.reserve(2L, BASE.plusDays(1), BASE.plusDays(1)));
+
+        index.release(2L, 11L);
+        assertDoesNotThrow(() -> index.reserve(2L, BASE.plusDays(1), BASE.plusDays(1)));
+    }
+
+    @Test
+    void detectsOverlapsWhenLegacyDataAlreadyOverlaps() {
+        List<Object[]> existing = new ArrayList<>();
+        existing.add(new Object[]{1L, BASE, BASE.plusDays(10)});
+        existing.add(new Object[]{2L, BASE.plusDays(1), BASE.plusDays(2)});
+        when(leaveRequestRepository.findActiveIntervalsByEmployeeId(eq(3L), any())).thenReturn(existing);
+
+        // The floor entry (ID 2) ends before the new range, but ID 1 still covers it
+        assertThrows(IllegalArgumentException.class, () -> index.reserve(3L, BASE.plusDays(5), BASE.plusDays(6)));
+    }
+
+    @Test
+    void onlyOneOfManyConcurrentOverlappingApplicationsSucceeds() throws Exception {
+        when(leaveRequestRepository.findActiveIntervalsByEmployeeId(eq(4L), any())).thenReturn(List.of());
+
+        int threads = 16;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> results = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            results.add(executor.submit(() -> {
+                start.await();
+                try {
+                    index.reserve(4L, BASE, BASE.plusDays(3));
+                    return true;
+                } catch (IllegalArgumentException e) {
+                    return false;
+                }
+            }));
+        }
+        start.countDown();
+
+        int successes = 0;
+        for (Future<Boolean> result : results) {
+            if (result.get(10, TimeUnit.SECONDS)) successes++;
+        }
+        executor.shutdownNow();
+        assertEquals(1, successes);
+    }
+
+    @Test
+    void evictedEmployeesAreReloadedFromTheDatabase() {
+        LeaveIntervalIndex bounded = new LeaveIntervalIndex(leaveRequestRepository, 2);
+        for (long employeeId = 10; employeeId < 13; employeeId++) {
+            List<Object[]> existing = new ArrayList<>();
+            existing.add(new Object[]{employeeId * 100, BASE, BASE.plusDays(1)});
+            when(leaveRequestRepository.findActiveIntervalsByEmployeeId(eq(employeeId), any())).thenReturn(existing);
+            bounded.reserve(employeeId, BASE.plusDays(2), BASE.plusDays(2));
+        }
+        assertEquals(2, bounded.cachedEmployees());
+
+        // Whoever was evicted is read again, and its stored request still blocks an overlap
+        for (long employeeId = 10; employeeId < 13; employeeId++) {
+            long id = employeeId;
+            assertThrows(IllegalArgumentException.class, () -> bounded.reserve(id, BASE.plusDays(1), BASE.plusDays(1)));
+        }
+        verify(leaveRequestRepository, atLeast(4)).findActiveIntervalsByEmployeeId(any(), any());
+    }
+
+    @Test
+    void employeeWithAnInFlightReservationIsNotEvicted() {
+        LeaveIntervalIndex bounded = new LeaveIntervalIndex(leaveRequestRepository, 2);
+        when(leaveRequestRepository.findActiveIntervalsByEmployeeId(any(), any())).thenReturn(List.of());
+
+        // Reserved inside a transaction that has not completed yet: not in the database
+        TransactionSynchronizationManager.initSynchronization();
+        List<TransactionSynchronization> applying;
+        try {
+            bounded.reserve(20L, BASE, BASE.plusDays(3));
+            applying = TransactionSynchronizationManager.getSynchronizations();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        for (long employeeId = 21; employeeId < 26; employeeId++) {
+            bounded.reserve(employeeId, BASE, BASE);
+        }
+        assertEquals(3, bounded.cachedEmployees()); // The pinned employee plus two
+
+        assertThrows(IllegalArgumentException.class, () -> bounded.reserve(20L, BASE.plusDays(1), BASE.plusDays(1)));
+        verify(leaveRequestRepository, times(1)).findActiveIntervalsByEmployeeId(eq(20L), any());
+
+        // Once committed the employee is evictable again
+        applying.forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        assertEquals(2, bounded.cachedEmployees());
+    }
+}
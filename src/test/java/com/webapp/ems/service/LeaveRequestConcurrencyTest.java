@@ -0,0 +1,189 @@
+package com.webapp.ems.service;
+
+import com.webapp.ems.dto.LeaveRequestActionDto;
+import com.webapp.ems.dto.LeaveRequestDto;
+import com.webapp.ems.enums.LeaveStatus;
+import com.webapp.ems.enums.Role;
+import com.webapp.ems.model.LeaveRequest;
+import com.webapp.ems.model.User;
+import com.webapp.ems.repository.LeaveRequestRepository;
+import com.webapp.ems.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static com.webapp.ems.support.TestUsers.newUser;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Hammers a single PENDING leave request from many threads at once: exactly one transition may win,
+ * every other caller must fail, the row's version must move exactly once, and the balance reflects the
+ * winning transition only. Requests are filed through applyForLeave, as in production.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class LeaveRequestConcurrencyTest {
+
+    private static final int THREADS = 32;
+    private static final BigDecimal OPENING = new BigDecimal("12");
+    private static final BigDecimal REQUEST_DAYS = new BigDecimal("3"); // Monday to Wednesday
+
+    @Autowired
+    private LeaveRequestService leaveRequestService;
+    @Autowired
+    private LeaveRequestRepository leaveRequestRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private LeaveBalanceService leaveBalanceService;
+
+    @MockitoBean
+    private EmailService emailService;
+
+    private User admin;
+    private User employee;
+
+    @BeforeEach
+    void setUp() {
+        admin = userRepository.save(newUser(Role.ADMIN, null));
+        employee = userRepository.save(newUser(Role.EMPLOYEE, admin));
+    }
+
+    @Test
+    void concurrentAdminActionsOnOneRequestHaveExactlyOneWinner() throws Exception {
+        Long requestId = newPendingRequest();
+
+        List<Callable<LeaveStatus>> actions = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            LeaveStatus newStatus = i % 2 == 0 ? LeaveStatus.APPROVED : LeaveStatus.REJECTED;
+            actions.add(() -> {
+                LeaveRequestActionDto action = new LeaveRequestActionDto();
+                action.setNewStatus(newStatus);
+                action.setAdminRemarks("stress");
+                return leaveRequestService.updateLeaveStatusForAdmin(requestId, action, admin.getId()).getStatus();
+            });
+        }
+        Outcomes outcomes = runConcurrently(actions);
+
+        assertEquals(1, outcomes.winners.size(), "exactly one admin action must succeed");
+        assertEquals(THREADS - 1, outcomes.failures.size());
+        LeaveRequest stored = leaveRequestRepository.findById(requestId).orElseThrow();
+        assertEquals(outcomes.winners.get(0), stored.getStatus());
+        assertEquals(1L, stored.getVersion(), "the row must have been transitioned once");
+        assertBalanceAfter(stored.getStatus());
+    }
+
+    @Test
+    void cancelRacingAdminActionsHasExactlyOneWinner() throws Exception {
+        Long requestId = newPendingRequest();
+
+        List<Callable<LeaveStatus>> actions = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            if (i % 2 == 0) {
+                actions.add(() -> leaveRequestService.cancelLeaveRequest(requestId, employee.getId()).getStatus());
+            } else {
+                actions.add(() -> {
+                    LeaveRequestActionDto action = new LeaveRequestActionDto();
+                    action.setNewStatus(LeaveStatus.APPROVED);
+                    return leaveRequestService.updateLeaveStatusForAdmin(requestId, action, admin.getId()).getStatus();
+                });
+            }
+        }
+        Outcomes outcomes = runConcurrently(actions);
+
+        assertEquals(1, outcomes.winners.size());
+        LeaveRequest stored = leaveRequestRepository.findById(requestId).orElseThrow();
+        assertEquals(outcomes.winners.get(0), stored.getStatus());
+        assertEquals(1L, stored.getVersion());
+        assertBalanceAfter(stored.getStatus());
+    }
+
+    @Test
+    void savingAStaleCopyIsRejected() {
+        Long requestId = newPendingRequest();
+        LeaveRequest first = leaveRequestRepository.findById(requestId).orElseThrow();
+        LeaveRequest stale = leaveRequestRepository.findById(requestId).orElseThrow();
+
+        first.setReason("edited first");
+        leaveRequestRepository.save(first);
+
+        stale.setReason("edited from a stale copy");
+        assertThrows(OptimisticLockingFailureException.class, () -> leaveRequestRepository.save(stale));
+    }
+
+    private Outcomes runConcurrently(List<Callable<LeaveStatus>> actions) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(actions.size());
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<LeaveStatus>> futures = new ArrayList<>();
+            for (Callable<LeaveStatus> action : actions) {
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    return action.call();
+                }));
+            }
+            start.countDown();
+            Outcomes outcomes = new Outcomes();
+            for (Future<LeaveStatus> future : futures) {
+                try {
+                    outcomes.winners.add(future.get(30, TimeUnit.SECONDS));
+                } catch (ExecutionException e) {
+                    assertLostTheRace(e.getCause());
+                    outcomes.failures.add(e.getCause());
+                }
+            }
+            return outcomes;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    // Losers either read the row while PENDING and lost the guarded update, or read it after the winner
+    // committed; anything else is a real failure, not a lost race
+    private static void assertLostTheRace(Throwable failure) {
+        if (failure instanceof OptimisticLockingFailureException) {
+            return;
+        }
+        IllegalStateException notPending = assertInstanceOf(IllegalStateException.class, failure);
+        assertTrue(notPending.getMessage().contains("PENDING"), notPending.getMessage());
+    }
+
+    private Long newPendingRequest() {
+        LocalDate monday = LocalDate.now().plusDays(30).with(TemporalAdjusters.next(DayOfWeek.MONDAY));
+        LeaveRequestDto request = new LeaveRequestDto();
+        request.setStartDate(monday);
+        request.setEndDate(monday.plusDays(2));
+        request.setReason("stress test");
+        return leaveRequestService.applyForLeave(request, employee.getId()).getId();
+    }
+
+    // Debited once on filing; refunded once only if the winner rejected or cancelled
+    private void assertBalanceAfter(LeaveStatus winner) {
+        BigDecimal expected = winner == LeaveStatus.APPROVED ? OPENING.subtract(REQUEST_DAYS) : OPENING;
+        BigDecimal actual = leaveBalanceService.getBalance(employee.getId()).getAvailableDays();
+        assertEquals(0, expected.compareTo(actual), () -> "Expected " + expected + " day(s) but was " + actual);
+    }
+
+    private static final class Outcomes {
+        private final List<LeaveStatus> winners = new ArrayList<>();
+        private final List<Throwable> failures = new ArrayList<>();
+    }
+}
@@ -0,0 +1,131 @@
+package com.webapp.ems.service;
+
+import com.webapp.ems.dto.LeaveRequestDto;
+import com.webapp.ems.dto.LeaveRequestPageDto;
+import com.webapp.ems.enums.LeaveStatus;
+import com.webapp.ems.enums.Role;
+import com.webapp.ems.model.LeaveRequest;
+import com.webapp.ems.model.User;
+import com.webapp.ems.repository.LeaveRequestRepository;
+import com.webapp.ems.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static com.webapp.ems.support.TestUsers.newUser;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Leave listings must not issue a select per row for the employee or the actioning admin.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class LeaveRequestQueryCountTest {
+
+    private static final int EMPLOYEES = 25;
+
+    @Autowired
+    private LeaveRequestService leaveRequestService;
+    @Autowired
+    private LeaveRequestRepository leaveRequestRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private AdminLeaveViewService adminLeaveViewService;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockitoBean
+    private EmailService emailService;
+
+    private Statistics statistics;
+    private User admin;
+    private User firstEmployee;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        admin = userRepository.save(newUser(Role.ADMIN, null));
+        // Several different actioning admins so none of them is already in the persistence context
+        for (int i = 0; i < EMPLOYEES; i++) {
+            User employee = userRepository.save(newUser(Role.EMPLOYEE, admin));
+            User actioningAdmin = userRepository.save(newUser(Role.ADMIN, null));
+            if (firstEmployee == null) {
+                firstEmployee = employee;
+            }
+            for (int j = 0; j < 2; j++) {
+                LeaveRequest request = new LeaveRequest();
+                request.setEmployee(employee);
+                request.setStartDate(LocalDate.now().plusDays(10L + 5L * j));
+                request.setEndDate(LocalDate.now().plusDays(11L + 5L * j));
+                request.setStatus(j == 0 ? LeaveStatus.APPROVED : LeaveStatus.PENDING);
+                request.setActionByAdmin(j == 0 ? actioningAdmin : null);
+                adminLeaveViewService.onCreated(leaveRequestRepository.save(request));
+            }
+        }
+    }
+
+    @Test
+    void adminQueuePageIsTwoStatements() {
+        statistics.clear();
+        LeaveRequestPageDto page = leaveRequestService.getLeaveRequestQueueForAdmin(admin.getId(), null, null,
+                null, null, null, 50);
+
+        assertEquals(EMPLOYEES * 2, page.getItems().size());
+        assertTrue(page.getItems().stream().allMatch(dto -> dto.getEmployeeName() != null));
+        // Admin lookup + the page itself
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void employeeHistoryIsOneStatement() {
+        statistics.clear();
+        List<LeaveRequestDto> requests = leaveRequestService.getLeaveRequestsByEmployeeId(firstEmployee.getId());
+
+        assertEquals(2, requests.size());
+        assertTrue(requests.stream().anyMatch(dto -> dto.getActionByAdminName() != null));
+        // No separate existence check when the employee has requests
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void unknownEmployeeStillReportsNotFound() {
+        assertThrows(RuntimeException.class, () -> leaveRequestService.getLeaveRequestsByEmployeeId(Long.MAX_VALUE));
+    }
+
+    @Test
+    void singleRequestForAdminIsTwoStatements() {
+        Long requestId = leaveRequestService.getLeaveRequestsByEmployeeId(firstEmployee.getId()).get(0).getId();
+
+        statistics.clear();
+        LeaveRequestDto dto = leaveRequestService.getLeaveRequestByIdForAdmin(requestId, admin.getId());
+
+        assertNotNull(dto.getEmployeeName());
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void overlongSpanIsRejectedBeforeAnyCalendarOrRollupWork() {
+        LeaveRequestDto dto = new LeaveRequestDto();
+        dto.setStartDate(LocalDate.now().plusDays(1));
+        dto.setEndDate(LocalDate.of(9999, 12, 31));
+
+        statistics.clear();
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> leaveRequestService.applyForLeave(dto, firstEmployee.getId()));
+
+        assertTrue(e.getMessage().contains("366 days"));
+        assertEquals(1, statistics.getPrepareStatementCount()); // The employee lookup only
+        assertEquals(0, leaveRequestService.getLeaveRequestsByEmployeeId(firstEmployee.getId()).stream()
+                .filter(r -> r.getEndDate().getYear() == 9999).count());
+    }
+}
@@ -0,0 +1,92 @@
+package com.webapp.ems.service;
+
+import com.webapp.ems.dto.DepartmentDto;
+import com.webapp.ems.model.User;
+import com.webapp.ems.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import static com.webapp.ems.support.TestUsers.newAdmin;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The public reference lists are answered from memory, revalidate by ETag, and pick up changes once
+ * the changing transaction commits.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class ReferenceDataCacheTest {
+
+    @Autowired
+    private ReferenceDataCache referenceDataCache;
+    @Autowired
+    private DepartmentService departmentService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockitoBean
+    private EmailService emailService;
+
+    @Test
+    void repeatedRequestsIssueNoStatements() throws IOException {
+        referenceDataCache.getDepartments();
+        referenceDataCache.getAdmins();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        statistics.clear();
+        ResponseEntity<byte[]> plain = null;
+        ResponseEntity<byte[]> gzipped = null;
+        for (int i = 0; i < 100; i++) {
+            plain = referenceDataCache.getDepartments().toResponse(null, null);
+            gzipped = referenceDataCache.getDepartments().toResponse(null, "gzip, deflate, br");
+            referenceDataCache.getAdmins().toResponse(null, "gzip");
+        }
+
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals("gzip", gzipped.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertNull(plain.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertArrayEquals(plain.getBody(), gunzip(gzipped.getBody()));
+        assertEquals(plain.getHeaders().getETag(), gzipped.getHeaders().getETag());
+    }
+
+    @Test
+    void matchingEtagIsNotModifiedAndChangesAreVisibleAfterCommit() {
+        User admin = userRepository.save(newAdmin());
+
+        String etag = referenceDataCache.getDepartments().etag();
+        assertEquals(HttpStatus.NOT_MODIFIED, referenceDataCache.getDepartments().toResponse(etag, "gzip").getStatusCode());
+        assertEquals(HttpStatus.NOT_MODIFIED,
+                referenceDataCache.getDepartments().toResponse("\"other\", " + etag.substring(2), null).getStatusCode());
+
+        String name = "Reference " + System.nanoTime();
+        departmentService.createDepartment(new DepartmentDto(name), admin.getId());
+
+        ResponseEntity<byte[]> response = referenceDataCache.getDepartments().toResponse(etag, null);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        String json = new String(response.getBody(), StandardCharsets.UTF_8);
+        assertTrue(json.contains(name));
+        assertFalse(json.contains("employeeCount")); // Headcounts stay off the public list
+    }
+
+    private static byte[] gunzip(byte[] bytes) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+            return in.readAllBytes();
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.webapp.ems.service;
+
+import com.webapp.ems.dto.CacheRegionStatsDto;
+import com.webapp.ems.dto.DepartmentDto;
+import com.webapp.ems.dto.EmployeeDto;
+import com.webapp.ems.enums.Role;
+import com.webapp.ems.model.User;
+import com.webapp.ems.repository.DepartmentRepository;
+import com.webapp.ems.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.util.List;
+
+import static com.webapp.ems.support.TestUsers.newAdmin;
+import static com.webapp.ems.support.TestUsers.uniqueEmail;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Department lookups are served from the second-level and query caches, writes (entity updates as well as
+ * the bulk headcount updates) are never hidden by them, and users (whose state includes credentials and
+ * OTPs) are never cached.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=true",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=true"
+})
+@ActiveProfiles("test")
+class SecondLevelCacheTest {
+
+
+    @Autowired
+    private DepartmentService departmentService;
+    @Autowired
+    private EmployeeService employeeService;
+    @Autowired
+    private CacheStatisticsService cacheStatisticsService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private DepartmentRepository departmentRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockitoBean
+    private EmailService emailService;
+
+    private Statistics statistics;
+    private User admin;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        admin = userRepository.save(newAdmin());
+    }
+
+    @Test
+    void repeatedDepartmentLookupsAreServedFromTheQueryCache() throws InterruptedException {
+        DepartmentDto department = departmentService.createDepartment(new DepartmentDto("Cached"), admin.getId());
+        awaitNextCacheTimestamp();
+        departmentService.getDepartmentById(department.getId(), admin.getId());
+
+        statistics.clear();
+        DepartmentDto again = departmentService.getDepartmentById(department.getId(), admin.getId());
+
+        assertEquals("Cached", again.getName());
+        assertEquals(1, statistics.getPrepareStatementCount()); // The admin's row, which is never cached
+        assertEquals(1, statistics.getEntityLoadCount());
+        assertEquals(1, statistics.getQueryCacheHitCount()); // The department, straight from the query cache
+        assertEquals(0, statistics.getQueryExecutionCount());
+    }
+
+    @Test
+    void departmentsByIdAreServedFromTheEntityCache() {
+        DepartmentDto department = departmentService.createDepartment(new DepartmentDto("By id"), admin.getId());
+        departmentRepository.findById(department.getId()); // As EmployeeService.mapDtoToEntity does
+
+        statistics.clear();
+        assertEquals("By id", departmentRepository.findById(department.getId()).orElseThrow().getName());
+
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getSecondLevelCacheHitCount());
+    }
+
+    @Test
+    void usersAreNeverCached() {
+        DepartmentDto department = departmentService.createDepartment(new DepartmentDto("Credentials"), admin.getId());
+        departmentService.getDepartmentById(department.getId(), admin.getId());
+        userRepository.findById(admin.getId());
+
+        assertFalse(entityManagerFactory.unwrap(SessionFactory.class).getCache().containsEntity(User.class, admin.getId()));
+        assertTrue(cacheStatisticsService.getRegionStatistics(admin.getId()).stream()
+                .noneMatch(r -> r.getRegion().equals("user")));
+    }
+
+    @Test
+    void updatesAndHeadcountChangesAreVisibleThroughTheCache() throws InterruptedException {
+        DepartmentDto department = departmentService.createDepartment(new DepartmentDto("Before"), admin.getId());
+        awaitNextCacheTimestamp();
+        departmentService.getDepartmentById(department.getId(), admin.getId());
+        departmentService.getAllDepartmentsByAdmin(admin.getId());
+
+        department.setName("After");
+        departmentService.updateDepartment(department.getId(), department, admin.getId());
+        assertEquals("After", departmentService.getDepartmentById(department.getId(), admin.getId()).getName());
+
+        EmployeeDto dto = new EmployeeDto("Ada", "Lovelace", uniqueEmail("cache-ada"),
+                "secret", null, null, null, 1000.0, Role.EMPLOYEE.name(), department.getId());
+        employeeService.createEmployee(dto, admin.getId()); // Bulk headcount update
+        assertEquals(1, departmentService.getDepartmentById(department.getId(), admin.getId()).getEmployeeCount());
+
+        List<DepartmentDto> all = departmentService.getAllDepartmentsByAdmin(admin.getId());
+        assertEquals(1, all.size());
+        assertEquals("After", all.get(0).getName());
+        assertEquals(Long.valueOf(1), all.get(0).getEmployeeCount());
+    }
+
+    @Test
+    void statisticsReportHitsPerRegion() throws InterruptedException {
+        DepartmentDto department = departmentService.createDepartment(new DepartmentDto("Counted"), admin.getId());
+        awaitNextCacheTimestamp();
+        departmentService.getDepartmentById(department.getId(), admin.getId());
+        departmentService.getDepartmentById(department.getId(), admin.getId());
+        departmentRepository.findById(department.getId());
+        departmentRepository.findById(department.getId());
+
+        List<CacheRegionStatsDto> regions = cacheStatisticsService.getRegionStatistics(admin.getId());
+
+        CacheRegionStatsDto departments = region(regions, "department");
+        assertEquals("ENTITY", departments.getKind());
+        assertTrue(departments.getHitCount() > 0);
+        assertTrue(departments.getHitRatio() > 0.0);
+        CacheRegionStatsDto departmentQueries = region(regions, "department-queries");
+        assertEquals("QUERY", departmentQueries.getKind());
+        assertTrue(departmentQueries.getHitCount() > 0);
+    }
+
+    private static CacheRegionStatsDto region(List<CacheRegionStatsDto> regions, String name) {
+        return regions.stream().filter(r -> r.getRegion().equals(name)).findFirst()
+                .orElseThrow(() -> new AssertionError("No statistics for region " + name + ": " + regions));
+    }
+
+    // A query result cached in the same timestamp tick as the last write to its table is treated as stale
+    private static void awaitNextCacheTimestamp() throws InterruptedException {
+        Thread.sleep(50);
+    }
+}
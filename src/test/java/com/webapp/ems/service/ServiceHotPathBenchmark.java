@@ -0,0 +1,96 @@
+package com.webapp.ems.service;
+
+import com.webapp.ems.enums.Gender;
+import com.webapp.ems.enums.LeaveStatus;
+import com.webapp.ems.enums.Role;
+import com.webapp.ems.model.Department;
+import com.webapp.ems.model.LeaveRequest;
+import com.webapp.ems.model.User;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-call cost of the entity-to-DTO mappers, the dashboard age grouping and OTP generation.
+ * Run with: mvn -Pbenchmark test-compile exec:exec -Djmh.args="ServiceHotPathBenchmark"
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@State(Scope.Benchmark)
+public class ServiceHotPathBenchmark {
+
+    @Param({"100", "10000"})
+    public int employeeCount;
+
+    private User employee;
+    private LeaveRequest leaveRequest;
+    private List<User> employees;
+    private OtpService otpService;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        Department department = new Department();
+        department.setId(7L);
+        department.setName("Engineering");
+
+        employees = new ArrayList<>(employeeCount);
+        for (int i = 0; i < employeeCount; i++) {
+            User user = new User();
+            user.setId((long) i);
+            user.setFirstName("Employee");
+            user.setLastName("No" + i);
+            user.setEmail("employee" + i + "@example.com");
+            user.setGender(i % 2 == 0 ? Gender.FEMALE : Gender.MALE);
+            user.setDateOfBirth(LocalDate.of(1960 + random.nextInt(45), 1 + random.nextInt(12), 1 + random.nextInt(28)));
+            user.setHireDate(LocalDate.of(2015 + random.nextInt(10), 1 + random.nextInt(12), 1));
+            user.setSalary(30000.0 + random.nextInt(90000));
+            user.setRole(Role.EMPLOYEE);
+            user.setDepartment(department);
+            employees.add(user);
+        }
+        employee = employees.get(0);
+
+        User admin = new User();
+        admin.setId(1L);
+        admin.setFirstName("Rahul");
+        leaveRequest = new LeaveRequest();
+        leaveRequest.setId(1042L);
+        leaveRequest.setEmployee(employee);
+        leaveRequest.setStartDate(LocalDate.of(2026, 10, 26));
+        leaveRequest.setEndDate(LocalDate.of(2026, 10, 30));
+        leaveRequest.setReason("Family function");
+        leaveRequest.setStatus(LeaveStatus.APPROVED);
+        leaveRequest.setAdminRemarks("Enjoy");
+        leaveRequest.setActionByAdmin(admin);
+
+        otpService = new OtpService();
+    }
+
+    @Benchmark
+    public void mapEmployeeToDto(Blackhole bh) {
+        bh.consume(EmployeeService.mapEntityToDto(employee));
+    }
+
+    @Benchmark
+    public void mapLeaveRequestToDto(Blackhole bh) {
+        bh.consume(LeaveRequestService.mapToDto(leaveRequest));
+    }
+
+    @Benchmark
+    public void ageGroupDistribution(Blackhole bh) {
+        bh.consume(DashboardService.calculateAgeGroupDistribution(employees));
+    }
+
+    @Benchmark
+    public void generateOtp(Blackhole bh) {
+        bh.consume(otpService.generateOtp());
+    }
+}
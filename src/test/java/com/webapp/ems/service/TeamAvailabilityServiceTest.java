@@ -0,0 +1,156 @@
+package com.webapp.ems.service;
+
+import com.webapp.ems.dto.DepartmentDto;
+import com.webapp.ems.dto.EmployeeDto;
+import com.webapp.ems.dto.LeaveRequestActionDto;
+import com.webapp.ems.dto.LeaveRequestDto;
+import com.webapp.ems.dto.TeamAvailabilityDayDto;
+import com.webapp.ems.dto.UserSimpleDto;
+import com.webapp.ems.enums.Gender;
+import com.webapp.ems.enums.LeaveStatus;
+import com.webapp.ems.enums.Role;
+import com.webapp.ems.model.User;
+import com.webapp.ems.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+import static com.webapp.ems.support.TestUsers.newAdmin;
+import static com.webapp.ems.support.TestUsers.uniqueEmail;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The "who is out" sweep: overlapping approved spans of different employees, spans crossing a month
+ * boundary, the department filter, and cached months evicted when a request is approved. Leave falls
+ * around the end of January 2030, when 31 January is a Thursday.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class TeamAvailabilityServiceTest {
+
+    private static final LocalDate JAN_31 = LocalDate.of(2030, 1, 31);
+
+    @Autowired
+    private TeamAvailabilityService teamAvailabilityService;
+    @Autowired
+    private LeaveRequestService leaveRequestService;
+    @Autowired
+    private DepartmentService departmentService;
+    @Autowired
+    private EmployeeService employeeService;
+    @Autowired
+    private UserRepository userRepository;
+
+    @MockitoBean
+    private EmailService emailService;
+
+    private User admin;
+    private DepartmentDto sales;
+    private DepartmentDto support;
+    private EmployeeDto alice; // Sales
+    private EmployeeDto bob;   // Support
+    private EmployeeDto carol; // Sales
+
+    @BeforeEach
+    void setUp() {
+        admin = userRepository.save(newAdmin());
+        sales = departmentService.createDepartment(new DepartmentDto("Sales"), admin.getId());
+        support = departmentService.createDepartment(new DepartmentDto("Support"), admin.getId());
+        alice = newEmployee("Alice", sales);
+        bob = newEmployee("Bob", support);
+        carol = newEmployee("Carol", sales);
+    }
+
+    @Test
+    void overlappingSpansAcrossAMonthBoundaryAreSweptPerDay() {
+        approve(apply(alice, JAN_31.minusDays(2), JAN_31.plusDays(3))); // Tue 29 Jan - Sun 3 Feb
+        approve(apply(bob, JAN_31.minusDays(3), JAN_31.minusDays(1)));  // Mon 28 - Wed 30 Jan
+        apply(carol, JAN_31.minusDays(1), JAN_31.minusDays(1));         // Pending: never shown
+
+        List<TeamAvailabilityDayDto> days = availability(null);
+
+        assertEquals(9, days.size());
+        assertOut(days, JAN_31.minusDays(4));
+        assertOut(days, JAN_31.minusDays(3), bob);
+        assertOut(days, JAN_31.minusDays(2), alice, bob);
+        assertOut(days, JAN_31.minusDays(1), alice, bob);
+        assertOut(days, JAN_31, alice);
+        assertOut(days, JAN_31.plusDays(1), alice); // 1 Feb: the span continues into the next month
+        assertOut(days, JAN_31.plusDays(3), alice);
+        assertOut(days, JAN_31.plusDays(4));
+        assertEquals(2, day(days, JAN_31.minusDays(1)).getEmployeesOnLeaveCount());
+    }
+
+    @Test
+    void departmentFilterKeepsOnlyThatDepartmentsEmployees() {
+        approve(apply(alice, JAN_31.minusDays(2), JAN_31.plusDays(3)));
+        approve(apply(bob, JAN_31.minusDays(3), JAN_31.minusDays(1)));
+
+        List<TeamAvailabilityDayDto> salesDays = availability(sales.getId());
+        assertOut(salesDays, JAN_31.minusDays(3));
+        assertOut(salesDays, JAN_31.minusDays(2), alice);
+        assertOut(salesDays, JAN_31.plusDays(1), alice);
+
+        List<TeamAvailabilityDayDto> supportDays = availability(support.getId());
+        assertOut(supportDays, JAN_31.minusDays(2), bob);
+        assertOut(supportDays, JAN_31.plusDays(1));
+    }
+
+    @Test
+    void approvingARequestEvictsTheCachedMonths() {
+        approve(apply(alice, JAN_31.minusDays(2), JAN_31.minusDays(2)));
+        LeaveRequestDto pending = apply(carol, JAN_31.minusDays(1), JAN_31.plusDays(1)); // Spans both cached months
+        List<TeamAvailabilityDayDto> before = availability(null); // Caches January and February
+        assertOut(before, JAN_31.minusDays(1));
+        assertOut(before, JAN_31.plusDays(1));
+
+        approve(pending);
+
+        List<TeamAvailabilityDayDto> after = availability(null);
+        assertOut(after, JAN_31.minusDays(2), alice);
+        assertOut(after, JAN_31.minusDays(1), carol);
+        assertOut(after, JAN_31.plusDays(1), carol);
+    }
+
+    private List<TeamAvailabilityDayDto> availability(Long departmentId) {
+        return teamAvailabilityService.getAvailability(admin.getId(), JAN_31.minusDays(4), JAN_31.plusDays(4), departmentId);
+    }
+
+    private static TeamAvailabilityDayDto day(List<TeamAvailabilityDayDto> days, LocalDate date) {
+        return days.stream().filter(d -> d.getDate().equals(date)).findFirst().orElseThrow();
+    }
+
+    private static void assertOut(List<TeamAvailabilityDayDto> days, LocalDate date, EmployeeDto... expected) {
+        List<Long> actual = day(days, date).getEmployeesOnLeave().stream().map(UserSimpleDto::getId).sorted().toList();
+        List<Long> expectedIds = Arrays.stream(expected).map(EmployeeDto::getId).sorted().toList();
+        assertEquals(expectedIds, actual, "On leave on " + date);
+    }
+
+    private LeaveRequestDto apply(EmployeeDto employee, LocalDate start, LocalDate end) {
+        LeaveRequestDto dto = new LeaveRequestDto();
+        dto.setStartDate(start);
+        dto.setEndDate(end);
+        dto.setReason("Availability test");
+        return leaveRequestService.applyForLeave(dto, employee.getId());
+    }
+
+    private void approve(LeaveRequestDto request) {
+        LeaveRequestActionDto approve = new LeaveRequestActionDto();
+        approve.setNewStatus(LeaveStatus.APPROVED);
+        leaveRequestService.updateLeaveStatusForAdmin(request.getId(), approve, admin.getId());
+    }
+
+    private EmployeeDto newEmployee(String firstName, DepartmentDto department) {
+        EmployeeDto dto = new EmployeeDto(firstName, "Availability", uniqueEmail(firstName.toLowerCase()), "secret",
+                Gender.FEMALE, LocalDate.of(1990, 1, 1),
+                LocalDate.of(2020, 1, 1), 1000.0, Role.EMPLOYEE.name(), department.getId());
+        return employeeService.createEmployee(dto, admin.getId());
+    }
+}
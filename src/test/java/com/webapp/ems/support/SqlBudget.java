@@ -0,0 +1,53 @@
+package com.webapp.ems.support;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Measures the SQL a piece of work costs, from Hibernate statistics (hibernate.generate_statistics is on
+ * in the test profile): statements prepared, and rows fetched, i.e. rows returned by queries plus
+ * entities loaded by ID (find and lazy loads). JDBC issued outside Hibernate is not seen. Statistics are
+ * per EntityManagerFactory, so measure on one thread with no background jobs running.
+ */
+public final class SqlBudget {
+
+    private final Statistics statistics;
+
+    public SqlBudget(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    public Usage measure(Work work) throws Exception {
+        statistics.clear();
+        work.run();
+        long queryRows = 0;
+        for (String query : statistics.getQueries()) {
+            queryRows += statistics.getQueryStatistics(query).getExecutionRowCount();
+        }
+        return new Usage(statistics.getPrepareStatementCount(), queryRows + statistics.getEntityFetchCount(),
+                Arrays.asList(statistics.getQueries()));
+    }
+
+    @FunctionalInterface
+    public interface Work {
+        void run() throws Exception;
+    }
+
+    public record Usage(long statements, long rowsFetched, List<String> queries) {
+
+        /** Fails with the queries that ran when either count is over its budget. */
+        public Usage assertWithin(String what, long maxStatements, long maxRowsFetched) {
+            if (statements > maxStatements || rowsFetched > maxRowsFetched) {
+                fail(what + " issued " + statements + " statement(s) (budget " + maxStatements + ") fetching "
+                        + rowsFetched + " row(s) (budget " + maxRowsFetched + "). Queries:\n  " + String.join("\n  ", queries));
+            }
+            return this;
+        }
+    }
+}
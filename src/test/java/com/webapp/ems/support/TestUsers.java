@@ -0,0 +1,40 @@
+package com.webapp.ems.support;
+
+import com.webapp.ems.enums.Role;
+import com.webapp.ems.model.User;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Unsaved users for tests against the shared test database. Names and emails are unique per call and per
+ * run (the database outlives a single test class), so tests never collide on the unique email.
+ */
+public final class TestUsers {
+
+    private static final AtomicLong SEQUENCE = new AtomicLong();
+
+    private TestUsers() {
+    }
+
+    public static User newUser(Role role, User managedBy) {
+        long n = SEQUENCE.incrementAndGet();
+        String roleName = role.name().toLowerCase();
+        User user = new User();
+        user.setFirstName(roleName);
+        user.setLastName("test" + n);
+        user.setEmail(uniqueEmail(roleName));
+        user.setPassword("secret");
+        user.setRole(role);
+        user.setManagedByAdmin(managedBy);
+        return user;
+    }
+
+    public static User newAdmin() {
+        return newUser(Role.ADMIN, null);
+    }
+
+    /** For users created through the services or the API rather than saved directly. */
+    public static String uniqueEmail(String prefix) {
+        return prefix + "-" + SEQUENCE.incrementAndGet() + "-" + System.nanoTime() + "@example.com";
+    }
+}
@@ -0,0 +1,116 @@
+package com.webapp.ems.template;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Parsing and rendering of the email template syntax: variables with and without HTML escaping,
+ * sections over flags and lists, missing keys, and the errors for malformed templates.
+ */
+class CompiledTemplateTest {
+
+    @Test
+    void variablesAreEscapedOnlyForHtml() {
+        CompiledTemplate template = CompiledTemplate.compile("t", "<p>{{reason}}</p>");
+        Map<String, Object> model = Map.of("reason", "<script>alert('x')</script> & \"more\"");
+
+        assertEquals("<p>&lt;script&gt;alert(&#39;x&#39;)&lt;/script&gt; &amp; &quot;more&quot;</p>", render(template, model, true));
+        assertEquals("<p><script>alert('x')</script> & \"more\"</p>", render(template, model, false));
+    }
+
+    @Test
+    void nonStringValuesAreRenderedWithToString() {
+        CompiledTemplate template = CompiledTemplate.compile("t", "ID {{id}}: {{status}}");
+
+        assertEquals("ID 42: APPROVED", render(template, Map.of("id", 42L, "status", Status.APPROVED), true));
+    }
+
+    @Test
+    void missingKeysRenderNothing() {
+        CompiledTemplate template = CompiledTemplate.compile("t", "Hi {{firstName}}!{{#remarks}} Remarks: {{remarks}}{{/remarks}}");
+
+        assertEquals("Hi !", render(template, Map.of(), true));
+    }
+
+    @Test
+    void sectionsRenderOnlyForPresentValues() {
+        CompiledTemplate template = CompiledTemplate.compile("t", "[{{#value}}shown{{/value}}]");
+
+        assertEquals("[shown]", render(template, Map.of("value", "x"), true));
+        assertEquals("[shown]", render(template, Map.of("value", true), true));
+        assertEquals("[]", render(template, Map.of("value", false), true));
+        assertEquals("[]", render(template, Map.of("value", ""), true));
+        assertEquals("[]", render(template, Map.of("value", List.of()), true));
+        Map<String, Object> nullValue = new HashMap<>();
+        nullValue.put("value", null);
+        assertEquals("[]", render(template, nullValue, true));
+    }
+
+    @Test
+    void listSectionsRepeatPerElementAndFallBackToTheRootModel() {
+        CompiledTemplate template = CompiledTemplate.compile("t",
+                "{{#requests}}<li>{{employeeName}} for {{firstName}}</li>{{/requests}}");
+        Map<String, Object> model = Map.of(
+                "firstName", "Ada",
+                "requests", List.of(Map.of("employeeName", "Eve <Ops>"), Map.of("employeeName", "Bob")));
+
+        assertEquals("<li>Eve &lt;Ops&gt; for Ada</li><li>Bob for Ada</li>", render(template, model, true));
+    }
+
+    @Test
+    void elementKeysShadowRootKeysInsideAListSection() {
+        CompiledTemplate template = CompiledTemplate.compile("t", "{{#items}}{{name}},{{/items}}{{name}}");
+        Map<String, Object> model = Map.of("name", "root", "items", List.of(Map.of("name", "a"), Map.of("other", "b")));
+
+        assertEquals("a,root,root", render(template, model, true));
+    }
+
+    @Test
+    void nestedSectionsAndLiteralTextAreKeptVerbatim() {
+        CompiledTemplate template = CompiledTemplate.compile("t",
+                "<ul>{{#items}}<li>{{ name }}{{#note}} ({{note}}){{/note}}</li>{{/items}}</ul> & done");
+        Map<String, Object> model = Map.of("items", List.of(Map.of("name", "a", "note", "n"), Map.of("name", "b")));
+
+        assertEquals("<ul><li>a (n)</li><li>b</li></ul> & done", render(template, model, true));
+    }
+
+    @Test
+    void unclosedTagIsRejected() {
+        IllegalStateException e = assertThrows(IllegalStateException.class,
+                () -> CompiledTemplate.compile("broken", "Hi {{firstName"));
+        assertTrue(e.getMessage().contains("Unclosed tag"), e.getMessage());
+        assertTrue(e.getMessage().contains("'broken'"), e.getMessage());
+    }
+
+    @Test
+    void emptyTagIsRejected() {
+        assertThrows(IllegalStateException.class, () -> CompiledTemplate.compile("t", "Hi {{ }}"));
+    }
+
+    @Test
+    void unclosedSectionIsRejected() {
+        IllegalStateException e = assertThrows(IllegalStateException.class,
+                () -> CompiledTemplate.compile("t", "{{#requests}}<li>{{requestId}}</li>"));
+        assertTrue(e.getMessage().contains("{{#requests}}"), e.getMessage());
+    }
+
+    @Test
+    void mismatchedOrStrayClosingTagIsRejected() {
+        assertThrows(IllegalStateException.class, () -> CompiledTemplate.compile("t", "{{#a}}x{{/b}}"));
+        assertThrows(IllegalStateException.class, () -> CompiledTemplate.compile("t", "x{{/a}}"));
+        assertThrows(IllegalStateException.class, () -> CompiledTemplate.compile("t", "{{#a}}{{#b}}x{{/a}}{{/b}}"));
+    }
+
+    private static String render(CompiledTemplate template, Map<String, ?> model, boolean escapeHtml) {
+        StringBuilder out = new StringBuilder();
+        template.renderTo(out, model, escapeHtml);
+        return out.toString();
+    }
+
+    private enum Status { APPROVED }
+}
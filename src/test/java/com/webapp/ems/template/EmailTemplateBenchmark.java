@@ -0,0 +1,71 @@
+package com.webapp.ems.template;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Render throughput of the compiled email templates.
+ * Run with: mvn -Pbenchmark test-compile exec:exec -Djmh.args="EmailTemplateBenchmark"
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@State(Scope.Benchmark)
+public class EmailTemplateBenchmark {
+
+    private EmailTemplateEngine engine;
+    private Map<String, Object> otpModel;
+    private Map<String, Object> statusModel;
+    private Map<String, Object> digestModel;
+
+    @Setup
+    public void setUp() {
+        engine = new EmailTemplateEngine(new DefaultResourceLoader());
+        engine.load();
+
+        otpModel = Map.of("otp", "482913");
+
+        statusModel = new HashMap<>();
+        statusModel.put("firstName", "Priya");
+        statusModel.put("requestId", 1042L);
+        statusModel.put("startDate", "October 26, 2026");
+        statusModel.put("endDate", "October 30, 2026");
+        statusModel.put("reason", "Family function <out of town>");
+        statusModel.put("status", "APPROVED");
+        statusModel.put("adminRemarks", "Enjoy & take care");
+        statusModel.put("actionByAdminFirstName", "Rahul");
+
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            rows.add(Map.of("requestId", 2000L + i, "employeeName", "Employee " + i,
+                    "startDate", "November 3, 2026", "endDate", "November 7, 2026"));
+        }
+        digestModel = new HashMap<>();
+        digestModel.put("firstName", "Rahul");
+        digestModel.put("requestCount", rows.size());
+        digestModel.put("requests", rows);
+    }
+
+    @Benchmark
+    public void renderOtp(Blackhole bh) {
+        bh.consume(engine.render(EmailTemplateEngine.OTP, otpModel));
+    }
+
+    @Benchmark
+    public void renderLeaveStatus(Blackhole bh) {
+        bh.consume(engine.render(EmailTemplateEngine.LEAVE_STATUS, statusModel));
+    }
+
+    @Benchmark
+    public void renderDigestOf25(Blackhole bh) {
+        bh.consume(engine.render(EmailTemplateEngine.LEAVE_DIGEST, digestModel));
+    }
+}
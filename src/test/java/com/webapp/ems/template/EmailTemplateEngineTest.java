@@ -0,0 +1,93 @@
+package com.webapp.ems.template;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The shipped templates: user-supplied text (reasons, remarks, names) is escaped in the HTML body and left
+ * as typed in the subject and plain-text body, optional lines disappear when their value is missing, and
+ * the digest lists one line per request.
+ */
+class EmailTemplateEngineTest {
+
+    private static final String HOSTILE = "<b>Tom & \"Jerry\"</b>";
+    private static final String ESCAPED = "&lt;b&gt;Tom &amp; &quot;Jerry&quot;&lt;/b&gt;";
+
+    private EmailTemplateEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        engine = new EmailTemplateEngine(new DefaultResourceLoader());
+        engine.load(); // Every template compiles
+    }
+
+    @Test
+    void leaveStatusEscapesReasonRemarksAndNamesInHtmlOnly() {
+        Map<String, Object> model = statusModel();
+        model.put("adminRemarks", HOSTILE);
+        model.put("actionByAdminFirstName", HOSTILE);
+
+        RenderedEmail email = engine.render(EmailTemplateEngine.LEAVE_STATUS, model);
+
+        assertEquals("Update on Your Leave Request (ID: 7)", email.subject());
+        assertTrue(email.htmlBody().contains("<p>Hi " + ESCAPED + ",</p>"), email.htmlBody());
+        assertTrue(email.htmlBody().contains("<li>Reason: " + ESCAPED + "</li>"), email.htmlBody());
+        assertTrue(email.htmlBody().contains("<li>Admin Remarks: " + ESCAPED + "</li>"), email.htmlBody());
+        assertTrue(email.htmlBody().contains("<li>Actioned By: Admin (" + ESCAPED + ")</li>"), email.htmlBody());
+        assertFalse(email.htmlBody().contains(HOSTILE));
+
+        assertTrue(email.textBody().contains("- Reason: " + HOSTILE + "\n"), email.textBody());
+        assertTrue(email.textBody().contains("- Admin Remarks: " + HOSTILE + "\n"), email.textBody());
+    }
+
+    @Test
+    void leaveStatusOmitsRemarksAndActorWhenMissing() {
+        RenderedEmail email = engine.render(EmailTemplateEngine.LEAVE_STATUS, statusModel());
+
+        assertFalse(email.htmlBody().contains("Admin Remarks"));
+        assertFalse(email.htmlBody().contains("Actioned By"));
+        assertFalse(email.textBody().contains("Admin Remarks"));
+        assertTrue(email.textBody().contains("New Status: REJECTED"));
+    }
+
+    @Test
+    void digestListsEachRequestWithEscapedEmployeeNames() {
+        Map<String, Object> model = new HashMap<>();
+        model.put("firstName", "Ada");
+        model.put("requestCount", 2);
+        model.put("requests", List.of(
+                Map.of("requestId", 1L, "employeeName", HOSTILE, "startDate", "02 Mar 2026", "endDate", "03 Mar 2026"),
+                Map.of("requestId", 2L, "employeeName", "Eve Employee", "startDate", "09 Mar 2026", "endDate", "09 Mar 2026")));
+
+        RenderedEmail email = engine.render(EmailTemplateEngine.LEAVE_DIGEST, model);
+
+        assertEquals("Pending Leave Requests Awaiting Your Action (2)", email.subject());
+        assertTrue(email.htmlBody().contains("<li>Request ID 1: " + ESCAPED + ", 02 Mar 2026 to 03 Mar 2026</li>"), email.htmlBody());
+        assertTrue(email.htmlBody().contains("<li>Request ID 2: Eve Employee, 09 Mar 2026 to 09 Mar 2026</li>"), email.htmlBody());
+        assertTrue(email.textBody().contains("- Request ID 1: " + HOSTILE + ", 02 Mar 2026 to 03 Mar 2026\n"
+                + "- Request ID 2: Eve Employee, 09 Mar 2026 to 09 Mar 2026\n"), email.textBody());
+    }
+
+    @Test
+    void unknownTemplateIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> engine.render("no-such-template", Map.of()));
+    }
+
+    private static Map<String, Object> statusModel() {
+        Map<String, Object> model = new HashMap<>();
+        model.put("firstName", HOSTILE);
+        model.put("requestId", 7L);
+        model.put("startDate", "02 Mar 2026");
+        model.put("endDate", "03 Mar 2026");
+        model.put("reason", HOSTILE);
+        model.put("status", "REJECTED");
+        return model;
+    }
+}